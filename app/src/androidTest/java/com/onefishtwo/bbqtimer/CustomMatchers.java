@@ -75,6 +75,23 @@ class CustomMatchers {
         };
     }
 
+    /** Matches a TimerDigitsView whose displayed time text matches textMatcher. */
+    @NonNull
+    static Matcher<View> withTimeText(@NonNull final Matcher<String> textMatcher) {
+        return new BoundedMatcher<>(TimerDigitsView.class) {
+            @Override
+            public void describeTo(@NonNull Description description) {
+                description.appendText("with time text: ");
+                textMatcher.describeTo(description);
+            }
+
+            @Override
+            public boolean matchesSafely(@NonNull TimerDigitsView view) {
+                return textMatcher.matches(view.getText());
+            }
+        };
+    }
+
     /**
      * <b>Modifies the given ViewInteraction</b> to have a no-op FailureHandler. Use this, e.g.,
      * to perform an action on a View if it's visible and not complain if it isn't.
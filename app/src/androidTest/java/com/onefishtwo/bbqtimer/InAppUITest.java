@@ -23,7 +23,6 @@ package com.onefishtwo.bbqtimer;
 
 
 import static android.Manifest.permission.POST_NOTIFICATIONS;
-import static androidx.test.espresso.Espresso.onData;
 import static androidx.test.espresso.Espresso.onView;
 import static androidx.test.espresso.action.ViewActions.clearText;
 import static androidx.test.espresso.action.ViewActions.click;
@@ -40,6 +39,7 @@ import static androidx.test.espresso.matcher.ViewMatchers.hasFocus;
 import static androidx.test.espresso.matcher.ViewMatchers.isChecked;
 import static androidx.test.espresso.matcher.ViewMatchers.isClickable;
 import static androidx.test.espresso.matcher.ViewMatchers.isCompletelyDisplayed;
+import static androidx.test.espresso.matcher.ViewMatchers.isDescendantOfA;
 import static androidx.test.espresso.matcher.ViewMatchers.isDisplayed;
 import static androidx.test.espresso.matcher.ViewMatchers.isEnabled;
 import static androidx.test.espresso.matcher.ViewMatchers.isNotChecked;
@@ -47,6 +47,7 @@ import static androidx.test.espresso.matcher.ViewMatchers.withContentDescription
 import static androidx.test.espresso.matcher.ViewMatchers.withId;
 import static androidx.test.espresso.matcher.ViewMatchers.withText;
 import static com.onefishtwo.bbqtimer.CustomMatchers.withTag;
+import static com.onefishtwo.bbqtimer.CustomMatchers.withTimeText;
 import static com.onefishtwo.bbqtimer.CustomViewActions.waitMsec;
 import static com.onefishtwo.bbqtimer.TimeIntervalMatcher.inTimeInterval;
 import static com.onefishtwo.bbqtimer.TimeIntervalMatcher.inWholeTimeInterval;
@@ -56,23 +57,22 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.startsWith;
-import static org.hamcrest.object.HasToString.hasToString;
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.fail;
 
 import android.content.Context;
 import android.os.Build;
 import android.util.Log;
+import android.view.View;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.StringRes;
 import androidx.fragment.app.FragmentManager;
 import androidx.test.core.app.ApplicationProvider;
-import androidx.test.espresso.DataInteraction;
 import androidx.test.espresso.Espresso;
 import androidx.test.espresso.PerformException;
 import androidx.test.espresso.ViewAction;
 import androidx.test.espresso.ViewInteraction;
+import androidx.test.espresso.contrib.RecyclerViewActions;
 import androidx.test.ext.junit.rules.ActivityScenarioRule;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import androidx.test.filters.LargeTest;
@@ -302,7 +302,7 @@ public class InAppUITest implements Notifier.NotificationListener {
         playPauseButton.check(matches(isCompletelyDisplayed()));
         resetButton.check(matches(isCompletelyDisplayed()));
         stopButton.check(matches(not(isDisplayed())));
-        timeView.check(matches(withText(TIME_ZERO)));
+        timeView.check(matches(withTimeText(TIME_ZERO)));
 
         playPauseButton.check(matches(withTag(R.drawable.ic_play)));
         resetButton.check(matches(withTag(R.drawable.ic_pause)));
@@ -317,7 +317,7 @@ public class InAppUITest implements Notifier.NotificationListener {
         playPauseButton.check(matches(isCompletelyDisplayed()));
         resetButton.check(matches(not(isDisplayed())));
         stopButton.check(matches(isCompletelyDisplayed()));
-        timeView.check(matches(withText(TIME_ZERO)));
+        timeView.check(matches(withTimeText(TIME_ZERO)));
 
         playPauseButton.check(matches(withTag(R.drawable.ic_play)));
         stopButton.check(matches(withTag(R.drawable.ic_stop)));
@@ -344,7 +344,7 @@ public class InAppUITest implements Notifier.NotificationListener {
     /** Checks that the UI is in the Playing state at a matching time value. */
     private void checkPlayingAt(@NonNull Matcher<String> time) {
         checkPlaying();
-        timeView.check(matches(withText(time)));
+        timeView.check(matches(withTimeText(time)));
     }
 
     /** Checks that the UI is in the Paused state at a matching time value. */
@@ -356,7 +356,7 @@ public class InAppUITest implements Notifier.NotificationListener {
         playPauseButton.check(matches(withTag(R.drawable.ic_play)));
         resetButton.check(matches(withTag(R.drawable.ic_replay)));
         stopButton.check(matches(withTag(R.drawable.ic_stop)));
-        timeView.check(matches(withText(time)));
+        timeView.check(matches(withTimeText(time)));
 
         checkReminder(true);
 
@@ -542,11 +542,11 @@ public class InAppUITest implements Notifier.NotificationListener {
         // Open the popup menu. This makes the Activity Views inaccessible or...
         popupMenuButton.perform(click());
 
-        DataInteraction cmdEdit = checkMenuCommand(R.string.edit_this_list);
-        DataInteraction cmd_6 = checkMenuCommandPrefix("6 ");
-        DataInteraction cmd_7 = checkMenuCommandPrefix("7 ");
-        DataInteraction cmd__30 = checkMenuCommand(":30");
-        DataInteraction cmd_1 = checkMenuCommand("1");
+        ViewInteraction cmdEdit = checkMenuCommand(R.string.edit_this_list);
+        ViewInteraction cmd_6 = checkMenuCommandPrefix("6 ");
+        ViewInteraction cmd_7 = checkMenuCommandPrefix("7 ");
+        ViewInteraction cmd__30 = checkMenuCommand(":30");
+        ViewInteraction cmd_1 = checkMenuCommand("1");
 
         // Pick the first few intervals from the menu.
         cmd__30.perform(click());
@@ -617,14 +617,8 @@ public class InAppUITest implements Notifier.NotificationListener {
         // Open the recipe editor dialog, check the saved text, edit it, then Reset.
         popupMenuButton.perform(click());
 
-        try {
-            cmd__30.check(matches(isDisplayed()));
-            fail("Expected ':30' to NOT be in the popup menu");
-        } catch (PerformException e) {
-            // Expected
-        }
-
         checkMenuCommand(replacement.trim());
+        cmd__30.check(doesNotExist()); // the picker holds just "Edit" and the saved line
 
         cmdEdit.perform(click());
         dialogTitle.check(matches(isDisplayed()));
@@ -661,34 +655,42 @@ public class InAppUITest implements Notifier.NotificationListener {
     }
 
     /**
-     * Finds a data item displaying the given string. .click() will scroll it into view if needed.
+     * Finds a recipe picker item displaying the given string, scrolling it into view and checking
+     * that it is displayed.
      * @noinspection SameParameterValue
      */
-    private DataInteraction checkMenuCommand(@StringRes int resId) {
-        // WORKAROUND: onData(withText(resId)) doesn't work, so get the string and use that.
+    private ViewInteraction checkMenuCommand(@StringRes int resId) {
         Context appContext = ApplicationProvider.getApplicationContext();
         String text = appContext.getString(resId);
         return checkMenuCommand(text);
     }
 
     /**
-     * Finds a data item displaying the given string. .click() will scroll it into view if needed.
+     * Finds a recipe picker item displaying the given string, scrolling it into view and checking
+     * that it is displayed.
      */
-    private DataInteraction checkMenuCommand(String label) {
-        // Find the menu item, scrolling it into view if needed.
-        DataInteraction di = onData(hasToString(equalTo(label)));
-        di.check(matches(isDisplayed()));
-        return di;
+    private ViewInteraction checkMenuCommand(String label) {
+        return checkMenuCommand(equalTo(label));
     }
 
     /**
-     * Finds a data item that starts with the given string. .click() will scroll it into view if
-     * needed.
+     * Finds a recipe picker item that starts with the given string, scrolling it into view and
+     * checking that it is displayed.
      */
-    private DataInteraction checkMenuCommandPrefix(String labelPrefix) {
-        // Find the menu item, scrolling it into view if needed.
-        DataInteraction di = onData(hasToString(startsWith(labelPrefix)));
-        di.check(matches(isDisplayed()));
-        return di;
+    private ViewInteraction checkMenuCommandPrefix(String labelPrefix) {
+        return checkMenuCommand(startsWith(labelPrefix));
+    }
+
+    /**
+     * Finds a recipe picker item whose text matches label, scrolling it into view and checking that
+     * it is displayed. The picker is a RecyclerView, so onData() can't find its items.
+     */
+    private ViewInteraction checkMenuCommand(Matcher<String> label) {
+        Matcher<View> pickerList = withId(R.id.recipe_picker_list);
+        onView(pickerList).perform(RecyclerViewActions.scrollTo(withText(label)));
+
+        ViewInteraction item = onView(allOf(withText(label), isDescendantOfA(pickerList)));
+        item.check(matches(isDisplayed()));
+        return item;
     }
 }
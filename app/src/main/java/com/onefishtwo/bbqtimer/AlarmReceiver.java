@@ -20,24 +20,44 @@
 package com.onefishtwo.bbqtimer;
 
 import android.app.AlarmManager;
+import android.app.Notification;
 import android.app.PendingIntent;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
+import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.widget.Toast;
 
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.RequiresPermission;
 
+import com.onefishtwo.bbqtimer.ReminderAccuracy.Tier;
 import com.onefishtwo.bbqtimer.state.ApplicationState;
 
 /**
  * Uses AlarmManager to perform periodic reminder notifications.
  *<p>
- * ASSUMES: The app has USE_EXACT_ALARM permission (defined in API 33) and
- * SCHEDULE_EXACT_ALARM in API ≤ 32.
+ * EXPECTS: The app has USE_EXACT_ALARM permission (defined in API 33) and
+ * SCHEDULE_EXACT_ALARM in API ≤ 32. If exact alarms are denied anyway, it degrades through the
+ * {@link Tier}s: setAlarmClock(), setExactAndAllowWhileIdle(), setWindow(), plus an in-process
+ * Handler while the Activity is visible. Late reminders are far better than none.
+ *<p>
+ * With a warm-up time set (see {@link ApplicationState#getWarmUpSeconds()}) and exact alarms, an
+ * extra alarm a few seconds early loads the state, builds the reminder notification, and keeps the
+ * process alive to post it from a precise in-process Handler at the deadline. The regular alarm
+ * stays scheduled as a fallback in case the process dies in between.
+ *<p>
+ * Exact tier alarms are scheduled early by the typical delivery lateness that
+ * {@link ReminderAccuracy#getCompensation()} measured on this device, so they sound on time.
+ *<p>
+ * Updates happen on every UI change, widget tap, and broadcast, so it reconciles the alarms it
+ * wants against the {@link RegisteredAlarms} record and calls AlarmManager only when they differ.
  */
 public class AlarmReceiver extends BroadcastReceiver {
     private static final String TAG = "AlarmReceiver";
@@ -66,27 +86,61 @@ public class AlarmReceiver extends BroadcastReceiver {
      */
     private static final String EXTRA_ELAPSED_REALTIME_TARGET =
             "com.onefishtwo.bbqtimer.ElapsedRealtimeTarget";
+    /**
+     * An Extra to store an alarm Intent's AlarmManager trigger time, in system elapsed time msec.
+     * It's earlier than the {@link #EXTRA_ELAPSED_REALTIME_TARGET} deadline by the lateness
+     * compensation. Early alarm detection compares against this.
+     */
+    private static final String EXTRA_ELAPSED_REALTIME_TRIGGER =
+            "com.onefishtwo.bbqtimer.ElapsedRealtimeTrigger";
+    /** An Extra to store the {@link Tier} ordinal that scheduled an alarm Intent. */
+    private static final String EXTRA_TIER = "com.onefishtwo.bbqtimer.AlarmTier";
     static final String ACTION_ALARM = "com.onefishtwo.bbqtimer.ACTION_ALARM";
+    static final String ACTION_WARM_UP = "com.onefishtwo.bbqtimer.ACTION_WARM_UP";
     /** Tolerance value for an early alarm. */
     private static final long ALARM_TOLERANCE_MS = 10L;
+    /** The requested setWindow() length. API 31+ stretches it to at least 10 minutes. */
+    private static final long ALARM_WINDOW_MS = 15_000L;
+
+    /** Runs {@link Tier#IN_PROCESS} reminders. */
+    private static final Handler inProcessHandler = new Handler(Looper.getMainLooper());
+    /** The scheduled IN_PROCESS reminder, if any. Main thread only. */
+    private static Runnable inProcessReminder;
+    /** The warm-up broadcast that's kept alive until its in-process reminder runs, if any. */
+    @Nullable
+    private static PendingResult warmUpResult;
+    /** The reminder notification built during warm-up, if any. */
+    @Nullable
+    private static Notification warmUpNotification;
+    /** The target time of the last reminder handled in this process, to drop duplicates. */
+    private static long lastHandledTarget = -1;
+    /** Whether this process already told the user it needs exact alarm access. */
+    private static boolean toldNeedAlarmAccess;
+    /** Whether this process checked that the RegisteredAlarms record is still registered. */
+    private static boolean checkedRegisteredAlarms;
 
     /**
      * Constructs a PendingIntent for the AlarmManager to invoke AlarmReceiver.
      *
-     * @param elapsedRealtimeTarget the target time for this alarm, in system elapsed time msec.
-     *                              This is stored in an Intent Extra to enable detecting if the
-     *                              alarm triggered early. The value doesn't matter when making an
+     * @param elapsedRealtimeTarget the reminder's deadline, in system elapsed time msec.
+     *                              This is stored in an Intent Extra to identify the reminder and
+     *                              measure its lateness. The value doesn't matter when making an
      *                              Intent to cancel the alarm since Extras don't affect Intent
      *                              retrieval.
+     * @param elapsedRealtimeTrigger the AlarmManager trigger time, stored in an Intent Extra to
+     *                               enable detecting if the alarm triggered early.
+     * @param tier the scheduling tier, stored in an Extra to measure each tier's accuracy.
      */
     private static PendingIntent makeAlarmPendingIntent(Context context,
-            long elapsedRealtimeTarget) {
+            long elapsedRealtimeTarget, long elapsedRealtimeTrigger, @NonNull Tier tier) {
         Intent intent = new Intent(context, AlarmReceiver.class);
 
         // See https://stackoverflow.com/questions/32492770
         intent.addFlags(Intent.FLAG_RECEIVER_FOREGROUND);
         intent.setAction(ACTION_ALARM);
         intent.putExtra(EXTRA_ELAPSED_REALTIME_TARGET, elapsedRealtimeTarget);
+        intent.putExtra(EXTRA_ELAPSED_REALTIME_TRIGGER, elapsedRealtimeTrigger);
+        intent.putExtra(EXTRA_TIER, tier.ordinal());
 
         // (ibid) "FLAG_CANCEL_CURRENT seems to be required to prevent a bug where the
         // intent doesn't fire after app reinstall in KitKat." -- It didn't seem to work better, but
@@ -96,14 +150,60 @@ public class AlarmReceiver extends BroadcastReceiver {
                 PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
     }
 
-    /** Constructs a PendingIntent for AlarmManager.AlarmClockInfo() to show/edit the timer. */
-    private static PendingIntent makeActivityPendingIntent(Context context) {
+    /**
+     * Constructs a PendingIntent for the AlarmManager to warm up AlarmReceiver before the reminder
+     * at elapsedRealtimeTarget. Like {@link #makeAlarmPendingIntent}, the target doesn't matter
+     * when making an Intent to cancel the alarm.
+     */
+    private static PendingIntent makeWarmUpPendingIntent(Context context,
+            long elapsedRealtimeTarget) {
+        Intent intent = new Intent(context, AlarmReceiver.class);
+
+        // A foreground broadcast gets a 10 second goAsync() timeout.
+        intent.addFlags(Intent.FLAG_RECEIVER_FOREGROUND);
+        intent.setAction(ACTION_WARM_UP);
+        intent.putExtra(EXTRA_ELAPSED_REALTIME_TARGET, elapsedRealtimeTarget);
+
+        return PendingIntent.getBroadcast(context, 0, intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    /**
+     * Constructs a PendingIntent for AlarmManager.AlarmClockInfo() to show/edit the timer. Get it
+     * via {@link PendingIntentPool#alarmActivityIntent}. It's not FLAG_ONE_SHOT so the pooled
+     * instance keeps working after the user taps the alarm info.
+     */
+    @NonNull
+    static PendingIntent makeActivityPendingIntent(@NonNull Context context) {
         Intent activityIntent = new Intent(context, MainActivity.class)
                 .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK)
                 .setAction(Intent.ACTION_EDIT); // distinguish from Launcher & Notifier intents
 
         return PendingIntent.getActivity(context, 0, activityIntent,
-                PendingIntent.FLAG_ONE_SHOT + PendingIntent.FLAG_IMMUTABLE);
+                PendingIntent.FLAG_UPDATE_CURRENT + PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    /**
+     * Returns the RegisteredAlarms record. The first time in each process, it checks that the
+     * recorded reminder alarm's PendingIntent still exists since a Force Stop cancels the app's
+     * alarms and PendingIntents without telling it.
+     */
+    @MainThread
+    @NonNull
+    private static RegisteredAlarms registeredAlarms(@NonNull Context context) {
+        RegisteredAlarms registered = new RegisteredAlarms(context);
+
+        if (!checkedRegisteredAlarms) {
+            checkedRegisteredAlarms = true;
+
+            Intent intent = new Intent(context, AlarmReceiver.class).setAction(ACTION_ALARM);
+            if (registered.getAlarm() != null && PendingIntent.getBroadcast(context, 0, intent,
+                    PendingIntent.FLAG_NO_CREATE | PendingIntent.FLAG_IMMUTABLE) == null) {
+                Log.i(TAG, "The registered alarms are gone");
+                registered.clear();
+            }
+        }
+        return registered;
     }
 
     /** Get a string description of an Intent, including extras, for debugging. */
@@ -122,11 +222,11 @@ public class AlarmReceiver extends BroadcastReceiver {
     }
 
     /** Returns the SystemClock.elapsedRealtime() for the next reminder notification. */
-    private static long nextReminderTime(@NonNull ApplicationState state) {
+    static long nextReminderTime(@NonNull ApplicationState state) {
         TimeCounter timer = state.getTimeCounter();
-        long periodMs     = state.getMillisecondsPerReminder();
+        long periodMs     = state.snapshot().getMillisecondsPerReminder();
         long now          = timer.elapsedRealtimeClock();
-        long timed        = timer.getElapsedTime();
+        long timed        = timer.snapshot().getElapsedTime(now);
         long untilNextReminder = periodMs - (timed % periodMs);
 
         // Don't (re)schedule within a small window. That'd double-alarm if the notification
@@ -138,7 +238,12 @@ public class AlarmReceiver extends BroadcastReceiver {
         // unlikely, less bad than dropping an alarm, and attempts to avoid it caused worse problems
         // with a second alarm ~5 seconds after the regular alarm if Android was busy in another
         // app. onReceive() takes 9-60 ms [?] to open a notifier, not 5 secs, so that's not it.
-        if (untilNextReminder < ALARM_TOLERANCE_MS) {
+        //
+        // Also skip the reminder this process just handled. A compensated alarm can arrive a
+        // little before its deadline, and rescheduling that deadline would double-alarm.
+        long fromLastHandled = Math.abs(now + untilNextReminder - lastHandledTarget);
+        if (untilNextReminder < ALARM_TOLERANCE_MS
+                || fromLastHandled <= LatenessEstimator.MAX_COMPENSATION_MS + ALARM_TOLERANCE_MS) {
             untilNextReminder += periodMs;
         }
 
@@ -146,62 +251,265 @@ public class AlarmReceiver extends BroadcastReceiver {
     }
 
     /**
-     * (Re)schedules the next reminder Notification via an AlarmManager Intent.
-     * Deals with system idle/doze modes.
+     * (Re)schedules the next reminder Notification via an AlarmManager Intent, degrading through
+     * the scheduling {@link Tier}s as needed. Deals with system idle/doze modes. Skips the
+     * AlarmManager calls if the alarms are already registered.
      */
     private static void scheduleNextReminder(@NonNull Context context,
             @NonNull ApplicationState state) {
         AlarmManager alarmMgr = (AlarmManager)context.getSystemService(Context.ALARM_SERVICE);
         long nextReminder = nextReminderTime(state);
-        PendingIntent pendingIntent = makeAlarmPendingIntent(context, nextReminder);
+        Tier tier = Tier.IN_PROCESS;
+
+        cancelInProcessReminder();
 
         if (alarmMgr == null) {
             Log.w(TAG, "scheduleNextReminder: null alarmMgr");
+        } else {
+            RegisteredAlarms registered = registeredAlarms(context);
+
+            tier = reconcileAlarm(context, alarmMgr, state, registered, nextReminder);
+            reconcileWarmUp(context, alarmMgr, state, registered, nextReminder, tier);
+        }
+
+        // Backstop an inexact alarm with a precise in-process one while the Activity is visible.
+        if (tier.compareTo(Tier.WINDOW) >= 0 && InAppAlarmPlayer.isActive()) {
+            scheduleInProcessReminder(context, nextReminder);
+        }
+    }
+
+    /**
+     * Returns the reminder alarm to register for nextReminder with the most accurate AlarmManager
+     * tier that should work on this device, skipping a tier that AlarmManager denied. An exact
+     * tier triggers early by the measured lateness compensation. {@link #scheduleAlarm} moves a
+     * trigger time that already passed up to now, so this stays the same as time passes and keeps
+     * matching the registered alarm.
+     */
+    @NonNull
+    private static RegisteredAlarms.Alarm desiredAlarm(@NonNull Context context,
+            @NonNull AlarmManager alarmMgr, @NonNull ApplicationState state,
+            @NonNull RegisteredAlarms registered, long nextReminder) {
+        boolean canScheduleExact = Build.VERSION.SDK_INT < 31 || alarmMgr.canScheduleExactAlarms();
+        Tier limit = registered.getTierLimit();
+        Tier tier = limit == null ? Tier.ALARM_CLOCK : limit;
+
+        if (!canScheduleExact || !tier.isExact()) {
+            return new RegisteredAlarms.Alarm(Tier.WINDOW, nextReminder, nextReminder, 0);
+        }
+
+        TimeCounter timer = state.getTimeCounter();
+        long trigger = nextReminder - new ReminderAccuracy(context).getCompensation();
+        long wallTrigger = tier == Tier.ALARM_CLOCK ? timer.elapsedTimeToWallTime(trigger) : 0;
+
+        return new RegisteredAlarms.Alarm(tier, nextReminder, trigger, wallTrigger);
+    }
+
+    /**
+     * Registers the desired reminder alarm unless it's already registered.
+     *
+     * @return the Tier that scheduled it.
+     */
+    @NonNull
+    private static Tier reconcileAlarm(@NonNull Context context, @NonNull AlarmManager alarmMgr,
+            @NonNull ApplicationState state, @NonNull RegisteredAlarms registered,
+            long nextReminder) {
+        RegisteredAlarms.Alarm desired =
+                desiredAlarm(context, alarmMgr, state, registered, nextReminder);
+        RegisteredAlarms.Alarm current = registered.getAlarm();
+
+        if (current != null && desired.matches(current)) {
+            return current.tier;
+        }
+
+        RegisteredAlarms.Alarm scheduled =
+                scheduleAlarm(context, alarmMgr, state.getTimeCounter(), desired);
+        if (scheduled.tier != desired.tier) { // don't retry the denied tier at every update
+            registered.setTierLimit(scheduled.tier);
+        }
+        registered.setAlarm(scheduled);
+        return scheduled.tier;
+    }
+
+    /**
+     * Schedules the desired reminder alarm, degrading to a less accurate tier if AlarmManager
+     * denies exact alarm access. It triggers an exact alarm now if its desired trigger time
+     * already passed.
+     *
+     * @return the alarm it scheduled, recorded with the desired trigger time.
+     */
+    @SuppressWarnings("MissingPermission") // it catches SecurityException
+    @NonNull
+    private static RegisteredAlarms.Alarm scheduleAlarm(@NonNull Context context,
+            @NonNull AlarmManager alarmMgr, @NonNull TimeCounter timer,
+            @NonNull RegisteredAlarms.Alarm desired) {
+        long nextReminder = desired.target;
+        long trigger = Math.max(desired.trigger, timer.elapsedRealtimeClock());
+
+        if (desired.tier == Tier.ALARM_CLOCK) {
+            long wallTrigger = trigger == desired.trigger ? desired.wallTrigger
+                    : timer.elapsedTimeToWallTime(trigger);
+
+            try {
+                setAlarmClockV21(context, alarmMgr, wallTrigger,
+                        makeAlarmPendingIntent(context, nextReminder, trigger, Tier.ALARM_CLOCK));
+                return desired;
+            } catch (SecurityException e) {
+                Log.e(TAG, "setAlarmClock() needs exact alarm access", e);
+            }
+        }
+
+        if (desired.tier.isExact()) {
+            try {
+                alarmMgr.setExactAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, trigger,
+                        makeAlarmPendingIntent(context, nextReminder, trigger,
+                                Tier.EXACT_WHILE_IDLE));
+                return new RegisteredAlarms.Alarm(
+                        Tier.EXACT_WHILE_IDLE, nextReminder, desired.trigger, 0);
+            } catch (SecurityException e) {
+                Log.e(TAG, "setExactAndAllowWhileIdle() needs exact alarm access", e);
+            }
+        }
+
+        informNeedAlarmAccess(context);
+        alarmMgr.setWindow(AlarmManager.ELAPSED_REALTIME_WAKEUP, nextReminder, ALARM_WINDOW_MS,
+                makeAlarmPendingIntent(context, nextReminder, nextReminder, Tier.WINDOW));
+        return new RegisteredAlarms.Alarm(Tier.WINDOW, nextReminder, nextReminder, 0);
+    }
+
+    /**
+     * Schedules or cancels the warm-up alarm for the reminder at nextReminder unless it's already
+     * registered or canceled. It only helps with an exact tier, and it needs exact alarm access
+     * itself.
+     */
+    @SuppressWarnings("MissingPermission") // it catches SecurityException
+    private static void reconcileWarmUp(@NonNull Context context, @NonNull AlarmManager alarmMgr,
+            @NonNull ApplicationState state, @NonNull RegisteredAlarms registered,
+            long nextReminder, @NonNull Tier tier) {
+        int warmUpSeconds = state.snapshot().getWarmUpSeconds();
+        long warmUpTime = nextReminder - warmUpSeconds * 1000L;
+        long now = state.getTimeCounter().elapsedRealtimeClock();
+        boolean wanted = warmUpSeconds > 0 && tier.compareTo(Tier.EXACT_WHILE_IDLE) <= 0
+                && warmUpTime > now;
+        long desired = wanted ? warmUpTime : 0;
+
+        if (desired == registered.getWarmUpTime()) {
             return;
         }
 
-        setAlarmClockV21(context, alarmMgr, state, nextReminder, pendingIntent);
+        PendingIntent warmUpIntent = makeWarmUpPendingIntent(context, nextReminder);
+
+        if (wanted) {
+            try {
+                alarmMgr.setExactAndAllowWhileIdle(
+                        AlarmManager.ELAPSED_REALTIME_WAKEUP, warmUpTime, warmUpIntent);
+                registered.setWarmUpTime(warmUpTime);
+                return;
+            } catch (SecurityException e) {
+                Log.e(TAG, "Warm-up needs exact alarm access", e);
+            }
+        }
+
+        alarmMgr.cancel(warmUpIntent);
+        registered.setWarmUpTime(0);
     }
 
     /**
-     * Converts the elapsed time value to a wall clock time value and calls setAlarmClock().
-     * setAlarmClock() alarms should wake the device if dozing in v23, unlike set().
+     * Calls setAlarmClock(). setAlarmClock() alarms should wake the device if dozing in v23,
+     * unlike set().
      *
-     * @param nextReminder the SystemClock.elapsedRealtime() for the next reminder notification
-     * @param pendingIntent the PendingIntent to wake this receiver in nextReminder msec
+     * @param wallTrigger the wall clock time to trigger the next reminder alarm
+     * @param pendingIntent the PendingIntent to wake this receiver at the trigger time
+     * @throws SecurityException if the app lacks exact alarm access. API 31 - 32: setAlarmClock()
+     *      needs revocable SCHEDULE_EXACT_ALARM. API 33+: non-revocable USE_EXACT_ALARM for calendar
+     *      and alarm clock apps.
      */
     @RequiresPermission(anyOf = {
             android.Manifest.permission.SCHEDULE_EXACT_ALARM,
             android.Manifest.permission.SET_ALARM})
     private static void setAlarmClockV21(Context context, @NonNull AlarmManager alarmMgr,
-            @NonNull ApplicationState state, long nextReminder, PendingIntent pendingIntent) {
-        PendingIntent activityPI = makeActivityPendingIntent(context);
-        TimeCounter timer        = state.getTimeCounter();
-        long reminderWallTime    = timer.elapsedTimeToWallTime(nextReminder);
-        AlarmManager.AlarmClockInfo info =
-                new AlarmManager.AlarmClockInfo(reminderWallTime, activityPI);
-
-        try {
-            // This alarm type is supposed to be exact even in doze mode, and it displays a
-            // user-visible alarm clock icon in the notification bar, with further alarm info in the
-            // system notification widgets.
-            alarmMgr.setAlarmClock(info, pendingIntent);
-        } catch (SecurityException e) {
-            // API 31 - 32: setAlarmClock() needs revocable SCHEDULE_EXACT_ALARM. In this
-            // case, could ask the user to grant the SCHEDULE_EXACT_ALARM permission via a dialog
-            // then invoke an intent that includes the ACTION_REQUEST_SCHEDULE_EXACT_ALARM intent
-            // action.
-            // API 33+: non-revocable USE_EXACT_ALARM for calendar and alarm clock apps.
-            Log.e(TAG, "Need SCHEDULE_EXACT_ALARM permission", e);
-            // NOTE: Use a Toast so this shows up even for a home screen widget. It doesn't show up
-            // when using a notification's Play button.
-            // TODO: Ask the user for permission? Degrade to setExactAndAllowWhileIdle() or an
-            // inexact alarm? Is that useful enough?
-            // https://developer.android.com/about/versions/14/changes/schedule-exact-alarms#migration
+            long wallTrigger, PendingIntent pendingIntent) {
+        PendingIntent activityPI = PendingIntentPool.alarmActivityIntent(context);
+        AlarmManager.AlarmClockInfo info = new AlarmManager.AlarmClockInfo(wallTrigger, activityPI);
+
+        // This alarm type is supposed to be exact even in doze mode, and it displays a
+        // user-visible alarm clock icon in the notification bar, with further alarm info in the
+        // system notification widgets.
+        alarmMgr.setAlarmClock(info, pendingIntent);
+    }
+
+    /**
+     * Tells the user once per process that reminders need exact alarm access to be on time.
+     * <p/>
+     * NOTE: Use a Toast so this shows up even for a home screen widget. It doesn't show up when
+     * using a notification's Play button.
+     * <p/>
+     * TODO: Ask the user for permission via ACTION_REQUEST_SCHEDULE_EXACT_ALARM?
+     * https://developer.android.com/about/versions/14/changes/schedule-exact-alarms#migration
+     */
+    private static void informNeedAlarmAccess(@NonNull Context context) {
+        if (!toldNeedAlarmAccess) {
+            toldNeedAlarmAccess = true;
             Toast.makeText(context, R.string.need_alarm_access, Toast.LENGTH_LONG).show();
         }
     }
 
+    /** Schedules a {@link Tier#IN_PROCESS} reminder at nextReminder. */
+    @MainThread
+    private static void scheduleInProcessReminder(@NonNull Context context, long nextReminder) {
+        Context appContext = context.getApplicationContext();
+        TimeCounter timer = ApplicationState.sharedInstance(appContext).getTimeCounter();
+        long delay = nextReminder - timer.elapsedRealtimeClock();
+
+        inProcessReminder = () -> {
+            inProcessReminder = null;
+            handleAlarm(appContext, nextReminder, nextReminder, Tier.IN_PROCESS);
+            finishWarmUp();
+        };
+        inProcessHandler.postDelayed(inProcessReminder, Math.max(delay, 0));
+    }
+
+    /** Cancels the {@link Tier#IN_PROCESS} reminder, if any, and any warm-up. */
+    @MainThread
+    private static void cancelInProcessReminder() {
+        if (inProcessReminder != null) {
+            inProcessHandler.removeCallbacks(inProcessReminder);
+            inProcessReminder = null;
+        }
+        finishWarmUp();
+    }
+
+    /**
+     * Handles a warm-up alarm: Loads the state, builds the reminder notification, and keeps this
+     * broadcast (and thus the process) alive to post it from an in-process Handler right at the
+     * deadline. The regular reminder alarm stays scheduled as a fallback.
+     */
+    @MainThread
+    private void warmUp(@NonNull Context context, long target) {
+        ApplicationState state = ApplicationState.sharedInstance(context);
+        TimeCounter timer      = state.getTimeCounter();
+
+        if (!timer.isRunning() || !state.isEnableReminders() || target == lastHandledTarget
+                || target <= timer.elapsedRealtimeClock()) {
+            return; // Stale; the regular alarm handles it.
+        }
+
+        cancelInProcessReminder();
+        warmUpNotification = new Notifier(context).setAlarm(true).buildNotification(state);
+        warmUpResult = goAsync();
+        scheduleInProcessReminder(context, target);
+    }
+
+    /** Finishes the warm-up broadcast, if any, letting the process go idle. */
+    @MainThread
+    private static void finishWarmUp() {
+        warmUpNotification = null;
+
+        if (warmUpResult != null) {
+            warmUpResult.finish();
+            warmUpResult = null;
+        }
+    }
+
     /**
      * Handles a clock or timezone adjustment (ACTION_TIME_CHANGED or
      * ACTION_TIMEZONE_CHANGED) by updating alarms as needed. It's needed with:
@@ -213,6 +521,9 @@ public class AlarmReceiver extends BroadcastReceiver {
      *     <a href="https://code.google.com/p/android/issues/detail?id=2880">Issue 2880</a>, where
      *     setting the clock backwards delays outstanding alarms.</li>
      *</ul>
+     * The alarm reconciliation reschedules a setAlarmClock() alarm only if the adjustment shifted
+     * the elapsed time to wall time mapping, so a timezone change or an NTP nudge of a few msec
+     * doesn't touch AlarmManager. The elapsed time alarm tiers don't depend on the wall clock.
      */
     public static void handleClockAdjustment(@NonNull Context context) {
         updateNotifications(context);
@@ -231,6 +542,9 @@ public class AlarmReceiver extends BroadcastReceiver {
         Notifier notifier             = new Notifier(context);
 
         notifier.openOrCancel(state);
+        KitchenDisplay.update(context, state);
+        TimerService.notifyStateChanged(state);
+        TimerEventPublisher.sharedInstance(context).publishTransition();
 
         if (isRunning && enableReminders) {
             scheduleNextReminder(context, state);
@@ -239,11 +553,22 @@ public class AlarmReceiver extends BroadcastReceiver {
         }
     }
 
-    /** Cancels any outstanding reminders by canceling the AlarmManager Intents. */
+    /**
+     * Cancels any outstanding reminders by canceling the AlarmManager Intents, if the
+     * RegisteredAlarms record has any.
+     */
     public static void cancelReminders(@NonNull Context context) {
         AlarmManager alarmMgr = (AlarmManager)context.getSystemService(Context.ALARM_SERVICE);
-        PendingIntent pendingIntent = makeAlarmPendingIntent(context, 0);
-        PendingIntent activityPI = makeActivityPendingIntent(context);
+        RegisteredAlarms registered = registeredAlarms(context);
+
+        cancelInProcessReminder();
+
+        if (registered.isEmpty()) {
+            return;
+        }
+
+        PendingIntent pendingIntent = makeAlarmPendingIntent(context, 0, 0, Tier.ALARM_CLOCK);
+        PendingIntent activityPI = PendingIntentPool.alarmActivityIntent(context);
 
         if (alarmMgr == null) {
             Log.w(TAG, "cancelReminders: null alarmMgr");
@@ -251,23 +576,23 @@ public class AlarmReceiver extends BroadcastReceiver {
         }
 
         alarmMgr.cancel(pendingIntent);
+        alarmMgr.cancel(makeWarmUpPendingIntent(context, 0));
         alarmMgr.cancel(activityPI);
+        registered.clear();
     }
 
     /**
-     * Returns true if the Intent is more than {@link #ALARM_TOLERANCE_MS} earlier than its
-     * setAlarmClock() target time. See {@link #EXTRA_ELAPSED_REALTIME_TARGET} for why.
+     * Returns true if the alarm arrived more than {@link #ALARM_TOLERANCE_MS} earlier than its
+     * trigger time. See {@link #EXTRA_ELAPSED_REALTIME_TARGET} for why.
+     *
+     * @param howLate how many msec after its trigger time the alarm arrived
      */
-    private boolean isAlarmEarly(@NonNull Intent intent, @NonNull TimeCounter timer) {
-        long now    = timer.elapsedRealtimeClock();
-        long target = intent.getLongExtra(EXTRA_ELAPSED_REALTIME_TARGET, now);
-        long howLate = now - target;
-
+    private static boolean isAlarmEarly(long howLate, @NonNull Tier tier) {
         if (howLate < -ALARM_TOLERANCE_MS) {
-            Log.w(TAG, "ALARM EARLY " + (-howLate) + " msec " + intent);
+            Log.w(TAG, "ALARM EARLY " + (-howLate) + " msec via " + tier);
             return true;
         } else if (howLate > ALARM_TOLERANCE_MS) {
-            Log.w(TAG, "ALARM LATE " + howLate + " msec " + intent);
+            Log.w(TAG, "ALARM LATE " + howLate + " msec via " + tier);
         }
         return false;
     }
@@ -278,18 +603,71 @@ public class AlarmReceiver extends BroadcastReceiver {
      */
     @Override
     public final void onReceive(@NonNull Context context, @NonNull Intent intent) {
-        if (!ACTION_ALARM.equals(intent.getAction())) {
+        String action = intent.getAction();
+
+        if (!ACTION_ALARM.equals(action) && !ACTION_WARM_UP.equals(action)) {
             return;
         }
 
+        Log.d(TAG, intent.toString()); // intent.getAction() == null
+        TimeCounter timer = ApplicationState.sharedInstance(context).getTimeCounter();
+        long now    = timer.elapsedRealtimeClock();
+        long target = intent.getLongExtra(EXTRA_ELAPSED_REALTIME_TARGET, now);
+
+        // AlarmManager delivered this alarm, so it's no longer registered.
+        RegisteredAlarms registered = registeredAlarms(context);
+
+        if (ACTION_WARM_UP.equals(action)) {
+            registered.setWarmUpTime(0);
+            warmUp(context, target);
+        } else {
+            registered.setAlarm(null);
+            long trigger = intent.getLongExtra(EXTRA_ELAPSED_REALTIME_TRIGGER, target);
+            Tier tier = Tier.fromOrdinal(intent.getIntExtra(EXTRA_TIER, 0));
+            handleAlarm(context, target, trigger, tier);
+        }
+    }
+
+    /**
+     * Handles a reminder alarm that the given Tier scheduled for the target deadline, triggering
+     * at the compensated trigger time (both in elapsedRealtimeClock() msec): Records its accuracy,
+     * shows/plays a reminder alarm and vibration via the Notifier, and schedules the next
+     * repeating alarm. Detects and quiets early alarms and duplicate deliveries of a reminder,
+     * e.g. from a warm-up and its fallback alarm.
+     */
+    @MainThread
+    private static void handleAlarm(@NonNull Context context, long target, long trigger,
+            @NonNull Tier tier) {
         ApplicationState state = ApplicationState.sharedInstance(context);
         TimeCounter timer      = state.getTimeCounter();
 
+        if (target == lastHandledTarget) {
+            Log.d(TAG, "Dropped a duplicate reminder via " + tier);
+            return;
+        }
+
         if (timer.isRunning()) {
-            if (!isAlarmEarly(intent, timer)) {
-                Log.d(TAG, intent.toString()); // intent.getAction() == null
-                Notifier notifier = new Notifier(context).setAlarm(true);
-                notifier.openOrCancel(state);
+            long now = timer.elapsedRealtimeClock();
+            long howLate = now - trigger;
+
+            if (!isAlarmEarly(howLate, tier)) {
+                lastHandledTarget = target;
+
+                // Sound the alarm first. While the Activity is visible and the Alarm channel is
+                // audible, InAppAlarmPlayer sounds it with lower latency (or already did at the
+                // deadline), so just update the notification.
+                boolean playedInApp = InAppAlarmPlayer.playReminder(target);
+                Notifier notifier = new Notifier(context).setAlarm(!playedInApp);
+
+                if (warmUpNotification != null && !playedInApp) {
+                    notifier.open(warmUpNotification);
+                } else {
+                    notifier.openOrCancel(state);
+                }
+
+                new ReminderAccuracy(context).record(tier, now - target, howLate);
+                timer.countReminder();
+                state.save(context);
                 TimerAppWidgetProvider.updateAllWidgets(context, state);
             }
 
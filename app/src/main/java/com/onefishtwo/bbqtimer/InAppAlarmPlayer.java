@@ -0,0 +1,236 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer;
+
+import android.content.Context;
+import android.media.AudioAttributes;
+import android.media.SoundPool;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.VibrationEffect;
+import android.os.Vibrator;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.onefishtwo.bbqtimer.state.ApplicationState;
+
+/**
+ * Plays the periodic reminder alarm in-process while {@link MainActivity} is visible.<p/>
+ *
+ * The notification path sends the cowbell sound through NotificationManager and the system media
+ * player, which adds audible latency and jitter. This player decodes the sound into a SoundPool
+ * ahead of time and plays it on the alarm stream from a main thread timer aligned to the reminder
+ * deadline. While it's active, {@link AlarmReceiver} asks it to sound each reminder (which it
+ * skips if it already sounded that deadline) and posts the notification silently. Stopping the player (when the
+ * Activity goes away) hands the sound back to the notifications.<p/>
+ *
+ * The player plays only while the Alarm notification channel is audible, so it honors the user's
+ * channel settings. If the user muted the channel or lowered its Importance, it leaves the
+ * reminders to the notifications, which then sound (or don't) per the channel.
+ */
+class InAppAlarmPlayer {
+    private static final String TAG = "InAppAlarmPlayer";
+
+    /** How close to a reminder deadline to play the alarm; otherwise reschedule. */
+    private static final long ON_TIME_TOLERANCE_MS = 50L;
+
+    /** The started player with its sound loaded, if any. Main thread only. */
+    @Nullable
+    private static InAppAlarmPlayer activePlayer;
+
+    @NonNull
+    private final Context context;
+    @NonNull
+    private final Notifier notifier;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable fireAlarm = this::fireAlarm;
+    @Nullable
+    private SoundPool soundPool;
+    private int soundId;
+    private boolean loaded;
+    /**
+     * The reminder deadline it last sounded, in elapsedRealtimeClock() msec, so the AlarmManager
+     * alarm for the same deadline doesn't sound it again however late it arrives.
+     */
+    private long lastPlayedTarget = -1;
+
+    InAppAlarmPlayer(@NonNull Context _context) {
+        context = _context.getApplicationContext();
+        notifier = new Notifier(context);
+    }
+
+    /** Returns true if a player is started with its sound loaded, i.e. the Activity is visible. */
+    @MainThread
+    static boolean isActive() {
+        return activePlayer != null;
+    }
+
+    /**
+     * Sounds the reminder alarm for the target deadline if a player is active, unless it already
+     * sounded that deadline, and reschedules it. AlarmReceiver calls this so a reminder still
+     * sounds if the timer state changed outside the Activity, e.g. via the notification.
+     *
+     * @param target the reminder deadline, in elapsedRealtimeClock() msec
+     * @return true if a player is active and the Alarm channel is audible, so it sounded the
+     *     reminder (now or before) and the notification should be silent.
+     */
+    @MainThread
+    static boolean playReminder(long target) {
+        InAppAlarmPlayer player = activePlayer;
+
+        if (player == null) {
+            return false;
+        }
+        if (!player.notifier.isAlarmChannelAudible()) {
+            player.schedule();
+            return false;
+        }
+
+        player.play(target);
+        player.schedule();
+        return true;
+    }
+
+    /** Starts loading the sound. The player becomes active once it's decoded. */
+    @MainThread
+    void start() {
+        if (soundPool != null) {
+            return;
+        }
+
+        AudioAttributes audioAttributes = new AudioAttributes.Builder()
+                .setUsage(AudioAttributes.USAGE_ALARM)
+                .setContentType(AudioAttributes.CONTENT_TYPE_SONIFICATION)
+                .build();
+        SoundPool pool = new SoundPool.Builder()
+                .setMaxStreams(1)
+                .setAudioAttributes(audioAttributes)
+                .build();
+
+        pool.setOnLoadCompleteListener((p, sampleId, status) -> {
+            if (p != soundPool) { // stopped meanwhile
+                return;
+            }
+            if (status != 0) {
+                Log.w(TAG, "Couldn't load the alarm sound, status " + status);
+                return;
+            }
+
+            loaded = true;
+            activePlayer = this;
+            schedule();
+        });
+
+        soundPool = pool;
+        soundId = pool.load(context, R.raw.cowbell4, 1);
+    }
+
+    /** Stops playing and releases the sound, handing the alarms back to the notifications. */
+    @MainThread
+    void stop() {
+        handler.removeCallbacks(fireAlarm);
+        if (activePlayer == this) {
+            activePlayer = null;
+        }
+        loaded = false;
+
+        if (soundPool != null) {
+            soundPool.release();
+            soundPool = null;
+        }
+    }
+
+    /** (Re)schedules the next in-process alarm per the timer state. Call after state changes. */
+    @MainThread
+    void schedule() {
+        handler.removeCallbacks(fireAlarm);
+
+        ApplicationState state = ApplicationState.sharedInstance(context);
+        TimeCounter timer = state.getTimeCounter();
+
+        if (!loaded || !timer.isRunning() || !state.snapshot().isEnableReminders()) {
+            return;
+        }
+
+        long delay = AlarmReceiver.nextReminderTime(state) - timer.elapsedRealtimeClock();
+        handler.postDelayed(fireAlarm, Math.max(delay, 0));
+    }
+
+    /**
+     * Plays the alarm if the timer is (still) at a reminder deadline, then schedules the next one.
+     * The state might've changed since scheduling, e.g. via the notification.
+     */
+    @MainThread
+    private void fireAlarm() {
+        ApplicationState state = ApplicationState.sharedInstance(context);
+        TimeCounter timer = state.getTimeCounter();
+        TimeCounter.Snapshot timerState = timer.snapshot();
+        ApplicationState.Settings settings = state.snapshot();
+
+        if (timerState.isRunning() && settings.isEnableReminders()) {
+            long period = settings.getMillisecondsPerReminder();
+            long now = timer.elapsedRealtimeClock();
+            long phase = timerState.getElapsedTime(now) % period;
+            long target = phase < period / 2 ? now - phase : now + period - phase;
+
+            if ((phase < ON_TIME_TOLERANCE_MS || period - phase < ON_TIME_TOLERANCE_MS)
+                    && notifier.isAlarmChannelAudible()) {
+                play(target);
+            }
+        }
+
+        schedule();
+    }
+
+    /**
+     * Plays the alarm sound and vibration for the target deadline unless it already did. The
+     * deadline is the same as AlarmReceiver's target since both are start + n * period.
+     */
+    @MainThread
+    private void play(long target) {
+        if (soundPool == null || target == lastPlayedTarget) {
+            return;
+        }
+
+        lastPlayedTarget = target;
+        soundPool.play(soundId, 1.0f, 1.0f, 1, 0, 1.0f);
+        vibrate();
+    }
+
+    /** Vibrates like the alarm notification would. */
+    @SuppressWarnings("deprecation")
+    private void vibrate() {
+        Vibrator vibrator = (Vibrator) context.getSystemService(Context.VIBRATOR_SERVICE);
+
+        if (vibrator == null || !vibrator.hasVibrator()) {
+            return;
+        }
+
+        if (Build.VERSION.SDK_INT >= 26) {
+            vibrator.vibrate(VibrationEffect.createWaveform(Notifier.VIBRATE_PATTERN, -1));
+        } else {
+            vibrator.vibrate(Notifier.VIBRATE_PATTERN, -1);
+        }
+    }
+}
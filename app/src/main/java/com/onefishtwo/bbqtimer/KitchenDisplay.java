@@ -0,0 +1,172 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.LinkAddress;
+import android.net.LinkProperties;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.onefishtwo.bbqtimer.display.DisplayServer;
+import com.onefishtwo.bbqtimer.display.DisplaySnapshot;
+import com.onefishtwo.bbqtimer.state.ApplicationState;
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the opt-in kitchen display {@link DisplayServer} on {@link #PORT} while the process is
+ * alive, publishing the timer state to it when it changes.<p/>
+ *
+ * The server listens only on the device's private IPv4 address on a Wi-Fi or Ethernet network,
+ * never on cellular or other interfaces, and serves only clients that send the user's pairing
+ * code. It rebinds at the next update after the network changes.<p/>
+ *
+ * Binding and closing the server (which waits for its selector thread to finish) run on a
+ * background thread, so they don't block the main thread.
+ */
+final class KitchenDisplay {
+    private static final String TAG = "KitchenDisplay";
+
+    /** The TCP port that kitchen display clients connect to. */
+    static final int PORT = 48_120;
+
+    /** Runs the server changes in order. */
+    private static final Executor executor = Executors.newSingleThreadExecutor();
+
+    /** Executor thread only. */
+    @Nullable
+    private static DisplayServer server;
+    @Nullable
+    private static InetAddress boundAddress;
+    @Nullable
+    private static String boundCode;
+    @Nullable
+    private static DisplaySnapshot published;
+    private static int sequence;
+
+    private KitchenDisplay() {}
+
+    /** Starts, stops, or updates the server per the state's opt-in, the network, and the timer. */
+    @MainThread
+    static void update(@NonNull Context context, @NonNull ApplicationState state) {
+        ApplicationState.Settings settings = state.snapshot();
+        InetAddress address = settings.isKitchenDisplay() ? lanAddress(context) : null;
+        String code = settings.getKitchenDisplayCode();
+        TimeCounter timeCounter = state.getTimeCounter();
+        TimeCounter.Snapshot timer = timeCounter.snapshot();
+        long now = timeCounter.elapsedRealtimeClock();
+        long reminderMs =
+                settings.isEnableReminders() ? settings.getMillisecondsPerReminder() : 0;
+
+        executor.execute(() -> apply(address, code, timer, now, reminderMs));
+    }
+
+    /** Starts, stops, rebinds, or publishes to the server per update()'s readings. */
+    @WorkerThread
+    private static void apply(@Nullable InetAddress address, @NonNull String code,
+            @NonNull TimeCounter.Snapshot timer, long now, long reminderMs) {
+        if (server != null
+                && (address == null || !address.equals(boundAddress) || !code.equals(boundCode))) {
+            stop();
+        }
+        if (address == null) {
+            return;
+        }
+
+        if (server == null) {
+            DisplayServer newServer = new DisplayServer(SystemClock::elapsedRealtime,
+                    DisplayServer.HEARTBEAT_MS, code, Logger.ANDROID);
+
+            try {
+                newServer.start(new InetSocketAddress(address, PORT));
+            } catch (IOException e) {
+                Log.e(TAG, "Couldn't start the kitchen display server", e);
+                return;
+            }
+            server = newServer;
+            boundAddress = address;
+            boundCode = code;
+        }
+
+        DisplaySnapshot snapshot = new DisplaySnapshot(sequence + 1, timer.isRunning(),
+                timer.isPaused(), now, timer.getStartTime(), timer.getPauseTime(), reminderMs);
+
+        if (published == null || !published.sameState(snapshot)) {
+            ++sequence;
+            published = snapshot;
+            server.publish(snapshot);
+        }
+    }
+
+    @WorkerThread
+    private static void stop() {
+        if (server != null) {
+            server.close();
+        }
+        server = null;
+        boundAddress = null;
+        boundCode = null;
+        published = null;
+    }
+
+    /**
+     * Returns the device's private IPv4 address on the active network if that's a Wi-Fi or
+     * Ethernet LAN, else null.
+     */
+    @Nullable
+    private static InetAddress lanAddress(@NonNull Context context) {
+        ConnectivityManager connectivity = context.getSystemService(ConnectivityManager.class);
+        Network network = connectivity == null ? null : connectivity.getActiveNetwork();
+        if (network == null) {
+            return null;
+        }
+
+        NetworkCapabilities capabilities = connectivity.getNetworkCapabilities(network);
+        LinkProperties link = connectivity.getLinkProperties(network);
+        if (capabilities == null || link == null
+                || !(capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)
+                    || capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET))) {
+            return null;
+        }
+
+        for (LinkAddress linkAddress : link.getLinkAddresses()) {
+            InetAddress address = linkAddress.getAddress();
+
+            if (address instanceof Inet4Address && address.isSiteLocalAddress()) {
+                return address;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A rolling, outlier-resistant estimate of how late this device delivers exact alarms: the median
+ * of the last {@link #WINDOW} plausible samples, clamped to [0, {@link #MAX_COMPENSATION_MS}].
+ * Samples beyond {@link #MAX_SAMPLE_MS}, e.g. from doze mode, don't count.
+ */
+class LatenessEstimator {
+    /** The number of recent samples to take the median of. */
+    static final int WINDOW = 15;
+    /** The number of samples needed before estimating. */
+    static final int MIN_SAMPLES = 3;
+    /** Ignore samples larger than this as outliers, in msec. */
+    static final long MAX_SAMPLE_MS = 10_000L;
+    /**
+     * The maximum estimate, in msec. It has to stay well under the minimum reminder interval so
+     * compensating can't reach back to the previous reminder.
+     */
+    static final long MAX_COMPENSATION_MS = 1_500L;
+
+    private final long[] samples = new long[WINDOW];
+    private int count; // the number of valid samples, up to WINDOW
+    private int next; // the ring buffer index for the next sample
+
+    /** Adds a sample of alarm lateness, in msec. Returns false if it's rejected as an outlier. */
+    boolean add(long latenessMs) {
+        if (latenessMs < -MAX_SAMPLE_MS || latenessMs > MAX_SAMPLE_MS) {
+            return false;
+        }
+
+        samples[next] = latenessMs;
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+        return true;
+    }
+
+    /** Returns the number of samples in the window. */
+    int getCount() {
+        return count;
+    }
+
+    /** Returns the estimated lateness to compensate for, in msec, or 0 with too few samples. */
+    long getEstimate() {
+        if (count < MIN_SAMPLES) {
+            return 0;
+        }
+
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        long median = count % 2 == 1 ? sorted[count / 2]
+                : (sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+        return Math.min(Math.max(median, 0), MAX_COMPENSATION_MS);
+    }
+
+    /** Encodes the samples, oldest first, e.g. "12,30,25", to persist them. */
+    @NonNull
+    String encode() {
+        StringBuilder sb = new StringBuilder(count * 5);
+        int start = (next - count + WINDOW) % WINDOW;
+
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(samples[(start + i) % WINDOW]);
+        }
+        return sb.toString();
+    }
+
+    /** Decodes samples from {@link #encode()}, ignoring malformed ones. */
+    @NonNull
+    static LatenessEstimator decode(@Nullable String encoded) {
+        LatenessEstimator estimator = new LatenessEstimator();
+
+        if (encoded != null && !encoded.isEmpty()) {
+            for (String field : encoded.split(",")) {
+                try {
+                    estimator.add(Long.parseLong(field.trim()));
+                } catch (NumberFormatException e) {
+                    // skip it
+                }
+            }
+        }
+        return estimator;
+    }
+}
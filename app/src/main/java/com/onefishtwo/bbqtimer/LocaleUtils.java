@@ -34,12 +34,102 @@ public class LocaleUtils {
         return useFahrenheit(locale);
     }
 
-    /** Format a temperature in Fahrenheit °F or Celsius °C, rounded to an integer. */
+    /** The range of whole °F temperatures that get table lookups: freezer to pizza oven. */
+    static final int TABLE_MIN_FAHRENHEIT = -40;
+    static final int TABLE_MAX_FAHRENHEIT = 1000;
+
+    /**
+     * °F to °C, rounded, for each whole °F in the table range. (F - 32) * 5 / 9 is a multiple of
+     * 1/9 so it's never a rounding tie, thus Math.round() matches the "%.0f" format's rounding.
+     */
+    private static final int[] CELSIUS_TABLE =
+            new int[TABLE_MAX_FAHRENHEIT - TABLE_MIN_FAHRENHEIT + 1];
+
+    static {
+        for (int f = TABLE_MIN_FAHRENHEIT; f <= TABLE_MAX_FAHRENHEIT; ++f) {
+            CELSIUS_TABLE[f - TABLE_MIN_FAHRENHEIT] = (int) Math.round((f - 32.0) * 5 / 9);
+        }
+    }
+
+    /**
+     * An immutable-once-filled cache of formatted temperatures for one locale. Its table fills in
+     * lazily. Racing threads might format the same entry twice but Strings are immutable, so any
+     * thread that reads a non-null entry sees a complete String.
+     */
+    private static final class TemperatureFormats {
+        @NonNull
+        final Locale locale;
+        final boolean useFahrenheit;
+        @NonNull
+        final String[] table = new String[CELSIUS_TABLE.length];
+
+        TemperatureFormats(@NonNull Locale _locale) {
+            locale = _locale;
+            useFahrenheit = useFahrenheit(_locale);
+        }
+
+        @NonNull
+        String format(int fahrenheit) {
+            int i = fahrenheit - TABLE_MIN_FAHRENHEIT;
+            String result = table[i];
+
+            if (result == null) {
+                result = useFahrenheit
+                        ? String.format(locale, "%d°F", fahrenheit)
+                        : String.format(locale, "%d°C", CELSIUS_TABLE[i]);
+                table[i] = result;
+            }
+            return result;
+        }
+    }
+
+    /** The current locale's cache, or null after a locale change. */
+    private static volatile TemperatureFormats temperatureFormats;
+
+    /**
+     * Drops the cached formats. Call this on ACTION_LOCALE_CHANGED. (The cache also checks the
+     * default format locale so it can't go stale when the locale changes in-process.)
+     */
+    public static void onLocaleChanged() {
+        temperatureFormats = null;
+    }
+
     @NonNull
-    public static String formatTemperatureFromFahrenheit(double fahrenheit) {
+    private static TemperatureFormats getTemperatureFormats() {
         Locale locale = getDefaultFormatLocale();
+        TemperatureFormats formats = temperatureFormats;
+
+        if (formats == null || !formats.locale.equals(locale)) {
+            formats = new TemperatureFormats(locale);
+            temperatureFormats = formats;
+        }
+        return formats;
+    }
+
+    /** Converts °F to °C, rounded to an integer. Whole °F in the table range are lookups. */
+    public static int fahrenheitToCelsius(int fahrenheit) {
+        if (fahrenheit >= TABLE_MIN_FAHRENHEIT && fahrenheit <= TABLE_MAX_FAHRENHEIT) {
+            return CELSIUS_TABLE[fahrenheit - TABLE_MIN_FAHRENHEIT];
+        }
+        return (int) Math.round((fahrenheit - 32.0) * 5 / 9);
+    }
+
+    /**
+     * Format a temperature in Fahrenheit °F or Celsius °C, rounded to an integer. Whole °F values
+     * in the table range come from the per-locale cache.
+     */
+    @NonNull
+    public static String formatTemperatureFromFahrenheit(double fahrenheit) {
+        TemperatureFormats formats = getTemperatureFormats();
+        int whole = (int) fahrenheit;
+
+        if (whole == fahrenheit
+                && whole >= TABLE_MIN_FAHRENHEIT && whole <= TABLE_MAX_FAHRENHEIT) {
+            return formats.format(whole);
+        }
 
-        if (useFahrenheit(locale)) {
+        Locale locale = formats.locale;
+        if (formats.useFahrenheit) {
             return String.format(locale, "%.0f°F", fahrenheit);
         } else {
             double celsius = (fahrenheit - 32.0) * 5 / 9;
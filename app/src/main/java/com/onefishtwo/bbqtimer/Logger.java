@@ -0,0 +1,60 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Logs messages for classes that also run in local unit tests, where the unit test version of
+ * android.jar doesn't implement android.util.Log. The app passes {@link #ANDROID}; tests inject
+ * their own.
+ */
+public interface Logger {
+    /** Logs via android.util.Log. */
+    Logger ANDROID = (priority, tag, message, error) -> Log.println(priority, tag,
+            error == null ? message : message + '\n' + Log.getStackTraceString(error));
+
+    /**
+     * Logs the message.
+     *
+     * @param priority an android.util.Log priority such as Log.WARN
+     * @param error an exception to log with the message, or null
+     */
+    void log(int priority, @NonNull String tag, @NonNull String message, @Nullable Throwable error);
+
+    default void i(@NonNull String tag, @NonNull String message) {
+        log(Log.INFO, tag, message, null);
+    }
+
+    default void w(@NonNull String tag, @NonNull String message) {
+        log(Log.WARN, tag, message, null);
+    }
+
+    default void w(@NonNull String tag, @NonNull String message, @NonNull Throwable error) {
+        log(Log.WARN, tag, message, error);
+    }
+
+    default void e(@NonNull String tag, @NonNull String message, @NonNull Throwable error) {
+        log(Log.ERROR, tag, message, error);
+    }
+}
@@ -30,21 +30,14 @@ import android.content.DialogInterface;
 import android.content.Intent;
 import android.content.res.ColorStateList;
 import android.content.res.Configuration;
-import android.graphics.Typeface;
 import android.media.AudioManager;
+import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
-import android.os.Message;
 import android.provider.Settings;
 import android.text.Editable;
-import android.text.SpannableString;
-import android.text.Spanned;
-import android.text.style.StyleSpan;
 import android.util.Log;
 import android.util.TypedValue;
-import android.view.Gravity;
 import android.view.KeyEvent;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -54,7 +47,6 @@ import android.view.inputmethod.InputMethodManager;
 import android.widget.Button;
 import android.widget.CheckBox;
 import android.widget.EditText;
-import android.widget.PopupMenu;
 import android.widget.TextView;
 
 import androidx.activity.EdgeToEdge;
@@ -78,16 +70,25 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 import androidx.core.widget.NestedScrollView;
 import androidx.core.widget.TextViewCompat;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelProvider;
 
+import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.snackbar.BaseTransientBottomBar;
 import com.google.android.material.snackbar.Snackbar;
 import com.google.android.material.textfield.TextInputLayout;
+import com.onefishtwo.bbqtimer.history.HistoryExportTask;
+import com.onefishtwo.bbqtimer.history.HistoryExporter;
 import com.onefishtwo.bbqtimer.state.ApplicationState;
+import com.onefishtwo.bbqtimer.state.RecipeBook;
+import com.onefishtwo.bbqtimer.state.RecipeImportTask;
+import com.onefishtwo.bbqtimer.state.RecipeImporter;
 
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.ref.WeakReference;
-import java.util.Vector;
 
 /**
  * The BBQ Timer's main activity.
@@ -117,9 +118,11 @@ public class MainActivity extends AppCompatActivity
     private int viewConfiguration = -1; // optimization: don't reset all the views every 100 msec
 
     private Notifier notifier;
+    private InAppAlarmPlayer alarmPlayer;
 
     /**
-     * Make a PendingIntent to launch the Activity, e.g. from the notification.
+     * Make a PendingIntent to launch the Activity, e.g. from the notification. Get it via
+     * {@link PendingIntentPool#mainActivityIntent}.
      * <p/>
      * Use TaskStackBuilder so navigating back from the Activity goes to the Home screen.
      *
@@ -139,71 +142,189 @@ public class MainActivity extends AppCompatActivity
     }
 
     /**
-     * A Handler for periodic display updates.
+     * Subscribes to {@link TimerEventPublisher} transitions and ticks for display updates, one
+     * event at a time, so the ticks conflate if the UI thread falls behind.
      * <p>
-     * Queued Messages refer to the Handler which refers to the Activity. Since
-     * Activity#onStop() calls #endScheduledUpdates(), there's no memory leak but using a
-     * WeakReference protects that from future changes and appeases Lint.
+     * The publisher refers to the subscriber which refers to the Activity. Since Activity#onStop()
+     * calls #stop(), there's no memory leak but using a WeakReference protects that from future
+     * changes.
      */
-    private static class UpdateHandler extends Handler {
-        private static final int MSG_UPDATE = 1;
+    private static class DisplayUpdater implements TimerFlow.Subscriber<TimerEvent> {
         private static final long UPDATE_INTERVAL = 100; // msec
         @NonNull
         private final WeakReference<MainActivity> weakActivity;
+        @Nullable
+        private TimerFlow.Subscription subscription;
 
-        UpdateHandler(MainActivity activity) {
-            super(Looper.getMainLooper());
+        DisplayUpdater(MainActivity activity) {
             weakActivity = new WeakReference<>(activity);
         }
 
-        /** Handles a message to periodically update the views. */
+        /** Starts the display updates. */
+        void start(@NonNull Context context) {
+            stop();
+            TimerEventPublisher.sharedInstance(context).subscribe(this, UPDATE_INTERVAL);
+        }
+
+        /** Stops the display updates. */
+        void stop() {
+            if (subscription != null) {
+                subscription.cancel();
+                subscription = null;
+            }
+        }
+
         @Override
-        public void handleMessage(@NonNull Message msg) {
+        public void onSubscribe(@NonNull TimerFlow.Subscription _subscription) {
+            subscription = _subscription;
+            _subscription.request(1);
+        }
+
+        /** Updates the views on a transition or tick, then asks for the next one. */
+        @Override
+        public void onNext(@NonNull TimerEvent event) {
             MainActivity activity = weakActivity.get();
 
-            super.handleMessage(msg);
-            if (msg.what == MSG_UPDATE) {
-                if (activity != null) {
-                    activity.updateViews();
-                }
-                scheduleNextUpdate();
+            if (activity != null) {
+                activity.updateViews();
+            }
+            if (subscription != null) {
+                subscription.request(1);
             }
         }
 
-        /** Schedules the next Activity display update if the timer is running. */
-        private void scheduleNextUpdate() {
-            MainActivity activity = weakActivity.get();
+        @Override
+        public void onError(@NonNull Throwable throwable) {
+            Log.e(TAG, "Display updates failed", throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    /**
+     * Runs a history export across configuration changes. It reports progress and the outcome
+     * through LiveData, so they reach whichever Activity instance is current, and the task never
+     * holds onto a destroyed Activity.
+     */
+    public static class ExportViewModel extends ViewModel implements HistoryExportTask.Callback {
+        /** The progress percentage while an export runs, else null. */
+        final MutableLiveData<Integer> progress = new MutableLiveData<>();
+        /** The outcome message to show once, else null. */
+        final MutableLiveData<Integer> outcome = new MutableLiveData<>();
+        @Nullable
+        private HistoryExportTask task;
+
+        boolean isRunning() {
+            return task != null;
+        }
+
+        @MainThread
+        void start(@NonNull Context context, @NonNull Uri uri,
+                @NonNull HistoryExporter.Format format) {
+            progress.setValue(0);
+            task = HistoryExportTask.start(context.getApplicationContext(), uri, format, this);
+        }
+
+        @MainThread
+        void cancel() {
+            if (task != null) {
+                task.cancel();
+            }
+        }
+
+        @Override
+        protected void onCleared() {
+            cancel();
+        }
+
+        @Override
+        public void onExportProgress(int rowsDone, int totalRows) {
+            progress.setValue((int) (100L * rowsDone / Math.max(totalRows, 1)));
+        }
+
+        @Override
+        public void onExportFinished(boolean completed, @Nullable IOException error) {
+            task = null;
+            progress.setValue(null);
+            outcome.setValue(completed ? R.string.export_done
+                    : error != null ? R.string.export_failed
+                    : R.string.export_cancelled);
+        }
+    }
+
+    /**
+     * Runs a recipe import across configuration changes, like {@link ExportViewModel}, so the
+     * outcome reaches the current Activity instance.
+     */
+    public static class ImportViewModel extends ViewModel implements RecipeImportTask.Callback {
+        /** True while an import runs. */
+        final MutableLiveData<Boolean> running = new MutableLiveData<>(false);
+        /** True when an import finished and its outcome hasn't been shown yet. */
+        final MutableLiveData<Boolean> finished = new MutableLiveData<>(false);
+        /** The finished import's result, or null if it failed. */
+        @Nullable
+        RecipeImporter.Result result;
+        /** True if the user cancelled the finished import. */
+        boolean cancelled;
+        @Nullable
+        private RecipeImportTask task;
+
+        boolean isRunning() {
+            return task != null;
+        }
+
+        @MainThread
+        void start(@NonNull Context context, @NonNull Uri uri,
+                @NonNull RecipeImporter.Mode mode) {
+            cancelled = false;
+            running.setValue(true);
+            task = RecipeImportTask.start(context.getApplicationContext(), uri, mode, this);
+        }
 
-            if (activity != null && !activity.getTimer().isStopped()) {
-                sendEmptyMessageDelayed(MSG_UPDATE, UPDATE_INTERVAL);
+        @MainThread
+        void cancel() {
+            if (task != null) {
+                cancelled = true;
+                task.cancel();
             }
         }
 
-        /** Ends any scheduled updated messages. */
-        void endScheduledUpdates() {
-            removeMessages(MSG_UPDATE);
+        @Override
+        protected void onCleared() {
+            cancel();
         }
 
-        /** Begins the periodic display update messages if the timer is running. */
-        void beginScheduledUpdate() {
-            endScheduledUpdates();
-            scheduleNextUpdate();
+        @Override
+        public void onImportFinished(@Nullable RecipeImporter.Result _result,
+                @Nullable IOException error) {
+            task = null;
+            result = _result;
+            running.setValue(false);
+            finished.setValue(true);
         }
     }
 
-    private final UpdateHandler updateHandler = new UpdateHandler(this);
+    private final DisplayUpdater displayUpdater = new DisplayUpdater(this);
     private ApplicationState state;
     private TimeCounter timer;
-    private String lastRecipes; // the last input to styleTheRecipes()
-    private Vector<SpannableString> styledRecipes; // the output from styleTheRecipes()
-    private PopupMenu popupMenu;
+    @Nullable
+    private RecipePicker recipePicker;
     private int notificationRequestCount;
+    private ExportViewModel exportModel;
+    @Nullable
+    private Snackbar exportSnackbar;
+    private ImportViewModel importModel;
+    @Nullable
+    private Snackbar importSnackbar;
 
     private NestedScrollView mainContainer;
     private Button resetButton;
     private Button pauseResumeButton;
     private Button stopButton;
-    private TextView countUpDisplay, countdownDisplay;
+    private TimerDigitsView countUpDisplay;
+    private TextView countdownDisplay;
     private EditText2 alarmPeriod;
     private CheckBox enableReminders;
 
@@ -220,9 +341,24 @@ public class MainActivity extends AppCompatActivity
                         }
                     });
 
-    TimeCounter getTimer() {
-        return timer;
-    }
+    // These callbacks handle the document the user picked (or null) to export the history into.
+    private final ActivityResultLauncher<String> exportCsvLauncher =
+            registerForActivityResult(
+                    new ActivityResultContracts.CreateDocument(HistoryExporter.Format.CSV.mimeType),
+                    uri -> exportHistory(uri, HistoryExporter.Format.CSV));
+    private final ActivityResultLauncher<String> exportJsonLauncher =
+            registerForActivityResult(
+                    new ActivityResultContracts.CreateDocument(HistoryExporter.Format.JSON.mimeType),
+                    uri -> exportHistory(uri, HistoryExporter.Format.JSON));
+
+    // These callbacks handle the text document the user picked (or null) to import recipes from.
+    private static final String[] RECIPE_MIME_TYPES = {"text/*"};
+    private final ActivityResultLauncher<String[]> importMergeLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(),
+                    uri -> importRecipes(uri, RecipeImporter.Mode.MERGE));
+    private final ActivityResultLauncher<String[]> importReplaceLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(),
+                    uri -> importRecipes(uri, RecipeImporter.Mode.REPLACE));
 
     @MainThread
     @Override
@@ -234,9 +370,7 @@ public class MainActivity extends AppCompatActivity
 
         viewConfiguration = -1;
         notifier = new Notifier(this);
-        lastRecipes = "";
-        styledRecipes = new Vector<>(20);
-        popupMenu = null;
+        alarmPlayer = new InAppAlarmPlayer(this);
         notificationRequestCount = 0;
 
         // View Binding has potential but it makes project inspections create a lot of spurious
@@ -267,6 +401,24 @@ public class MainActivity extends AppCompatActivity
 
         setEdgeToEdgeWindowInsetsListener(mainContainer);
 
+        exportModel = new ViewModelProvider(this).get(ExportViewModel.class);
+        exportModel.progress.observe(this, this::showExportProgress);
+        exportModel.outcome.observe(this, resId -> {
+            if (resId != null) {
+                exportModel.outcome.setValue(null); // show it just once
+                makeSnackbar(resId).show();
+            }
+        });
+
+        importModel = new ViewModelProvider(this).get(ImportViewModel.class);
+        importModel.running.observe(this, this::showImportProgress);
+        importModel.finished.observe(this, finished -> {
+            if (finished) {
+                importModel.finished.setValue(false); // show it just once
+                showImportOutcome(importModel.result, importModel.cancelled);
+            }
+        });
+
         // Set the TextClassifier *THEN* enable the CLEAR_TEXT (X) endIcon.
         RecipeEditorDialogFragment.workaroundTextClassifier(alarmPeriod);
         TextInputLayout alarmPeriodLayout = findViewById(R.id.alarmPeriodLayout);
@@ -278,8 +430,6 @@ public class MainActivity extends AppCompatActivity
         });
 
         // AutoSizeText works with android:maxLines="1" but not with android:singleLine="true".
-        TextViewCompat.setAutoSizeTextTypeUniformWithConfiguration(countUpDisplay, 16,
-                1000, 1, TypedValue.COMPLEX_UNIT_DIP);
         TextViewCompat.setAutoSizeTextTypeUniformWithConfiguration(countdownDisplay, 14,
                 56, 1, TypedValue.COMPLEX_UNIT_DIP);
 
@@ -343,12 +493,15 @@ public class MainActivity extends AppCompatActivity
         return WindowInsetsCompat.CONSUMED; // don't pass windowInsets to nested Views
     }
 
+    /** Logs the configuration, the reminder accuracy, and the PendingIntent pool counts. */
     private void logTheConfiguration(@NonNull Configuration config) {
         Log.i(TAG,
             String.format("Config densityDpi: %d, size DPI: %dx%d, orientation: %d",
                     config.densityDpi,
                     config.screenWidthDp, config.screenHeightDp, // Android 15+ includes system bars
                     config.orientation));
+        Log.i(TAG, new ReminderAccuracy(this).describe());
+        Log.i(TAG, PendingIntentPool.describeCounts());
     }
 
     @UiThread
@@ -357,42 +510,201 @@ public class MainActivity extends AppCompatActivity
         super.onCreateOptionsMenu(menu);
 
         // Inflate the menu; this adds items to the action bar if it is present.
-        // TODO: Inflate the menu once it has useful items:
-        // getMenuInflater().inflate(R.menu.main, menu);
+        getMenuInflater().inflate(R.menu.main, menu);
+        return true;
+    }
+
+    @UiThread
+    @Override
+    public boolean onPrepareOptionsMenu(@NonNull Menu menu) {
+        super.onPrepareOptionsMenu(menu);
+
+        MenuItem warmUp = menu.findItem(R.id.warm_up_reminders);
+        if (warmUp != null && state != null) {
+            warmUp.setChecked(state.getWarmUpSeconds() > 0);
+        }
+
+        MenuItem kitchenDisplay = menu.findItem(R.id.kitchen_display);
+        if (kitchenDisplay != null && state != null) {
+            kitchenDisplay.setChecked(state.isKitchenDisplay());
+            kitchenDisplay.setTitle(state.isKitchenDisplay()
+                    ? getString(R.string.kitchen_display_code, state.getKitchenDisplayCode())
+                    : getString(R.string.kitchen_display));
+        }
         return true;
     }
 
+    @UiThread
+    @Override
+    public boolean onOptionsItemSelected(@NonNull MenuItem item) {
+        int id = item.getItemId();
+        String fileName = "bbq-timer-history";
+
+        if (id == R.id.export_history_csv) {
+            exportCsvLauncher.launch(fileName + HistoryExporter.Format.CSV.fileExtension);
+            return true;
+        } else if (id == R.id.export_history_json) {
+            exportJsonLauncher.launch(fileName + HistoryExporter.Format.JSON.fileExtension);
+            return true;
+        } else if (id == R.id.import_recipes_merge) {
+            importMergeLauncher.launch(RECIPE_MIME_TYPES);
+            return true;
+        } else if (id == R.id.import_recipes_replace) {
+            importReplaceLauncher.launch(RECIPE_MIME_TYPES);
+            return true;
+        } else if (id == R.id.warm_up_reminders) {
+            boolean warmUp = !item.isChecked();
+
+            item.setChecked(warmUp);
+            state.setWarmUpSeconds(warmUp ? ApplicationState.DEFAULT_WARM_UP_SECONDS : 0);
+            saveStateAndUpdateUI();
+            return true;
+        } else if (id == R.id.kitchen_display) {
+            boolean kitchenDisplay = !item.isChecked();
+
+            item.setChecked(kitchenDisplay);
+            state.setKitchenDisplay(kitchenDisplay);
+            saveStateAndUpdateUI();
+            return true;
+        }
+
+        return super.onOptionsItemSelected(item);
+    }
+
     /**
-     * For the pop-up menu, convert state.getRecipes() into SpannableStrings in styledRecipes.
-     * This is idempotent and fast if the input hasn't changed.
-     * <p/>
-     * INPUTS: state.getRecipes().<p/>
-     * OUTPUTS: the styledRecipes Vector.
+     * Exports the cook history to the document the user created, off the UI thread, via the
+     * {@link ExportViewModel}, which outlives configuration changes.
+     *
+     * @param uri the document, or null if the user backed out of the document picker.
      */
-    void styleTheRecipes() {
-        String recipes = state.getRecipes();
+    @UiThread
+    private void exportHistory(@Nullable Uri uri, @NonNull HistoryExporter.Format format) {
+        if (uri == null || exportModel.isRunning()) {
+            return;
+        }
+
+        exportModel.start(this, uri, format);
+    }
+
+    /**
+     * Shows the export progress in a Snackbar with a Cancel action, or dismisses it when percent
+     * is null.
+     */
+    @UiThread
+    private void showExportProgress(@Nullable Integer percent) {
+        if (percent == null) {
+            if (exportSnackbar != null) {
+                exportSnackbar.dismiss();
+                exportSnackbar = null;
+            }
+            return;
+        }
+
+        String text = getString(R.string.export_progress, percent);
+
+        if (exportSnackbar == null) {
+            exportSnackbar = Snackbar.make(mainContainer, text,
+                    BaseTransientBottomBar.LENGTH_INDEFINITE);
+            setSnackbarAction(exportSnackbar, R.string.export_cancel,
+                    view -> exportModel.cancel());
+            exportSnackbar.show();
+        } else {
+            exportSnackbar.setText(text);
+        }
+    }
 
-        if (recipes.equals(lastRecipes)) {
+    /**
+     * Imports recipes from the text document the user picked, off the UI thread, via the
+     * {@link ImportViewModel}. The outcome goes to {@link #showImportOutcome}.
+     *
+     * @param uri the document, or null if the user backed out of the document picker.
+     */
+    @UiThread
+    private void importRecipes(@Nullable Uri uri, @NonNull RecipeImporter.Mode mode) {
+        if (uri == null || importModel.isRunning()) {
             return;
         }
-        lastRecipes = recipes;
 
-        String[] lines = recipes.split("\n");
+        importModel.start(this, uri, mode);
+    }
 
-        styledRecipes.clear();
-        styledRecipes.ensureCapacity(lines.length);
+    /** Shows a Snackbar with a Cancel action while an import runs, or dismisses it. */
+    @UiThread
+    private void showImportProgress(boolean running) {
+        if (!running) {
+            if (importSnackbar != null) {
+                importSnackbar.dismiss();
+                importSnackbar = null;
+            }
+            return;
+        }
 
-        for (String r : lines) { // Italicize the notes that follow each recipe's leading token.
-            String recipe = r.trim();
-            int recipeLength = recipe.length();
-            int tokenLength = TimeCounter.lengthOfLeadingIntervalTime(recipe);
-            SpannableString ss = new SpannableString(recipe);
+        if (importSnackbar == null) {
+            importSnackbar = Snackbar.make(mainContainer, R.string.import_progress,
+                    BaseTransientBottomBar.LENGTH_INDEFINITE);
+            setSnackbarAction(importSnackbar, R.string.export_cancel,
+                    view -> importModel.cancel());
+            importSnackbar.show();
+        }
+    }
 
-            ss.setSpan(new StyleSpan(Typeface.ITALIC), tokenLength, recipeLength, 0);
-            styledRecipes.add(ss);
+    /**
+     * Reports a finished import, listing any skipped lines by line number.
+     *
+     * @param result the import result, or null if the import failed.
+     * @param cancelled true if the user cancelled the import.
+     */
+    @UiThread
+    private void showImportOutcome(@Nullable RecipeImporter.Result result, boolean cancelled) {
+        if (result == null) {
+            makeSnackbar(R.string.import_failed).show();
+        } else if (cancelled && !result.committed) {
+            makeSnackbar(R.string.import_cancelled).show();
+        } else if (result.errorCount > 0) {
+            showImportProblems(result);
+        } else if (result.committed) {
+            Snackbar.make(mainContainer, getString(R.string.import_done, result.imported),
+                    BaseTransientBottomBar.LENGTH_LONG).show();
+        } else {
+            makeSnackbar(R.string.import_nothing).show();
         }
     }
 
+    /** Shows a dialog listing the lines that an import skipped. */
+    @UiThread
+    private void showImportProblems(@NonNull RecipeImporter.Result result) {
+        StringBuilder message = new StringBuilder();
+
+        message.append(getString(R.string.import_done, result.imported));
+        for (RecipeImporter.LineError error : result.errors) {
+            @StringRes int resId;
+
+            switch (error.problem) {
+                case NO_INTERVAL:
+                    resId = R.string.import_problem_no_interval;
+                    break;
+                case BAD_INTERVAL:
+                    resId = R.string.import_problem_bad_interval;
+                    break;
+                default:
+                    resId = R.string.import_problem_too_long;
+                    break;
+            }
+            message.append('\n').append(getString(resId, error.lineNumber));
+        }
+
+        int unlisted = result.errorCount - result.errors.size();
+        if (unlisted > 0) {
+            message.append('\n').append(getString(R.string.import_more_problems, unlisted));
+        }
+
+        new MaterialAlertDialogBuilder(this, R.style.AppThemeOverlay_Material3_MaterialAlertDialog)
+                .setTitle(getString(R.string.import_problems_title, result.errorCount))
+                .setMessage(message)
+                .setPositiveButton(android.R.string.ok, null)
+                .show();
+    }
+
     /** The Activity is now visible. */
     @MainThread
     @Override
@@ -421,9 +733,10 @@ public class MainActivity extends AppCompatActivity
         }
         shortcutAction = SHORTCUT_NONE;
 
+        alarmPlayer.start();
         updateUI();
 
-        updateHandler.beginScheduledUpdate();
+        displayUpdater.start(this);
     }
 
     @MainThread
@@ -450,9 +763,12 @@ public class MainActivity extends AppCompatActivity
     @MainThread
     @Override
     protected void onStop() {
-        updateHandler.endScheduledUpdates();
+        displayUpdater.stop();
+        alarmPlayer.stop();
 
-        dismissPopupMenu();
+        if (recipePicker != null) {
+            recipePicker.dismiss();
+        }
 
         super.onStop();
     }
@@ -611,7 +927,6 @@ public class MainActivity extends AppCompatActivity
         defocusTextField(alarmPeriod);
 
         timer.toggleRunPause();
-        updateHandler.beginScheduledUpdate();
         saveStateAndUpdateUI();
 
         if (timer.isRunning()) {
@@ -626,7 +941,6 @@ public class MainActivity extends AppCompatActivity
         defocusTextField(alarmPeriod);
 
         timer.reset();
-        updateHandler.beginScheduledUpdate();
         saveStateAndUpdateUI();
 
         informIfAlarmsDeniedOrMuted();
@@ -639,7 +953,6 @@ public class MainActivity extends AppCompatActivity
         defocusTextField(alarmPeriod);
 
         timer.stop();
-        updateHandler.endScheduledUpdates();
         saveStateAndUpdateUI();
     }
 
@@ -650,7 +963,6 @@ public class MainActivity extends AppCompatActivity
         defocusTextField(alarmPeriod);
 
         timer.cycle();
-        updateHandler.beginScheduledUpdate();
         saveStateAndUpdateUI();
 
         if (timer.isRunning()) {
@@ -675,36 +987,31 @@ public class MainActivity extends AppCompatActivity
     /** The user clicked the button to open the "recipes" menu of alarm periods. */
     @UiThread
     public void onClickRecipeMenuButton(View v) {
-        popupMenu = new PopupMenu(this, v, Gravity.CENTER, 0, R.style.PopupMenu);
-        Menu menu = popupMenu.getMenu();
-
-        popupMenu.getMenuInflater().inflate(R.menu.recipe_menu, menu);
-        popupMenu.setOnMenuItemClickListener(this::onRecipeMenuItemClick);
-        popupMenu.setOnDismissListener(this::onDismissRecipeMenu);
-
-        MenuItem item = menu.findItem(R.id.edit_recipes); // depends on the current locale
-        if (item != null) {
-            CharSequence title = item.getTitle();
-            SpannableString ss = new SpannableString(title);
-
-            ss.setSpan(new StyleSpan(Typeface.BOLD), 0, ss.length(), 0);
-            item.setTitle(ss);
-        }
-
-        styleTheRecipes();
+        if (recipePicker == null) {
+            recipePicker = new RecipePicker(this, RecipeBook.sharedInstance(this),
+                    new RecipePicker.Listener() {
+                        @Override
+                        public void onRecipePicked(@NonNull String recipe) {
+                            pickRecipe(recipe);
+                        }
 
-        for (SpannableString recipe : styledRecipes) {
-            menu.add(recipe);
+                        @Override
+                        public void onEditRecipes() {
+                            showRecipeEditor();
+                        }
+                    });
         }
 
-        popupMenu.show();
+        recipePicker.show(v);
     }
 
     /** Opens the recipe list editor dialog. */
     @UiThread
     void showRecipeEditor() {
-        String recipeLines = state.getRecipes();
-        RecipeEditorDialogFragment dialog = RecipeEditorDialogFragment.newInstance(recipeLines);
+        RecipeBook book = RecipeBook.sharedInstance(this);
+        RecipeEditorDialogFragment dialog = RecipeEditorDialogFragment.prefersLineEditor(book)
+                ? RecipeEditorDialogFragment.newLineEditorInstance()
+                : RecipeEditorDialogFragment.newInstance(state.getRecipes());
 
         alarmPeriod.setSelection(0); // workaround unedited EditText w/a selection somehow getting
             // focus & selection when the dialog closes
@@ -726,49 +1033,16 @@ public class MainActivity extends AppCompatActivity
     public void onEditorDialogNegativeClick(DialogInterface dialog) {
     }
 
-    /** Dismiss any popup menu.
-     * </p>
-     * ISSUE: Rotating the screen with a popup menu open throws
-     * "android.view.WindowLeaked leaked window android.widget.PopupWindow$PopupDecorView".
-     * It doesn't seem fixable short of reimplementing PopupMenu or handling screen rotations
-     * manually. But it doesn't seem to matter other than logging an error.
-     */
+    /** The user picked a recipe line from the recipe picker. */
     @UiThread
-    private void dismissPopupMenu() {
-        if (popupMenu != null) {
-            popupMenu.dismiss();
-            popupMenu = null;
-        }
-    }
-
-    @SuppressWarnings("unused")
-    @UiThread
-    public void onDismissRecipeMenu(PopupMenu menu) {
-        if (menu != null) {
-            menu.setOnMenuItemClickListener(null);
-            menu.setOnDismissListener(null);
-        }
-        popupMenu = null;
-    }
-
-    @SuppressWarnings("SameReturnValue")
-    @UiThread
-    public boolean onRecipeMenuItemClick(MenuItem item) {
-        if (item.getItemId() == R.id.edit_recipes) {
-            showRecipeEditor();
-            return true;
-        }
-
-        CharSequence titleChars = item.getTitle();
-        String itemTitle = titleChars == null ? "" : titleChars.toString();
-        int tokenLength = TimeCounter.lengthOfLeadingIntervalTime(itemTitle);
-        String token = itemTitle.substring(0, tokenLength);
+    private void pickRecipe(@NonNull String recipe) {
+        int tokenLength = TimeCounter.lengthOfLeadingIntervalTime(recipe);
+        String token = recipe.substring(0, tokenLength);
 
         alarmPeriod.setText(token);
 
         // Submit the input whether or not the text field has focus.
-        processAlarmPeriodInput();
-        return true;
+        processAlarmPeriodInput(recipe);
     }
 
     /** Hides the soft keyboard -- best efforts. */
@@ -847,16 +1121,21 @@ public class MainActivity extends AppCompatActivity
         }
     }
 
-    /** Parse, bound, then adopt the alarmPeriod input text if valid, else revert it. */
+    /**
+     * Parse, bound, then adopt the alarmPeriod input text if valid, else revert it.
+     *
+     * @param recipe the recipe line the input came from, or null if the user typed it in.
+     */
     @UiThread
-    private void processAlarmPeriodInput() {
+    private void processAlarmPeriodInput(@Nullable String recipe) {
         Editable text = alarmPeriod.getText();
         String input = text == null ? "" : text.toString();
         int newSeconds = TimeCounter.parseHhMmSs(input);
 
-        // Save the state change.
-        if (newSeconds > 0 && newSeconds != state.getSecondsPerReminder()) {
+        // Save the state change. Picking a recipe is a change even if its interval time isn't.
+        if (newSeconds > 0 && (newSeconds != state.getSecondsPerReminder() || recipe != null)) {
             state.setSecondsPerReminder(newSeconds); // clips the value
+            state.setRecipeInUse(recipe == null ? "" : recipe);
             saveStateAndUpdateUI(); // update countdownDisplay, notifications, and widgets
         }
 
@@ -873,7 +1152,7 @@ public class MainActivity extends AppCompatActivity
         View focussed = getCurrentFocus();
 
         if (focussed == alarmPeriod) {
-            processAlarmPeriodInput();
+            processAlarmPeriodInput(null);
         }
 
         view.clearFocus(); // defocus the background
@@ -904,37 +1183,27 @@ public class MainActivity extends AppCompatActivity
     @SuppressWarnings("unused")
     public boolean onEditAction(TextView view, int actionId, KeyEvent event) {
         if (view == alarmPeriod) {
-            processAlarmPeriodInput();
+            processAlarmPeriodInput(null);
             return true;
         }
         return false;
     }
 
-    /** @return a ColorStateList resource ID; time-dependent for blinking. */
-    @UiThread
-    @ColorRes
-    private int pausedTimerColors() {
-        TimeCounter timeCounter = state.getTimeCounter();
-        long millis = timeCounter.elapsedRealtimeClock() - timeCounter.getPauseTime();
-        long seconds = millis / 1000L;
-
-        return (seconds & 1) == 0 ? R.color.paused_alternate_timer_colors
-                : R.color.paused_timer_colors;
-    }
-
     /** Updates the count-up (elapsed) time and alarm count-down time displays. */
     @UiThread
     private void displayTime() {
-        Spanned formatted         = timer.formatHhMmSsFraction();
+        long elapsedTime = timer.getElapsedTime();
         @ColorRes int textColorsId =
                 timer.isRunning() ? R.color.running_timer_colors
-                : timer.isPaused() ? pausedTimerColors()
+                : timer.isPaused() ? R.color.paused_timer_colors
                 : R.color.reset_timer_colors;
         ColorStateList textColors = ContextCompat.getColorStateList(this, textColorsId);
         long countdownToNextAlarm = state.getMillisecondsToNextAlarm();
 
-        countUpDisplay.setText(formatted);
+        countUpDisplay.setTime(
+                TimeCounter.formatHhMmSs(elapsedTime), TimeCounter.formatFraction(elapsedTime));
         countUpDisplay.setTextColor(textColors);
+        countUpDisplay.setBlinking(timer.isPaused());
 
         countdownDisplay.setText(TimeCounter.formatHhMmSs(countdownToNextAlarm));
     }
@@ -977,6 +1246,7 @@ public class MainActivity extends AppCompatActivity
         updateViews();
 
         AlarmReceiver.updateNotifications(this);
+        alarmPlayer.schedule();
 
         TimerAppWidgetProvider.updateAllWidgets(this, state);
     }
@@ -63,7 +63,7 @@ public class Notifier {
     // Vibration pattern: ms off, on, off, ...
     // Match the notification sound to the degree feasible.
     // Workaround: Start with a tiny pulse for when Android drops the initial "off" interval.
-    private static final long[] VIBRATE_PATTERN = {0, 1,  280, 40,  220, 80,  440, 45,  265, 55};
+    static final long[] VIBRATE_PATTERN = {0, 1,  280, 40,  220, 80,  440, 45,  265, 55};
 
     private static final int[][] ACTION_INDICES = {{}, {0}, {0, 1}, {0, 1, 2}};
 
@@ -124,9 +124,10 @@ public class Notifier {
         return Uri.parse("android.resource://" + context.getPackageName() + "/" + soundId);
     }
 
-    /** Constructs a PendingIntent to use as a Notification Action. */
-    private PendingIntent makeActionIntent(String action) {
-        return TimerAppWidgetProvider.makeActionIntent(context, action);
+    /** Gets a PendingIntent to use as a Notification Action. */
+    @NonNull
+    private PendingIntent makeActionIntent(@NonNull String action) {
+        return PendingIntentPool.actionIntent(context, action);
     }
 
     /**
@@ -184,11 +185,14 @@ public class Notifier {
      * (optionally including the time value), or "Stopped".
      */
     @NonNull
-    String timerRunState(@NonNull TimeCounter timer, boolean includeTime) {
+    String timerRunState(@NonNull TimeCounter.Snapshot timer, long elapsedRealtime,
+            boolean includeTime) {
         if (timer.isRunning()) {
             return context.getString(R.string.timer_running);
         } else if (timer.isPaused()) {
-            Spanned pauseTime = includeTime ? timer.formatHhMmSsFraction() : EMPTY_SPAN;
+            Spanned pauseTime = includeTime
+                    ? TimeCounter.formatHhMmSsFraction(timer.getElapsedTime(elapsedRealtime))
+                    : EMPTY_SPAN;
             return context.getString(R.string.timer_paused, pauseTime);
         } else {
             return context.getString(R.string.timer_stopped);
@@ -198,15 +202,15 @@ public class Notifier {
     /**
      * Returns a localized description of the periodic alarms.
      *
-     * @param state the ApplicationState.
+     * @param settings the ApplicationState settings.
      * @return a localized string like "Alarm every 2 minutes", or "" for no periodic alarms.
      */
     @NonNull
-    String describePeriodicAlarms(@NonNull ApplicationState state) {
+    String describePeriodicAlarms(@NonNull ApplicationState.Settings settings) {
         // Synthesize a "quantity" to select the right pluralization rule.
-        String intervalMmSs = state.formatIntervalTimeHhMmSs();
+        String intervalMmSs = settings.formatIntervalTimeHhMmSs();
 
-        return state.isEnableReminders()
+        return settings.isEnableReminders()
                 ? context.getResources().getString(R.string.notification_body, intervalMmSs)
                 : "";
     }
@@ -219,23 +223,28 @@ public class Notifier {
      * @param state the ApplicationState state to display.
      */
     public void openOrCancel(@NonNull ApplicationState state) {
-        TimeCounter timer = state.getTimeCounter();
-
-        if (!timer.isStopped() || soundAlarm) {
-            Notification notification = buildNotification(state);
-            try {
-                notificationManagerCompat.notify(NOTIFICATION_ID, notification);
-                if (notificationListener != null) {
-                    notificationListener.onNotificationPosted();
-                }
-            } catch (SecurityException e) { // ≈API 33+: The app should've requested permission already.
-                Log.e(TAG, "Need POST_NOTIFICATIONS permission", e);
-            }
+        if (!state.getTimeCounter().isStopped() || soundAlarm) {
+            open(buildNotification(state));
         } else {
             cancelAll();
         }
     }
 
+    /**
+     * <em>(Re)Opens</em> this app's notification with a notification from
+     * {@link #buildNotification}, e.g. one built ahead of time for a reminder.
+     */
+    public void open(@NonNull Notification notification) {
+        try {
+            notificationManagerCompat.notify(NOTIFICATION_ID, notification);
+            if (notificationListener != null) {
+                notificationListener.onNotificationPosted();
+            }
+        } catch (SecurityException e) { // ≈API 33+: The app should've requested permission already.
+            Log.e(TAG, "Need POST_NOTIFICATIONS permission", e);
+        }
+    }
+
     /**
      * Returns true if the Alarm channel is configured On with enough Importance to hear alarms.
      * After createNotificationChannelV26() creates the channels, the user can reconfigure them and
@@ -258,6 +267,31 @@ public class Notifier {
         return true;
     }
 
+    /**
+     * Returns true if an alarm notification would make a sound: notifications are enabled and,
+     * on API 26+, the user left the Alarm channel's Importance high enough and its sound on.
+     * {@link InAppAlarmPlayer} checks this so it doesn't sound alarms the user muted.
+     */
+    boolean isAlarmChannelAudible() {
+        if (!notificationManagerCompat.areNotificationsEnabled()) {
+            return false;
+        }
+
+        if (Build.VERSION.SDK_INT >= 26) {
+            NotificationChannel channel = notificationManager.getNotificationChannel(
+                    ALARM_NOTIFICATION_CHANNEL_ID);
+
+            if (channel == null) { // It'll get created with sound before the next notification.
+                return true;
+            }
+
+            return channel.getImportance() >= NotificationManager.IMPORTANCE_DEFAULT
+                    && channel.getSound() != null;
+        }
+
+        return true;
+    }
+
     /**
      * Creates a notification channel that matches the parameters #buildNotification() uses. The
      * "Alarm" channel sounds an alarm at heads-up High importance.
@@ -331,7 +365,9 @@ public class Notifier {
      * *SO* when the timer is paused, flip to a TextView.
      *
      * @param layoutId the layout resource ID for the RemoteViews.
-     * @param state the ApplicationState to show.
+     * @param settings the ApplicationState settings to show.
+     * @param timer the timer state snapshot to show.
+     * @param rt the SystemClock.elapsedRealtime() to show the timer at.
      * @param countUpMessage the message to show next to the count-up (stopwatch) Chronometer. This
      *                       Chronometer and its message are GONE if there are no periodic alarms.
      * @param countDownMessage the message to show next to the count-down (timer) Chronometer.
@@ -340,19 +376,18 @@ public class Notifier {
      */
     @NonNull
     private RemoteViews makeRemoteViews(
-            @LayoutRes int layoutId, @NonNull ApplicationState state, @NonNull CharSequence countUpMessage,
+            @LayoutRes int layoutId, @NonNull ApplicationState.Settings settings,
+            @NonNull TimeCounter.Snapshot timer, long rt, @NonNull CharSequence countUpMessage,
             @NonNull CharSequence countDownMessage) {
-        TimeCounter timer = state.getTimeCounter();
-        long elapsedTime = timer.getElapsedTime();
+        long elapsedTime = timer.getElapsedTime(rt);
         boolean isRunning = timer.isRunning();
-        long rt = SystemClock.elapsedRealtime();
         long countUpBase = rt - elapsedTime;
         @IdRes int childId = isRunning ? RUNNING_FLIPPER_CHILD : PAUSED_FLIPPER_CHILD;
         RemoteViews remoteViews = new RemoteViews(context.getPackageName(), layoutId);
 
         // Count-up time and status
         if (!isRunning) {
-            remoteViews.setTextViewText(R.id.pausedCountUp, timer.formatHhMmSs());
+            remoteViews.setTextViewText(R.id.pausedCountUp, TimeCounter.formatHhMmSs(elapsedTime));
         }
         remoteViews.setDisplayedChild(R.id.countUpViewFlipper, childId);
         remoteViews.setChronometer(
@@ -360,8 +395,8 @@ public class Notifier {
         remoteViews.setTextViewText(R.id.countUpMessage, countUpMessage);
 
         // Count-down time and status
-        if (state.isEnableReminders()) {
-            long countdownToNextAlarm = state.getMillisecondsToNextAlarm();
+        if (settings.isEnableReminders()) {
+            long countdownToNextAlarm = settings.getMillisecondsToNextAlarm(elapsedTime);
             long countdownBase = rt + countdownToNextAlarm;
 
             if (!isRunning) {
@@ -397,7 +432,10 @@ public class Notifier {
                 .setVisibility(NotificationCompat.VISIBILITY_PUBLIC);
 
         {  // Construct the visible notification contents.
-            TimeCounter timer = state.getTimeCounter();
+            // Read the state once so the notification shows a consistent state.
+            TimeCounter.Snapshot timer = state.getTimeCounter().snapshot();
+            ApplicationState.Settings settings = state.snapshot();
+            long rt = SystemClock.elapsedRealtime();
             boolean isRunning = timer.isRunning();
 
             builder.setSmallIcon(R.drawable.notification_icon)
@@ -407,12 +445,13 @@ public class Notifier {
             // action buttons (Reset, Start, Stop) in compact view.
             builder.setShowWhen(false);
 
-            String alarmEvery = describePeriodicAlarms(state);
+            String alarmEvery = describePeriodicAlarms(settings);
 
-            if (isRunning && state.isEnableReminders()) {
+            if (isRunning && settings.isEnableReminders()) {
                 builder.setContentText(alarmEvery);
             } else {
-                String runPauseStop = timerRunState(timer, true); // Running/Paused 00:12.3/Stopped
+                // Running/Paused 00:12.3/Stopped
+                String runPauseStop = timerRunState(timer, rt, true);
                 builder.setContentText(runPauseStop);
                 if (timer.isPaused()) {
                     builder.setSubText(context.getString(R.string.dismiss_tip));
@@ -421,9 +460,9 @@ public class Notifier {
                 }
             }
 
-            String countUpMessage = timerRunState(timer, false); // Running/Paused/Stopped
+            String countUpMessage = timerRunState(timer, rt, false); // Running/Paused/Stopped
             RemoteViews notificationView = makeRemoteViews(
-                    R.layout.custom_notification, state, countUpMessage, alarmEvery);
+                    R.layout.custom_notification, settings, timer, rt, countUpMessage, alarmEvery);
 
             builder.setCustomContentView(notificationView);
             builder.setCustomHeadsUpContentView(notificationView);
@@ -431,7 +470,8 @@ public class Notifier {
             numActions = 0;
 
             {
-                PendingIntent activityPendingIntent = MainActivity.makePendingIntent(context);
+                PendingIntent activityPendingIntent =
+                        PendingIntentPool.mainActivityIntent(context);
                 builder.setContentIntent(activityPendingIntent);
 
                 // Action button to reset the timer.
@@ -0,0 +1,139 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer;
+
+import android.app.PendingIntent;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A process-wide pool of the app's immutable PendingIntents for widget, notification, and alarm
+ * actions. Each PendingIntent.get*() call is a round trip to the system's PendingIntent registry,
+ * and the widgets and notification ask for the same few intents on every update. Since these
+ * intents never change, make each one once per process and hand out the cached instance.<p/>
+ *
+ * Don't pool intents that need FLAG_UPDATE_CURRENT to update their Extras, like the AlarmManager
+ * intent, or FLAG_ONE_SHOT intents.<p/>
+ *
+ * The hit and creation counts measure the IPC savings. MainActivity logs them with its
+ * diagnostics.
+ */
+final class PendingIntentPool {
+    private static final String TAG = "PendingIntentPool";
+
+    /** Pool key for {@link MainActivity#makePendingIntent}. */
+    private static final String KEY_MAIN_ACTIVITY = "MainActivity";
+    /** Pool key for {@link AlarmReceiver#makeActivityPendingIntent}. */
+    private static final String KEY_ALARM_ACTIVITY = "AlarmActivity";
+
+    /** Makes a PendingIntent for the pool. */
+    private interface Factory {
+        @Nullable
+        PendingIntent make(@NonNull Context context);
+    }
+
+    @GuardedBy("pool")
+    private static final Map<String, PendingIntent> pool = new HashMap<>();
+    @GuardedBy("pool")
+    private static int hitCount;
+    @GuardedBy("pool")
+    private static int creationCount;
+
+    private PendingIntentPool() {
+    }
+
+    /**
+     * Returns the pooled PendingIntent for the key, using factory to make it on a miss. Returns
+     * null (without pooling it) if the factory does. It makes the PendingIntent outside the lock,
+     * so two threads might both make one on a miss; the first one pooled wins.
+     */
+    @Nullable
+    private static PendingIntent get(@NonNull Context context, @NonNull String key,
+            @NonNull Factory factory) {
+        synchronized (pool) {
+            PendingIntent pendingIntent = pool.get(key);
+
+            if (pendingIntent != null) {
+                ++hitCount;
+                return pendingIntent;
+            }
+        }
+
+        PendingIntent made = factory.make(context.getApplicationContext());
+        if (made == null) {
+            return null;
+        }
+
+        PendingIntent pooled;
+        String counts;
+        synchronized (pool) {
+            pooled = pool.putIfAbsent(key, made);
+            ++creationCount;
+            counts = describeCounts();
+        }
+
+        Log.d(TAG, "Made " + key + "; " + counts);
+        return pooled != null ? pooled : made;
+    }
+
+    /**
+     * Returns a PendingIntent to send an action to {@link TimerAppWidgetProvider}, e.g.
+     * {@link TimerAppWidgetProvider#ACTION_RUN_PAUSE}.
+     */
+    @NonNull
+    static PendingIntent actionIntent(@NonNull Context context, @NonNull String action) {
+        PendingIntent pendingIntent =
+                get(context, action, c -> TimerAppWidgetProvider.makeActionIntent(c, action));
+
+        //noinspection ConstantConditions
+        return pendingIntent;
+    }
+
+    /** Returns a PendingIntent to launch the Activity, e.g. from the notification. */
+    @Nullable
+    static PendingIntent mainActivityIntent(@NonNull Context context) {
+        return get(context, KEY_MAIN_ACTIVITY, MainActivity::makePendingIntent);
+    }
+
+    /** Returns a PendingIntent for AlarmManager.AlarmClockInfo() to show/edit the timer. */
+    @NonNull
+    static PendingIntent alarmActivityIntent(@NonNull Context context) {
+        PendingIntent pendingIntent =
+                get(context, KEY_ALARM_ACTIVITY, AlarmReceiver::makeActivityPendingIntent);
+
+        //noinspection ConstantConditions
+        return pendingIntent;
+    }
+
+    /** Describes the pool's hit and creation counts for logging. */
+    @NonNull
+    static String describeCounts() {
+        synchronized (pool) {
+            return "PendingIntent pool: " + hitCount + " hits, " + creationCount + " created";
+        }
+    }
+}
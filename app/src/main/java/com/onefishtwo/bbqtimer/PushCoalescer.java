@@ -0,0 +1,63 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer;
+
+/**
+ * Rate limits pushes to one {@link TimerService} client: at most one per minIntervalMs, with the
+ * changes in between coalesced into one delayed push of the latest status. Main thread only.
+ */
+class PushCoalescer {
+    /** {@link #offer} result: a push is already scheduled, which will carry the latest status. */
+    static final long PENDING = -1;
+
+    private final long minIntervalMs;
+    private long lastPushTime = Long.MIN_VALUE / 2;
+    private boolean pending;
+
+    PushCoalescer(long _minIntervalMs) {
+        minIntervalMs = _minIntervalMs;
+    }
+
+    /**
+     * Offers a status change at time now (msec).
+     *
+     * @return 0 to push now (counted as pushed), {@link #PENDING} if it coalesces into a scheduled
+     *      push, or else the delay in msec until the caller should call {@link #pushPending}.
+     */
+    long offer(long now) {
+        if (pending) {
+            return PENDING;
+        }
+
+        long wait = lastPushTime + minIntervalMs - now;
+        if (wait <= 0) {
+            lastPushTime = now;
+            return 0;
+        }
+
+        pending = true;
+        return wait;
+    }
+
+    /** Counts the scheduled push as done at time now. */
+    void pushPending(long now) {
+        pending = false;
+        lastPushTime = now;
+    }
+}
@@ -12,20 +12,35 @@ import android.widget.EditText;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.DialogFragment;
+import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.onefishtwo.bbqtimer.state.ApplicationState;
+import com.onefishtwo.bbqtimer.state.RecipeBook;
 
 /**
  * A Dialog to edit the recipe list.
  * </p>
+ * It edits a small recipe list as text in one EditText. It edits a large one line by line in a
+ * RecyclerView, which only lays out the visible lines and reads them from the {@link RecipeBook}
+ * on demand.
+ * </p>
  * The FragmentActivity that instantiates a RecipeEditorDialogFragment must implement
  * RecipeEditorDialogFragmentListener.
  */
 public class RecipeEditorDialogFragment extends DialogFragment {
     public static final String TAG = "RecipeEditor";
     private static final String KEY_TEXT_CONTENTS = "Text";
+    private static final String KEY_LINE_MODE = "LineMode";
+    /** Use the line-by-line editor for more recipe lines than this. */
+    static final int LINE_EDITOR_MIN_LINES = 100;
+    /** The text editor's maxLength in dialog_edit_recipes.xml. */
+    static final int TEXT_EDITOR_MAX_LENGTH = 2000;
     static final String FALLBACK_CONTENTS = ":30\n1\n1:30\n2\n";
 
     /**
@@ -42,8 +57,52 @@ public class RecipeEditorDialogFragment extends DialogFragment {
         // doesn't work. Maybe it gets called too late.
     }
 
+    /** Keeps the line-by-line editor's lines across configuration changes. */
+    public static class LinesViewModel extends ViewModel {
+        @Nullable
+        RecipeLines lines;
+        /** The version of the recipes that the unedited lines refer to by line number. */
+        @Nullable
+        RecipeBook.Snapshot source;
+
+        /**
+         * (Re)loads the lines from the book unless it's unchanged or the user edited them. Edited
+         * lines keep reading their unedited lines from the version they started from.
+         */
+        void load(@NonNull RecipeBook book) {
+            if (lines != null && source != null
+                    && (lines.isChanged() || source.getVersion() == book.getVersion())) {
+                return;
+            }
+
+            RecipeBook.Snapshot snapshot = book.openSnapshot();
+
+            closeSource();
+            source = snapshot;
+            lines = new RecipeLines(snapshot.getLineCount(), snapshot::getLine);
+        }
+
+        private void closeSource() {
+            if (source != null) {
+                source.close();
+                source = null;
+            }
+        }
+
+        @Override
+        protected void onCleared() {
+            closeSource();
+        }
+    }
+
     private RecipeEditorDialogFragmentListener listener;
-    private EditText textField;
+    @Nullable
+    private EditText textField; // in text mode
+    @Nullable
+    private RecipeLines lines; // in line mode
+    @Nullable
+    private RecipeBook.Snapshot source; // in line mode
+    private View editorView; // textField or the RecyclerView
 
     /** Creates and initializes a recipe list editor dialog. */
     public static RecipeEditorDialogFragment newInstance(String text) {
@@ -60,6 +119,25 @@ public class RecipeEditorDialogFragment extends DialogFragment {
         return dialog;
     }
 
+    /**
+     * Returns true if the recipes are too many for the text editor, so use
+     * {@link #newLineEditorInstance}.
+     */
+    public static boolean prefersLineEditor(@NonNull RecipeBook book) {
+        return book.getLineCount() > LINE_EDITOR_MIN_LINES
+                || book.getByteLength() > TEXT_EDITOR_MAX_LENGTH;
+    }
+
+    /** Creates a line-by-line editor dialog for the shared RecipeBook's recipes. */
+    public static RecipeEditorDialogFragment newLineEditorInstance() {
+        RecipeEditorDialogFragment dialog = new RecipeEditorDialogFragment();
+        Bundle bundle = new Bundle();
+
+        bundle.putBoolean(KEY_LINE_MODE, true);
+        dialog.setArguments(bundle);
+        return dialog;
+    }
+
     /**
      * API 27: Work around an Android bug where double-clicking an EditText field would cause these
      * log errors:
@@ -90,6 +168,11 @@ public class RecipeEditorDialogFragment extends DialogFragment {
         }
     }
 
+    private boolean isLineMode() {
+        Bundle bundle = getArguments();
+        return bundle != null && bundle.getBoolean(KEY_LINE_MODE);
+    }
+
     @NonNull
     public String getInitContents() {
         Bundle bundle = getArguments();
@@ -137,13 +220,30 @@ public class RecipeEditorDialogFragment extends DialogFragment {
         MaterialAlertDialogBuilder builder = new MaterialAlertDialogBuilder(requireActivity(),
                 R.style.AppThemeOverlay_Material3_MaterialAlertDialog);
         LayoutInflater inflater = requireActivity().getLayoutInflater();
-        View content = inflater.inflate(R.layout.dialog_edit_recipes, null);
+        View content = inflater.inflate(
+                isLineMode() ? R.layout.dialog_edit_recipe_lines : R.layout.dialog_edit_recipes,
+                null);
         // "To ensure consistent styling, the custom view should be inflated or constructed using
         // the alert dialog's themed context obtained via getContext()."
 
         builder.setView(content);
 
+        if (isLineMode()) {
+            createLineEditor(content);
+        } else {
+            createTextEditor(content);
+        }
+
+        builder.setPositiveButton(R.string.save_edits, this::saveEdits)
+                .setNeutralButton(R.string.reset, this::resetEdits)
+                .setNegativeButton(R.string.cancel_edits, this::cancelEdits);
+
+        return builder.create();
+    }
+
+    private void createTextEditor(@NonNull View content) {
         textField = content.findViewById(R.id.recipes_text_field);
+        editorView = textField;
 
         if (textField != null) {
             workaroundTextClassifier(textField);
@@ -155,13 +255,30 @@ public class RecipeEditorDialogFragment extends DialogFragment {
             textField.setScrollbarFadingEnabled(false);
 
             textField.setText(getInitContents());
+
+            // Style the recipes now, then just the lines the user edits.
+            RecipeStyler styler = new RecipeStyler(
+                    ContextCompat.getColor(textField.getContext(), R.color.orange_red_text));
+            styler.styleAll(textField.getText());
+            textField.addTextChangedListener(styler);
         }
+    }
 
-        builder.setPositiveButton(R.string.save_edits, this::saveEdits)
-                .setNeutralButton(R.string.reset, this::resetEdits)
-                .setNegativeButton(R.string.cancel_edits, this::cancelEdits);
+    private void createLineEditor(@NonNull View content) {
+        LinesViewModel model = new ViewModelProvider(this).get(LinesViewModel.class);
+        RecyclerView list = content.findViewById(R.id.recipe_lines);
 
-        return builder.create();
+        model.load(RecipeBook.sharedInstance(requireContext()));
+        lines = model.lines;
+        source = model.source;
+        editorView = list;
+
+        RecipeLinesAdapter adapter = new RecipeLinesAdapter(lines,
+                ContextCompat.getColor(list.getContext(), R.color.orange_red_text));
+        list.setLayoutManager(new LinearLayoutManager(list.getContext()));
+        list.setAdapter(adapter);
+        adapter.attachTo(list);
+        content.findViewById(R.id.add_recipe_line).setOnClickListener(v -> adapter.appendLine());
     }
 
     /**
@@ -169,10 +286,10 @@ public class RecipeEditorDialogFragment extends DialogFragment {
      * <li>Passes the given recipes (or if blank, the default recipes) to the listener.
      */
     private void saveText(@NonNull DialogInterface dialog, @NonNull String recipes) {
-        hideKeyboard(textField);
+        hideKeyboard(editorView);
 
         if (recipes.trim().isEmpty()) {
-            recipes = ApplicationState.getDefaultRecipes(textField.getContext());
+            recipes = ApplicationState.getDefaultRecipes(editorView.getContext());
         }
         listener.onEditorDialogPositiveClick(dialog, recipes);
     }
@@ -180,7 +297,19 @@ public class RecipeEditorDialogFragment extends DialogFragment {
     /** DialogInterface.OnClickListener for the "Save" button. */
     @SuppressWarnings("unused")
     private void saveEdits(@NonNull DialogInterface dialog, int which) {
-        saveText(dialog, textField.getText().toString());
+        if (lines != null && source != null) {
+            RecipeBook book = RecipeBook.sharedInstance(editorView.getContext());
+
+            if (!lines.isChanged()) {
+                saveText(dialog, book.getText());
+            } else if (source.getVersion() == book.getVersion()) {
+                saveText(dialog, lines.join(book.getText().split("\n", -1)));
+            } else { // the book changed meanwhile, so read the unedited lines from the source
+                saveText(dialog, lines.join(null));
+            }
+        } else if (textField != null) {
+            saveText(dialog, textField.getText().toString());
+        }
     }
 
     /** DialogInterface.OnClickListener for the "Reset" button. */
@@ -192,7 +321,7 @@ public class RecipeEditorDialogFragment extends DialogFragment {
     /** DialogInterface.OnClickListener for the "Cancel" button. */
     @SuppressWarnings("unused")
     private void cancelEdits(@NonNull DialogInterface dialog, int which) {
-        hideKeyboard(textField);
+        hideKeyboard(editorView);
         listener.onEditorDialogNegativeClick(dialog);
         dialog.cancel();
     }
@@ -0,0 +1,144 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+
+package com.onefishtwo.bbqtimer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.function.IntFunction;
+
+/**
+ * The line list behind the line-by-line recipe editor. Each line has a stable ID for the
+ * RecyclerView and refers to a line of the source (e.g. the RecipeBook) until the user edits it,
+ * so opening the editor doesn't read the text, and unedited lines get read only when shown.
+ */
+class RecipeLines {
+    private static final class Line {
+        final long id;
+        /** The source line number, or -1 if it's a new line. */
+        final int sourceLine;
+        /** The edited text, or null if unedited. */
+        @Nullable
+        String text;
+
+        Line(long _id, int _sourceLine, @Nullable String _text) {
+            id = _id;
+            sourceLine = _sourceLine;
+            text = _text;
+        }
+    }
+
+    @NonNull
+    private final IntFunction<String> source;
+    @NonNull
+    private final ArrayList<Line> lines;
+    private long nextId;
+    private boolean changed;
+
+    /**
+     * @param lineCount the number of source lines
+     * @param _source reads a source line
+     */
+    RecipeLines(int lineCount, @NonNull IntFunction<String> _source) {
+        source = _source;
+        lines = new ArrayList<>(lineCount);
+
+        for (int i = 0; i < lineCount; ++i) {
+            lines.add(new Line(nextId++, i, null));
+        }
+    }
+
+    int size() {
+        return lines.size();
+    }
+
+    /** Returns true if the lines changed since construction. */
+    boolean isChanged() {
+        return changed;
+    }
+
+    long getId(int index) {
+        return lines.get(index).id;
+    }
+
+    @NonNull
+    String get(int index) {
+        Line line = lines.get(index);
+        return line.text != null ? line.text : source.apply(line.sourceLine);
+    }
+
+    void set(int index, @NonNull String text) {
+        Line line = lines.get(index);
+
+        if (!text.equals(line.text)) {
+            line.text = text;
+            changed = true;
+        }
+    }
+
+    /** Inserts a new line before index (or at the end if index == size()). */
+    void insert(int index, @NonNull String text) {
+        lines.add(index, new Line(nextId++, -1, text));
+        changed = true;
+    }
+
+    void remove(int index) {
+        lines.remove(index);
+        changed = true;
+    }
+
+    /** Moves the line at from to index to, shifting the lines in between. */
+    void move(int from, int to) {
+        if (from != to) {
+            lines.add(to, lines.remove(from));
+            changed = true;
+        }
+    }
+
+    /**
+     * Joins the lines with newlines.
+     *
+     * @param sourceLines the source's lines if already at hand, to save reading them one at a
+     *                    time, else null.
+     */
+    @NonNull
+    String join(@Nullable String[] sourceLines) {
+        StringBuilder builder = new StringBuilder(lines.size() * 16);
+
+        for (int i = 0; i < lines.size(); ++i) {
+            Line line = lines.get(i);
+
+            if (i > 0) {
+                builder.append('\n');
+            }
+            if (line.text != null) {
+                builder.append(line.text);
+            } else if (sourceLines != null && line.sourceLine < sourceLines.length) {
+                builder.append(sourceLines[line.sourceLine]);
+            } else {
+                builder.append(source.apply(line.sourceLine));
+            }
+        }
+
+        return builder.toString();
+    }
+}
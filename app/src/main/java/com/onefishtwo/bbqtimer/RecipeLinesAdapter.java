@@ -0,0 +1,215 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+
+package com.onefishtwo.bbqtimer;
+
+import android.annotation.SuppressLint;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.KeyEvent;
+import android.view.LayoutInflater;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.inputmethod.EditorInfo;
+import android.widget.EditText;
+import android.widget.TextView;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.ItemTouchHelper;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Adapts {@link RecipeLines} to a RecyclerView of one-line editors, so the line-by-line recipe
+ * editor inflates, lays out, and measures just the visible lines. Each row has a drag handle to
+ * reorder it and a delete button. Pressing Enter inserts a line after the current one.
+ */
+class RecipeLinesAdapter extends RecyclerView.Adapter<RecipeLinesAdapter.LineHolder> {
+    @NonNull
+    private final RecipeLines lines;
+    @ColorInt
+    private final int errorColor;
+    @NonNull
+    private final ItemTouchHelper touchHelper;
+    @Nullable
+    private RecyclerView recyclerView;
+    /** The adapter position to focus when it's bound, or NO_POSITION. */
+    private int pendingFocus = RecyclerView.NO_POSITION;
+
+    class LineHolder extends RecyclerView.ViewHolder implements TextWatcher {
+        @NonNull
+        final EditText text;
+        @NonNull
+        final RecipeStyler styler;
+        private boolean binding;
+
+        @SuppressLint("ClickableViewAccessibility") // the delete button does it for a11y
+        LineHolder(@NonNull View view) {
+            super(view);
+            text = view.findViewById(R.id.recipe_line_text);
+            styler = new RecipeStyler(errorColor);
+            RecipeEditorDialogFragment.workaroundTextClassifier(text);
+            text.addTextChangedListener(styler);
+            text.addTextChangedListener(this);
+            text.setOnEditorActionListener(this::onEditorAction);
+
+            view.findViewById(R.id.recipe_line_drag).setOnTouchListener((v, event) -> {
+                if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                    touchHelper.startDrag(this);
+                }
+                return false;
+            });
+            view.findViewById(R.id.recipe_line_delete).setOnClickListener(v -> removeLine(this));
+        }
+
+        void bind(int position) {
+            binding = true;
+            text.setText(lines.get(position));
+            binding = false;
+
+            if (position == pendingFocus) {
+                pendingFocus = RecyclerView.NO_POSITION;
+                text.requestFocus();
+            }
+        }
+
+        private boolean onEditorAction(TextView v, int actionId, KeyEvent event) {
+            boolean enter = actionId == EditorInfo.IME_ACTION_NEXT
+                    || event != null && event.getKeyCode() == KeyEvent.KEYCODE_ENTER
+                    && event.getAction() == KeyEvent.ACTION_DOWN;
+
+            if (enter) {
+                insertLineAfter(this);
+            }
+            return enter;
+        }
+
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+            int position = getBindingAdapterPosition();
+
+            if (!binding && position != RecyclerView.NO_POSITION) {
+                lines.set(position, s.toString());
+            }
+        }
+    }
+
+    RecipeLinesAdapter(@NonNull RecipeLines _lines, @ColorInt int _errorColor) {
+        lines = _lines;
+        errorColor = _errorColor;
+        touchHelper = new ItemTouchHelper(new ItemTouchHelper.SimpleCallback(
+                ItemTouchHelper.UP | ItemTouchHelper.DOWN, 0) {
+            @Override
+            public boolean onMove(@NonNull RecyclerView recyclerView,
+                    @NonNull RecyclerView.ViewHolder from, @NonNull RecyclerView.ViewHolder to) {
+                int fromPosition = from.getBindingAdapterPosition();
+                int toPosition = to.getBindingAdapterPosition();
+
+                if (fromPosition == RecyclerView.NO_POSITION
+                        || toPosition == RecyclerView.NO_POSITION) {
+                    return false;
+                }
+                lines.move(fromPosition, toPosition);
+                notifyItemMoved(fromPosition, toPosition);
+                return true;
+            }
+
+            @Override
+            public boolean isLongPressDragEnabled() {
+                return false; // drag by the handle so long-press still selects text
+            }
+
+            @Override
+            public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
+            }
+        });
+        setHasStableIds(true);
+    }
+
+    /** Attaches the drag-to-reorder support. Call this after setting the adapter. */
+    void attachTo(@NonNull RecyclerView _recyclerView) {
+        recyclerView = _recyclerView;
+        touchHelper.attachToRecyclerView(recyclerView);
+    }
+
+    @Override
+    public int getItemCount() {
+        return lines.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return lines.getId(position);
+    }
+
+    @NonNull
+    @Override
+    public LineHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_recipe_line, parent, false);
+        return new LineHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull LineHolder holder, int position) {
+        holder.bind(position);
+    }
+
+    /** Appends an empty line and focuses it. */
+    void appendLine() {
+        insertLine(lines.size());
+    }
+
+    private void insertLineAfter(@NonNull LineHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+
+        if (position != RecyclerView.NO_POSITION) {
+            insertLine(position + 1);
+        }
+    }
+
+    private void insertLine(int position) {
+        pendingFocus = position;
+        lines.insert(position, "");
+        notifyItemInserted(position);
+        if (recyclerView != null) {
+            recyclerView.scrollToPosition(position);
+        }
+    }
+
+    private void removeLine(@NonNull LineHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+
+        if (position != RecyclerView.NO_POSITION) {
+            lines.remove(position);
+            notifyItemRemoved(position);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+
+package com.onefishtwo.bbqtimer;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.graphics.drawable.ColorDrawable;
+import android.text.SpannableString;
+import android.text.style.StyleSpan;
+import android.util.LruCache;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.PopupWindow;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.onefishtwo.bbqtimer.state.RecipeBook;
+
+/**
+ * The pop-up list of recipes to pick a reminder interval from, plus an "Edit this list…" entry.
+ * <p/>
+ * Unlike a PopupMenu that inflates and measures an item per recipe each time it opens, this keeps
+ * one PopupWindow and RecyclerView for the Activity's lifetime, so it reuses its view holders
+ * across openings, and it reads and styles just the visible recipe lines from the
+ * {@link RecipeBook}. Opening it costs the same no matter how many recipes there are.
+ */
+class RecipePicker {
+    /** Item 0 is the "Edit this list…" entry. Item i > 0 is recipe line i - 1. */
+    private static final int EDIT_ITEM = 0;
+    private static final int VIEW_TYPE_EDIT = 0;
+    private static final int VIEW_TYPE_RECIPE = 1;
+    /** The "Edit this list…" entry's item ID. Recipe line IDs are nonnegative. */
+    private static final long EDIT_ITEM_ID = -2; // not RecyclerView.NO_ID
+    /** Styled recipe lines to cache, a few screenfuls. */
+    private static final int CACHED_LINES = 64;
+    /** The maximum popup height as a fraction of the anchor's window height. */
+    private static final float MAX_HEIGHT_FRACTION = 0.6f;
+
+    /** Receives the user's pick. */
+    interface Listener {
+        /** The user picked a recipe line. */
+        void onRecipePicked(@NonNull String recipe);
+
+        /** The user picked "Edit this list…". */
+        void onEditRecipes();
+    }
+
+    @NonNull
+    private final RecipeBook book;
+    @NonNull
+    private final Listener listener;
+    @NonNull
+    private final PopupWindow popup;
+    @NonNull
+    private final RecyclerView list;
+    @NonNull
+    private final Adapter adapter = new Adapter();
+    @NonNull
+    private final CharSequence editTitle;
+    private final LruCache<Integer, CharSequence> styledLines = new LruCache<>(CACHED_LINES);
+    private int shownVersion = -1;
+    /** The number of recipe lines to show, leaving out trailing blank lines. */
+    private int shownLineCount;
+    /**
+     * The recipes while the picker is showing. It keeps one file handle open, so binding rows
+     * doesn't open the recipes file per line.
+     */
+    @Nullable
+    private RecipeBook.Snapshot source;
+
+    @UiThread
+    RecipePicker(@NonNull Context context, @NonNull RecipeBook _book,
+            @NonNull Listener _listener) {
+        book = _book;
+        listener = _listener;
+
+        SpannableString title = new SpannableString(context.getString(R.string.edit_this_list));
+        title.setSpan(new StyleSpan(Typeface.BOLD), 0, title.length(), 0);
+        editTitle = title;
+
+        View content = LayoutInflater.from(context).inflate(R.layout.recipe_picker, null);
+        list = content.findViewById(R.id.recipe_picker_list);
+        list.setLayoutManager(new LinearLayoutManager(context));
+        list.setAdapter(adapter);
+
+        popup = new PopupWindow(content, context.getResources().getDimensionPixelSize(
+                R.dimen.recipe_picker_width), ViewGroup.LayoutParams.WRAP_CONTENT, true);
+        popup.setBackgroundDrawable(new ColorDrawable(Color.TRANSPARENT)); // dismiss on outside
+        popup.setOutsideTouchable(true);
+        popup.setOnDismissListener(this::closeSource);
+    }
+
+    /** Shows the picker by the anchor view, first catching up with any recipe changes. */
+    @UiThread
+    void show(@NonNull View anchor) {
+        closeSource();
+        RecipeBook.Snapshot snapshot = book.openSnapshot();
+        int version = snapshot.getVersion();
+
+        source = snapshot;
+        if (version != shownVersion) {
+            shownVersion = version;
+            shownLineCount = countLinesToShow(snapshot);
+            styledLines.evictAll();
+            adapter.notifyDataSetChanged();
+        }
+        list.scrollToPosition(0);
+
+        // Measure just the rows that fit, to fit the popup to a short list.
+        View content = popup.getContentView();
+        int maxHeight = (int) (anchor.getRootView().getHeight() * MAX_HEIGHT_FRACTION);
+        content.measure(
+                View.MeasureSpec.makeMeasureSpec(popup.getWidth(), View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(maxHeight, View.MeasureSpec.AT_MOST));
+        popup.setHeight(content.getMeasuredHeight());
+
+        popup.showAsDropDown(anchor);
+    }
+
+    @UiThread
+    void dismiss() {
+        popup.dismiss();
+    }
+
+    private void closeSource() {
+        if (source != null) {
+            source.close();
+            source = null;
+        }
+    }
+
+    /**
+     * Counts the recipe lines up to the last non-blank one, like String.split("\n") did for the
+     * PopupMenu. E.g. a text ending in a newline shouldn't get an empty row at the end.
+     */
+    private static int countLinesToShow(@NonNull RecipeBook.Snapshot snapshot) {
+        int count = snapshot.getLineCount();
+
+        while (count > 0 && snapshot.getLine(count - 1).trim().isEmpty()) {
+            --count;
+        }
+        return count;
+    }
+
+    /** Returns a trimmed recipe line from the shown snapshot, or "" if not showing. */
+    @NonNull
+    private String recipe(int lineNumber) {
+        RecipeBook.Snapshot snapshot = source;
+
+        return snapshot != null && lineNumber < snapshot.getLineCount()
+                ? snapshot.getLine(lineNumber).trim() : "";
+    }
+
+    /** Styles a recipe line, italicizing the notes that follow its leading interval time. */
+    @NonNull
+    private CharSequence styledLine(int lineNumber) {
+        CharSequence styled = styledLines.get(lineNumber);
+
+        if (styled == null) {
+            String recipe = recipe(lineNumber);
+            int tokenLength = TimeCounter.lengthOfLeadingIntervalTime(recipe);
+            SpannableString ss = new SpannableString(recipe);
+
+            ss.setSpan(new StyleSpan(Typeface.ITALIC), tokenLength, recipe.length(), 0);
+            styledLines.put(lineNumber, ss);
+            styled = ss;
+        }
+
+        return styled;
+    }
+
+    private void onItemClick(int position) {
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        if (position == EDIT_ITEM) {
+            popup.dismiss();
+            listener.onEditRecipes();
+            return;
+        }
+
+        String recipe = recipe(position - 1);
+        if (!recipe.isEmpty()) { // a blank line between recipes isn't a pick
+            popup.dismiss();
+            listener.onRecipePicked(recipe);
+        }
+    }
+
+    private static class ItemHolder extends RecyclerView.ViewHolder {
+        @NonNull
+        final TextView text;
+
+        ItemHolder(@NonNull TextView view) {
+            super(view);
+            text = view;
+        }
+    }
+
+    private class Adapter extends RecyclerView.Adapter<ItemHolder> {
+        Adapter() {
+            setHasStableIds(true);
+        }
+
+        @Override
+        public int getItemCount() {
+            return shownLineCount + 1;
+        }
+
+        /**
+         * Identifies a recipe line by the book version and its line number, which pin down its
+         * text, so an ID never moves to a different line.
+         */
+        @Override
+        public long getItemId(int position) {
+            return position == EDIT_ITEM ? EDIT_ITEM_ID
+                    : ((shownVersion & 0x7FFF_FFFFL) << 32) | (position - 1);
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return position == EDIT_ITEM ? VIEW_TYPE_EDIT : VIEW_TYPE_RECIPE;
+        }
+
+        @NonNull
+        @Override
+        public ItemHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            TextView view = (TextView) LayoutInflater.from(parent.getContext())
+                    .inflate(R.layout.recipe_picker_item, parent, false);
+            ItemHolder holder = new ItemHolder(view);
+
+            view.setOnClickListener(v -> onItemClick(holder.getBindingAdapterPosition()));
+            return holder;
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull ItemHolder holder, int position) {
+            holder.text.setText(position == EDIT_ITEM ? editTitle : styledLine(position - 1));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+
+package com.onefishtwo.bbqtimer;
+
+import android.graphics.Typeface;
+import android.text.Editable;
+import android.text.Spannable;
+import android.text.TextWatcher;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.StyleSpan;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+
+import com.onefishtwo.bbqtimer.state.RecipeImporter;
+
+/**
+ * Styles recipe text as the user edits it: each line's leading interval time plain, the notes
+ * that follow it in italics, and invalid interval times (per {@link RecipeImporter#validate}) in
+ * the error color.<p/>
+ *
+ * As a TextWatcher, it restyles just the lines that an edit touched, replacing only its own spans
+ * there, so the work per keystroke is proportional to the edited lines, not the whole text.
+ */
+public class RecipeStyler implements TextWatcher {
+    /** Marks the notes spans this styler owns. */
+    private static final class NotesSpan extends StyleSpan {
+        NotesSpan() {
+            super(Typeface.ITALIC);
+        }
+    }
+
+    /** Marks the invalid-interval spans this styler owns. */
+    private static final class InvalidSpan extends ForegroundColorSpan {
+        InvalidSpan(@ColorInt int color) {
+            super(color);
+        }
+    }
+
+    @ColorInt
+    private final int errorColor;
+    // The range of text changed since the last afterTextChanged(), or -1 if none.
+    private int dirtyStart = -1;
+    private int dirtyEnd = -1;
+
+    public RecipeStyler(@ColorInt int _errorColor) {
+        errorColor = _errorColor;
+    }
+
+    /** Styles all the text, e.g. after setText(). */
+    @UiThread
+    public void styleAll(@NonNull Spannable text) {
+        restyleLines(text, 0, text.length());
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+        int end = start + count;
+
+        dirtyStart = dirtyStart < 0 ? start : Math.min(dirtyStart, start);
+        dirtyEnd = Math.max(dirtyEnd, end);
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        if (dirtyStart >= 0) {
+            int length = s.length();
+
+            restyleLines(s, Math.min(dirtyStart, length), Math.min(dirtyEnd, length));
+            dirtyStart = dirtyEnd = -1;
+        }
+    }
+
+    /** Returns the index of the start of the line containing index. */
+    static int lineStart(@NonNull CharSequence text, int index) {
+        while (index > 0 && text.charAt(index - 1) != '\n') {
+            --index;
+        }
+        return index;
+    }
+
+    /** Returns the index of the end of the line containing index, before its newline, if any. */
+    static int lineEnd(@NonNull CharSequence text, int index) {
+        int length = text.length();
+
+        while (index < length && text.charAt(index) != '\n') {
+            ++index;
+        }
+        return index;
+    }
+
+    /** Restyles the whole lines that overlap [start .. end]. */
+    private void restyleLines(@NonNull Spannable text, int start, int end) {
+        int from = lineStart(text, start);
+        int to = lineEnd(text, end);
+
+        for (Object span : text.getSpans(from, to, NotesSpan.class)) {
+            text.removeSpan(span);
+        }
+        for (Object span : text.getSpans(from, to, InvalidSpan.class)) {
+            text.removeSpan(span);
+        }
+
+        while (from <= to) {
+            int lineEnd = lineEnd(text, from);
+
+            styleLine(text, from, lineEnd);
+            from = lineEnd + 1;
+        }
+    }
+
+    private void styleLine(@NonNull Spannable text, int start, int end) {
+        String line = text.subSequence(start, end).toString();
+
+        if (line.trim().isEmpty()) {
+            return;
+        }
+
+        int tokenEnd = start + TimeCounter.lengthOfLeadingIntervalTime(line);
+        RecipeImporter.Problem problem = RecipeImporter.validate(line);
+
+        if (problem == RecipeImporter.Problem.NO_INTERVAL) {
+            text.setSpan(new InvalidSpan(errorColor), start, end,
+                    Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
+        } else if (problem == RecipeImporter.Problem.BAD_INTERVAL) {
+            text.setSpan(new InvalidSpan(errorColor), start, tokenEnd,
+                    Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+
+        if (tokenEnd < end) {
+            text.setSpan(new NotesSpan(), tokenEnd, end, Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+
+package com.onefishtwo.bbqtimer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.provider.Settings;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.onefishtwo.bbqtimer.ReminderAccuracy.Tier;
+
+/**
+ * A persistent record of the reminder and warm-up alarms that AlarmReceiver registered with
+ * AlarmManager, so it can compare the alarms it wants against the ones already registered and
+ * skip the AlarmManager binder calls when nothing changed.<p/>
+ *
+ * The alarm PendingIntents have fixed identities (action, request code, and component), so an
+ * alarm's identity here is its {@link Tier} and its timing. A reboot clears all alarms, so the
+ * record only counts during the boot it was written in.<p/>
+ *
+ * It also records the tier that AlarmManager fell back to after denying a more accurate one, so
+ * the updates don't keep retrying the denied tier until the reminders get canceled.
+ */
+class RegisteredAlarms {
+    /** PERSISTENT STATE filename. */
+    private static final String ALARMS_PREF_FILE = "BBQ_Registered_Alarms";
+
+    /** PERSISTENT STATE IDs. */
+    private static final String PREF_BOOT_COUNT = "bootCount";
+    private static final String PREF_TIER = "tier"; // a Tier ordinal, or -1 if none
+    private static final String PREF_TARGET = "target";
+    private static final String PREF_TRIGGER = "trigger";
+    private static final String PREF_WALL_TRIGGER = "wallTrigger";
+    private static final String PREF_WARM_UP = "warmUp"; // 0 if none
+    private static final String PREF_TIER_LIMIT = "tierLimit"; // a Tier ordinal, or -1 if none
+
+    /**
+     * Wall time mappings this close together count as the same, since reading the elapsed and
+     * wall clocks one after the other jitters a little.
+     */
+    static final long WALL_TOLERANCE_MS = 10L;
+
+    /** The device's boot count, read once per process. */
+    private static int currentBootCount = -1;
+
+    /** An AlarmManager reminder alarm. Immutable. */
+    static final class Alarm {
+        @NonNull
+        final Tier tier;
+        /** The reminder's deadline, in elapsedRealtime msec. */
+        final long target;
+        /**
+         * The desired AlarmManager trigger time, in elapsedRealtime msec. Scheduling moves it up
+         * to the current time if it already passed, but records it as is so it keeps matching.
+         */
+        final long trigger;
+        /** The trigger's wall time for the {@link Tier#ALARM_CLOCK} tier, else 0. */
+        final long wallTrigger;
+
+        Alarm(@NonNull Tier _tier, long _target, long _trigger, long _wallTrigger) {
+            tier = _tier;
+            target = _target;
+            trigger = _trigger;
+            wallTrigger = _wallTrigger;
+        }
+
+        /**
+         * Returns true if other is the same alarm, with its wall time (if any) mapped within
+         * {@link #WALL_TOLERANCE_MS}.
+         */
+        boolean matches(@Nullable Alarm other) {
+            return other != null && tier == other.tier && target == other.target
+                    && trigger == other.trigger
+                    && Math.abs(wallTrigger - other.wallTrigger) <= WALL_TOLERANCE_MS;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "Alarm " + tier + " target " + target + " trigger " + trigger
+                    + (tier == Tier.ALARM_CLOCK ? " wall " + wallTrigger : "");
+        }
+    }
+
+    @NonNull
+    private final SharedPreferences prefs;
+    private final int bootCount;
+
+    RegisteredAlarms(@NonNull Context context) {
+        this(context.getSharedPreferences(ALARMS_PREF_FILE, Context.MODE_PRIVATE),
+                bootCount(context));
+    }
+
+    @VisibleForTesting
+    RegisteredAlarms(@NonNull SharedPreferences _prefs, int _bootCount) {
+        prefs = _prefs;
+        bootCount = _bootCount;
+    }
+
+    private static int bootCount(@NonNull Context context) {
+        if (currentBootCount < 0) {
+            currentBootCount = Settings.Global.getInt(
+                    context.getContentResolver(), Settings.Global.BOOT_COUNT, 0);
+        }
+        return currentBootCount;
+    }
+
+    private boolean isThisBoot() {
+        return prefs.getInt(PREF_BOOT_COUNT, -1) == bootCount;
+    }
+
+    /** Returns the registered reminder alarm, or null if none. */
+    @Nullable
+    Alarm getAlarm() {
+        int tier = prefs.getInt(PREF_TIER, -1);
+
+        if (tier < 0 || !isThisBoot()) {
+            return null;
+        }
+        return new Alarm(Tier.fromOrdinal(tier), prefs.getLong(PREF_TARGET, 0),
+                prefs.getLong(PREF_TRIGGER, 0), prefs.getLong(PREF_WALL_TRIGGER, 0));
+    }
+
+    /** Returns the registered warm-up alarm's trigger time, or 0 if none. */
+    long getWarmUpTime() {
+        return isThisBoot() ? prefs.getLong(PREF_WARM_UP, 0) : 0;
+    }
+
+    /** Returns true if no alarms are registered. */
+    boolean isEmpty() {
+        return getAlarm() == null && getWarmUpTime() == 0;
+    }
+
+    /** Records the registered reminder alarm, or null if none. */
+    void setAlarm(@Nullable Alarm alarm) {
+        SharedPreferences.Editor editor = edit();
+
+        if (alarm == null) {
+            editor.putInt(PREF_TIER, -1);
+        } else {
+            editor.putInt(PREF_TIER, alarm.tier.ordinal())
+                    .putLong(PREF_TARGET, alarm.target)
+                    .putLong(PREF_TRIGGER, alarm.trigger)
+                    .putLong(PREF_WALL_TRIGGER, alarm.wallTrigger);
+        }
+        editor.apply();
+    }
+
+    /**
+     * Returns the most accurate tier to ask AlarmManager for, since it denied a more accurate one,
+     * or null if it denied none.
+     */
+    @Nullable
+    Tier getTierLimit() {
+        int tier = prefs.getInt(PREF_TIER_LIMIT, -1);
+
+        return tier < 0 || !isThisBoot() ? null : Tier.fromOrdinal(tier);
+    }
+
+    /** Records the tier AlarmManager allowed after denying a more accurate one. */
+    void setTierLimit(@NonNull Tier tier) {
+        edit().putInt(PREF_TIER_LIMIT, tier.ordinal()).apply();
+    }
+
+    /** Records the registered warm-up alarm's trigger time, or 0 if none. */
+    void setWarmUpTime(long warmUpTime) {
+        edit().putLong(PREF_WARM_UP, warmUpTime).apply();
+    }
+
+    /**
+     * Records that no alarms are registered, and forgets the tier limit so the next reminders try
+     * the most accurate tier again, e.g. in case the user granted exact alarm access meanwhile.
+     */
+    void clear() {
+        edit().putInt(PREF_TIER, -1).putLong(PREF_WARM_UP, 0).putInt(PREF_TIER_LIMIT, -1).apply();
+    }
+
+    /** Starts an edit for this boot, forgetting any record from a previous boot. */
+    @NonNull
+    private SharedPreferences.Editor edit() {
+        SharedPreferences.Editor editor = prefs.edit();
+
+        if (!isThisBoot()) {
+            editor.putInt(PREF_BOOT_COUNT, bootCount)
+                    .putInt(PREF_TIER, -1)
+                    .putLong(PREF_WARM_UP, 0)
+                    .putInt(PREF_TIER_LIMIT, -1);
+        }
+        return editor;
+    }
+}
@@ -0,0 +1,155 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Records which scheduling tier delivered each reminder alarm and how late it was, persistently,
+ * to measure reminder accuracy on devices that deny exact alarms.<p/>
+ *
+ * It also keeps a {@link LatenessEstimator} of how late this device delivers exact alarms, which
+ * AlarmReceiver compensates for by scheduling them that much early.
+ */
+class ReminderAccuracy {
+    private static final String TAG = "ReminderAccuracy";
+
+    /** PERSISTENT STATE filename. */
+    private static final String ACCURACY_PREF_FILE = "BBQ_Reminder_Accuracy";
+
+    /** PERSISTENT STATE ID suffixes, after the tier name. */
+    private static final String PREF_COUNT = "_count";
+    private static final String PREF_TOTAL_LATENESS = "_totalLatenessMs";
+    private static final String PREF_MAX_LATENESS = "_maxLatenessMs";
+    /** PERSISTENT STATE ID for the recent exact alarm delivery lateness samples. */
+    private static final String PREF_LATENESS_SAMPLES = "latenessSamples";
+
+    /** The reminder scheduling tiers, from most to least accurate. */
+    enum Tier {
+        /** AlarmManager.setAlarmClock(): exact, even in doze mode. Needs exact alarm access. */
+        ALARM_CLOCK,
+        /** AlarmManager.setExactAndAllowWhileIdle(): exact-ish. Needs exact alarm access. */
+        EXACT_WHILE_IDLE,
+        /** AlarmManager.setWindow(): inexact. API 31+ stretches the window to 10 minutes. */
+        WINDOW,
+        /** A main thread Handler while the Activity is visible, which keeps the process alive. */
+        IN_PROCESS;
+
+        /** Returns the Tier with the given ordinal, defaulting to ALARM_CLOCK. */
+        @NonNull
+        static Tier fromOrdinal(int ordinal) {
+            Tier[] tiers = values();
+            return ordinal >= 0 && ordinal < tiers.length ? tiers[ordinal] : ALARM_CLOCK;
+        }
+
+        /** Returns true for the AlarmManager tiers whose lateness is worth compensating for. */
+        boolean isExact() {
+            return this == ALARM_CLOCK || this == EXACT_WHILE_IDLE;
+        }
+    }
+
+    @NonNull
+    private final SharedPreferences prefs;
+
+    ReminderAccuracy(@NonNull Context context) {
+        prefs = context.getSharedPreferences(ACCURACY_PREF_FILE, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Records a reminder delivered by tier.
+     *
+     * @param latenessMs how long after the reminder's deadline it arrived
+     * @param deliveryLatenessMs how long after the AlarmManager trigger time it arrived, which is
+     *      earlier than the deadline by the compensation in effect when it got scheduled
+     */
+    void record(@NonNull Tier tier, long latenessMs, long deliveryLatenessMs) {
+        String name = tier.name();
+        long late = Math.max(latenessMs, 0);
+        SharedPreferences.Editor editor = prefs.edit()
+                .putInt(name + PREF_COUNT, prefs.getInt(name + PREF_COUNT, 0) + 1)
+                .putLong(name + PREF_TOTAL_LATENESS,
+                        prefs.getLong(name + PREF_TOTAL_LATENESS, 0) + late)
+                .putLong(name + PREF_MAX_LATENESS,
+                        Math.max(prefs.getLong(name + PREF_MAX_LATENESS, 0), late));
+
+        if (tier.isExact()) {
+            LatenessEstimator estimator = loadEstimator();
+
+            if (estimator.add(deliveryLatenessMs)) {
+                editor.putString(PREF_LATENESS_SAMPLES, estimator.encode());
+            }
+        }
+        editor.apply();
+
+        Log.i(TAG, "Reminder via " + name + ", " + latenessMs + " ms late, delivered "
+                + deliveryLatenessMs + " ms after its trigger");
+    }
+
+    @NonNull
+    private LatenessEstimator loadEstimator() {
+        return LatenessEstimator.decode(prefs.getString(PREF_LATENESS_SAMPLES, ""));
+    }
+
+    /** Returns how many msec early to schedule an exact tier alarm to arrive on time. */
+    long getCompensation() {
+        return loadEstimator().getEstimate();
+    }
+
+    /** Returns the number of reminders the tier delivered. */
+    int getCount(@NonNull Tier tier) {
+        return prefs.getInt(tier.name() + PREF_COUNT, 0);
+    }
+
+    /** Returns the tier's average reminder lateness, in msec. */
+    long getAverageLateness(@NonNull Tier tier) {
+        int count = getCount(tier);
+        return count == 0 ? 0 : prefs.getLong(tier.name() + PREF_TOTAL_LATENESS, 0) / count;
+    }
+
+    /** Returns the tier's maximum reminder lateness, in msec. */
+    long getMaxLateness(@NonNull Tier tier) {
+        return prefs.getLong(tier.name() + PREF_MAX_LATENESS, 0);
+    }
+
+    /** Describes the per-tier counts and lateness for diagnostics. Not localized. */
+    @NonNull
+    String describe() {
+        StringBuilder sb = new StringBuilder("Reminder accuracy:");
+
+        for (Tier tier : Tier.values()) {
+            int count = getCount(tier);
+
+            if (count > 0) {
+                sb.append(' ').append(tier.name()).append(" n=").append(count)
+                        .append(" avg=").append(getAverageLateness(tier))
+                        .append("ms max=").append(getMaxLateness(tier)).append("ms;");
+            }
+        }
+
+        LatenessEstimator estimator = loadEstimator();
+        sb.append(" compensation=").append(estimator.getEstimate()).append("ms from ")
+                .append(estimator.getCount()).append(" samples");
+        return sb.toString();
+    }
+}
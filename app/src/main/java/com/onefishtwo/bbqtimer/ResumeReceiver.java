@@ -77,6 +77,8 @@ public class ResumeReceiver extends BroadcastReceiver {
         } else if (Intent.ACTION_LOCALE_CHANGED.equals(action)) {
             Notifier notifier = new Notifier(context);
 
+            LocaleUtils.onLocaleChanged();
+
             notifier.onLocaleChange();
             AlarmReceiver.updateNotifications(context);
 
@@ -26,13 +26,18 @@ import android.text.Spanned;
 import android.text.format.DateUtils;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
+import com.onefishtwo.bbqtimer.history.CookSession;
+
 import java.math.RoundingMode;
 import java.text.FieldPosition;
 import java.text.NumberFormat;
 import java.util.Formatter;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,7 +47,6 @@ import java.util.regex.Pattern;
  * The run states are {Running, Paused, Stopped}, where Paused is like Stopped plus an ongoing
  * Notification so it can be viewed and resumed on the Android lock screen.
  */
-@SuppressWarnings("SynchronizationOnStaticField")
 public class TimeCounter {
 
     /**
@@ -81,11 +85,37 @@ public class TimeCounter {
     @NonNull
     static InjectForTesting injected = new InjectForTesting();
 
+    /** The clocks a TimeCounter reads. Tests can inject a virtual clock. */
+    @VisibleForTesting
+    interface Clock {
+        /** Returns milliseconds since boot, like SystemClock.elapsedRealtime(). */
+        long elapsedRealtime();
+
+        /** Returns the wall clock time, like System.currentTimeMillis(). */
+        long currentTimeMillis();
+    }
+
+    /** The real system clocks. */
+    private static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long elapsedRealtime() {
+            return SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
     /** PERSISTENT STATE identifiers. */
     private static final String PREF_IS_RUNNING = "Timer_isRunning";
     private static final String PREF_IS_PAUSED  = "Timer_isPaused";  // new in app versionCode 10
     private static final String PREF_START_TIME = "Timer_startTime";
     private static final String PREF_PAUSE_TIME = "Timer_pauseTime";
+    private static final String PREF_RUN_WALL_TIME = "Timer_runWallTime";  // new in versionCode 26
+    private static final String PREF_PAUSE_COUNT = "Timer_pauseCount";
+    private static final String PREF_REMINDER_COUNT = "Timer_reminderCount";
 
     /**
      * The default format string for assembling and HTML-styling a timer duration.<p/>
@@ -104,49 +134,274 @@ public class TimeCounter {
      */
     private static final String DEFAULT_TIME_STYLE = "%1$s<small>%2$s</small>";
 
-    // Synchronized on recycledStringBuilder.
-    // The buffer is big enough for hhh:mm:ss.f + HTML markup = 11 + 30, and rounded up.
-    private static final StringBuilder recycledStringBuilder = new StringBuilder(44);
-    private static final Formatter recycledFormatter = new Formatter(recycledStringBuilder);
-
-    // Also synchronized on recycledStringBuilder.
-    private static Locale lastLocale;
-    private static NumberFormat fractionFormatter; // constructed on demand and on locale changes
-    private static final StringBuffer recycledStringBuffer = new StringBuffer(2);
-    private static final FieldPosition fractionFieldPosition =
-            new FieldPosition(NumberFormat.FRACTION_FIELD);
-
-    /** Makes locale-specific text formatters if needed, including a locale change. */
-    private static void makeLocaleFormatters() {
-        synchronized (recycledStringBuilder) {
-            Locale locale = Locale.getDefault();
-
-            if (!locale.equals(lastLocale)) {
-                lastLocale = locale;
-                fractionFormatter = NumberFormat.getNumberInstance();
-                fractionFormatter.setMinimumIntegerDigits(0);
-                fractionFormatter.setMaximumIntegerDigits(0);
-                fractionFormatter.setMinimumFractionDigits(1);
-                fractionFormatter.setMaximumFractionDigits(1);
-                fractionFormatter.setRoundingMode(RoundingMode.DOWN);
+    /**
+     * One thread's scratch buffers and formatters for a {@link FormatContext}. Only its owning
+     * thread touches it, so formatting needs no locks.
+     */
+    private static final class FormatScratch {
+        // The buffer is big enough for hhh:mm:ss.f + HTML markup = 11 + 30, and rounded up.
+        final StringBuilder builder = new StringBuilder(44);
+        @NonNull
+        final Formatter formatter;
+        @NonNull
+        final NumberFormat fractionFormat;
+        final StringBuffer fractionBuffer = new StringBuffer(2);
+        final FieldPosition fractionField = new FieldPosition(NumberFormat.FRACTION_FIELD);
+
+        FormatScratch(@NonNull FormatContext context) {
+            formatter = new Formatter(builder, context.locale);
+            // NumberFormat isn't thread-safe, so each thread formats with its own clone.
+            fractionFormat = (NumberFormat) context.fractionFormat.clone();
+        }
+    }
+
+    /**
+     * An immutable snapshot of the locale-specific formatting setup, built once per locale and
+     * swapped in whole when the locale changes. Each thread that formats with it gets its own
+     * {@link FormatScratch}, so the activity, notifications, and widgets can format in parallel
+     * without contending for a lock.
+     */
+    private static final class FormatContext {
+        @NonNull
+        final Locale locale;
+        /** The prototype fraction formatter. Never modified after construction. */
+        @NonNull
+        private final NumberFormat fractionFormat;
+        private final ThreadLocal<FormatScratch> scratch = new ThreadLocal<FormatScratch>() {
+            @NonNull
+            @Override
+            protected FormatScratch initialValue() {
+                return new FormatScratch(FormatContext.this);
+            }
+        };
+
+        FormatContext(@NonNull Locale _locale) {
+            locale = _locale;
+
+            NumberFormat format = NumberFormat.getNumberInstance(_locale);
+            format.setMinimumIntegerDigits(0);
+            format.setMaximumIntegerDigits(0);
+            format.setMinimumFractionDigits(1);
+            format.setMaximumFractionDigits(1);
+            format.setRoundingMode(RoundingMode.DOWN);
+            fractionFormat = format;
+        }
+
+        /** Returns the calling thread's scratch buffers and formatters for this context. */
+        @NonNull
+        FormatScratch scratch() {
+            //noinspection ConstantConditions
+            return scratch.get();
+        }
+    }
+
+    /** The current locale's FormatContext, built on demand and replaced on locale changes. */
+    private static volatile FormatContext formatContext;
+
+    /** Returns the FormatContext for the current locale, making a new one after a change. */
+    @NonNull
+    private static FormatContext formatContext() {
+        Locale locale = Locale.getDefault();
+        FormatContext context = formatContext;
+
+        if (context == null || !context.locale.equals(locale)) {
+            // Racing threads might each build one. That's harmless; the last one wins.
+            context = new FormatContext(locale);
+            formatContext = context;
+        }
+        return context;
+    }
+
+    /**
+     * An immutable snapshot of a TimeCounter's state. Each state transition swaps in a new one, so
+     * a reader that takes one snapshot sees a consistent state without locking, e.g. never a
+     * Running state with the previous run's start time.
+     */
+    public static final class Snapshot {
+        /** Stopped at 0:00. */
+        static final Snapshot STOPPED = new Snapshot(false, false, 0, 0, 0, 0, 0);
+
+        private final boolean isRunning;
+        private final boolean isPaused;  // distinguishes Paused from Stopped (if !isRunning)
+        private final long startTime; // elapsedRealtimeClock() when the timer was started
+        private final long pauseTime; // elapsedRealtimeClock() when the timer was paused
+        private final long runWallTime; // System.currentTimeMillis() when the run started from 0:00
+        private final int pauseCount; // the number of pauses in this run
+        private final int reminderCount; // the number of reminders fired in this run
+
+        private Snapshot(boolean _isRunning, boolean _isPaused, long _startTime, long _pauseTime,
+                long _runWallTime, int _pauseCount, int _reminderCount) {
+            isRunning = _isRunning;
+            isPaused = _isPaused;
+            startTime = _startTime;
+            pauseTime = _pauseTime;
+            runWallTime = _runWallTime;
+            pauseCount = _pauseCount;
+            reminderCount = _reminderCount;
+        }
+
+        /** Returns true if the timer is Running (not Stopped/Paused). */
+        public boolean isRunning() {
+            return isRunning;
+        }
+
+        /** Returns true if the timer is Paused (not Stopped/Running). */
+        public boolean isPaused() {
+            return !isRunning && isPaused;
+        }
+
+        /** Returns true if the timer is Stopped (not Running/Paused). */
+        public boolean isStopped() {
+            return !isRunning && !isPaused;
+        }
+
+        /** Returns true if the timer is Paused at 0:00 (the result of {@link #reset()}). */
+        public boolean isPausedAt0() {
+            return isPaused() && pauseTime == startTime;
+        }
+
+        /** Returns the timer's start time, in SystemClock.elapsedRealtime() milliseconds. */
+        public long getStartTime() {
+            return startTime;
+        }
+
+        public long getPauseTime() {
+            return pauseTime;
+        }
+
+        /**
+         * Returns the timer's (Stopped/Paused/Running) elapsed time, in milliseconds, at the given
+         * SystemClock.elapsedRealtime().
+         */
+        public long getElapsedTime(long elapsedRealtime) {
+            return (isRunning ? elapsedRealtime : pauseTime) - startTime;
+        }
+
+        /** Returns the run state for debugging. Not localized. */
+        @NonNull
+        String runState() {
+            return isRunning ? "Running" : isPaused ? "Paused" : "Stopped";
+        }
+
+        /** Returns this state Running, resuming or starting a run from 0:00. */
+        @NonNull
+        Snapshot started(long now, long wallNow) {
+            if (isRunning) {
+                return this;
+            }
+
+            boolean fromZero = pauseTime == startTime;
+            return new Snapshot(true, false, now - (pauseTime - startTime), pauseTime,
+                    fromZero ? wallNow : runWallTime,
+                    fromZero ? 0 : pauseCount, fromZero ? 0 : reminderCount);
+        }
+
+        /** Returns this state Paused. */
+        @NonNull
+        Snapshot paused(long now) {
+            if (isRunning) {
+                return new Snapshot(false, true, startTime, now, runWallTime, pauseCount + 1,
+                        reminderCount);
+            }
+            return isPaused ? this
+                    : new Snapshot(false, true, startTime, pauseTime, runWallTime, pauseCount,
+                            reminderCount);
+        }
+
+        /** Returns this state cleared to Stopped at 0:00 without ending a run. */
+        @NonNull
+        Snapshot cleared() {
+            return new Snapshot(false, false, 0, 0, runWallTime, 0, 0);
+        }
+
+        /** Returns this state reset to Paused at 0:00. */
+        @NonNull
+        Snapshot reset() {
+            return new Snapshot(false, true, 0, 0, runWallTime, 0, 0);
+        }
+
+        /** Returns this state with a Running or Paused timer set to the elapsed time. */
+        @NonNull
+        Snapshot withElapsedTime(long elapsed, long now) {
+            if (isStopped()) {
+                return this;
             }
+            return new Snapshot(isRunning, isPaused, (isRunning ? now : pauseTime) - elapsed,
+                    pauseTime, runWallTime, pauseCount, reminderCount);
+        }
+
+        /** Returns this state with one more reminder fired. */
+        @NonNull
+        Snapshot withReminderCounted() {
+            return new Snapshot(isRunning, isPaused, startTime, pauseTime, runWallTime, pauseCount,
+                    reminderCount + 1);
+        }
+
+        /** Returns the run that ending this state at now would record, or null if none. */
+        @Nullable
+        CookSession endedRun(long now) {
+            long elapsed = getElapsedTime(now);
+
+            return !isStopped() && elapsed > 0
+                    ? new CookSession(runWallTime, elapsed, pauseCount, reminderCount, "")
+                    : null;
         }
     }
 
-    private boolean isRunning;
-    private boolean isPaused;  // distinguishes Paused from Stopped (if !isRunning)
-    private long startTime; // elapsedRealtimeClock() when the timer was started
-    private long pauseTime; // elapsedRealtimeClock() when the timer was paused
+    @NonNull
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(Snapshot.STOPPED);
+    /** The last run that stop() or reset() ended, not yet taken. */
+    private final AtomicReference<CookSession> endedRun = new AtomicReference<>();
+    @NonNull
+    private final Clock clock;
 
     public TimeCounter() {
+        this(SYSTEM_CLOCK);
+    }
+
+    @VisibleForTesting
+    TimeCounter(@NonNull Clock _clock) {
+        clock = _clock;
+    }
+
+    /**
+     * Returns the current state snapshot. Read several properties from one snapshot to get a
+     * consistent view of them. This doesn't lock or allocate.
+     */
+    @NonNull
+    public Snapshot snapshot() {
+        return state.get();
+    }
+
+    /**
+     * Atomically applies a state transition to the current snapshot, retrying if another thread
+     * changed the state in the meantime.
+     *
+     * @return the previous snapshot.
+     */
+    @NonNull
+    private Snapshot transition(@NonNull UnaryOperator<Snapshot> function) {
+        while (true) {
+            Snapshot previous = state.get();
+            Snapshot next = function.apply(previous);
+
+            if (next == previous || state.compareAndSet(previous, next)) {
+                return previous;
+            }
+        }
     }
 
     /** Saves state to a preferences editor. */
     public void save(@NonNull SharedPreferences.Editor prefsEditor) {
-        prefsEditor.putBoolean(PREF_IS_RUNNING, isRunning);
-        prefsEditor.putBoolean(PREF_IS_PAUSED, isPaused);
-        prefsEditor.putLong(PREF_START_TIME, startTime);
-        prefsEditor.putLong(PREF_PAUSE_TIME, pauseTime);
+        Snapshot s = snapshot();
+
+        prefsEditor.putBoolean(PREF_IS_RUNNING, s.isRunning);
+        prefsEditor.putBoolean(PREF_IS_PAUSED, s.isPaused);
+        prefsEditor.putLong(PREF_START_TIME, s.startTime);
+        prefsEditor.putLong(PREF_PAUSE_TIME, s.pauseTime);
+        prefsEditor.putLong(PREF_RUN_WALL_TIME, s.runWallTime);
+        prefsEditor.putInt(PREF_PAUSE_COUNT, s.pauseCount);
+        prefsEditor.putInt(PREF_REMINDER_COUNT, s.reminderCount);
     }
 
     /**
@@ -158,10 +413,13 @@ public class TimeCounter {
      * reboot, so it's best to save the normalized state soon.
      */
     public boolean load(@NonNull SharedPreferences prefs) {
-        isRunning = prefs.getBoolean(PREF_IS_RUNNING, false);
-        isPaused  = prefs.getBoolean(PREF_IS_PAUSED, false);  // absent in older data
-        startTime = prefs.getLong(PREF_START_TIME, 0);
-        pauseTime = prefs.getLong(PREF_PAUSE_TIME, 0);
+        boolean isRunning = prefs.getBoolean(PREF_IS_RUNNING, false);
+        boolean isPaused  = prefs.getBoolean(PREF_IS_PAUSED, false);  // absent in older data
+        long startTime = prefs.getLong(PREF_START_TIME, 0);
+        long pauseTime = prefs.getLong(PREF_PAUSE_TIME, 0);
+        long runWallTime   = prefs.getLong(PREF_RUN_WALL_TIME, 0);  // absent in older data
+        int pauseCount    = prefs.getInt(PREF_PAUSE_COUNT, 0);
+        int reminderCount = prefs.getInt(PREF_REMINDER_COUNT, 0);
 
         boolean needToSave = false;
 
@@ -169,54 +427,52 @@ public class TimeCounter {
         if (isRunning) {
             isPaused = false;
             if (startTime > elapsedRealtimeClock()) { // Must've rebooted.
-                stop();
                 needToSave = true;
             }
         } else if (isPaused) {
             if (startTime > pauseTime || startTime > elapsedRealtimeClock()) {
-                stop();
                 needToSave = true;
             }
-        } else {
-            stop();
         }
 
+        Snapshot loaded = new Snapshot(isRunning, isPaused, startTime, pauseTime, runWallTime,
+                pauseCount, reminderCount);
+        state.set(needToSave || loaded.isStopped() ? loaded.cleared() : loaded);
         return needToSave;
     }
 
     /** Returns the timer's start time, in SystemClock.elapsedRealtime() milliseconds. */
     public long getStartTime() {
-        return startTime;
+        return snapshot().startTime;
     }
 
     public long getPauseTime() {
-        return pauseTime;
+        return snapshot().pauseTime;
     }
 
     /** Returns the underlying clock time, in milliseconds since boot. */
-    // TODO: Inject the clock for testability.
     public long elapsedRealtimeClock() {
-        return SystemClock.elapsedRealtime();
+        return clock.elapsedRealtime();
     }
 
     /** Converts from the elapsed realtime clock (ELAPSED) to the realtime wall clock (RTC). */
     public long elapsedTimeToWallTime(long elapsed) {
-        return elapsed - elapsedRealtimeClock() + System.currentTimeMillis();
+        return elapsed - elapsedRealtimeClock() + clock.currentTimeMillis();
     }
 
     /** Returns true if the timer is Running (not Stopped/Paused). */
     public boolean isRunning() {
-        return isRunning;
+        return snapshot().isRunning();
     }
 
     /** Returns true if the timer is Paused (not Stopped/Running). */
     public boolean isPaused() {
-        return !isRunning && isPaused;
+        return snapshot().isPaused();
     }
 
     /** Returns true if the timer is Stopped (not Running/Paused). */
     public boolean isStopped() {
-        return !isRunning && !isPaused;
+        return snapshot().isStopped();
     }
 
     /**
@@ -224,53 +480,70 @@ public class TimeCounter {
      * {@link #reset()}).
      */
     public boolean isPausedAt0() {
-        return isPaused() && getElapsedTime() == 0;
+        return snapshot().isPausedAt0();
     }
 
     /**
      * Returns the Timer's Running/Paused/Stopped state for debugging. Not localized.
      *
-     * @see Notifier#timerRunState(TimeCounter, boolean)
+     * @see Notifier#timerRunState(Snapshot, long, boolean)
      */
     @NonNull
     String runState() {
-        if (isRunning) {
-            return "Running";
-        } else if (isPaused) {
-            return "Paused";
-        } else {
-            return "Stopped";
-        }
+        return snapshot().runState();
     }
 
     /** Returns the timer's (Stopped/Paused/Running) elapsed time, in milliseconds. */
     public long getElapsedTime() {
-        return (isRunning ? elapsedRealtimeClock() : pauseTime) - startTime;
+        return snapshot().getElapsedTime(elapsedRealtimeClock());
+    }
+
+    /** Ends the previous state's run, if any, making it available to {@link #takeEndedRun}. */
+    private void endRun(@NonNull Snapshot previous, long now) {
+        CookSession run = previous.endedRun(now);
+
+        if (run != null) {
+            endedRun.set(run);
+        }
+    }
+
+    /**
+     * Returns the run that {@link #stop()} or {@link #reset()} most recently ended, tagged with the
+     * given recipe, then forgets it; or returns null if there's none. This is for recording the
+     * session history incrementally from the state transitions.
+     */
+    @Nullable
+    public CookSession takeEndedRun(@NonNull String recipe) {
+        CookSession run = endedRun.getAndSet(null);
+
+        return run == null ? null : run.withRecipe(recipe);
+    }
+
+    /** Counts a periodic reminder fired during this run. */
+    public void countReminder() {
+        transition(Snapshot::withReminderCounted);
     }
 
     /** Stops and clears the timer to 0:00. */
     public void stop() {
-        startTime = pauseTime = 0;
-        isRunning = false;
-        isPaused  = false;
+        long now = elapsedRealtimeClock();
+
+        endRun(transition(Snapshot::cleared), now);
     }
 
     /** Starts or resumes the timer. */
     public void start() {
-        if (!isRunning) {
-            startTime = elapsedRealtimeClock() - (pauseTime - startTime);
-            isRunning = true;
-            isPaused  = false;
-        }
+        long now = elapsedRealtimeClock();
+        long wallNow = clock.currentTimeMillis();
+
+        transition(s -> s.started(now, wallNow));
     }
 
     /** Pauses the timer. */
     public void pause() {
-        if (isRunning) {
-            pauseTime = elapsedRealtimeClock();
-            isRunning = false;
-        }
-        isPaused = true;
+        long now = elapsedRealtimeClock();
+
+        transition(s -> s.paused(now));
     }
 
     /**
@@ -281,12 +554,10 @@ public class TimeCounter {
      */
     @SuppressWarnings("UnusedReturnValue")
     public boolean toggleRunPause() {
-        if (isRunning) {
-            pause();
-        } else {
-            start();
-        }
-        return isRunning;
+        long now = elapsedRealtimeClock();
+        long wallNow = clock.currentTimeMillis();
+
+        return !transition(s -> s.isRunning ? s.paused(now) : s.started(now, wallNow)).isRunning;
     }
 
     /**
@@ -297,30 +568,40 @@ public class TimeCounter {
      */
     @SuppressWarnings("UnusedReturnValue")
     public boolean togglePauseRun() {
-        if (isPaused) {
-            start();
-        } else {
-            pause();
-        }
-        return isRunning;
+        long now = elapsedRealtimeClock();
+        long wallNow = clock.currentTimeMillis();
+
+        return transition(s -> s.isPaused ? s.started(now, wallNow) : s.paused(now)).isPaused;
     }
 
     /** Cycles the state: Paused at 0:00 or Stopped -> Running -> Paused -> Stopped. */
     public void cycle() {
-        if (isRunning()) {
-            pause();
-        } else if (isStopped() || isPausedAt0()) {
-            start();
-        } else {
-            stop();
+        long now = elapsedRealtimeClock();
+        long wallNow = clock.currentTimeMillis();
+        Snapshot previous = transition(s -> s.isRunning() ? s.paused(now)
+                : s.isStopped() || s.isPausedAt0() ? s.started(now, wallNow)
+                : s.cleared());
+
+        if (previous.isPaused() && !previous.isPausedAt0()) {
+            endRun(previous, now);
         }
     }
 
+    /**
+     * Sets a Running or Paused timer's elapsed time, keeping its state, e.g. to match a replicated
+     * timer. Does nothing to a Stopped timer.
+     */
+    public void setElapsedTime(long elapsed) {
+        long now = elapsedRealtimeClock();
+
+        transition(s -> s.withElapsedTime(elapsed, now));
+    }
+
     /** Resets the timer to Paused at 0:00. */
     public void reset() {
-        startTime = pauseTime = 0;
-        isRunning = false;
-        isPaused  = true;
+        long now = elapsedRealtimeClock();
+
+        endRun(transition(Snapshot::reset), now);
     }
 
     /** Formats this TimeCounter's millisecond duration in localized [hh:]mm:ss format. */
@@ -339,11 +620,9 @@ public class TimeCounter {
     /** Formats a millisecond duration in [hh:]mm:ss format like Chronometer does. */
     public static String formatHhMmSs(long elapsedMilliseconds) {
         long elapsedSeconds = elapsedMilliseconds / 1000;
-        InjectForTesting injected1 = injected;
+        FormatScratch scratch = formatContext().scratch();
 
-        synchronized (recycledStringBuilder) {
-            return injected1.formatElapsedTime(recycledStringBuilder, elapsedSeconds);
-        }
+        return injected.formatElapsedTime(scratch.builder, elapsedSeconds);
     }
 
     /**
@@ -356,22 +635,27 @@ public class TimeCounter {
      */
     public static Spanned formatHhMmSsFraction(long elapsedMilliseconds) {
         String hhmmss = formatHhMmSs(elapsedMilliseconds);
-        double seconds = elapsedMilliseconds / 1000.0;
-        String f;
-        String html;
+        String f = formatFraction(elapsedMilliseconds);
+        FormatScratch scratch = formatContext().scratch();
 
-        makeLocaleFormatters();
+        scratch.builder.setLength(0);
+        String html = scratch.formatter.format(DEFAULT_TIME_STYLE, hhmmss, f).toString();
 
-        synchronized (recycledStringBuilder) {
-            recycledStringBuffer.setLength(0);
-            f = fractionFormatter.format(seconds, recycledStringBuffer, fractionFieldPosition)
-                    .toString();
+        return injected.fromHtml(html);
+    }
 
-            recycledStringBuilder.setLength(0);
-            html = recycledFormatter.format(DEFAULT_TIME_STYLE, hhmmss, f).toString();
-        }
+    /**
+     * Formats the tenths of a second of a millisecond duration in the localized ".f" format, that
+     * is, the unstyled fractional part of {@link #formatHhMmSsFraction(long)}.
+     */
+    @NonNull
+    public static String formatFraction(long elapsedMilliseconds) {
+        double seconds = elapsedMilliseconds / 1000.0;
+        FormatScratch scratch = formatContext().scratch();
 
-        return injected.fromHtml(html);
+        scratch.fractionBuffer.setLength(0);
+        return scratch.fractionFormat.format(
+                seconds, scratch.fractionBuffer, scratch.fractionField).toString();
     }
 
     /**
@@ -396,16 +680,11 @@ public class TimeCounter {
         }
 
         long seconds = elapsedSeconds;
+        FormatScratch scratch = formatContext().scratch();
+        String format = seconds == 0 ? "%1$d" : "%1$d:%2$02d";
 
-        synchronized (recycledStringBuilder) {
-            recycledStringBuilder.setLength(0);
-
-            try (Formatter f = new Formatter(recycledStringBuilder, Locale.getDefault())) {
-                String format = seconds == 0 ? "%1$d" : "%1$d:%2$02d";
-
-                return f.format(format, minutes, seconds).toString();
-            }
-        }
+        scratch.builder.setLength(0);
+        return scratch.formatter.format(format, minutes, seconds).toString();
     }
 
     /**
@@ -477,6 +756,9 @@ public class TimeCounter {
     @NonNull
     @Override
     public String toString() {
-        return "TimeCounter " + runState() + " @ " + formatHhMmSs(getElapsedTime());
+        Snapshot s = snapshot();
+
+        return "TimeCounter " + s.runState() + " @ "
+                + formatHhMmSs(s.getElapsedTime(elapsedRealtimeClock()));
     }
 }
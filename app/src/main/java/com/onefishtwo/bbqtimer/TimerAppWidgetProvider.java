@@ -36,7 +36,10 @@ import android.widget.RemoteViews;
 
 import androidx.annotation.DrawableRes;
 import androidx.annotation.IdRes;
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
 
 import com.onefishtwo.bbqtimer.state.ApplicationState;
 
@@ -76,23 +79,51 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
         return new ComponentName(context, TimerAppWidgetProvider.class);
     }
 
+    /** The PendingIntents that all the widget instances use, from the PendingIntentPool. */
+    private static final class WidgetIntents {
+        @NonNull final PendingIntent runPause;
+        @NonNull final PendingIntent cycle;
+        @Nullable final PendingIntent activity;
+
+        WidgetIntents(@NonNull Context context) {
+            runPause = PendingIntentPool.actionIntent(context, ACTION_RUN_PAUSE);
+            cycle    = PendingIntentPool.actionIntent(context, ACTION_CYCLE);
+            activity = PendingIntentPool.mainActivityIntent(context);
+        }
+    }
+
     /**
      * Updates all the given widget instances' layout and contents.
      * <p/>
-     * TODO: API 31+ could reuse the same RemoteViews instances for all widget instances.
-     * TODO: onAppWidgetOptionsChanged() could pass in newOptions.
+     * The widget contents depend only on the Timer state, not on the widget instance, so on API
+     * 31+ this builds one responsive RemoteViews bundle and pushes it to all the widgets in one
+     * call. Before API 31, each widget needs a layout variant for its size range, which this
+     * looks up in the {@link WidgetSizeTable}.
      */
     private static void updateWidgets(@NonNull Context context,
             @NonNull AppWidgetManager appWidgetManager,
             int[] appWidgetIds, @NonNull ApplicationState state) {
-        for (int id: appWidgetIds) {
-            updateWidget(context, appWidgetManager, id, state);
+        WidgetIntents intents = new WidgetIntents(context);
+
+        if (Build.VERSION.SDK_INT >= 31) {
+            RemoteViews views = makeResponsiveViews(context, state, intents);
+
+            appWidgetManager.updateAppWidget(appWidgetIds, views);
+        } else {
+            WidgetSizeTable sizeTable = new WidgetSizeTable(context);
+
+            for (int id: appWidgetIds) {
+                int sizeClass = sizeTable.getSizeClass(appWidgetManager, id);
+                RemoteViews views = makeSizedViews(context, state, intents, sizeClass);
+
+                appWidgetManager.updateAppWidget(id, views);
+            }
         }
     }
 
     /**
-     * Updates a widget instance's layout to its size range, contents to the Timer state & time, and
-     * sets its PendingIntents.
+     * Makes RemoteViews with the widget contents for the Timer state & time, using bankOffset to
+     * pick the regular or small count-up views, and sets their PendingIntents.
      * <p/>
      * Workaround: A paused Chronometer doesn't show a stable value. Multiple widgets might show
      * different values, switching light/dark theme might change it, etc. So construct its time
@@ -131,26 +162,21 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
      *  * Word wrapping is ugly.
      *  * SingleLine is uglier, forcing ellipses that hide more digits.
      */
-    private static void updateWidget(@NonNull Context context,
-            @NonNull AppWidgetManager appWidgetManager,
-            int appWidgetId, @NonNull ApplicationState state) {
-        TimeCounter timer = state.getTimeCounter();
+    @NonNull
+    private static RemoteViews makeViews(@NonNull Context context,
+            @NonNull ApplicationState state, @NonNull WidgetIntents intents, int bankOffset) {
+        TimeCounter.Snapshot timer = state.getTimeCounter().snapshot();
+        ApplicationState.Settings settings = state.snapshot();
+        long rt = SystemClock.elapsedRealtime();
         long countUpBase = timer.getStartTime();
+        long countdownToNextAlarm = settings.getMillisecondsToNextAlarm(timer.getElapsedTime(rt));
 
         RemoteViews views = new RemoteViews(context.getPackageName(), R.layout.app_widget);
 
-        PendingIntent runPauseIntent  = makeActionIntent(context, ACTION_RUN_PAUSE);
-        PendingIntent cycleIntent     = makeActionIntent(context, ACTION_CYCLE);
-        PendingIntent activityIntent  = MainActivity.makePendingIntent(context);
-
         boolean visibleCountdown = false;
-        Bundle widgetOptions = appWidgetManager.getAppWidgetOptions(appWidgetId);
-        int minWidth = widgetOptions.getInt(
-                AppWidgetManager.OPTION_APPWIDGET_MIN_WIDTH, 180);
         int child = timer.isRunning() ? RUNNING_CHRONOMETER_CHILD
                 : timer.isStopped() ? RESET_CHRONOMETER_CHILD
                 : PAUSED_CHRONOMETER_CHILD;
-        int bankOffset = Build.VERSION.SDK_INT < 31 && minWidth >= 117 && minWidth < 184 ? 3 : 0;
         int extendedChildIndex = child + bankOffset;
         @IdRes int extendedChildId = CHILD_IDS[extendedChildIndex];
         @DrawableRes int actionButton =
@@ -158,7 +184,7 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
                 : R.drawable.ic_action_pause;
 
         // Enable the countdown time view if periodic alarms are enabled.
-        if (state.isEnableReminders()) {
+        if (settings.isEnableReminders()) {
             visibleCountdown = true;
             views.setViewVisibility(R.id.countdownFlipper, View.VISIBLE);
             views.setDisplayedChild(R.id.countdownFlipper, child);
@@ -175,21 +201,19 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
             views.setChronometer(extendedChildId, countUpBase, null, true);
 
             if (visibleCountdown) {
-                long rt = SystemClock.elapsedRealtime();
-                long countdownToNextAlarm = state.getMillisecondsToNextAlarm();
                 long countdownBase = rt + countdownToNextAlarm;
 
                 views.setChronometer(R.id.countdownChronometer, countdownBase,
                         null, true);
             }
         } else {
-            views.setTextViewText(extendedChildId, timer.formatHhMmSs());
+            views.setTextViewText(extendedChildId,
+                    TimeCounter.formatHhMmSs(timer.getElapsedTime(rt)));
 
             if (visibleCountdown) {
                 @IdRes int countdownTextViewId = child == RESET_CHRONOMETER_CHILD
                         ? R.id.countdownResetChronometerText
                         : R.id.countdownPausedChronometerText;
-                long countdownToNextAlarm = state.getMillisecondsToNextAlarm();
 
                 views.setTextViewText(countdownTextViewId,
                         TimeCounter.formatHhMmSs(countdownToNextAlarm));
@@ -199,41 +223,57 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
         views.setImageViewResource(R.id.remoteStartStopButton, actionButton);
         views.setDisplayedChild(R.id.viewFlipper, extendedChildIndex);
 
-        views.setOnClickPendingIntent(R.id.remoteStartStopButton, runPauseIntent);
-        views.setOnClickPendingIntent(android.R.id.background, activityIntent);
-        views.setOnClickPendingIntent(extendedChildId, cycleIntent);
+        views.setOnClickPendingIntent(R.id.remoteStartStopButton, intents.runPause);
+        views.setOnClickPendingIntent(android.R.id.background, intents.activity);
+        views.setOnClickPendingIntent(extendedChildId, intents.cycle);
 
-        // Make the widget layout responsive to ever-smaller sizes by first hiding the countdown
-        // view, then shrinking the count-up view (if viable), then hiding the count-up view.
-        if (Build.VERSION.SDK_INT >= 31) {
-            RemoteViews mediumViews = new RemoteViews(views);
-            hideTheCountdown(mediumViews);
+        return views;
+    }
 
-            RemoteViews smallViews = new RemoteViews(mediumViews);
-            hideTheCountUp(smallViews);
+    /**
+     * Makes the API 31+ responsive RemoteViews for all widget instances. It maps layout sizes to
+     * ever-smaller variants that first hide the countdown view then hide the count-up view.
+     */
+    @RequiresApi(31)
+    @NonNull
+    private static RemoteViews makeResponsiveViews(@NonNull Context context,
+            @NonNull ApplicationState state, @NonNull WidgetIntents intents) {
+        RemoteViews views = makeViews(context, state, intents, 0);
 
-            Map<SizeF, RemoteViews> viewMapping = new ArrayMap<>();
-            viewMapping.put(new SizeF( 40, 40), smallViews);
-            viewMapping.put(new SizeF(180, 40), mediumViews);
-            viewMapping.put(new SizeF(274, 40), views);
+        RemoteViews mediumViews = new RemoteViews(views);
+        hideTheCountdown(mediumViews);
 
-            views = new RemoteViews(viewMapping);
-        } else {
-            // ≥ 5 cells on API 29 Nexus 5, else ≥ 4 cells ==> Show all views.
+        RemoteViews smallViews = new RemoteViews(mediumViews);
+        hideTheCountUp(smallViews);
 
-            if (minWidth < 274) { // < 5 cells on API 29 Nexus 5, else < 4 cells
-                hideTheCountdown(views);
-            }
+        Map<SizeF, RemoteViews> viewMapping = new ArrayMap<>();
+        viewMapping.put(new SizeF( 40, 40), smallViews);
+        viewMapping.put(new SizeF(180, 40), mediumViews);
+        viewMapping.put(new SizeF(274, 40), views);
 
-            // minWidth in [117 .. 184) -- 3 cells on API 29 Nexus 5, else 2 cells
-            // ==> The code above switched to the small count-up views.
+        return new RemoteViews(viewMapping);
+    }
 
-            if (minWidth < 117) { // < 3 cells on API 29 Nexus 5, else < 2 cells
-                hideTheCountUp(views);
-            }
+    /**
+     * Makes the pre-API 31 RemoteViews for a widget instance in the given
+     * {@link WidgetSizeTable} size class, first hiding the countdown view, then shrinking the
+     * count-up view (if viable), then hiding the count-up view.
+     */
+    @NonNull
+    private static RemoteViews makeSizedViews(@NonNull Context context,
+            @NonNull ApplicationState state, @NonNull WidgetIntents intents, int sizeClass) {
+        int bankOffset = sizeClass == WidgetSizeTable.SIZE_SMALL_COUNT_UP ? 3 : 0;
+        RemoteViews views = makeViews(context, state, intents, bankOffset);
+
+        if (sizeClass != WidgetSizeTable.SIZE_FULL) {
+            hideTheCountdown(views);
+        }
+
+        if (sizeClass == WidgetSizeTable.SIZE_NO_COUNT_UP) {
+            hideTheCountUp(views);
         }
 
-        appWidgetManager.updateAppWidget(appWidgetId, views);
+        return views;
     }
 
     /** Hide the countdown from the remote views for a smaller layout. */
@@ -265,9 +305,27 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
             int[] appWidgetIds) {
         ApplicationState state = ApplicationState.sharedInstance(context);
 
+        if (Build.VERSION.SDK_INT < 31) {
+            new WidgetSizeTable(context).addMissing(appWidgetManager, appWidgetIds);
+        }
+
         updateWidgets(context, appWidgetManager, appWidgetIds, state);
     }
 
+    /** Forgets the deleted widget instances' size classes. */
+    @Override
+    public void onDeleted(@NonNull Context context, int[] appWidgetIds) {
+        super.onDeleted(context, appWidgetIds);
+        new WidgetSizeTable(context).remove(appWidgetIds);
+    }
+
+    /** Moves the size classes of widget instances restored from backup to their new IDs. */
+    @Override
+    public void onRestored(@NonNull Context context, int[] oldWidgetIds, int[] newWidgetIds) {
+        super.onRestored(context, oldWidgetIds, newWidgetIds);
+        new WidgetSizeTable(context).move(oldWidgetIds, newWidgetIds);
+    }
+
     /** Updates the contents of all of this provider's app widgets. */
     static void updateAllWidgets(@NonNull Context context, @NonNull ApplicationState state) {
         ComponentName componentName = getComponentName(context);
@@ -292,7 +350,7 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
      *<p/>
      * NOTE: This does not usually get called when the screen rotates landscape/portrait.
      *<p/>
-     * TODO: Passing newOptions to updateWidget() might save a little time.
+     * Records the new size class in the {@link WidgetSizeTable} so updates needn't ask for it.
      */
     @Override
     public void onAppWidgetOptionsChanged(Context context, AppWidgetManager appWidgetManager,
@@ -305,12 +363,17 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
         Log.i(TAG, "WidgetOptionsChanged: " + newOptions);
 
         if (Build.VERSION.SDK_INT < 31) {
-            updateWidget(context, appWidgetManager, appWidgetId, state);
+            new WidgetSizeTable(context).onOptionsChanged(appWidgetId, newOptions);
+            updateWidgets(context, appWidgetManager, new int[] {appWidgetId}, state);
         }
     }
 
-    /** Constructs a PendingIntent for the widget to send an action event to this Receiver. */
-    static PendingIntent makeActionIntent(Context context, String action) {
+    /**
+     * Constructs a PendingIntent for the widget to send an action event to this Receiver. Get it
+     * via {@link PendingIntentPool#actionIntent}.
+     */
+    @NonNull
+    static PendingIntent makeActionIntent(@NonNull Context context, @NonNull String action) {
         Intent intent = new Intent(context, TimerAppWidgetProvider.class);
         intent.setAction(action).addFlags(Intent.FLAG_RECEIVER_FOREGROUND);
         return PendingIntent.getBroadcast(context, 0, intent, PendingIntent.FLAG_IMMUTABLE);
@@ -324,35 +387,46 @@ public class TimerAppWidgetProvider extends AppWidgetProvider {
     public void onReceive(@NonNull Context context, @NonNull Intent intent) {
         super.onReceive(context, intent);
 
-        String action          = intent.getAction();
-        ApplicationState state = ApplicationState.sharedInstance(context);
-        TimeCounter timer      = state.getTimeCounter();
+        String action = intent.getAction();
 
         Log.v(TAG, "Intent: " + action);
+        performAction(context, action);
+    }
+
+    /**
+     * Performs an app-specific ACTION_* on the timer, then saves and updates the UI. Widgets,
+     * Notifications, and {@link TimerService} clients share these semantics.
+     *
+     * @return true if it was an app-specific action
+     */
+    @MainThread
+    static boolean performAction(@NonNull Context context, @Nullable String action) {
+        ApplicationState state = ApplicationState.sharedInstance(context);
+        TimeCounter timer      = state.getTimeCounter();
 
         if (ACTION_RUN_PAUSE.equals(action)) { // Run/Pause button
             timer.togglePauseRun();
-            saveStateAndUpdateUI(context, state);
         } else if (ACTION_RUN.equals(action)) { // Run (Play) button
             timer.start();
-            saveStateAndUpdateUI(context, state);
         } else if (ACTION_PAUSE.equals(action)) { // Pause button
             timer.pause();
-            saveStateAndUpdateUI(context, state);
         } else if (ACTION_RESET.equals(action)) { // Reset button
             timer.reset();
-            saveStateAndUpdateUI(context, state);
         } else if (ACTION_STOP.equals(action)) { // Stop button or swiped the notification
             timer.stop();
-            saveStateAndUpdateUI(context, state);
         } else if (ACTION_CYCLE.equals(action)) { // tapped the time text
             timer.cycle();
-            saveStateAndUpdateUI(context, state);
+        } else {
+            return false;
         }
+
+        saveStateAndUpdateUI(context, state);
+        return true;
     }
 
     /** Saves app state then updates the Notifications and Widgets. */
-    private void saveStateAndUpdateUI(@NonNull Context context, @NonNull ApplicationState state) {
+    private static void saveStateAndUpdateUI(@NonNull Context context,
+            @NonNull ApplicationState state) {
         state.save(context);
 
         AlarmReceiver.updateNotifications(context);
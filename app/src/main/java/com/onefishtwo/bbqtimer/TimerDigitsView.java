@@ -0,0 +1,444 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Typeface;
+import android.graphics.drawable.AnimatedVectorDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import androidx.core.content.res.ResourcesCompat;
+
+/**
+ * The big elapsed time display. It draws the "[hh:]mm:ss" digits and the smaller ".f" fraction
+ * straight from a char[] instead of laying out a styled string in an auto-sizing TextView on every
+ * tick.<p/>
+ *
+ * It picks the text size that fills the view (like TextView's uniform auto-size) once per layout
+ * and glyph count, scaling glyph widths that it measured once at a reference size. The digits are
+ * tabular so a tick changes no glyph positions, and {@link #setTime} invalidates just the glyphs
+ * that changed, or nothing at all when the display is unchanged.<p/>
+ *
+ * While paused it blinks by drawing an {@link AnimatedVectorDrawable} over its digits. On API 25+
+ * that animation runs on the RenderThread, so blinking takes no main thread work.<p/>
+ *
+ * For accessibility it reports its time text as a TextView would, and its minimum text size is in
+ * sp so it follows the user's font scale.
+ */
+public class TimerDigitsView extends View {
+    /** android:textColor, android:text, android:fontFamily, in ascending attr ID order. */
+    private static final int[] ATTRS = {
+            android.R.attr.textColor, android.R.attr.text, android.R.attr.fontFamily};
+    private static final int ATTR_TEXT_COLOR = 0;
+    private static final int ATTR_TEXT = 1;
+    private static final int ATTR_FONT_FAMILY = 2;
+
+    /** The text size to measure glyph widths and font metrics at, in pixels. */
+    private static final float REFERENCE_SIZE = 100f;
+    /** The fraction's size relative to the other digits, matching {@code <small>} in HTML. */
+    private static final float FRACTION_SCALE = 0.8f;
+    private static final float MIN_TEXT_SIZE_SP = 16f;
+    private static final float MAX_TEXT_SIZE_DP = 1000f;
+    /** Enough for "hhh:mm:ss.f" with room to spare. */
+    private static final int MAX_GLYPHS = 16;
+
+    private final Paint mainPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.SUBPIXEL_TEXT_FLAG);
+    private final Paint fractionPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.SUBPIXEL_TEXT_FLAG);
+    /** Measures glyphs at REFERENCE_SIZE. */
+    private final Paint referencePaint = new Paint(Paint.SUBPIXEL_TEXT_FLAG);
+    private final float minTextSize, maxTextSize;
+    /** The main font's ascent and descent at REFERENCE_SIZE. */
+    private final float referenceAscent, referenceDescent;
+
+    /**
+     * Cached glyph widths at REFERENCE_SIZE. A digit's entry is keyed by its script's zero digit
+     * and holds the widest of its ten digits, which makes digits tabular even in a font that
+     * doesn't support the "tnum" feature.
+     */
+    private final char[] cachedChars = new char[MAX_GLYPHS];
+    private final float[] cachedWidths = new float[MAX_GLYPHS];
+    private int cachedCount;
+
+    /** The displayed glyphs: glyphCount chars, the first mainCount of them in the main size. */
+    private final char[] glyphs = new char[MAX_GLYPHS];
+    private int glyphCount, mainCount;
+    /** Each glyph's left edge and width in the current size class. */
+    private final float[] glyphX = new float[MAX_GLYPHS];
+    private final float[] glyphWidth = new float[MAX_GLYPHS];
+    private float baseline;
+
+    @NonNull
+    private ColorStateList textColors = ColorStateList.valueOf(Color.BLACK);
+
+    /** The running blink animation, or null when not blinking. */
+    @Nullable
+    private AnimatedVectorDrawable blink;
+    /** Composites the blink onto just the digits' pixels. */
+    private final Paint blinkLayerPaint = new Paint();
+    private boolean visibleToUser;
+
+    public TimerDigitsView(@NonNull Context context) {
+        this(context, null);
+    }
+
+    public TimerDigitsView(@NonNull Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public TimerDigitsView(@NonNull Context context, @Nullable AttributeSet attrs,
+            int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+
+        float scaledDensity = TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_SP, 1f, getResources().getDisplayMetrics());
+        float density = getResources().getDisplayMetrics().density;
+        minTextSize = MIN_TEXT_SIZE_SP * scaledDensity;
+        maxTextSize = MAX_TEXT_SIZE_DP * density;
+
+        TypedArray a = context.obtainStyledAttributes(attrs, ATTRS, defStyleAttr, 0);
+        ColorStateList colors = a.getColorStateList(ATTR_TEXT_COLOR);
+        CharSequence text = a.getText(ATTR_TEXT);
+        int fontId = a.getResourceId(ATTR_FONT_FAMILY, 0);
+        a.recycle();
+
+        Typeface typeface = fontId == 0 ? null : ResourcesCompat.getFont(context, fontId);
+        for (Paint paint : new Paint[] {mainPaint, fractionPaint, referencePaint}) {
+            paint.setTypeface(typeface);
+            paint.setFontFeatureSettings("tnum");
+            paint.setTextAlign(Paint.Align.LEFT);
+        }
+
+        blinkLayerPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.SRC_ATOP));
+        referencePaint.setTextSize(REFERENCE_SIZE);
+        Paint.FontMetrics metrics = referencePaint.getFontMetrics();
+        referenceAscent = -metrics.ascent;
+        referenceDescent = metrics.descent;
+
+        if (colors != null) {
+            textColors = colors;
+        }
+        updateTextColor();
+
+        if (text != null) {
+            int split = fractionStart(text);
+            setTime(text.subSequence(0, split), text.subSequence(split, text.length()));
+        }
+
+        setImportantForAccessibility(IMPORTANT_FOR_ACCESSIBILITY_YES);
+    }
+
+    /** Returns the index where text's fraction begins, i.e. its last separator that isn't ':'. */
+    private static int fractionStart(@NonNull CharSequence text) {
+        for (int i = text.length() - 1; i >= 0; --i) {
+            char c = text.charAt(i);
+
+            if (!Character.isDigit(c) && c != ':') {
+                return i;
+            }
+        }
+        return text.length();
+    }
+
+    /**
+     * Displays a time formatted as the "[hh:]mm:ss" part and the ".f" fraction part, e.g. from
+     * {@link TimeCounter#formatHhMmSs(long)} and {@link TimeCounter#formatFraction(long)}.
+     * Invalidates only the glyphs that changed.
+     */
+    @UiThread
+    public void setTime(@NonNull CharSequence hhmmss, @NonNull CharSequence fraction) {
+        int newMainCount = Math.min(hhmmss.length(), MAX_GLYPHS);
+        int newCount = Math.min(newMainCount + fraction.length(), MAX_GLYPHS);
+        boolean reshaped = newMainCount != mainCount || newCount != glyphCount;
+        int firstChange = -1, lastChange = -1;
+
+        for (int i = 0; i < newCount; ++i) {
+            char c = i < newMainCount ? hhmmss.charAt(i) : fraction.charAt(i - newMainCount);
+            char old = glyphs[i];
+
+            if (c != old) {
+                // Swapping one digit for another keeps the layout; anything else reshapes it.
+                reshaped |= i >= glyphCount || !Character.isDigit(c) || !Character.isDigit(old)
+                        || zeroDigit(c) != zeroDigit(old);
+                if (firstChange < 0) {
+                    firstChange = i;
+                }
+                lastChange = i;
+                glyphs[i] = c;
+            }
+        }
+
+        mainCount = newMainCount;
+        glyphCount = newCount;
+
+        if (reshaped) {
+            layoutGlyphs();
+            invalidate();
+        } else if (firstChange >= 0) {
+            invalidateGlyphs(firstChange, lastChange);
+        }
+    }
+
+    /** Returns the displayed time text. */
+    @NonNull
+    public String getText() {
+        return new String(glyphs, 0, glyphCount);
+    }
+
+    /** Sets the text colors, e.g. to show the timer state. */
+    @UiThread
+    public void setTextColor(@NonNull ColorStateList colors) {
+        if (colors != textColors) {
+            textColors = colors;
+            updateTextColor();
+        }
+    }
+
+    /**
+     * Starts or stops blinking between the text color and the alternate color each second. The
+     * blink animation runs only while this view is visible to the user.
+     */
+    @UiThread
+    public void setBlinking(boolean blinking) {
+        if (blinking == (blink != null)) {
+            return;
+        }
+
+        if (blinking) {
+            Drawable drawable = getContext().getDrawable(R.drawable.paused_blink);
+
+            if (drawable == null) {
+                return;
+            }
+            blink = (AnimatedVectorDrawable) drawable.mutate();
+            blink.setBounds(0, 0, getWidth(), getHeight());
+            blink.setCallback(this);
+            updateBlinkAnimation();
+        } else {
+            blink.stop();
+            blink.setCallback(null);
+            blink = null;
+        }
+        invalidate();
+    }
+
+    private void updateBlinkAnimation() {
+        if (blink == null) {
+            return;
+        }
+
+        if (!visibleToUser) {
+            blink.stop();
+        } else if (!blink.isRunning()) {
+            blink.start();
+        }
+    }
+
+    @Override
+    public void onVisibilityAggregated(boolean isVisible) {
+        super.onVisibilityAggregated(isVisible);
+        visibleToUser = isVisible;
+        updateBlinkAnimation();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        visibleToUser = false;
+        updateBlinkAnimation();
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == blink || super.verifyDrawable(who);
+    }
+
+    @Override
+    protected void drawableStateChanged() {
+        super.drawableStateChanged();
+        updateTextColor();
+    }
+
+    private void updateTextColor() {
+        int color = textColors.getColorForState(getDrawableState(), textColors.getDefaultColor());
+
+        if (color != mainPaint.getColor()) {
+            mainPaint.setColor(color);
+            fractionPaint.setColor(color);
+            invalidate();
+        }
+    }
+
+    /** Returns the zero digit of c's script, e.g. '0' for '7'. */
+    private static char zeroDigit(char c) {
+        return (char) (c - Character.digit(c, 10));
+    }
+
+    /** Returns c's cached width at REFERENCE_SIZE, measuring it on a cache miss. */
+    private float referenceWidth(char c) {
+        boolean isDigit = Character.isDigit(c);
+        char key = isDigit ? zeroDigit(c) : c;
+
+        for (int i = 0; i < cachedCount; ++i) {
+            if (cachedChars[i] == key) {
+                return cachedWidths[i];
+            }
+        }
+
+        float width = 0;
+        char[] glyph = new char[1];
+
+        for (int d = 0; d < (isDigit ? 10 : 1); ++d) {
+            glyph[0] = (char) (key + d);
+            width = Math.max(width, referencePaint.measureText(glyph, 0, 1));
+        }
+
+        if (cachedCount == MAX_GLYPHS) { // a locale change could bring in new glyphs
+            cachedCount = 0;
+        }
+        cachedChars[cachedCount] = key;
+        cachedWidths[cachedCount++] = width;
+        return width;
+    }
+
+    /**
+     * Picks the size class -- the largest text size at which the current glyphs fit in the view,
+     * within the min and max sizes -- and positions the glyphs flush right and bottom.
+     */
+    private void layoutGlyphs() {
+        int width = getWidth() - getPaddingLeft() - getPaddingRight();
+        int height = getHeight() - getPaddingTop() - getPaddingBottom();
+
+        if (width <= 0 || height <= 0) {
+            return; // onSizeChanged() will lay them out
+        }
+
+        float referenceTextWidth = 0;
+        for (int i = 0; i < glyphCount; ++i) {
+            referenceTextWidth += referenceWidth(glyphs[i]) * (i < mainCount ? 1 : FRACTION_SCALE);
+        }
+
+        float fit = Math.min(width / Math.max(referenceTextWidth, 1f),
+                height / (referenceAscent + referenceDescent));
+        float textSize = Math.max(minTextSize, Math.min(maxTextSize, REFERENCE_SIZE * fit));
+        float scale = textSize / REFERENCE_SIZE;
+
+        mainPaint.setTextSize(textSize);
+        fractionPaint.setTextSize(textSize * FRACTION_SCALE);
+        baseline = getHeight() - getPaddingBottom() - referenceDescent * scale;
+
+        float x = getWidth() - getPaddingRight();
+        for (int i = glyphCount - 1; i >= 0; --i) {
+            float w = referenceWidth(glyphs[i]) * scale * (i < mainCount ? 1 : FRACTION_SCALE);
+
+            x -= w;
+            glyphX[i] = x;
+            glyphWidth[i] = w;
+        }
+    }
+
+    /**
+     * Invalidates the span of glyphs [first .. last]. (A hardware-accelerated window redraws the
+     * whole view anyway, but it still skips the redraw when no glyph changed.)
+     */
+    @SuppressWarnings("deprecation")
+    private void invalidateGlyphs(int first, int last) {
+        invalidate((int) Math.floor(glyphX[first]), getPaddingTop(),
+                (int) Math.ceil(glyphX[last] + glyphWidth[last]),
+                getHeight() - getPaddingBottom());
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int minHeight = (int) Math.ceil((referenceAscent + referenceDescent)
+                * minTextSize / REFERENCE_SIZE) + getPaddingTop() + getPaddingBottom();
+
+        setMeasuredDimension(
+                getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec),
+                resolveSize(Math.max(minHeight, getSuggestedMinimumHeight()), heightMeasureSpec));
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        layoutGlyphs();
+
+        if (blink != null) {
+            blink.setBounds(0, 0, w, h);
+        }
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+
+        // The pressed state color doesn't blink.
+        if (blink == null || isPressed()) {
+            drawGlyphs(canvas);
+            return;
+        }
+
+        // Draw the digits in a layer, then the blink atop just their pixels, not the background.
+        int digitsLayer = canvas.saveLayer(0, 0, getWidth(), getHeight(), null);
+        drawGlyphs(canvas);
+        canvas.saveLayer(0, 0, getWidth(), getHeight(), blinkLayerPaint);
+        blink.draw(canvas);
+        canvas.restoreToCount(digitsLayer);
+    }
+
+    private void drawGlyphs(@NonNull Canvas canvas) {
+        for (int i = 0; i < glyphCount; ++i) {
+            canvas.drawText(glyphs, i, 1, glyphX[i], baseline,
+                    i < mainCount ? mainPaint : fractionPaint);
+        }
+    }
+
+    @Override
+    public CharSequence getAccessibilityClassName() {
+        return TextView.class.getName();
+    }
+
+    @Override
+    public void onInitializeAccessibilityNodeInfo(@NonNull AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        info.setText(getText());
+    }
+
+    @Override
+    public void onPopulateAccessibilityEvent(@NonNull AccessibilityEvent event) {
+        super.onPopulateAccessibilityEvent(event);
+        event.getText().add(getText());
+    }
+}
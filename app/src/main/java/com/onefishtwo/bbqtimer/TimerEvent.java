@@ -0,0 +1,93 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer;
+
+import androidx.annotation.NonNull;
+
+/** An immutable timer event from {@link TimerEventPublisher}. */
+public final class TimerEvent {
+    public enum Kind {
+        /** The timer state changed: started, paused, reset, stopped, or adjusted. */
+        TRANSITION,
+        /** Time passed at the subscriber's requested resolution. */
+        TICK
+    }
+
+    public enum RunState { STOPPED, PAUSED, RUNNING }
+
+    @NonNull
+    private final Kind kind;
+    @NonNull
+    private final RunState runState;
+    private final long elapsedTime;
+    private final long eventTime;
+    private final int conflatedTicks;
+
+    TimerEvent(@NonNull Kind _kind, @NonNull RunState _runState, long _elapsedTime,
+            long _eventTime, int _conflatedTicks) {
+        kind = _kind;
+        runState = _runState;
+        elapsedTime = _elapsedTime;
+        eventTime = _eventTime;
+        conflatedTicks = _conflatedTicks;
+    }
+
+    /** Returns an event for the timer's current state. */
+    @NonNull
+    static TimerEvent of(@NonNull Kind kind, @NonNull TimeCounter timer, int conflatedTicks) {
+        TimeCounter.Snapshot snapshot = timer.snapshot();
+        long now = timer.elapsedRealtimeClock();
+        RunState runState = snapshot.isRunning() ? RunState.RUNNING
+                : snapshot.isPaused() ? RunState.PAUSED : RunState.STOPPED;
+
+        return new TimerEvent(kind, runState, snapshot.getElapsedTime(now), now, conflatedTicks);
+    }
+
+    @NonNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    @NonNull
+    public RunState getRunState() {
+        return runState;
+    }
+
+    /** Returns the timer's elapsed time at {@link #getEventTime()}, in msec. */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /** Returns when the event happened, in SystemClock.elapsedRealtime() msec. */
+    public long getEventTime() {
+        return eventTime;
+    }
+
+    /** Returns how many ticks a slow subscriber missed, conflated into this one. */
+    public int getConflatedTicks() {
+        return conflatedTicks;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return kind + " " + runState + " " + elapsedTime + " ms @ " + eventTime
+                + (conflatedTicks > 0 ? " (+" + conflatedTicks + " conflated)" : "");
+    }
+}
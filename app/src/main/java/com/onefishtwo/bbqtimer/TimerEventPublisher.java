@@ -0,0 +1,299 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.onefishtwo.bbqtimer.state.ApplicationState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The one source of timer events, so each surface needn't poll the {@link TimeCounter} on its own
+ * timer. Each subscriber gets the current state as a {@link TimerEvent.Kind#TRANSITION} when it
+ * subscribes, then each state transition, and optionally {@link TimerEvent.Kind#TICK}s at its
+ * requested resolution while the timer is Running. The ticks align to the elapsed time's
+ * resolution boundaries so displayed digits change on time. There are no ticks while Paused or
+ * Stopped since the elapsed time doesn't change, so an idle timer wakes up no one.<p/>
+ *
+ * It honors each subscriber's demand. For a slow subscriber, ticks conflate into the latest one
+ * and a transition supersedes a pending tick. Transitions queue up to
+ * {@link #MAX_QUEUED_TRANSITIONS}, then the oldest ones drop since each carries the full state.
+ * <p/>
+ *
+ * One shared ticker runs only while some tick subscriber needs it. Main thread only; that's also
+ * where it delivers the events.
+ */
+public class TimerEventPublisher implements TimerFlow.Publisher<TimerEvent> {
+    /** Queue at most this many transitions for a subscriber without demand. */
+    static final int MAX_QUEUED_TRANSITIONS = 8;
+
+    /** Runs the ticker. */
+    @VisibleForTesting
+    interface Scheduler {
+        void postDelayed(@NonNull Runnable runnable, long delayMs);
+
+        void remove(@NonNull Runnable runnable);
+    }
+
+    private static TimerEventPublisher sharedInstance;
+
+    @NonNull
+    private final TimeCounter timer;
+    @NonNull
+    private final Scheduler scheduler;
+    private final List<TimerSubscription> subscriptions = new ArrayList<>();
+    private final Runnable ticker = this::tick;
+    private long tickerTime = -1; // when the ticker is scheduled, or -1
+    @Nullable
+    private TimerEvent lastTransition;
+
+    /** Returns the shared instance for the shared {@link ApplicationState}'s timer. */
+    @MainThread
+    @NonNull
+    public static TimerEventPublisher sharedInstance(@NonNull Context context) {
+        if (sharedInstance == null) {
+            Handler handler = new Handler(Looper.getMainLooper());
+
+            sharedInstance = new TimerEventPublisher(
+                    ApplicationState.sharedInstance(context).getTimeCounter(),
+                    new Scheduler() {
+                        @Override
+                        public void postDelayed(@NonNull Runnable runnable, long delayMs) {
+                            handler.postDelayed(runnable, delayMs);
+                        }
+
+                        @Override
+                        public void remove(@NonNull Runnable runnable) {
+                            handler.removeCallbacks(runnable);
+                        }
+                    });
+        }
+        return sharedInstance;
+    }
+
+    @VisibleForTesting
+    TimerEventPublisher(@NonNull TimeCounter _timer, @NonNull Scheduler _scheduler) {
+        timer = _timer;
+        scheduler = _scheduler;
+    }
+
+    /** Subscribes to the timer's transitions only. */
+    @MainThread
+    @Override
+    public void subscribe(@NonNull TimerFlow.Subscriber<? super TimerEvent> subscriber) {
+        subscribe(subscriber, 0);
+    }
+
+    /**
+     * Subscribes to the timer's transitions and, if tickResolutionMs > 0, its ticks at that
+     * resolution.
+     */
+    @MainThread
+    public void subscribe(@NonNull TimerFlow.Subscriber<? super TimerEvent> subscriber,
+            long tickResolutionMs) {
+        TimerSubscription subscription = new TimerSubscription(subscriber, tickResolutionMs);
+
+        subscriptions.add(subscription);
+        subscription.offerTransition(TimerEvent.of(TimerEvent.Kind.TRANSITION, timer, 0));
+        subscriber.onSubscribe(subscription);
+        rescheduleTicker();
+    }
+
+    /**
+     * Publishes a state transition if the timer's state changed since the last one. Call it after
+     * each state change.
+     */
+    @MainThread
+    public void publishTransition() {
+        TimerEvent event = TimerEvent.of(TimerEvent.Kind.TRANSITION, timer, 0);
+        TimerEvent last = lastTransition;
+
+        // Paused or Stopped at the same elapsed time, or Running from the same start time?
+        if (last != null && last.getRunState() == event.getRunState()
+                && (event.getRunState() == TimerEvent.RunState.RUNNING
+                    ? last.getEventTime() - last.getElapsedTime()
+                        == event.getEventTime() - event.getElapsedTime()
+                    : last.getElapsedTime() == event.getElapsedTime())) {
+            return;
+        }
+
+        lastTransition = event;
+        for (TimerSubscription subscription : new ArrayList<>(subscriptions)) {
+            subscription.offerTransition(event);
+        }
+        rescheduleTicker();
+    }
+
+    /** Returns the number of subscribers, for testing. */
+    @VisibleForTesting
+    int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /** Schedules the ticker for the earliest subscriber tick, or cancels it if none. */
+    private void rescheduleTicker() {
+        long next = Long.MAX_VALUE;
+
+        if (timer.isRunning()) {
+            for (TimerSubscription subscription : subscriptions) {
+                if (subscription.tickResolutionMs > 0) {
+                    next = Math.min(next, subscription.nextTickTime);
+                }
+            }
+        }
+
+        if (next == tickerTime) {
+            return;
+        }
+
+        scheduler.remove(ticker);
+        tickerTime = -1;
+
+        if (next != Long.MAX_VALUE) {
+            tickerTime = next;
+            scheduler.postDelayed(ticker, Math.max(next - timer.elapsedRealtimeClock(), 0));
+        }
+    }
+
+    private void tick() {
+        long now = timer.elapsedRealtimeClock();
+
+        tickerTime = -1;
+        for (TimerSubscription subscription : new ArrayList<>(subscriptions)) {
+            if (subscription.tickResolutionMs > 0 && subscription.nextTickTime <= now) {
+                subscription.offerTick();
+            }
+        }
+        rescheduleTicker();
+    }
+
+    /** Returns the msec from now until the timer's next tick at the resolution. */
+    private long delayToNextTick(long resolutionMs) {
+        return timer.isRunning() ? resolutionMs - timer.getElapsedTime() % resolutionMs
+                : resolutionMs;
+    }
+
+    private final class TimerSubscription implements TimerFlow.Subscription {
+        @NonNull
+        final TimerFlow.Subscriber<? super TimerEvent> subscriber;
+        final long tickResolutionMs;
+        final ArrayDeque<TimerEvent> transitions = new ArrayDeque<>();
+        @Nullable
+        TimerEvent pendingTick;
+        int conflatedTicks;
+        long nextTickTime;
+        long demand;
+        boolean draining;
+        boolean cancelled;
+
+        TimerSubscription(@NonNull TimerFlow.Subscriber<? super TimerEvent> _subscriber,
+                long _tickResolutionMs) {
+            subscriber = _subscriber;
+            tickResolutionMs = _tickResolutionMs;
+        }
+
+        void offerTransition(@NonNull TimerEvent event) {
+            if (transitions.size() >= MAX_QUEUED_TRANSITIONS) {
+                transitions.removeFirst();
+            }
+            transitions.addLast(event);
+            pendingTick = null; // superseded
+            conflatedTicks = 0;
+
+            if (tickResolutionMs > 0) {
+                nextTickTime = timer.elapsedRealtimeClock() + delayToNextTick(tickResolutionMs);
+            }
+            drain();
+        }
+
+        void offerTick() {
+            if (pendingTick != null) {
+                ++conflatedTicks;
+            }
+            pendingTick = TimerEvent.of(TimerEvent.Kind.TICK, timer, conflatedTicks);
+            nextTickTime = timer.elapsedRealtimeClock() + delayToNextTick(tickResolutionMs);
+            drain();
+        }
+
+        /** Delivers queued events up to the demand. onNext() may call request() reentrantly. */
+        void drain() {
+            if (draining) {
+                return;
+            }
+
+            draining = true;
+            try {
+                while (!cancelled && demand > 0) {
+                    TimerEvent event = transitions.pollFirst();
+
+                    if (event == null) {
+                        event = pendingTick;
+                        pendingTick = null;
+                        conflatedTicks = 0;
+                    }
+                    if (event == null) {
+                        break;
+                    }
+
+                    --demand;
+                    subscriber.onNext(event);
+                }
+            } finally {
+                draining = false;
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("request(" + n + ") needs n > 0"));
+                return;
+            }
+
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // saturate
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                transitions.clear();
+                pendingTick = null;
+                subscriptions.remove(this);
+                rescheduleTicker();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Reactive Streams interfaces shaped like java.util.concurrent.Flow, which needs API 30, for
+ * {@link TimerEventPublisher}. Switch to Flow when minSdk reaches 30.
+ */
+public final class TimerFlow {
+    private TimerFlow() {}
+
+    /** A producer of items that Subscribers receive on demand. */
+    public interface Publisher<T> {
+        void subscribe(@NonNull Subscriber<? super T> subscriber);
+    }
+
+    /** A receiver of items. It gets onNext() calls only up to the demand it requested. */
+    public interface Subscriber<T> {
+        void onSubscribe(@NonNull Subscription subscription);
+
+        void onNext(@NonNull T item);
+
+        void onError(@NonNull Throwable throwable);
+
+        void onComplete();
+    }
+
+    /** Links a Publisher and a Subscriber. */
+    public interface Subscription {
+        /** Adds n > 0 items to the demand. */
+        void request(long n);
+
+        /** Stops the items, eventually. */
+        void cancel();
+    }
+}
@@ -0,0 +1,248 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer;
+
+import android.app.Service;
+import android.content.Intent;
+import android.os.Binder;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+import android.os.RemoteCallbackList;
+import android.os.RemoteException;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.onefishtwo.bbqtimer.state.ApplicationState;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An exported, permission-protected bound service that lets other apps on the device, e.g. a POS
+ * overlay or an automation app, follow and control the timer via {@link ITimerService} instead of
+ * polling it. It pushes each status change to the registered {@link ITimerCallback}s, coalesced
+ * and rate limited per client by {@link PushCoalescer}, and rate limits each calling app's
+ * commands with a {@link TokenBucket}. Commands have the same semantics as the home screen
+ * widget's buttons.
+ */
+public class TimerService extends Service {
+    private static final String TAG = "TimerService";
+
+    /** The minimum interval between pushes to a client, in msec. */
+    static final long MIN_PUSH_INTERVAL_MS = 250L;
+    /** Each calling app may burst this many commands... */
+    static final int COMMAND_BURST = 5;
+    /** ...then this many per second. */
+    static final double COMMANDS_PER_SECOND = 2.0;
+
+    private static final List<String> ACTIONS = Arrays.asList(
+            TimerAppWidgetProvider.ACTION_RUN_PAUSE, TimerAppWidgetProvider.ACTION_RUN,
+            TimerAppWidgetProvider.ACTION_PAUSE, TimerAppWidgetProvider.ACTION_RESET,
+            TimerAppWidgetProvider.ACTION_STOP, TimerAppWidgetProvider.ACTION_CYCLE);
+
+    /** The bound service instance, if any. Main thread only. */
+    @Nullable
+    private static TimerService boundInstance;
+
+    /** A registered callback's push state. Main thread only. */
+    private static final class Client {
+        @NonNull
+        final ITimerCallback callback;
+        @NonNull
+        final PushCoalescer coalescer;
+        boolean registered = true;
+
+        Client(@NonNull ITimerCallback _callback, long minIntervalMs) {
+            callback = _callback;
+            coalescer = new PushCoalescer(minIntervalMs);
+        }
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    /** The cookies are Clients. */
+    private final RemoteCallbackList<ITimerCallback> callbacks =
+            new RemoteCallbackList<ITimerCallback>() {
+                @Override
+                public void onCallbackDied(ITimerCallback callback, Object cookie) {
+                    Client client = (Client) cookie;
+
+                    handler.post(() -> {
+                        client.registered = false;
+                        clients.remove(callback.asBinder(), client);
+                    });
+                }
+            };
+    /** The Clients by callback Binder. Main thread only. */
+    private final Map<IBinder, Client> clients = new HashMap<>();
+    /** The command rate limiters by calling UID. */
+    private final Map<Integer, TokenBucket> commandLimits = new HashMap<>();
+    @NonNull
+    private volatile TimerStatus status = new TimerStatus(TimerStatus.STOPPED, 0, 0, 0);
+
+    private final ITimerService.Stub binder = new ITimerService.Stub() {
+        @Override
+        public TimerStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public void registerCallback(ITimerCallback callback, long minIntervalMs) {
+            if (callback == null) {
+                return;
+            }
+
+            Client client = new Client(callback, Math.max(minIntervalMs, MIN_PUSH_INTERVAL_MS));
+            if (callbacks.register(callback, client)) {
+                handler.post(() -> {
+                    Client old = clients.put(callback.asBinder(), client);
+                    if (old != null) {
+                        old.registered = false;
+                    }
+                    offer(client);
+                });
+            }
+        }
+
+        @Override
+        public void unregisterCallback(ITimerCallback callback) {
+            if (callback != null && callbacks.unregister(callback)) {
+                handler.post(() -> {
+                    Client client = clients.remove(callback.asBinder());
+                    if (client != null) {
+                        client.registered = false;
+                    }
+                });
+            }
+        }
+
+        @Override
+        public boolean perform(String action) {
+            if (!ACTIONS.contains(action) || !acquireCommand(Binder.getCallingUid())) {
+                return false;
+            }
+
+            handler.post(() -> TimerAppWidgetProvider.performAction(TimerService.this, action));
+            return true;
+        }
+    };
+
+    /**
+     * Pushes the app state to the bound service's clients, if any. Call it after each state
+     * change.
+     */
+    @MainThread
+    static void notifyStateChanged(@NonNull ApplicationState state) {
+        if (boundInstance != null) {
+            boundInstance.publish(TimerStatus.of(state));
+        }
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        status = TimerStatus.of(ApplicationState.sharedInstance(this));
+        boundInstance = this;
+    }
+
+    @Nullable
+    @Override
+    public IBinder onBind(Intent intent) {
+        return binder;
+    }
+
+    @Override
+    public void onDestroy() {
+        boundInstance = null;
+        callbacks.kill();
+        clients.clear();
+        handler.removeCallbacksAndMessages(null);
+        super.onDestroy();
+    }
+
+    private boolean acquireCommand(int uid) {
+        long now = SystemClock.elapsedRealtime();
+        TokenBucket bucket;
+
+        synchronized (commandLimits) {
+            bucket = commandLimits.get(uid);
+            if (bucket == null) {
+                bucket = new TokenBucket(COMMAND_BURST, COMMANDS_PER_SECOND, now);
+                commandLimits.put(uid, bucket);
+            }
+        }
+
+        if (!bucket.tryAcquire(now)) {
+            Log.w(TAG, "Rate limited commands from UID " + uid);
+            return false;
+        }
+        return true;
+    }
+
+    /** Sets the status and offers it to each client, skipping no-op changes. */
+    @MainThread
+    private void publish(@NonNull TimerStatus newStatus) {
+        TimerStatus old = status;
+
+        if (old.runState == newStatus.runState && old.startTime == newStatus.startTime
+                && old.pauseTime == newStatus.pauseTime && old.periodMs == newStatus.periodMs) {
+            return;
+        }
+
+        status = newStatus;
+        for (Client client : clients.values()) {
+            offer(client);
+        }
+    }
+
+    /** Pushes the status to the client now or later, per its coalescer. */
+    @MainThread
+    private void offer(@NonNull Client client) {
+        long delay = client.coalescer.offer(SystemClock.elapsedRealtime());
+
+        if (delay == 0) {
+            push(client);
+        } else if (delay > 0) {
+            handler.postDelayed(() -> {
+                client.coalescer.pushPending(SystemClock.elapsedRealtime());
+                push(client);
+            }, delay);
+        }
+    }
+
+    /** Pushes the latest status to the client. The call is oneway, so it won't block. */
+    @MainThread
+    private void push(@NonNull Client client) {
+        if (!client.registered) {
+            return;
+        }
+
+        try {
+            client.callback.onTimerStatus(status);
+        } catch (RemoteException e) {
+            Log.w(TAG, "Couldn't push to a client", e);
+        }
+    }
+}
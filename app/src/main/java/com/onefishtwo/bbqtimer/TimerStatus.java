@@ -0,0 +1,99 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+
+import com.onefishtwo.bbqtimer.state.ApplicationState;
+
+/**
+ * An immutable timer status for {@link TimerService} clients. Its times are
+ * SystemClock.elapsedRealtime() msec, which is the same clock in every process on the device, so
+ * clients can render the ticking locally.
+ */
+public final class TimerStatus implements Parcelable {
+    public static final int STOPPED = 0;
+    public static final int PAUSED = 1;
+    public static final int RUNNING = 2;
+
+    /** STOPPED, PAUSED, or RUNNING. */
+    public final int runState;
+    public final long startTime;
+    public final long pauseTime;
+    /** The reminder period in msec, or 0 if reminders are off. */
+    public final long periodMs;
+
+    public TimerStatus(int _runState, long _startTime, long _pauseTime, long _periodMs) {
+        runState = _runState;
+        startTime = _startTime;
+        pauseTime = _pauseTime;
+        periodMs = _periodMs;
+    }
+
+    /** Returns the status of the app state. */
+    @NonNull
+    static TimerStatus of(@NonNull ApplicationState state) {
+        TimeCounter.Snapshot timer = state.getTimeCounter().snapshot();
+        ApplicationState.Settings settings = state.snapshot();
+        int runState = timer.isRunning() ? RUNNING : timer.isPaused() ? PAUSED : STOPPED;
+
+        return new TimerStatus(runState, timer.getStartTime(), timer.getPauseTime(),
+                settings.isEnableReminders() ? settings.getMillisecondsPerReminder() : 0);
+    }
+
+    /** Returns the elapsed time, in msec, at the given SystemClock.elapsedRealtime(). */
+    public long getElapsedTime(long elapsedRealtime) {
+        return (runState == RUNNING ? elapsedRealtime : pauseTime) - startTime;
+    }
+
+    public static final Creator<TimerStatus> CREATOR = new Creator<TimerStatus>() {
+        @Override
+        public TimerStatus createFromParcel(@NonNull Parcel in) {
+            return new TimerStatus(in.readInt(), in.readLong(), in.readLong(), in.readLong());
+        }
+
+        @Override
+        public TimerStatus[] newArray(int size) {
+            return new TimerStatus[size];
+        }
+    };
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(@NonNull Parcel out, int flags) {
+        out.writeInt(runState);
+        out.writeLong(startTime);
+        out.writeLong(pauseTime);
+        out.writeLong(periodMs);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "TimerStatus " + runState + ", start " + startTime + ", pause " + pauseTime
+                + ", period " + periodMs + " ms";
+    }
+}
@@ -0,0 +1,54 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer;
+
+/**
+ * A token bucket rate limiter: It allows bursts of up to capacity, refilling at perSecond
+ * tokens per second. Thread safe.
+ */
+class TokenBucket {
+    private final double capacity;
+    private final double perMs;
+    private double tokens;
+    private long lastTime;
+
+    /**
+     * @param _capacity the burst size
+     * @param perSecond the sustained rate
+     * @param now the current time in msec, e.g. SystemClock.elapsedRealtime()
+     */
+    TokenBucket(int _capacity, double perSecond, long now) {
+        capacity = _capacity;
+        perMs = perSecond / 1000.0;
+        tokens = _capacity;
+        lastTime = now;
+    }
+
+    /** Takes a token at time now (msec) if there's one. */
+    synchronized boolean tryAcquire(long now) {
+        tokens = Math.min(capacity, tokens + Math.max(now - lastTime, 0) * perMs);
+        lastTime = Math.max(lastTime, now);
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,150 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer;
+
+import android.appwidget.AppWidgetManager;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+/**
+ * A persistent table from app widget ID to size class, which selects the widget's layout variant
+ * before API 31. Looking it up saves a binder call to AppWidgetManager.getAppWidgetOptions() per
+ * widget per update. {@link TimerAppWidgetProvider} keeps it current from onUpdate(),
+ * onAppWidgetOptionsChanged(), onDeleted(), and onRestored(). It's in SharedPreferences so it
+ * survives process death.
+ */
+class WidgetSizeTable {
+    /** PERSISTENT STATE filename. */
+    private static final String WIDGET_SIZE_PREF_FILE = "BBQ_Widget_Sizes";
+    /** PERSISTENT STATE ID prefix, followed by the app widget ID. */
+    private static final String PREF_SIZE_CLASS_PREFIX = "Widget_sizeClass_";
+
+    // --- Size classes, from largest to smallest.
+    /** Show the count-up and countdown views. */
+    static final int SIZE_FULL = 0;
+    /** Hide the countdown view. */
+    static final int SIZE_NO_COUNTDOWN = 1;
+    /** Hide the countdown view and shrink the count-up view. */
+    static final int SIZE_SMALL_COUNT_UP = 2;
+    /** Hide the countdown and count-up views. */
+    static final int SIZE_NO_COUNT_UP = 3;
+
+    private static final int UNKNOWN = -1;
+
+    @NonNull
+    private final SharedPreferences prefs;
+
+    WidgetSizeTable(@NonNull Context context) {
+        prefs = context.getSharedPreferences(WIDGET_SIZE_PREF_FILE, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Returns the size class for a widget's minWidth, in dp. That's its portrait width, which is
+     * all the pre-API 31 layouts can go by.
+     */
+    @VisibleForTesting
+    static int sizeClassForMinWidth(int minWidth) {
+        if (minWidth >= 274) { // ≥ 5 cells on API 29 Nexus 5, else ≥ 4 cells
+            return SIZE_FULL;
+        } else if (minWidth >= 184) {
+            return SIZE_NO_COUNTDOWN;
+        } else if (minWidth >= 117) { // 3 cells on API 29 Nexus 5, else 2 cells
+            return SIZE_SMALL_COUNT_UP;
+        } else { // < 3 cells on API 29 Nexus 5, else < 2 cells
+            return SIZE_NO_COUNT_UP;
+        }
+    }
+
+    /** Returns the size class for a widget's options Bundle. */
+    static int sizeClassForOptions(@Nullable Bundle options) {
+        int minWidth = options == null ? 180
+                : options.getInt(AppWidgetManager.OPTION_APPWIDGET_MIN_WIDTH, 180);
+
+        return sizeClassForMinWidth(minWidth);
+    }
+
+    @NonNull
+    private static String key(int appWidgetId) {
+        return PREF_SIZE_CLASS_PREFIX + appWidgetId;
+    }
+
+    /**
+     * Returns the widget's size class. On a table miss, e.g. after an app upgrade, this asks the
+     * AppWidgetManager and records the answer.
+     */
+    int getSizeClass(@NonNull AppWidgetManager appWidgetManager, int appWidgetId) {
+        int sizeClass = prefs.getInt(key(appWidgetId), UNKNOWN);
+
+        if (sizeClass == UNKNOWN) {
+            sizeClass = sizeClassForOptions(appWidgetManager.getAppWidgetOptions(appWidgetId));
+            prefs.edit().putInt(key(appWidgetId), sizeClass).apply();
+        }
+        return sizeClass;
+    }
+
+    /** Records the widget's size class from its new options. */
+    void onOptionsChanged(int appWidgetId, @Nullable Bundle newOptions) {
+        int sizeClass = sizeClassForOptions(newOptions);
+
+        if (prefs.getInt(key(appWidgetId), UNKNOWN) != sizeClass) {
+            prefs.edit().putInt(key(appWidgetId), sizeClass).apply();
+        }
+    }
+
+    /** Fills in any missing entries for the given widgets. */
+    void addMissing(@NonNull AppWidgetManager appWidgetManager, @NonNull int[] appWidgetIds) {
+        for (int id : appWidgetIds) {
+            getSizeClass(appWidgetManager, id);
+        }
+    }
+
+    /** Forgets the given deleted widgets. */
+    void remove(@NonNull int[] appWidgetIds) {
+        SharedPreferences.Editor editor = prefs.edit();
+
+        for (int id : appWidgetIds) {
+            editor.remove(key(id));
+        }
+        editor.apply();
+    }
+
+    /** Moves the entries for widgets restored from backup from their old IDs to their new IDs. */
+    void move(@NonNull int[] oldWidgetIds, @NonNull int[] newWidgetIds) {
+        SharedPreferences.Editor editor = prefs.edit();
+        int[] sizeClasses = new int[oldWidgetIds.length];
+
+        for (int i = 0; i < oldWidgetIds.length; ++i) {
+            sizeClasses[i] = prefs.getInt(key(oldWidgetIds[i]), UNKNOWN);
+            editor.remove(key(oldWidgetIds[i]));
+        }
+
+        for (int i = 0; i < oldWidgetIds.length && i < newWidgetIds.length; ++i) {
+            if (sizeClasses[i] != UNKNOWN) {
+                editor.putInt(key(newWidgetIds[i]), sizeClasses[i]);
+            }
+        }
+        editor.apply();
+    }
+}
@@ -0,0 +1,124 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer.display;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The kitchen display client side of {@link DisplayServer}: Decodes its stream of frames, which
+ * may arrive split or coalesced, and estimates the server-to-local clock offset to rebase the
+ * latest {@link DisplaySnapshot} onto the local clock.<p/>
+ *
+ * The offset estimate is the minimum of (local receive time − server send time) over the last
+ * {@link #OFFSET_SAMPLES} frames, since transit delays only ever add to it.<p/>
+ *
+ * Not thread safe.
+ */
+public class DisplayFrameDecoder {
+    static final int OFFSET_SAMPLES = 8;
+
+    private final ByteBuffer pending = ByteBuffer.allocate(DisplaySnapshot.SNAPSHOT_BYTES);
+    private final long[] offsets = new long[OFFSET_SAMPLES];
+    private int offsetCount;
+    private int nextOffset;
+    @Nullable
+    private DisplaySnapshot latest;
+    private int heartbeatCount;
+
+    /**
+     * Decodes the frames in in, consuming all of it and keeping any partial frame for next time.
+     *
+     * @param localNow the local clock time when these bytes arrived
+     * @return the number of complete frames decoded
+     * @throws IllegalStateException if the stream is corrupt
+     */
+    public int feed(@NonNull ByteBuffer in, long localNow) {
+        int frames = 0;
+
+        while (in.hasRemaining()) {
+            if (pending.position() == 0) {
+                byte type = in.get(in.position());
+                if (type != DisplaySnapshot.TYPE_SNAPSHOT
+                        && type != DisplaySnapshot.TYPE_HEARTBEAT) {
+                    throw new IllegalStateException("Bad display frame type " + type);
+                }
+                pending.limit(type == DisplaySnapshot.TYPE_SNAPSHOT
+                        ? DisplaySnapshot.SNAPSHOT_BYTES : DisplaySnapshot.HEARTBEAT_BYTES);
+            }
+
+            while (pending.hasRemaining() && in.hasRemaining()) {
+                pending.put(in.get());
+            }
+
+            if (!pending.hasRemaining()) {
+                pending.flip();
+                decodeFrame(localNow);
+                pending.clear();
+                ++frames;
+            }
+        }
+        return frames;
+    }
+
+    private void decodeFrame(long localNow) {
+        long clockTime;
+
+        if (pending.get() == DisplaySnapshot.TYPE_SNAPSHOT) {
+            latest = DisplaySnapshot.decode(pending);
+            clockTime = latest.getClockTime();
+        } else {
+            clockTime = pending.getLong();
+            ++heartbeatCount;
+        }
+
+        offsets[nextOffset] = localNow - clockTime;
+        nextOffset = (nextOffset + 1) % OFFSET_SAMPLES;
+        offsetCount = Math.min(offsetCount + 1, OFFSET_SAMPLES);
+    }
+
+    /** Returns the estimated offset from the server's clock to the local clock, in msec. */
+    public long getClockOffset() {
+        long min = Long.MAX_VALUE;
+
+        for (int i = 0; i < offsetCount; ++i) {
+            min = Math.min(min, offsets[i]);
+        }
+        return offsetCount == 0 ? 0 : min;
+    }
+
+    /** Returns the latest snapshot as sent, on the server's clock, or null if none yet. */
+    @Nullable
+    public DisplaySnapshot getLatest() {
+        return latest;
+    }
+
+    /** Returns the latest snapshot rebased onto the local clock, or null if none yet. */
+    @Nullable
+    public DisplaySnapshot getRebased() {
+        return latest == null ? null : latest.rebase(getClockOffset());
+    }
+
+    public int getHeartbeatCount() {
+        return heartbeatCount;
+    }
+}
@@ -0,0 +1,540 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer.display;
+
+import androidx.annotation.AnyThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.onefishtwo.bbqtimer.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * A non-blocking NIO server that streams {@link DisplaySnapshot}s to any number of kitchen display
+ * clients, e.g. a wall tablet mirroring the phone's timer. It pushes a snapshot when the state
+ * changes, plus a clock-sync heartbeat every heartbeatMs when idle, so clients render the ticking
+ * locally via {@link DisplayFrameDecoder}.<p/>
+ *
+ * If the server has a pairing code, each client must first send that code in ASCII. The server
+ * sends it nothing until then, and disconnects it on a wrong code or after
+ * {@link #PAIRING_TIMEOUT_MS}. Clients needn't send anything else. The server judges a code only
+ * once all its bytes have arrived, so a hang-up doesn't reveal how much of it matched, and after
+ * {@link #FREE_PAIRING_FAILURES} wrong codes from an address it refuses that address for a
+ * doubling lockout time, making guessing the code impractical.<p/>
+ *
+ * One selector thread does all the I/O. Each snapshot gets encoded once into a shared read-only
+ * buffer, and each client holds at most the frame it's writing plus the latest one waiting, so a
+ * slow client skips superseded snapshots instead of buffering them.
+ */
+public class DisplayServer implements Closeable {
+    private static final String TAG = "DisplayServer";
+
+    /** The default idle heartbeat interval, in msec. */
+    public static final long HEARTBEAT_MS = 5_000L;
+    /** Refuse connections beyond this many clients. */
+    static final int MAX_CLIENTS = 1024;
+    /** Disconnect a client that hasn't sent the pairing code within this many msec. */
+    static final long PAIRING_TIMEOUT_MS = 10_000L;
+    /** The number of wrong pairing codes an address may send before getting locked out. */
+    static final int FREE_PAIRING_FAILURES = 3;
+    /** The first lockout time after too many wrong pairing codes, doubling for each more. */
+    static final long LOCKOUT_MS = 1_000L;
+    /** The longest lockout time. */
+    static final long MAX_LOCKOUT_MS = 15 * 60_000L;
+
+    /** An address's recent wrong pairing codes. Selector thread only. */
+    private static final class PairingFailures {
+        int count;
+        /** Refuse connections from the address until this time, on the server's clock. */
+        long lockedUntil;
+    }
+
+    /** A connected display client. Selector thread only. */
+    private static final class Client {
+        @NonNull
+        final SocketChannel channel;
+        @NonNull
+        final SelectionKey key;
+        /** The frame being written, if any. */
+        @Nullable
+        ByteBuffer current;
+        /** The latest frame waiting behind current, if any. */
+        @Nullable
+        ByteBuffer next;
+        /** The remote address, or null if unknown. */
+        @Nullable
+        final InetAddress address;
+        /** When it connected, on the server's clock. */
+        final long acceptTime;
+        /** The pairing code bytes it has sent, if the server has a pairing code. */
+        @Nullable
+        final byte[] pairingInput;
+        /** The number of pairing code bytes it has sent, or -1 once paired. */
+        int pairingBytes;
+
+        Client(@NonNull SocketChannel _channel, @NonNull SelectionKey _key, long _acceptTime,
+                @Nullable byte[] _pairingCode) {
+            channel = _channel;
+            key = _key;
+            address = _channel.socket().getInetAddress();
+            acceptTime = _acceptTime;
+            pairingInput = _pairingCode == null ? null : new byte[_pairingCode.length];
+            pairingBytes = _pairingCode == null ? -1 : 0;
+        }
+
+        boolean isPaired() {
+            return pairingBytes < 0;
+        }
+    }
+
+    @NonNull
+    private final LongSupplier clock;
+    private final long heartbeatMs;
+    /** The ASCII pairing code clients must send, or null to serve every client. */
+    @Nullable
+    private final byte[] pairingCode;
+    @NonNull
+    private final Logger logger;
+    private final AtomicReference<DisplaySnapshot> latest = new AtomicReference<>();
+    private final List<Client> clients = new ArrayList<>();
+    private final Map<InetAddress, PairingFailures> pairingFailures = new HashMap<>();
+    private final ByteBuffer readScratch = ByteBuffer.allocate(256);
+    private volatile Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread thread;
+    private volatile boolean closed;
+    private volatile int clientCount;
+
+    /**
+     * Constructs a server that needs no pairing code, e.g. on a loopback address.
+     *
+     * @param _clock the clock to stamp frames with, in msec, e.g. SystemClock::elapsedRealtime
+     * @param _heartbeatMs the idle heartbeat interval
+     * @param _logger logs errors, e.g. {@link Logger#ANDROID}
+     */
+    public DisplayServer(@NonNull LongSupplier _clock, long _heartbeatMs, @NonNull Logger _logger) {
+        this(_clock, _heartbeatMs, null, _logger);
+    }
+
+    /**
+     * @param _clock the clock to stamp frames with, in msec, e.g. SystemClock::elapsedRealtime
+     * @param _heartbeatMs the idle heartbeat interval
+     * @param _pairingCode the code clients must send before getting any frames, or null for none
+     * @param _logger logs errors, e.g. {@link Logger#ANDROID}
+     */
+    public DisplayServer(@NonNull LongSupplier _clock, long _heartbeatMs,
+            @Nullable String _pairingCode, @NonNull Logger _logger) {
+        clock = _clock;
+        heartbeatMs = _heartbeatMs;
+        pairingCode = _pairingCode == null || _pairingCode.isEmpty() ? null
+                : _pairingCode.getBytes(StandardCharsets.US_ASCII);
+        logger = _logger;
+    }
+
+    /**
+     * Binds to the address (port 0 picks a free port) and starts the selector thread.
+     *
+     * @return the bound port
+     */
+    @AnyThread
+    public synchronized int start(@NonNull InetSocketAddress address) throws IOException {
+        if (thread != null) {
+            throw new IllegalStateException("Already started");
+        }
+
+        selector = Selector.open();
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.configureBlocking(false);
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(address);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            closeQuietly(serverChannel);
+            closeQuietly(selector);
+            throw e;
+        }
+
+        thread = new Thread(this::run, TAG);
+        thread.start();
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /** Publishes a snapshot to all clients, superseding any not yet sent. */
+    @AnyThread
+    public void publish(@NonNull DisplaySnapshot snapshot) {
+        latest.set(snapshot);
+
+        Selector s = selector;
+        if (s != null) {
+            s.wakeup();
+        }
+    }
+
+    /** Returns the number of connected clients. */
+    @AnyThread
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    /** Stops the server and disconnects all clients. */
+    @AnyThread
+    @Override
+    public void close() {
+        Thread t;
+
+        synchronized (this) {
+            closed = true;
+            t = thread;
+            if (selector != null) {
+                selector.wakeup();
+            }
+        }
+
+        if (t != null && t != Thread.currentThread()) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        DisplaySnapshot sent = null;
+        long nextHeartbeat = clock.getAsLong() + heartbeatMs;
+        long nextPairingCheck = clock.getAsLong() + PAIRING_TIMEOUT_MS;
+
+        try {
+            while (!closed) {
+                long wakeTime = pairingCode == null ? nextHeartbeat
+                        : Math.min(nextHeartbeat, nextPairingCheck);
+                selector.select(Math.max(wakeTime - clock.getAsLong(), 1));
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handleKey(key, sent);
+                }
+
+                DisplaySnapshot snapshot = latest.get();
+                long now = clock.getAsLong();
+
+                if (snapshot != sent) {
+                    sent = snapshot;
+                    fanOut(snapshot.encode(now), false);
+                    nextHeartbeat = now + heartbeatMs;
+                } else if (now >= nextHeartbeat) {
+                    fanOut(DisplaySnapshot.encodeHeartbeat(now), true);
+                    nextHeartbeat = now + heartbeatMs;
+                }
+
+                if (pairingCode != null && now >= nextPairingCheck) {
+                    dropUnpaired(now);
+                    nextPairingCheck = now + PAIRING_TIMEOUT_MS / 2;
+                }
+            }
+        } catch (IOException e) {
+            logger.e(TAG, "Display server failed", e);
+        } finally {
+            for (Client client : clients) {
+                closeQuietly(client.channel);
+            }
+            clients.clear();
+            clientCount = 0;
+            closeQuietly(serverChannel);
+            closeQuietly(selector);
+        }
+    }
+
+    /** Handles one ready key. An I/O error disconnects just that client. */
+    private void handleKey(@NonNull SelectionKey key, @Nullable DisplaySnapshot sent) {
+        if (!key.isValid()) {
+            return;
+        }
+
+        if (key.isAcceptable()) {
+            accept(sent);
+            return;
+        }
+
+        Client client = (Client) key.attachment();
+        try {
+            if (key.isReadable()) {
+                drainInput(client, sent);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(client);
+            }
+        } catch (IOException e) {
+            disconnect(client);
+        }
+    }
+
+    /** Accepts pending connections, sending each one the latest snapshot once it's paired. */
+    private void accept(@Nullable DisplaySnapshot sent) {
+
+        while (true) {
+            SocketChannel channel;
+            SelectionKey key;
+
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) { // e.g. the peer reset the connection already
+                logger.w(TAG, "Couldn't accept a display client", e);
+                return; // the selector will report any other pending connections
+            }
+            if (channel == null) {
+                return;
+            }
+
+            if (clients.size() >= MAX_CLIENTS) {
+                logger.w(TAG, "Refused a display client beyond " + MAX_CLIENTS);
+                closeQuietly(channel);
+                continue;
+            }
+
+            if (isLockedOut(channel.socket().getInetAddress())) {
+                logger.w(TAG, "Refused a display client locked out for wrong pairing codes");
+                closeQuietly(channel);
+                continue;
+            }
+
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                key = channel.register(selector, SelectionKey.OP_READ);
+            } catch (IOException e) {
+                logger.w(TAG, "Couldn't set up a display client", e);
+                closeQuietly(channel);
+                continue;
+            }
+
+            Client client = new Client(channel, key, clock.getAsLong(), pairingCode);
+            key.attach(client);
+            clients.add(client);
+            clientCount = clients.size();
+
+            if (client.isPaired()) {
+                sendLatest(client, sent);
+            }
+        }
+    }
+
+    /**
+     * Sends the latest snapshot to a newly connected or paired client, re-stamped with the current
+     * clock time. (Its original stamp could be minutes old, which the client would take as transit
+     * delay and add to its clock offset until the next heartbeat.)
+     */
+    private void sendLatest(@NonNull Client client, @Nullable DisplaySnapshot sent) {
+        if (sent != null) {
+            enqueue(client, sent.encode(clock.getAsLong()), false);
+        }
+    }
+
+    /**
+     * Reads client input, checking an unpaired client's pairing code and ignoring everything else.
+     * Disconnects at end of stream or on a wrong code.
+     */
+    private void drainInput(@NonNull Client client, @Nullable DisplaySnapshot sent)
+            throws IOException {
+        int n;
+
+        do {
+            readScratch.clear();
+            n = client.channel.read(readScratch);
+
+            if (n > 0 && !client.isPaired()) {
+                readScratch.flip();
+                if (!checkPairingCode(client)) {
+                    logger.w(TAG, "Disconnected a display client with a wrong pairing code");
+                    countPairingFailure(client.address);
+                    disconnect(client);
+                    return;
+                }
+                if (client.isPaired()) {
+                    if (client.address != null) {
+                        pairingFailures.remove(client.address);
+                    }
+                    sendLatest(client, sent);
+                }
+            }
+        } while (n > 0);
+
+        if (n < 0) {
+            disconnect(client);
+        }
+    }
+
+    /**
+     * Collects readScratch into the client's pairing input until it has as many bytes as the code,
+     * then compares them all at once in constant time. Checking byte by byte would hang up at the
+     * first wrong byte, letting a client learn the code one digit at a time.
+     *
+     * @return false on a wrong code.
+     */
+    private boolean checkPairingCode(@NonNull Client client) {
+        byte[] code = pairingCode;
+        byte[] input = client.pairingInput;
+
+        if (code == null || input == null || client.isPaired()) {
+            return true;
+        }
+
+        int n = Math.min(readScratch.remaining(), code.length - client.pairingBytes);
+        readScratch.get(input, client.pairingBytes, n);
+        client.pairingBytes += n;
+
+        if (client.pairingBytes < code.length) {
+            return true;
+        }
+        if (!MessageDigest.isEqual(input, code)) {
+            return false;
+        }
+
+        client.pairingBytes = -1;
+        return true;
+    }
+
+    /** Returns true if the address sent too many wrong pairing codes lately. */
+    private boolean isLockedOut(@Nullable InetAddress address) {
+        PairingFailures failures = address == null ? null : pairingFailures.get(address);
+        return failures != null && clock.getAsLong() < failures.lockedUntil;
+    }
+
+    /** Counts a wrong pairing code from the address, locking it out after too many. */
+    private void countPairingFailure(@Nullable InetAddress address) {
+        if (address == null) {
+            return;
+        }
+
+        long now = clock.getAsLong();
+        PairingFailures failures = pairingFailures.get(address);
+
+        if (failures == null) {
+            if (pairingFailures.size() >= MAX_CLIENTS) { // forget addresses not locked out
+                pairingFailures.values().removeIf(f -> now >= f.lockedUntil);
+            }
+            failures = new PairingFailures();
+            pairingFailures.put(address, failures);
+        }
+
+        int excess = ++failures.count - FREE_PAIRING_FAILURES;
+        if (excess > 0) {
+            long lockout = LOCKOUT_MS << Math.min(excess - 1, 20);
+            failures.lockedUntil = now + Math.min(lockout, MAX_LOCKOUT_MS);
+        }
+    }
+
+    /** Disconnects clients that haven't sent the pairing code in time. */
+    private void dropUnpaired(long now) {
+        for (int i = clients.size() - 1; i >= 0; --i) {
+            Client client = clients.get(i);
+
+            if (!client.isPaired() && now - client.acceptTime >= PAIRING_TIMEOUT_MS) {
+                disconnect(client);
+            }
+        }
+    }
+
+    /** Queues the frame to every paired client. Skips busy clients for heartbeats. */
+    private void fanOut(@NonNull ByteBuffer frame, boolean isHeartbeat) {
+        for (int i = clients.size() - 1; i >= 0; --i) {
+            Client client = clients.get(i);
+
+            if (client.isPaired()) {
+                enqueue(client, frame, isHeartbeat);
+            }
+        }
+    }
+
+    private void enqueue(@NonNull Client client, @NonNull ByteBuffer frame, boolean isHeartbeat) {
+        // A busy client still has a frame queued and will get the next heartbeat.
+        if (isHeartbeat && (client.current != null || client.next != null)) {
+            return;
+        }
+
+        ByteBuffer view = frame.duplicate();
+        if (client.current == null) {
+            client.current = view;
+        } else {
+            client.next = view; // supersedes any older one
+        }
+
+        try {
+            flush(client);
+        } catch (IOException e) {
+            disconnect(client);
+        }
+    }
+
+    /** Writes as much as the socket takes without blocking, then waits for OP_WRITE if needed. */
+    private void flush(@NonNull Client client) throws IOException {
+        while (client.current != null) {
+            client.channel.write(client.current);
+
+            if (client.current.hasRemaining()) {
+                client.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+
+            client.current = client.next;
+            client.next = null;
+        }
+
+        client.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void disconnect(@NonNull Client client) {
+        client.key.cancel();
+        closeQuietly(client.channel);
+        clients.remove(client);
+        clientCount = clients.size();
+    }
+
+    private void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                logger.w(TAG, "close() failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer.display;
+
+import androidx.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An immutable snapshot of the timer state for kitchen display clients, with its times in the
+ * sender's SystemClock.elapsedRealtime() msec. A client {@link #rebase}s it to its own clock via
+ * {@link DisplayFrameDecoder} and renders the ticking locally.<p/>
+ *
+ * Wire format, big-endian: A snapshot frame is {@link #TYPE_SNAPSHOT}, flags byte, int sequence,
+ * long clockTime, long startTime, long pauseTime, long periodMs. A heartbeat frame is
+ * {@link #TYPE_HEARTBEAT}, long clockTime. (A client only sends its pairing code, in ASCII; see
+ * {@link DisplayServer}.)
+ */
+public final class DisplaySnapshot {
+    static final byte TYPE_SNAPSHOT = 1;
+    static final byte TYPE_HEARTBEAT = 2;
+    static final int SNAPSHOT_BYTES = 1 + 1 + 4 + 4 * 8;
+    static final int HEARTBEAT_BYTES = 1 + 8;
+
+    private static final int FLAG_RUNNING = 1;
+    private static final int FLAG_PAUSED = 2;
+
+    private final int sequence;
+    private final boolean isRunning;
+    private final boolean isPaused;
+    private final long clockTime;
+    private final long startTime;
+    private final long pauseTime;
+    private final long periodMs;
+
+    /**
+     * @param _sequence increments with each state change
+     * @param _isRunning true if the timer is Running
+     * @param _isPaused true if the timer is Paused (else Stopped) when it's not Running
+     * @param _clockTime the sender's clock time when it took this snapshot
+     * @param _startTime the timer's start time
+     * @param _pauseTime the timer's pause time
+     * @param _periodMs the reminder period in msec, or 0 if reminders are off
+     */
+    public DisplaySnapshot(int _sequence, boolean _isRunning, boolean _isPaused, long _clockTime,
+            long _startTime, long _pauseTime, long _periodMs) {
+        sequence = _sequence;
+        isRunning = _isRunning;
+        isPaused = _isPaused && !_isRunning;
+        clockTime = _clockTime;
+        startTime = _startTime;
+        pauseTime = _pauseTime;
+        periodMs = _periodMs;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    public long getClockTime() {
+        return clockTime;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getPauseTime() {
+        return pauseTime;
+    }
+
+    public long getPeriodMs() {
+        return periodMs;
+    }
+
+    /** Returns the timer's elapsed time, in msec, at the given time on this snapshot's clock. */
+    public long getElapsedTime(long now) {
+        return (isRunning ? now : pauseTime) - startTime;
+    }
+
+    /** Returns true if this has the same timer state as other, ignoring sequence and clockTime. */
+    public boolean sameState(@NonNull DisplaySnapshot other) {
+        return isRunning == other.isRunning && isPaused == other.isPaused
+                && startTime == other.startTime && pauseTime == other.pauseTime
+                && periodMs == other.periodMs;
+    }
+
+    /** Returns this snapshot with its times shifted by offset msec onto another clock. */
+    @NonNull
+    public DisplaySnapshot rebase(long offset) {
+        return new DisplaySnapshot(sequence, isRunning, isPaused, clockTime + offset,
+                startTime + offset, pauseTime + offset, periodMs);
+    }
+
+    /** Returns a new read-only buffer holding this snapshot's frame. */
+    @NonNull
+    ByteBuffer encode() {
+        return encode(clockTime);
+    }
+
+    /**
+     * Returns a new read-only buffer holding this snapshot's frame re-stamped with a later sender
+     * clock time, e.g. to send an older snapshot to a newly connected client. Its times are all on
+     * the sender's clock, so this is the same timer state.
+     */
+    @NonNull
+    ByteBuffer encode(long clockTime) {
+        ByteBuffer frame = ByteBuffer.allocate(SNAPSHOT_BYTES);
+        int flags = (isRunning ? FLAG_RUNNING : 0) | (isPaused ? FLAG_PAUSED : 0);
+
+        frame.put(TYPE_SNAPSHOT).put((byte) flags).putInt(sequence).putLong(clockTime)
+                .putLong(startTime).putLong(pauseTime).putLong(periodMs);
+        frame.flip();
+        return frame.asReadOnlyBuffer();
+    }
+
+    /** Returns a new read-only buffer holding a heartbeat frame. */
+    @NonNull
+    static ByteBuffer encodeHeartbeat(long clockTime) {
+        ByteBuffer frame = ByteBuffer.allocate(HEARTBEAT_BYTES);
+
+        frame.put(TYPE_HEARTBEAT).putLong(clockTime);
+        frame.flip();
+        return frame.asReadOnlyBuffer();
+    }
+
+    /** Decodes a snapshot frame from in, just past its type byte. */
+    @NonNull
+    static DisplaySnapshot decode(@NonNull ByteBuffer in) {
+        int flags = in.get();
+        int sequence = in.getInt();
+        long clockTime = in.getLong();
+        long startTime = in.getLong();
+        long pauseTime = in.getLong();
+        long periodMs = in.getLong();
+
+        return new DisplaySnapshot(sequence, (flags & FLAG_RUNNING) != 0,
+                (flags & FLAG_PAUSED) != 0, clockTime, startTime, pauseTime, periodMs);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "DisplaySnapshot #" + sequence + (isRunning ? " Running" : isPaused ? " Paused"
+                : " Stopped") + " @ " + clockTime + ", start " + startTime + ", pause " + pauseTime
+                + ", period " + periodMs + " ms";
+    }
+}
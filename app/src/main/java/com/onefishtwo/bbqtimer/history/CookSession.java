@@ -0,0 +1,114 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer.history;
+
+import androidx.annotation.NonNull;
+
+/**
+ * An immutable record of one completed cook, that is, one timer run from 0:00 until it got stopped
+ * or reset.
+ */
+public final class CookSession {
+    private final long startWallTime;
+    private final long elapsedTime;
+    private final int pauseCount;
+    private final int remindersFired;
+    @NonNull
+    private final String recipe;
+
+    /**
+     * @param _startWallTime System.currentTimeMillis() when the run started from 0:00
+     * @param _elapsedTime the run's total (Running) elapsed time, in milliseconds
+     * @param _pauseCount how many times the run got paused
+     * @param _remindersFired how many periodic reminders sounded during the run
+     * @param _recipe the recipe line in use, or "" if the user typed in the interval time
+     */
+    public CookSession(long _startWallTime, long _elapsedTime, int _pauseCount,
+            int _remindersFired, @NonNull String _recipe) {
+        this.startWallTime = _startWallTime;
+        this.elapsedTime = _elapsedTime;
+        this.pauseCount = _pauseCount;
+        this.remindersFired = _remindersFired;
+        this.recipe = _recipe;
+    }
+
+    /** Returns a copy of this session with the given recipe text. */
+    @NonNull
+    public CookSession withRecipe(@NonNull String _recipe) {
+        return new CookSession(startWallTime, elapsedTime, pauseCount, remindersFired, _recipe);
+    }
+
+    /** Returns the System.currentTimeMillis() wall clock time when the run started. */
+    public long getStartWallTime() {
+        return startWallTime;
+    }
+
+    /** Returns the run's total elapsed time, in milliseconds. */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public int getPauseCount() {
+        return pauseCount;
+    }
+
+    public int getRemindersFired() {
+        return remindersFired;
+    }
+
+    /** Returns the recipe line in use, or "" for none. */
+    @NonNull
+    public String getRecipe() {
+        return recipe;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CookSession)) {
+            return false;
+        }
+
+        CookSession that = (CookSession) o;
+        return startWallTime == that.startWallTime
+                && elapsedTime == that.elapsedTime
+                && pauseCount == that.pauseCount
+                && remindersFired == that.remindersFired
+                && recipe.equals(that.recipe);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(startWallTime);
+        result = 31 * result + Long.hashCode(elapsedTime);
+        result = 31 * result + pauseCount;
+        result = 31 * result + remindersFired;
+        return 31 * result + recipe.hashCode();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "CookSession @ " + startWallTime + " for " + elapsedTime + " ms, " + pauseCount
+                + " pauses, " + remindersFired + " reminders, recipe \"" + recipe + "\"";
+    }
+}
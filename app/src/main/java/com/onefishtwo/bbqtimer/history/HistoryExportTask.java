@@ -0,0 +1,157 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer.history;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.DocumentsContract;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Exports the {@link SessionHistory} on a background thread to a document the user picked via the
+ * Storage Access Framework (e.g. ActivityResultContracts.CreateDocument), reporting progress and
+ * the outcome on the main thread. A cancelled or failed export deletes the partial document.
+ */
+public class HistoryExportTask {
+    private static final String TAG = "HistoryExport";
+
+    /** Buffer about one chunk of formatted sessions between flushes. */
+    private static final int WRITER_BUFFER_CHARS = 32 * 1024;
+
+    private static final Executor executor = Executors.newSingleThreadExecutor();
+
+    /** Receives progress and the outcome on the main thread. */
+    public interface Callback {
+        @MainThread
+        void onExportProgress(int rowsDone, int totalRows);
+
+        /**
+         * The export finished, got cancelled, or failed.
+         *
+         * @param completed true if it wrote the whole history.
+         * @param error the I/O error if it failed.
+         */
+        @MainThread
+        void onExportFinished(boolean completed, @Nullable IOException error);
+    }
+
+    @NonNull
+    private final ContentResolver resolver;
+    @NonNull
+    private final Uri uri;
+    @NonNull
+    private final SessionHistory history;
+    @NonNull
+    private final HistoryExporter exporter;
+    @NonNull
+    private final Callback callback;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private int lastPercent = -1;
+
+    /** Starts exporting the shared SessionHistory to the document at uri. */
+    @MainThread
+    @NonNull
+    public static HistoryExportTask start(@NonNull Context context, @NonNull Uri uri,
+            @NonNull HistoryExporter.Format format, @NonNull Callback callback) {
+        HistoryExportTask task = new HistoryExportTask(context, uri, format, callback);
+
+        executor.execute(task::run);
+        return task;
+    }
+
+    private HistoryExportTask(@NonNull Context context, @NonNull Uri _uri,
+            @NonNull HistoryExporter.Format format, @NonNull Callback _callback) {
+        resolver = context.getContentResolver();
+        uri = _uri;
+        history = SessionHistory.sharedInstance(context);
+        exporter = new HistoryExporter(format);
+        callback = _callback;
+    }
+
+    /** Requests cancellation. The callback will still get onExportFinished(). */
+    public void cancel() {
+        exporter.cancel();
+    }
+
+    @WorkerThread
+    private void run() {
+        boolean completed = false;
+        IOException error = null;
+
+        try (OutputStream stream = resolver.openOutputStream(uri, "wt")) {
+            if (stream == null) {
+                throw new IOException("Couldn't open " + uri);
+            }
+
+            Writer out = new BufferedWriter(
+                    new OutputStreamWriter(stream, StandardCharsets.UTF_8), WRITER_BUFFER_CHARS);
+            completed = exporter.export(history, out, this::reportProgress);
+            out.flush();
+        } catch (IOException | SecurityException e) {
+            Log.e(TAG, "Export failed", e);
+            error = e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+
+        if (!completed) {
+            deletePartialDocument();
+        }
+
+        boolean finalCompleted = completed;
+        IOException finalError = error;
+        mainHandler.post(() -> callback.onExportFinished(finalCompleted, finalError));
+    }
+
+    /** Posts progress to the main thread when the percentage changes. */
+    @WorkerThread
+    private void reportProgress(int rowsDone, int totalRows) {
+        int percent = (int) (100L * rowsDone / Math.max(totalRows, 1));
+
+        if (percent != lastPercent) {
+            lastPercent = percent;
+            mainHandler.post(() -> callback.onExportProgress(rowsDone, totalRows));
+        }
+    }
+
+    @WorkerThread
+    private void deletePartialDocument() {
+        try {
+            DocumentsContract.deleteDocument(resolver, uri);
+        } catch (Exception e) { // FileNotFoundException, UnsupportedOperationException, ...
+            Log.w(TAG, "Couldn't delete the partial export " + uri, e);
+        }
+    }
+}
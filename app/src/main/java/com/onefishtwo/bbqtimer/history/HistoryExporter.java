@@ -0,0 +1,209 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer.history;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Streams the {@link SessionHistory} to a Writer as CSV or JSON, {@link #CHUNK_ROWS} sessions at a
+ * time, so memory use stays constant no matter how many years of history there are.<p/>
+ *
+ * Call {@link #export} on a worker thread. Call {@link #cancel} from any thread to stop it after
+ * the current chunk.
+ */
+public class HistoryExporter {
+    /** The number of sessions to read, format, and write per chunk. */
+    static final int CHUNK_ROWS = 256;
+
+    /** The export file formats. */
+    public enum Format {
+        CSV("text/csv", ".csv"),
+        JSON("application/json", ".json");
+
+        @NonNull
+        public final String mimeType;
+        @NonNull
+        public final String fileExtension;
+
+        Format(@NonNull String _mimeType, @NonNull String _fileExtension) {
+            mimeType = _mimeType;
+            fileExtension = _fileExtension;
+        }
+    }
+
+    /** Receives progress reports on the exporting thread, once per chunk. */
+    public interface ProgressListener {
+        void onProgress(int rowsDone, int totalRows);
+    }
+
+    private static final String CSV_HEADER = "start,elapsed_seconds,pauses,reminders,recipe\n";
+
+    @NonNull
+    private final Format format;
+    private final SimpleDateFormat isoFormat =
+            new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+    private final Date date = new Date();
+    private final StringBuilder line = new StringBuilder(120);
+    private volatile boolean cancelled;
+
+    public HistoryExporter(@NonNull Format _format) {
+        this.format = _format;
+        isoFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    /** Requests the export to stop after the current chunk. Callable from any thread. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Writes the sessions that are in the history when this starts, flushing after each chunk.
+     * Doesn't close out.
+     *
+     * @return true if it finished, false if it was cancelled (leaving partial output).
+     */
+    @WorkerThread
+    public boolean export(@NonNull SessionHistory history, @NonNull Writer out,
+            @Nullable ProgressListener listener) throws IOException {
+        int total = history.size();
+        CookSession[] chunk = new CookSession[CHUNK_ROWS];
+        int done = 0;
+
+        out.write(format == Format.CSV ? CSV_HEADER : "[");
+
+        while (done < total) {
+            if (cancelled) {
+                return false;
+            }
+
+            int count = history.read(done, chunk);
+            if (count == 0) {
+                break;
+            }
+            count = Math.min(count, total - done);
+
+            for (int i = 0; i < count; ++i) {
+                line.setLength(0);
+                if (format == Format.CSV) {
+                    appendCsv(chunk[i]);
+                } else {
+                    appendJson(chunk[i], done + i == 0);
+                }
+                out.append(line);
+                chunk[i] = null;
+            }
+            out.flush();
+
+            done += count;
+            if (listener != null) {
+                listener.onProgress(done, total);
+            }
+        }
+
+        if (format == Format.JSON) {
+            out.write(total == 0 ? "]\n" : "\n]\n");
+        }
+        out.flush();
+        return true;
+    }
+
+    @NonNull
+    private String formatWallTime(long wallTime) {
+        date.setTime(wallTime);
+        return isoFormat.format(date);
+    }
+
+    private void appendCsv(@NonNull CookSession session) {
+        line.append(formatWallTime(session.getStartWallTime())).append(',')
+                .append(session.getElapsedTime() / 1000).append(',')
+                .append(session.getPauseCount()).append(',')
+                .append(session.getRemindersFired()).append(',');
+        appendCsvField(session.getRecipe());
+        line.append('\n');
+    }
+
+    /** Appends a CSV field, quoting it per RFC 4180 if needed. */
+    private void appendCsvField(@NonNull String field) {
+        boolean needsQuotes = false;
+
+        for (int i = 0; i < field.length(); ++i) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+
+        if (!needsQuotes) {
+            line.append(field);
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < field.length(); ++i) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void appendJson(@NonNull CookSession session, boolean first) {
+        line.append(first ? "\n" : ",\n")
+                .append("{\"start\":\"").append(formatWallTime(session.getStartWallTime()))
+                .append("\",\"startMillis\":").append(session.getStartWallTime())
+                .append(",\"elapsedSeconds\":").append(session.getElapsedTime() / 1000)
+                .append(",\"pauses\":").append(session.getPauseCount())
+                .append(",\"reminders\":").append(session.getRemindersFired())
+                .append(",\"recipe\":\"");
+        appendJsonString(session.getRecipe());
+        line.append("\"}");
+    }
+
+    /** Appends the contents of a JSON string literal with the required escapes. */
+    private void appendJsonString(@NonNull String s) {
+        for (int i = 0; i < s.length(); ++i) {
+            char c = s.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format(Locale.US, "\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+    }
+}
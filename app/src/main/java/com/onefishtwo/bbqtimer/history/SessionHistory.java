@@ -0,0 +1,689 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+package com.onefishtwo.bbqtimer.history;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import com.onefishtwo.bbqtimer.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Persistent history of completed cooks ({@link CookSession}s) in a compact, append-only, columnar
+ * store, plus daily and weekly rollups so aggregate queries like "average brisket time this month"
+ * cost a few dozen map lookups no matter how many years of history there are.<p/>
+ *
+ * Each column is a file of fixed-width big-endian values, one per session row, so appending a
+ * session appends a few bytes to each column and reading row i seeks to i * width. Recipe text
+ * goes in a dictionary file (line i holds recipe ID i + 1; ID 0 is "no recipe") so the recipe
+ * column is 2 bytes per row.<p/>
+ *
+ * The rollups are derived data, kept in one small file that records the time zone that defined
+ * their day boundaries and how many rows they cover. Appending doesn't touch them. Instead,
+ * {@link #summarize} first rolls up just the rows appended since, then saves the file. If the file
+ * is missing, corrupt, covers more rows than the columns hold (e.g. after trimming a partial
+ * append), or is for another time zone, summarize() rebuilds it by scanning the columns once.<p/>
+ *
+ * The public methods are thread-safe but do file I/O, so call them off the UI thread, or call
+ * {@link #record} to append on this store's background thread.
+ */
+public class SessionHistory {
+    private static final String TAG = "SessionHistory";
+
+    /** PERSISTENT STATE directory within the app's files directory. */
+    static final String HISTORY_DIR = "history";
+
+    /** PERSISTENT STATE column files, in row order. */
+    static final String START_COLUMN      = "start.col";     // long: start wall time, msec
+    static final String ELAPSED_COLUMN    = "elapsed.col";   // int: elapsed time, seconds
+    static final String PAUSES_COLUMN     = "pauses.col";    // char: pause count, saturated
+    static final String REMINDERS_COLUMN  = "reminders.col"; // char: reminders fired, saturated
+    static final String RECIPE_COLUMN     = "recipe.col";    // char: recipe ID
+    static final String RECIPE_DICTIONARY = "recipes.dict";  // UTF-8 lines
+    static final String ROLLUPS_FILE      = "rollups.dat";
+
+    private static final String[] COLUMNS = {
+            START_COLUMN, ELAPSED_COLUMN, PAUSES_COLUMN, REMINDERS_COLUMN, RECIPE_COLUMN};
+    private static final int[] COLUMN_WIDTHS = {8, 4, 2, 2, 2};
+
+    private static final int ROLLUPS_MAGIC = 0x42425152; // "BBQR"
+    private static final int ROLLUPS_VERSION = 2;
+
+    static final long DAY_MS = 24 * 3600 * 1000L;
+
+    /** Recipe ID for "no recipe". */
+    private static final int NO_RECIPE = 0;
+    /** Pseudo recipe ID for the all-recipes rollups. */
+    private static final int ALL_RECIPES = 0xFFFF;
+    private static final int MAX_RECIPE_ID = ALL_RECIPES - 1;
+
+    /** Aggregate statistics over a set of cook sessions. */
+    public static final class Rollup {
+        private int count;
+        private long totalElapsedTime;
+        private long totalPauses;
+        private long totalReminders;
+
+        void add(@NonNull CookSession session) {
+            ++count;
+            totalElapsedTime += session.getElapsedTime();
+            totalPauses += session.getPauseCount();
+            totalReminders += session.getRemindersFired();
+        }
+
+        void add(@Nullable Rollup other) {
+            if (other != null) {
+                count += other.count;
+                totalElapsedTime += other.totalElapsedTime;
+                totalPauses += other.totalPauses;
+                totalReminders += other.totalReminders;
+            }
+        }
+
+        /** Returns the number of sessions. */
+        public int getCount() {
+            return count;
+        }
+
+        /** Returns the sessions' total elapsed time, in milliseconds. */
+        public long getTotalElapsedTime() {
+            return totalElapsedTime;
+        }
+
+        /** Returns the sessions' average elapsed time, in milliseconds, or 0 if there are none. */
+        public long getAverageElapsedTime() {
+            return count == 0 ? 0 : totalElapsedTime / count;
+        }
+
+        public long getTotalPauses() {
+            return totalPauses;
+        }
+
+        public long getTotalReminders() {
+            return totalReminders;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "Rollup " + count + " sessions, " + totalElapsedTime + " ms";
+        }
+    }
+
+    private static volatile SessionHistory sharedInstance;
+
+    @NonNull
+    private final File dir;
+    @Nullable
+    private final TimeZone timeZone;
+    @NonNull
+    private final Logger logger;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    // The rest is guarded by "this" and loaded by ensureOpen().
+    private boolean isOpen;
+    private int rows;
+    private final List<String> recipes = new ArrayList<>(); // recipes.get(id - 1)
+    private final Map<String, Integer> recipeIds = new HashMap<>();
+    private final Map<Long, Rollup> dailyRollups = new HashMap<>();
+    private final Map<Long, Rollup> weeklyRollups = new HashMap<>();
+    /** The time zone ID that the loaded rollups use, or null if they're not loaded. */
+    @Nullable
+    private String rollupZoneId;
+    /** The number of rows that the loaded rollups cover. */
+    private int rollupRows;
+    /** The number of rows that the rollups file covers, or -1 if it's not up to date. */
+    private int savedRollupRows = -1;
+
+    /** Returns the shared instance, which stores its files in the app's files directory. */
+    @NonNull
+    public static SessionHistory sharedInstance(@NonNull Context context) {
+        if (sharedInstance == null) {
+            //noinspection SynchronizeOnThis
+            synchronized (SessionHistory.class) {
+                if (sharedInstance == null) {
+                    File dir = new File(context.getFilesDir(), HISTORY_DIR);
+                    sharedInstance = new SessionHistory(dir, null, Logger.ANDROID);
+                }
+            }
+        }
+
+        return sharedInstance;
+    }
+
+    /**
+     * @param _dir the directory to hold the store's files; created on demand
+     * @param _timeZone the time zone that defines day boundaries for the rollups, or null to use
+     *                  the current default time zone
+     * @param _logger logs errors, e.g. {@link Logger#ANDROID}
+     */
+    @VisibleForTesting
+    SessionHistory(@NonNull File _dir, @Nullable TimeZone _timeZone, @NonNull Logger _logger) {
+        this.dir = _dir;
+        this.timeZone = _timeZone;
+        this.logger = _logger;
+    }
+
+    @NonNull
+    private TimeZone zone() {
+        return timeZone != null ? timeZone : TimeZone.getDefault();
+    }
+
+    /** Returns the local day number (days since 1970-01-01) of the given wall clock time. */
+    long localDay(long wallTime) {
+        return Math.floorDiv(wallTime + zone().getOffset(wallTime), DAY_MS);
+    }
+
+    /** Returns the Monday-based week number of the given day number. 1970-01-01 was a Thursday. */
+    static long weekOfDay(long day) {
+        return Math.floorDiv(day + 3, 7);
+    }
+
+    private static boolean isWeekStart(long day) {
+        return Math.floorMod(day + 3, 7) == 0;
+    }
+
+    private static long rollupKey(long bucket, int recipeId) {
+        return (bucket << 16) | recipeId;
+    }
+
+    /**
+     * Appends a completed session on this store's background thread, logging any I/O error. Use
+     * this from the UI thread.
+     */
+    public void record(@NonNull CookSession session) {
+        writer.execute(() -> {
+            try {
+                append(session);
+            } catch (IOException e) {
+                logger.e(TAG, "Couldn't record " + session, e);
+            }
+        });
+    }
+
+    /**
+     * Appends a completed session to the columns, a few bytes each. The rollups catch up when
+     * next needed.
+     */
+    @WorkerThread
+    public synchronized void append(@NonNull CookSession session) throws IOException {
+        ensureOpen();
+
+        long[] values = {
+                session.getStartWallTime(),
+                Math.min(Math.max(session.getElapsedTime() / 1000, 0), Integer.MAX_VALUE),
+                Math.min(Math.max(session.getPauseCount(), 0), 0xFFFF),
+                Math.min(Math.max(session.getRemindersFired(), 0), 0xFFFF),
+                internRecipe(session.getRecipe())};
+
+        ByteBuffer bytes = ByteBuffer.allocate(COLUMN_WIDTHS[0]); // START_COLUMN is the widest
+
+        for (int c = 0; c < COLUMNS.length; ++c) {
+            bytes.clear();
+            putValue(bytes, COLUMN_WIDTHS[c], values[c]);
+
+            try (FileOutputStream out = new FileOutputStream(new File(dir, COLUMNS[c]), true)) {
+                out.write(bytes.array(), 0, bytes.position());
+            }
+        }
+        ++rows;
+    }
+
+    /** Returns the number of recorded sessions. */
+    @WorkerThread
+    public synchronized int size() throws IOException {
+        ensureOpen();
+        return rows;
+    }
+
+    /** Returns the recorded session at the given row index, in recording order. */
+    @WorkerThread
+    @NonNull
+    public synchronized CookSession get(int row) throws IOException {
+        ensureOpen();
+
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + rows);
+        }
+        return readRow(row);
+    }
+
+    /**
+     * Reads up to buffer.length consecutive sessions starting at row fromRow into buffer, reading
+     * each column's values in one block. This lets a caller stream through the whole history in
+     * fixed-size chunks.
+     *
+     * @return the number of sessions read, which is 0 at the end of the history.
+     */
+    @WorkerThread
+    public synchronized int read(int fromRow, @NonNull CookSession[] buffer) throws IOException {
+        ensureOpen();
+
+        int count = Math.max(Math.min(buffer.length, rows - fromRow), 0);
+        if (count == 0) {
+            return 0;
+        }
+
+        long[][] values = new long[COLUMNS.length][count];
+        byte[] block = new byte[count * COLUMN_WIDTHS[0]]; // START_COLUMN is the widest
+
+        for (int c = 0; c < COLUMNS.length; ++c) {
+            int width = COLUMN_WIDTHS[c];
+
+            try (RandomAccessFile file = new RandomAccessFile(new File(dir, COLUMNS[c]), "r")) {
+                file.seek((long) fromRow * width);
+                file.readFully(block, 0, count * width);
+            }
+
+            DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(block, 0, count * width));
+            for (int i = 0; i < count; ++i) {
+                values[c][i] = readValue(in, width);
+            }
+        }
+
+        long[] row = new long[COLUMNS.length];
+        for (int i = 0; i < count; ++i) {
+            for (int c = 0; c < COLUMNS.length; ++c) {
+                row[c] = values[c][i];
+            }
+            buffer[i] = makeSession(row);
+        }
+        return count;
+    }
+
+    /**
+     * Summarizes the sessions of the given recipe (or all recipes if null) that started on local
+     * days from the day of fromWallTime up to but not including the day of toWallTime. E.g. pass
+     * the first instant of this month and of next month to summarize this month.<p/>
+     *
+     * This combines whole weeks from the weekly rollups and the leftover days from the daily
+     * rollups, so a one-year query takes about 60 lookups.
+     */
+    @WorkerThread
+    @NonNull
+    public synchronized Rollup summarize(@Nullable String recipe, long fromWallTime,
+            long toWallTime) throws IOException {
+        ensureOpen();
+        ensureRollups();
+
+        Rollup result = new Rollup();
+        int recipeId;
+
+        if (recipe == null) {
+            recipeId = ALL_RECIPES;
+        } else if (recipe.isEmpty()) {
+            recipeId = NO_RECIPE;
+        } else {
+            Integer id = recipeIds.get(sanitizeRecipe(recipe));
+            if (id == null) {
+                return result;
+            }
+            recipeId = id;
+        }
+
+        long day = localDay(fromWallTime);
+        long endDay = localDay(toWallTime);
+
+        for (; day < endDay && !isWeekStart(day); ++day) {
+            result.add(dailyRollups.get(rollupKey(day, recipeId)));
+        }
+        for (; day + 7 <= endDay; day += 7) {
+            result.add(weeklyRollups.get(rollupKey(weekOfDay(day), recipeId)));
+        }
+        for (; day < endDay; ++day) {
+            result.add(dailyRollups.get(rollupKey(day, recipeId)));
+        }
+
+        return result;
+    }
+
+    /** Newlines would break the dictionary's line structure. */
+    @NonNull
+    private static String sanitizeRecipe(@NonNull String recipe) {
+        return recipe.replace('\n', ' ').replace('\r', ' ').trim();
+    }
+
+    /** Returns the recipe's dictionary ID, adding it to the dictionary if it's new. */
+    private int internRecipe(@NonNull String recipe) throws IOException {
+        String text = sanitizeRecipe(recipe);
+
+        if (text.isEmpty()) {
+            return NO_RECIPE;
+        }
+
+        Integer id = recipeIds.get(text);
+        if (id != null) {
+            return id;
+        }
+        if (recipes.size() >= MAX_RECIPE_ID) {
+            logger.w(TAG, "The recipe dictionary is full");
+            return NO_RECIPE;
+        }
+
+        try (Writer out = new OutputStreamWriter(
+                new FileOutputStream(new File(dir, RECIPE_DICTIONARY), true),
+                StandardCharsets.UTF_8)) {
+            out.write(text);
+            out.write('\n');
+        }
+        recipes.add(text);
+        recipeIds.put(text, recipes.size());
+        return recipes.size();
+    }
+
+
+    /** Reads one row from the columns. */
+    @NonNull
+    private CookSession readRow(int row) throws IOException {
+        long[] values = new long[COLUMNS.length];
+
+        for (int c = 0; c < COLUMNS.length; ++c) {
+            try (RandomAccessFile file = new RandomAccessFile(new File(dir, COLUMNS[c]), "r")) {
+                file.seek((long) row * COLUMN_WIDTHS[c]);
+                values[c] = readValue(file, COLUMN_WIDTHS[c]);
+            }
+        }
+
+        return makeSession(values);
+    }
+
+    private static void putValue(@NonNull ByteBuffer out, int width, long value) {
+        switch (width) {
+            case 8:
+                out.putLong(value);
+                break;
+            case 4:
+                out.putInt((int) value);
+                break;
+            default:
+                out.putChar((char) value);
+                break;
+        }
+    }
+
+    private static long readValue(@NonNull DataInput in, int width) throws IOException {
+        switch (width) {
+            case 8:
+                return in.readLong();
+            case 4:
+                return in.readInt();
+            default:
+                return in.readChar();
+        }
+    }
+
+    @NonNull
+    private CookSession makeSession(@NonNull long[] values) {
+        int recipeId = (int) values[4];
+        String recipe = recipeId == NO_RECIPE || recipeId > recipes.size() ? ""
+                : recipes.get(recipeId - 1);
+
+        return new CookSession(values[0], values[1] * 1000, (int) values[2], (int) values[3],
+                recipe);
+    }
+
+    private void addToRollups(@NonNull CookSession session, int recipeId) {
+        long day = localDay(session.getStartWallTime());
+        long week = weekOfDay(day);
+
+        addToRollup(dailyRollups, rollupKey(day, recipeId), session);
+        addToRollup(dailyRollups, rollupKey(day, ALL_RECIPES), session);
+        addToRollup(weeklyRollups, rollupKey(week, recipeId), session);
+        addToRollup(weeklyRollups, rollupKey(week, ALL_RECIPES), session);
+    }
+
+    private static void addToRollup(@NonNull Map<Long, Rollup> rollups, long key,
+            @NonNull CookSession session) {
+        Rollup rollup = rollups.get(key);
+
+        if (rollup == null) {
+            rollup = new Rollup();
+            rollups.put(key, rollup);
+        }
+        rollup.add(session);
+    }
+
+    /**
+     * Opens the store if needed: makes the directory, trims any partially-appended row left by a
+     * crash, and loads the recipe dictionary.
+     */
+    private void ensureOpen() throws IOException {
+        if (isOpen) {
+            return;
+        }
+
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Couldn't make " + dir);
+        }
+
+        long minRows = Integer.MAX_VALUE;
+        for (int c = 0; c < COLUMNS.length; ++c) {
+            minRows = Math.min(minRows, new File(dir, COLUMNS[c]).length() / COLUMN_WIDTHS[c]);
+        }
+        rows = (int) minRows;
+
+        for (int c = 0; c < COLUMNS.length; ++c) {
+            File file = new File(dir, COLUMNS[c]);
+            long length = (long) rows * COLUMN_WIDTHS[c];
+
+            if (file.length() > length) {
+                logger.w(TAG, "Trimming " + file + " to " + rows + " rows");
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(length);
+                }
+            }
+        }
+
+        loadRecipes();
+        isOpen = true;
+    }
+
+    /**
+     * Brings the rollups up to date with the columns and the current time zone: loads them if
+     * needed, rolls up any rows appended since, and saves them if that changed them.
+     */
+    private void ensureRollups() throws IOException {
+        String zoneId = zone().getID();
+
+        if (!zoneId.equals(rollupZoneId)) { // not loaded yet, or the time zone changed
+            rollupZoneId = zoneId;
+            rollupRows = readRollups(zoneId);
+            savedRollupRows = rollupRows;
+
+            if (rollupRows < 0 || rollupRows > rows) {
+                dailyRollups.clear();
+                weeklyRollups.clear();
+                rollupRows = 0;
+            }
+        }
+
+        if (rollupRows < rows) {
+            rollUp(rollupRows);
+            rollupRows = rows;
+        }
+
+        if (savedRollupRows != rollupRows) {
+            writeRollups(zoneId);
+            savedRollupRows = rollupRows;
+        }
+    }
+
+    private void loadRecipes() throws IOException {
+        File file = new File(dir, RECIPE_DICTIONARY);
+
+        recipes.clear();
+        recipeIds.clear();
+
+        if (!file.exists()) {
+            return;
+        }
+
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                recipes.add(line);
+                recipeIds.put(line, recipes.size());
+            }
+        }
+    }
+
+    /** Adds rows fromRow and up to the rollups, scanning just those rows of the columns. */
+    private void rollUp(int fromRow) throws IOException {
+        if (fromRow == 0) {
+            logger.i(TAG, "Rebuilding the rollups from " + rows + " rows");
+        }
+
+        DataInputStream[] columns = new DataInputStream[COLUMNS.length];
+        try {
+            for (int c = 0; c < COLUMNS.length; ++c) {
+                FileInputStream in = new FileInputStream(new File(dir, COLUMNS[c]));
+
+                columns[c] = new DataInputStream(new BufferedInputStream(in));
+                in.getChannel().position((long) fromRow * COLUMN_WIDTHS[c]);
+            }
+
+            long[] values = new long[COLUMNS.length];
+            for (int row = fromRow; row < rows; ++row) {
+                for (int c = 0; c < COLUMNS.length; ++c) {
+                    values[c] = readValue(columns[c], COLUMN_WIDTHS[c]);
+                }
+                addToRollups(makeSession(values), (int) values[4]);
+            }
+        } finally {
+            for (DataInputStream column : columns) {
+                if (column != null) {
+                    column.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the rollups file. Returns the number of rows it covers, or -1 if it's missing, corrupt,
+     * or for another time zone.
+     */
+    private int readRollups(@NonNull String zoneId) {
+        File file = new File(dir, ROLLUPS_FILE);
+
+        dailyRollups.clear();
+        weeklyRollups.clear();
+
+        if (!file.exists()) {
+            return -1;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file)))) {
+            if (in.readInt() != ROLLUPS_MAGIC || in.readInt() != ROLLUPS_VERSION
+                    || !in.readUTF().equals(zoneId)) {
+                return -1;
+            }
+            int coveredRows = in.readInt();
+            readRollupMap(in, dailyRollups);
+            readRollupMap(in, weeklyRollups);
+            return coveredRows;
+        } catch (IOException e) {
+            logger.w(TAG, "Couldn't read the rollups", e);
+            dailyRollups.clear();
+            weeklyRollups.clear();
+            return -1;
+        }
+    }
+
+    private static void readRollupMap(@NonNull DataInputStream in,
+            @NonNull Map<Long, Rollup> rollups) throws IOException {
+        int size = in.readInt();
+
+        for (int i = 0; i < size; ++i) {
+            long key = in.readLong();
+            Rollup rollup = new Rollup();
+
+            rollup.count = in.readInt();
+            rollup.totalElapsedTime = in.readLong();
+            rollup.totalPauses = in.readLong();
+            rollup.totalReminders = in.readLong();
+            rollups.put(key, rollup);
+        }
+    }
+
+    /** Writes the rollups to a temp file then renames it over the old one. */
+    private void writeRollups(@NonNull String zoneId) throws IOException {
+        File file = new File(dir, ROLLUPS_FILE);
+        File temp = new File(dir, ROLLUPS_FILE + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(temp)))) {
+            out.writeInt(ROLLUPS_MAGIC);
+            out.writeInt(ROLLUPS_VERSION);
+            out.writeUTF(zoneId);
+            out.writeInt(rollupRows);
+            writeRollupMap(out, dailyRollups);
+            writeRollupMap(out, weeklyRollups);
+        }
+
+        if (!temp.renameTo(file)) {
+            throw new IOException("Couldn't rename " + temp);
+        }
+    }
+
+    private static void writeRollupMap(@NonNull DataOutputStream out,
+            @NonNull Map<Long, Rollup> rollups) throws IOException {
+        out.writeInt(rollups.size());
+
+        for (Map.Entry<Long, Rollup> entry : rollups.entrySet()) {
+            Rollup rollup = entry.getValue();
+
+            out.writeLong(entry.getKey());
+            out.writeInt(rollup.count);
+            out.writeLong(rollup.totalElapsedTime);
+            out.writeLong(rollup.totalPauses);
+            out.writeLong(rollup.totalReminders);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer.replication;
+
+import androidx.annotation.NonNull;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A hybrid logical clock (Kulkarni et al.): timestamps that track the wall clock closely, yet
+ * respect causality across devices whose wall clocks disagree. Ties break by node ID, so every
+ * timestamp is unique and the order is total.<p/>
+ *
+ * Not thread safe.
+ */
+public class HybridLogicalClock {
+    /** An immutable hybrid logical clock timestamp. */
+    public static final class Timestamp implements Comparable<Timestamp> {
+        /** Sorts before every real timestamp. */
+        public static final Timestamp ZERO = new Timestamp(0, 0, 0);
+
+        /** The wall clock component, in System.currentTimeMillis() msec. */
+        public final long wallTime;
+        /** Orders events within the same wallTime. */
+        public final int logical;
+        /** The node that issued this timestamp, to break ties. */
+        public final int nodeId;
+
+        public Timestamp(long _wallTime, int _logical, int _nodeId) {
+            wallTime = _wallTime;
+            logical = _logical;
+            nodeId = _nodeId;
+        }
+
+        @Override
+        public int compareTo(@NonNull Timestamp other) {
+            if (wallTime != other.wallTime) {
+                return Long.compare(wallTime, other.wallTime);
+            }
+            if (logical != other.logical) {
+                return Integer.compare(logical, other.logical);
+            }
+            return Integer.compare(nodeId, other.nodeId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Timestamp)) {
+                return false;
+            }
+
+            Timestamp that = (Timestamp) o;
+            return wallTime == that.wallTime && logical == that.logical && nodeId == that.nodeId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(wallTime) + logical) + nodeId;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return wallTime + "." + logical + "@" + nodeId;
+        }
+    }
+
+    private final int nodeId;
+    @NonNull
+    private final LongSupplier wallClock;
+    private long wallTime;
+    private int logical;
+
+    /**
+     * @param _nodeId this node's unique ID
+     * @param _wallClock the wall clock, e.g. System::currentTimeMillis
+     */
+    public HybridLogicalClock(int _nodeId, @NonNull LongSupplier _wallClock) {
+        nodeId = _nodeId;
+        wallClock = _wallClock;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    /** Returns a new timestamp for a local or send event, later than all previous ones. */
+    @NonNull
+    public Timestamp tick() {
+        long physical = wallClock.getAsLong();
+
+        if (physical > wallTime) {
+            wallTime = physical;
+            logical = 0;
+        } else {
+            ++logical;
+        }
+        return new Timestamp(wallTime, logical, nodeId);
+    }
+
+    /** Merges a received timestamp, so later local timestamps follow it. */
+    public void receive(@NonNull Timestamp remote) {
+        long physical = wallClock.getAsLong();
+        long newWallTime = Math.max(Math.max(wallTime, remote.wallTime), physical);
+
+        if (newWallTime == wallTime && newWallTime == remote.wallTime) {
+            logical = Math.max(logical, remote.logical) + 1;
+        } else if (newWallTime == wallTime) {
+            ++logical;
+        } else if (newWallTime == remote.wallTime) {
+            logical = remote.logical + 1;
+        } else {
+            logical = 0;
+        }
+        wallTime = newWallTime;
+    }
+}
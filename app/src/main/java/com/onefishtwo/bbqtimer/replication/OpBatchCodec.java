@@ -0,0 +1,161 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer.replication;
+
+import androidx.annotation.NonNull;
+
+import com.onefishtwo.bbqtimer.replication.HybridLogicalClock.Timestamp;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes batches of one node's {@link TimerOp}s compactly, for bursty input: Each
+ * op's timestamp is a varint delta from the previous one in the batch, and its node ID is the
+ * sender's, once per batch.<p/>
+ *
+ * Batch: version byte, varint sender node ID, sender's clock (varint wall time, varint logical),
+ * varint op count, ops. Op: type byte, zigzag varint wall time delta, varint logical, then a
+ * zigzag varint number or a varint length and UTF-8 text.
+ */
+final class OpBatchCodec {
+    static final int VERSION = 1;
+
+    /** A decoded batch. */
+    static final class Batch {
+        @NonNull
+        final Timestamp senderClock;
+        @NonNull
+        final List<TimerOp> ops;
+
+        Batch(@NonNull Timestamp _senderClock, @NonNull List<TimerOp> _ops) {
+            senderClock = _senderClock;
+            ops = _ops;
+        }
+    }
+
+    private OpBatchCodec() {}
+
+    /**
+     * Encodes the sender's ops (all with its node ID) and its clock, which must be at least as
+     * late as the ops.
+     */
+    @NonNull
+    static byte[] encode(@NonNull Timestamp senderClock, @NonNull List<TimerOp> ops) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + 8 * ops.size());
+        long wallTime = senderClock.wallTime;
+
+        out.write(VERSION);
+        writeVarint(out, senderClock.nodeId);
+        writeVarint(out, senderClock.wallTime);
+        writeVarint(out, senderClock.logical);
+        writeVarint(out, ops.size());
+
+        for (TimerOp op : ops) {
+            Timestamp t = op.getTimestamp();
+
+            out.write(op.getType().ordinal());
+            writeVarint(out, zigzag(t.wallTime - wallTime));
+            writeVarint(out, t.logical);
+            wallTime = t.wallTime;
+
+            if (op.getType().hasText()) {
+                byte[] text = op.getText().getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, text.length);
+                out.write(text, 0, text.length);
+            } else {
+                writeVarint(out, zigzag(op.getNumber()));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a batch.
+     *
+     * @throws IllegalArgumentException if it's malformed
+     */
+    @NonNull
+    static Batch decode(@NonNull byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+
+        try {
+            int version = in.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unknown batch version " + version);
+            }
+
+            int nodeId = (int) readVarint(in);
+            long wallTime = readVarint(in);
+            Timestamp senderClock = new Timestamp(wallTime, (int) readVarint(in), nodeId);
+            int count = (int) readVarint(in);
+            List<TimerOp> ops = new ArrayList<>(Math.min(count, bytes.length));
+
+            for (int i = 0; i < count; ++i) {
+                TimerOp.Type type = TimerOp.Type.fromOrdinal(in.get());
+                wallTime += unzigzag(readVarint(in));
+                Timestamp t = new Timestamp(wallTime, (int) readVarint(in), nodeId);
+
+                if (type.hasText()) {
+                    byte[] text = new byte[(int) readVarint(in)];
+                    in.get(text);
+                    ops.add(new TimerOp(type, t, 0, new String(text, StandardCharsets.UTF_8)));
+                } else {
+                    ops.add(new TimerOp(type, t, unzigzag(readVarint(in)), ""));
+                }
+            }
+            return new Batch(senderClock, ops);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Truncated batch", e);
+        }
+    }
+
+    private static long zigzag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    private static long unzigzag(long n) {
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    private static void writeVarint(@NonNull ByteArrayOutputStream out, long n) {
+        while ((n & ~0x7FL) != 0) {
+            out.write((int) ((n & 0x7F) | 0x80));
+            n >>>= 7;
+        }
+        out.write((int) n);
+    }
+
+    private static long readVarint(@NonNull ByteBuffer in) {
+        long n = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            n |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return n;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,213 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer.replication;
+
+import androidx.annotation.NonNull;
+
+import com.onefishtwo.bbqtimer.TimeCounter;
+import com.onefishtwo.bbqtimer.state.ApplicationState;
+
+import java.util.Objects;
+
+/**
+ * The immutable replicated timer state. Every node folds the same operations in the same
+ * {@link TimerOp} order via {@link #apply}, so they converge no matter how the operations
+ * arrived.<p/>
+ *
+ * Times are on the operations' hybrid logical clock wall times. Devices whose wall clocks
+ * disagree will show elapsed times that differ by that skew.
+ */
+public final class ReplicaState {
+    public enum RunState { STOPPED, PAUSED, RUNNING }
+
+    @NonNull
+    private final RunState runState;
+    /** The elapsed time when it last started or paused, in msec. */
+    private final long markElapsed;
+    /** The wall time when it last started, in msec. */
+    private final long markWallTime;
+    private final int secondsPerReminder;
+    private final boolean enableReminders;
+    @NonNull
+    private final String recipes;
+    @NonNull
+    private final String recipeInUse;
+
+    public ReplicaState(@NonNull RunState _runState, long _markElapsed, long _markWallTime,
+            int _secondsPerReminder, boolean _enableReminders, @NonNull String _recipes,
+            @NonNull String _recipeInUse) {
+        runState = _runState;
+        markElapsed = _markElapsed;
+        markWallTime = _markWallTime;
+        secondsPerReminder = _secondsPerReminder;
+        enableReminders = _enableReminders;
+        recipes = _recipes;
+        recipeInUse = _recipeInUse;
+    }
+
+    /** Returns a Stopped state with the given settings, e.g. to start replicating. */
+    @NonNull
+    public static ReplicaState initial(int _secondsPerReminder, boolean _enableReminders,
+            @NonNull String _recipes, @NonNull String _recipeInUse) {
+        return new ReplicaState(RunState.STOPPED, 0, 0, _secondsPerReminder, _enableReminders,
+                _recipes, _recipeInUse);
+    }
+
+    @NonNull
+    public RunState getRunState() {
+        return runState;
+    }
+
+    /** Returns the timer's elapsed time at the given wall time, in msec. */
+    public long getElapsedTime(long wallTime) {
+        return runState == RunState.RUNNING
+                ? markElapsed + Math.max(wallTime - markWallTime, 0) : markElapsed;
+    }
+
+    public int getSecondsPerReminder() {
+        return secondsPerReminder;
+    }
+
+    public boolean isEnableReminders() {
+        return enableReminders;
+    }
+
+    @NonNull
+    public String getRecipes() {
+        return recipes;
+    }
+
+    @NonNull
+    public String getRecipeInUse() {
+        return recipeInUse;
+    }
+
+    /**
+     * Returns the state after the operation. Like {@link TimeCounter}, starting a Running timer or
+     * pausing a Paused one does nothing, and the settings are last-writer-wins.
+     */
+    @NonNull
+    public ReplicaState apply(@NonNull TimerOp op) {
+        long time = op.getTimestamp().wallTime;
+
+        switch (op.getType()) {
+            case START:
+                if (runState == RunState.RUNNING) {
+                    return this;
+                }
+                return withRun(RunState.RUNNING,
+                        runState == RunState.PAUSED ? markElapsed : 0, time);
+            case PAUSE:
+                if (runState == RunState.PAUSED) {
+                    return this;
+                }
+                return withRun(RunState.PAUSED, getElapsedTime(time), time);
+            case RESET:
+                return withRun(RunState.PAUSED, 0, time);
+            case STOP:
+                return withRun(RunState.STOPPED, 0, time);
+            case SET_SECONDS_PER_REMINDER:
+                return new ReplicaState(runState, markElapsed, markWallTime,
+                        ApplicationState.boundIntervalTimeSeconds((int) op.getNumber()),
+                        enableReminders, recipes, recipeInUse);
+            case SET_ENABLE_REMINDERS:
+                return new ReplicaState(runState, markElapsed, markWallTime, secondsPerReminder,
+                        op.getNumber() != 0, recipes, recipeInUse);
+            case SET_RECIPES:
+                return new ReplicaState(runState, markElapsed, markWallTime, secondsPerReminder,
+                        enableReminders, op.getText(), recipeInUse);
+            case SET_RECIPE_IN_USE:
+                return new ReplicaState(runState, markElapsed, markWallTime, secondsPerReminder,
+                        enableReminders, recipes, op.getText());
+            default:
+                return this;
+        }
+    }
+
+    @NonNull
+    private ReplicaState withRun(@NonNull RunState _runState, long _markElapsed,
+            long _markWallTime) {
+        return new ReplicaState(_runState, _markElapsed, _markWallTime, secondsPerReminder,
+                enableReminders, recipes, recipeInUse);
+    }
+
+    /**
+     * Makes the local ApplicationState match this state at the given wall time, using the
+     * TimeCounter's own transitions so run bookkeeping and the session history still work. Call
+     * {@link ApplicationState#save} afterwards.
+     */
+    public void applyTo(@NonNull ApplicationState state, long wallTime) {
+        TimeCounter timer = state.getTimeCounter();
+
+        switch (runState) {
+            case RUNNING:
+                timer.start();
+                break;
+            case PAUSED:
+                if (timer.isStopped()) {
+                    timer.reset();
+                } else {
+                    timer.pause();
+                }
+                break;
+            default:
+                if (!timer.isStopped()) {
+                    timer.stop();
+                }
+                break;
+        }
+        timer.setElapsedTime(getElapsedTime(wallTime));
+
+        state.setSecondsPerReminder(secondsPerReminder);
+        state.setEnableReminders(enableReminders);
+        state.setRecipes(recipes);
+        state.setRecipeInUse(recipeInUse);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ReplicaState)) {
+            return false;
+        }
+
+        ReplicaState that = (ReplicaState) o;
+        return runState == that.runState && markElapsed == that.markElapsed
+                && markWallTime == that.markWallTime
+                && secondsPerReminder == that.secondsPerReminder
+                && enableReminders == that.enableReminders
+                && recipes.equals(that.recipes) && recipeInUse.equals(that.recipeInUse);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(runState, markElapsed, markWallTime, secondsPerReminder,
+                enableReminders, recipes, recipeInUse);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ReplicaState " + runState + " " + markElapsed + " ms @ " + markWallTime + ", every "
+                + secondsPerReminder + " s" + (enableReminders ? "" : " (off)") + ", recipe \""
+                + recipeInUse + "\"";
+    }
+}
@@ -0,0 +1,246 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer.replication;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.onefishtwo.bbqtimer.Logger;
+import com.onefishtwo.bbqtimer.replication.HybridLogicalClock.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Replicates the timer state among a fixed group of nodes, e.g. two cooks' phones. Local commands
+ * become {@link TimerOp} deltas tagged by a {@link HybridLogicalClock}, queued to send in a batch
+ * on {@link #flush()}. Every node keeps the ops it hasn't compacted yet in timestamp order and
+ * folds them over a base {@link ReplicaState}, so conflicting commands resolve the same way on
+ * every node: the later timestamp wins.<p/>
+ *
+ * Each batch also carries the sender's clock. Since the transport is FIFO per link and each
+ * node's timestamps only grow, no op earlier than every peer's last heard clock can still arrive,
+ * so the ops up to that stable point get folded into the base.<p/>
+ *
+ * Not thread safe. Call it on one thread, including the transport's receiver callbacks.
+ */
+public class ReplicationNode implements ReplicationTransport.Receiver {
+    private static final String TAG = "ReplicationNode";
+
+    @NonNull
+    private final HybridLogicalClock clock;
+    @NonNull
+    private final ReplicationTransport transport;
+    @NonNull
+    private final Logger logger;
+    /** Each peer's latest clock heard, by node ID. */
+    private final Map<Integer, Timestamp> peerClocks = new HashMap<>();
+    /** The ops not yet folded into base, in timestamp order. */
+    private final List<TimerOp> log = new ArrayList<>();
+    /** Local ops not yet sent. */
+    private final List<TimerOp> outbox = new ArrayList<>();
+    @NonNull
+    private ReplicaState base;
+    @Nullable
+    private ReplicaState folded; // cache
+    private long opsSent;
+    private long bytesSent;
+
+    /**
+     * @param nodeId this node's unique ID
+     * @param peerIds the other nodes' IDs
+     * @param wallClock the wall clock, e.g. System::currentTimeMillis
+     * @param _transport connects to the peers
+     * @param initial the state every node starts from
+     * @param _logger logs dropped batches, e.g. {@link Logger#ANDROID}
+     */
+    public ReplicationNode(int nodeId, @NonNull int[] peerIds, @NonNull LongSupplier wallClock,
+            @NonNull ReplicationTransport _transport, @NonNull ReplicaState initial,
+            @NonNull Logger _logger) {
+        clock = new HybridLogicalClock(nodeId, wallClock);
+        transport = _transport;
+        base = initial;
+        logger = _logger;
+
+        for (int peer : peerIds) {
+            peerClocks.put(peer, Timestamp.ZERO);
+        }
+        transport.setReceiver(this);
+    }
+
+    public int getNodeId() {
+        return clock.getNodeId();
+    }
+
+    /** Issues a local command. It applies right away and gets sent on the next flush(). */
+    @NonNull
+    public TimerOp submit(@NonNull TimerOp.Type type, long number, @NonNull String text) {
+        TimerOp op = new TimerOp(type, clock.tick(), number, text);
+
+        insert(op);
+        outbox.add(op);
+        return op;
+    }
+
+    public void start() {
+        submit(TimerOp.Type.START, 0, "");
+    }
+
+    public void pause() {
+        submit(TimerOp.Type.PAUSE, 0, "");
+    }
+
+    public void reset() {
+        submit(TimerOp.Type.RESET, 0, "");
+    }
+
+    public void stop() {
+        submit(TimerOp.Type.STOP, 0, "");
+    }
+
+    public void setSecondsPerReminder(int seconds) {
+        submit(TimerOp.Type.SET_SECONDS_PER_REMINDER, seconds, "");
+    }
+
+    public void setEnableReminders(boolean enable) {
+        submit(TimerOp.Type.SET_ENABLE_REMINDERS, enable ? 1 : 0, "");
+    }
+
+    public void setRecipes(@NonNull String recipes) {
+        submit(TimerOp.Type.SET_RECIPES, 0, recipes);
+    }
+
+    public void setRecipeInUse(@NonNull String recipe) {
+        submit(TimerOp.Type.SET_RECIPE_IN_USE, 0, recipe);
+    }
+
+    /**
+     * Sends the queued local ops in one batch. With none queued, it still sends the clock as a
+     * heartbeat if sendHeartbeat, which lets the peers compact.
+     *
+     * @return the batch size in bytes, or 0 if it sent nothing
+     */
+    public int flush(boolean sendHeartbeat) {
+        if (outbox.isEmpty() && !sendHeartbeat) {
+            return 0;
+        }
+
+        byte[] batch = OpBatchCodec.encode(clock.tick(), outbox);
+
+        opsSent += outbox.size();
+        bytesSent += batch.length;
+        outbox.clear();
+        transport.broadcast(batch);
+        return batch.length;
+    }
+
+    @Override
+    public void onReceive(@NonNull byte[] batch) {
+        OpBatchCodec.Batch decoded;
+
+        try {
+            decoded = OpBatchCodec.decode(batch);
+        } catch (IllegalArgumentException e) {
+            logger.w(TAG, "Dropped a bad batch", e);
+            return;
+        }
+
+        Timestamp senderClock = decoded.senderClock;
+        if (!peerClocks.containsKey(senderClock.nodeId)) {
+            logger.w(TAG, "Dropped a batch from unknown node " + senderClock.nodeId);
+            return;
+        }
+
+        clock.receive(senderClock);
+        for (TimerOp op : decoded.ops) {
+            insert(op);
+        }
+        peerClocks.put(senderClock.nodeId, senderClock);
+        compact();
+    }
+
+    /** Inserts the op in timestamp order, ignoring a duplicate. */
+    private void insert(@NonNull TimerOp op) {
+        int index = Collections.binarySearch(log, op);
+
+        if (index < 0) {
+            log.add(-index - 1, op);
+            folded = null;
+        }
+    }
+
+    /** Returns the timestamp that no op still to arrive can precede. */
+    @NonNull
+    Timestamp stableFrontier() {
+        Timestamp stable = null;
+
+        for (Timestamp heard : peerClocks.values()) {
+            if (stable == null || heard.compareTo(stable) < 0) {
+                stable = heard;
+            }
+        }
+        return stable == null ? Timestamp.ZERO : stable;
+    }
+
+    /** Folds the stable ops into the base state. */
+    private void compact() {
+        Timestamp stable = stableFrontier();
+        int count = 0;
+
+        while (count < log.size() && log.get(count).getTimestamp().compareTo(stable) <= 0) {
+            base = base.apply(log.get(count));
+            ++count;
+        }
+
+        if (count > 0) {
+            log.subList(0, count).clear();
+        }
+    }
+
+    /** Returns the current replicated state. */
+    @NonNull
+    public ReplicaState getState() {
+        if (folded == null) {
+            ReplicaState state = base;
+
+            for (TimerOp op : log) {
+                state = state.apply(op);
+            }
+            folded = state;
+        }
+        return folded;
+    }
+
+    /** Returns the number of ops not yet compacted. */
+    public int getLogSize() {
+        return log.size();
+    }
+
+    public long getOpsSent() {
+        return opsSent;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+}
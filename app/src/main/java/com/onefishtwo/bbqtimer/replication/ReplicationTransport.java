@@ -0,0 +1,39 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer.replication;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Carries {@link ReplicationNode} batches between nodes, e.g. over the local network or, for
+ * tests, in memory. It must deliver each sender's batches to each receiver in order (FIFO per
+ * link), but it may interleave senders and delay them arbitrarily.
+ */
+public interface ReplicationTransport {
+    /** Receives batches from the other nodes. */
+    interface Receiver {
+        void onReceive(@NonNull byte[] batch);
+    }
+
+    /** Sets the receiver for incoming batches. */
+    void setReceiver(@NonNull Receiver receiver);
+
+    /** Sends the batch to every other node. */
+    void broadcast(@NonNull byte[] batch);
+}
@@ -0,0 +1,104 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+package com.onefishtwo.bbqtimer.replication;
+
+import androidx.annotation.NonNull;
+
+import com.onefishtwo.bbqtimer.replication.HybridLogicalClock.Timestamp;
+
+/**
+ * An immutable timer operation delta, tagged with the {@link Timestamp} that orders it among
+ * every node's operations.
+ */
+public final class TimerOp implements Comparable<TimerOp> {
+    /** The operation types. Don't reorder them: the wire format uses their ordinals. */
+    public enum Type {
+        START, PAUSE, RESET, STOP,
+        /** Sets the reminder period from {@link #getNumber()}, in seconds. */
+        SET_SECONDS_PER_REMINDER,
+        /** Sets whether reminders are enabled from {@link #getNumber()} != 0. */
+        SET_ENABLE_REMINDERS,
+        /** Sets the recipes text from {@link #getText()}. */
+        SET_RECIPES,
+        /** Sets the recipe in use from {@link #getText()}. */
+        SET_RECIPE_IN_USE;
+
+        private static final Type[] TYPES = values();
+
+        @NonNull
+        static Type fromOrdinal(int ordinal) {
+            if (ordinal < 0 || ordinal >= TYPES.length) {
+                throw new IllegalArgumentException("Unknown TimerOp type " + ordinal);
+            }
+            return TYPES[ordinal];
+        }
+
+        /** Returns true if this type carries text rather than a number. */
+        boolean hasText() {
+            return this == SET_RECIPES || this == SET_RECIPE_IN_USE;
+        }
+    }
+
+    @NonNull
+    private final Type type;
+    @NonNull
+    private final Timestamp timestamp;
+    private final long number;
+    @NonNull
+    private final String text;
+
+    public TimerOp(@NonNull Type _type, @NonNull Timestamp _timestamp, long _number,
+            @NonNull String _text) {
+        type = _type;
+        timestamp = _timestamp;
+        number = _number;
+        text = _text;
+    }
+
+    @NonNull
+    public Type getType() {
+        return type;
+    }
+
+    @NonNull
+    public Timestamp getTimestamp() {
+        return timestamp;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    @NonNull
+    public String getText() {
+        return text;
+    }
+
+    /** Orders operations by timestamp, which is unique per operation. */
+    @Override
+    public int compareTo(@NonNull TimerOp other) {
+        return timestamp.compareTo(other.timestamp);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return type + (type.hasText() ? " \"" + text + "\"" : " " + number) + " @ " + timestamp;
+    }
+}
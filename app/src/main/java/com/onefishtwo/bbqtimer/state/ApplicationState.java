@@ -25,10 +25,22 @@ import android.content.res.Resources;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import com.onefishtwo.bbqtimer.LocaleUtils;
 import com.onefishtwo.bbqtimer.R;
 import com.onefishtwo.bbqtimer.TimeCounter;
+import com.onefishtwo.bbqtimer.history.CookSession;
+import com.onefishtwo.bbqtimer.history.SessionHistory;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * Saves the application's state persistently in SharedPreferences and caches it in a static
@@ -36,7 +48,16 @@ import com.onefishtwo.bbqtimer.TimeCounter;
  *
  * This does not currently provide listener notifications.<p/>
  *
- * The setters only update the state in memory. Call {@link #save} to persist the changes.
+ * The setters only update the state in memory. Call {@link #save} to persist the changes.<p/>
+ *
+ * The settings live in an immutable {@link Settings} snapshot that each setter swaps in
+ * atomically, like the {@link TimeCounter}'s state. The getters each read the current snapshot,
+ * so a reader that needs several settings consistently, e.g. with the timer state or from another
+ * thread, should read them from one {@link #snapshot()} and one {@link TimeCounter#snapshot()}.
+ * <p/>
+ *
+ * The recipes live in a separate {@link RecipeBook} file that's only read when something asks for
+ * them and only written when they change.
  */
 public class ApplicationState {
     private static final String TAG = "ApplicationState";
@@ -44,6 +65,14 @@ public class ApplicationState {
     public static final int MINIMUM_ALARM_SECONDS = 5;
     public static final int MAXIMUM_ALARM_SECONDS = 100 * 3600 - 1; // 99:59:59
 
+    /** The reminder warm-up time when enabled. See {@link #getWarmUpSeconds()}. */
+    public static final int DEFAULT_WARM_UP_SECONDS = 3;
+    /**
+     * The maximum reminder warm-up time. It has to stay well under the 10 second timeout for a
+     * foreground broadcast that's kept alive via goAsync().
+     */
+    public static final int MAXIMUM_WARM_UP_SECONDS = 5;
+
     /** Locale-independent, resource-independent fallback for the recipe list. */
     public static final String FALLBACK_RECIPES = ":30\n1\n1:30\n2\n3\n4\n5\n6\n7\n8\n9\n10";
 
@@ -54,14 +83,142 @@ public class ApplicationState {
     // psf String PREF_MAIN_ACTIVITY_IS_VISIBLE = "App_mainActivityIsVisible"; // Deleted ID
     private static final String PREF_ENABLE_REMINDERS = "App_enableReminders";
     private static final String PREF_SECONDS_PER_REMINDER = "App_secondsPerReminder";
-    private static final String PREF_RECIPES = "App_recipes";
+    private static final String PREF_RECIPES = "App_recipes"; // migrated to RecipeBook
+    private static final String PREF_RECIPE_IN_USE = "App_recipeInUse";
+    private static final String PREF_WARM_UP_SECONDS = "App_warmUpSeconds";
+    private static final String PREF_KITCHEN_DISPLAY = "App_kitchenDisplay";
+    private static final String PREF_KITCHEN_DISPLAY_CODE = "App_kitchenDisplayCode";
+
+    /**
+     * An immutable snapshot of the settings. Each setter swaps in a new one, so a reader that takes
+     * one snapshot sees the settings consistently without locking.
+     */
+    public static final class Settings {
+        static final Settings DEFAULTS = new Settings(true, 5 * 60, "", 0, false, "");
+
+        private final boolean enableReminders;
+        private final int secondsPerReminder;
+        @NonNull
+        private final String recipeInUse;
+        private final int warmUpSeconds;
+        private final boolean kitchenDisplay;
+        @NonNull
+        private final String kitchenDisplayCode;
+
+        private Settings(boolean _enableReminders, int _secondsPerReminder,
+                @NonNull String _recipeInUse, int _warmUpSeconds, boolean _kitchenDisplay,
+                @NonNull String _kitchenDisplayCode) {
+            enableReminders = _enableReminders;
+            secondsPerReminder = boundIntervalTimeSeconds(_secondsPerReminder);
+            recipeInUse = _recipeInUse;
+            warmUpSeconds = Math.min(Math.max(_warmUpSeconds, 0), MAXIMUM_WARM_UP_SECONDS);
+            kitchenDisplay = _kitchenDisplay;
+            kitchenDisplayCode = _kitchenDisplay && _kitchenDisplayCode.isEmpty()
+                    ? newKitchenDisplayCode() : _kitchenDisplayCode;
+        }
+
+        /** Returns a boolean indicating whether periodic reminders are enabled. */
+        public boolean isEnableReminders() {
+            return enableReminders;
+        }
+
+        /** Returns the number of seconds between periodic reminder alarms. */
+        public int getSecondsPerReminder() {
+            return secondsPerReminder;
+        }
+
+        /** Returns the number of milliseconds between periodic reminder alarms. */
+        public long getMillisecondsPerReminder() {
+            return secondsPerReminder * 1000L;
+        }
+
+        /**
+         * Returns the number of milliseconds until the next periodic reminder (assuming enabled)
+         * at the given timer elapsed time, e.g. from a {@link TimeCounter.Snapshot}.
+         */
+        public long getMillisecondsToNextAlarm(long elapsedTime) {
+            long period = getMillisecondsPerReminder();
+
+            return Math.max(period - elapsedTime % period + 999, 0);
+        }
+
+        /** Formats the reminder interval time like h:mm:ss. */
+        @NonNull
+        public String formatIntervalTimeHhMmSs() {
+            return TimeCounter.formatHhMmSs(getMillisecondsPerReminder());
+        }
+
+        /** Gets the recipe line the user picked for the reminder interval, or "" if none. */
+        @NonNull
+        public String getRecipeInUse() {
+            return recipeInUse;
+        }
+
+        /** Returns the reminder warm-up time in seconds, or 0 to not warm up. */
+        public int getWarmUpSeconds() {
+            return warmUpSeconds;
+        }
+
+        /** Returns true if the user opted in to serving kitchen display clients. */
+        public boolean isKitchenDisplay() {
+            return kitchenDisplay;
+        }
+
+        /** Returns the kitchen display pairing code, or "" if the user never opted in. */
+        @NonNull
+        public String getKitchenDisplayCode() {
+            return kitchenDisplayCode;
+        }
+
+        @NonNull
+        Settings withEnableReminders(boolean _enableReminders) {
+            return new Settings(_enableReminders, secondsPerReminder, recipeInUse, warmUpSeconds,
+                    kitchenDisplay, kitchenDisplayCode);
+        }
+
+        @NonNull
+        Settings withSecondsPerReminder(int _secondsPerReminder) {
+            return new Settings(enableReminders, _secondsPerReminder, recipeInUse, warmUpSeconds,
+                    kitchenDisplay, kitchenDisplayCode);
+        }
+
+        @NonNull
+        Settings withRecipeInUse(@NonNull String _recipeInUse) {
+            return new Settings(enableReminders, secondsPerReminder, _recipeInUse, warmUpSeconds,
+                    kitchenDisplay, kitchenDisplayCode);
+        }
+
+        @NonNull
+        Settings withWarmUpSeconds(int _warmUpSeconds) {
+            return new Settings(enableReminders, secondsPerReminder, recipeInUse, _warmUpSeconds,
+                    kitchenDisplay, kitchenDisplayCode);
+        }
+
+        /** Opting in picks a new pairing code, so displays paired before have to pair again. */
+        @NonNull
+        Settings withKitchenDisplay(boolean _kitchenDisplay) {
+            if (_kitchenDisplay == kitchenDisplay) {
+                return this;
+            }
+            return new Settings(enableReminders, secondsPerReminder, recipeInUse, warmUpSeconds,
+                    _kitchenDisplay, _kitchenDisplay ? "" : kitchenDisplayCode);
+        }
+    }
 
     private static volatile ApplicationState sharedInstance;
 
-    private final TimeCounter timeCounter = new TimeCounter();
-    private boolean enableReminders;
-    private int secondsPerReminder;
-    private String recipes = FALLBACK_RECIPES;
+    @NonNull
+    private final TimeCounter timeCounter;
+    @NonNull
+    private final AtomicReference<Settings> settings = new AtomicReference<>(Settings.DEFAULTS);
+    /** The recipes file, or null if this instance wasn't loaded from a Context. */
+    @Nullable
+    private volatile RecipeBook recipeBook;
+    /** The recipe text if there's no recipeBook. */
+    @NonNull
+    private volatile String recipes = FALLBACK_RECIPES;
+    /** Writes the recipes file off the caller's thread, in order. */
+    private final ExecutorService recipeWriter = Executors.newSingleThreadExecutor();
 
     /**
      * Returns the shared instance, using context to load the persistent state if needed and to save
@@ -93,6 +250,13 @@ public class ApplicationState {
     }
 
     private ApplicationState() {
+        this(new TimeCounter());
+    }
+
+    /** Constructs an unsaved ApplicationState around the given TimeCounter, for testing. */
+    @VisibleForTesting
+    public ApplicationState(@NonNull TimeCounter _timeCounter) {
+        timeCounter = _timeCounter;
     }
 
     /** Clips the given interval time in seconds to sane bounds. */
@@ -113,16 +277,54 @@ public class ApplicationState {
                 context.getSharedPreferences(APPLICATION_PREF_FILE, Context.MODE_PRIVATE);
 
         boolean needToSave    = timeCounter.load(prefs);
-        enableReminders       = prefs.getBoolean(PREF_ENABLE_REMINDERS, true);
-        int secs              = prefs.getInt(PREF_SECONDS_PER_REMINDER, 5 * 60);
-        secondsPerReminder    = boundIntervalTimeSeconds(secs);
+        settings.set(new Settings(
+                prefs.getBoolean(PREF_ENABLE_REMINDERS, true),
+                prefs.getInt(PREF_SECONDS_PER_REMINDER, 5 * 60),
+                prefs.getString(PREF_RECIPE_IN_USE, ""),
+                prefs.getInt(PREF_WARM_UP_SECONDS, 0),
+                prefs.getBoolean(PREF_KITCHEN_DISPLAY, false),
+                prefs.getString(PREF_KITCHEN_DISPLAY_CODE, "")));
 
-        String defaultRecipes = getDefaultRecipes(context);
-        recipes               = prefs.getString(PREF_RECIPES, defaultRecipes);
+        recipeBook = RecipeBook.sharedInstance(context);
+        migrateRecipes(prefs);
 
         return needToSave;
     }
 
+    /**
+     * Moves the recipes from where older versions kept them in SharedPreferences to the
+     * RecipeBook, once. It keeps them in SharedPreferences until they're safely written, so a
+     * failed write retries at the next load (and meanwhile at the next save).
+     */
+    private void migrateRecipes(@NonNull SharedPreferences prefs) {
+        String legacyRecipes = prefs.getString(PREF_RECIPES, null);
+        RecipeBook recipeBook = this.recipeBook;
+
+        if (legacyRecipes != null && recipeBook != null) {
+            try {
+                if (!recipeBook.exists()) {
+                    recipeBook.setUnsavedText(legacyRecipes);
+                }
+                recipeBook.flush();
+            } catch (IOException e) {
+                Log.e(TAG, "Couldn't move the recipes to their own file", e);
+                return;
+            }
+
+            prefs.edit().remove(PREF_RECIPES).apply();
+            Log.i(TAG, "Moved the recipes to their own file");
+        }
+    }
+
+    /** Writes the recipes file if the recipes changed. A failed write retries at the next save. */
+    private static void saveRecipes(@NonNull RecipeBook recipeBook) {
+        try {
+            recipeBook.flush();
+        } catch (IOException e) {
+            Log.e(TAG, "Couldn't save the recipes", e);
+        }
+    }
+
     /** Returns the default recipes text using °F or °C per the current locale. */
     @NonNull
     public static String getDefaultRecipes(@NonNull Context context) {
@@ -135,33 +337,76 @@ public class ApplicationState {
         }
     }
 
-    /** Saves persistent state using context. */
+    /**
+     * Saves persistent state using context, and records the timer run (if any) that just ended in
+     * the {@link SessionHistory}. Like SharedPreferences.apply(), it writes any changed recipes
+     * file in the background; the {@link RecipeBook} serves the new recipes meanwhile.
+     */
     public void save(@NonNull Context context) {
         SharedPreferences prefs =
                 context.getSharedPreferences(APPLICATION_PREF_FILE, Context.MODE_PRIVATE);
         SharedPreferences.Editor prefsEditor = prefs.edit();
+        Settings s = snapshot();
+        RecipeBook recipeBook = this.recipeBook;
 
         timeCounter.save(prefsEditor);
-        prefsEditor.putBoolean(PREF_ENABLE_REMINDERS, enableReminders);
-        prefsEditor.putInt(PREF_SECONDS_PER_REMINDER, secondsPerReminder);
-        prefsEditor.putString(PREF_RECIPES, recipes);
+        prefsEditor.putBoolean(PREF_ENABLE_REMINDERS, s.enableReminders);
+        prefsEditor.putInt(PREF_SECONDS_PER_REMINDER, s.secondsPerReminder);
+        prefsEditor.putString(PREF_RECIPE_IN_USE, s.recipeInUse);
+        prefsEditor.putInt(PREF_WARM_UP_SECONDS, s.warmUpSeconds);
+        prefsEditor.putBoolean(PREF_KITCHEN_DISPLAY, s.kitchenDisplay);
+        prefsEditor.putString(PREF_KITCHEN_DISPLAY_CODE, s.kitchenDisplayCode);
         prefsEditor.apply();
+
+        if (recipeBook != null && recipeBook.hasUnsavedText()) {
+            recipeWriter.execute(() -> saveRecipes(recipeBook));
+        }
+
+        CookSession endedRun = timeCounter.takeEndedRun(s.recipeInUse);
+        if (endedRun != null) {
+            SessionHistory.sharedInstance(context).record(endedRun);
+        }
     }
 
     /**
      * Returns the shared TimeCounter instance.<p/>
      *
      * NOTE: The TimeCounter is a shared, mutable object. After updating it, call {@link #save} to
-     * save it persistently.
+     * save it persistently. To read several of its properties consistently, e.g. from another
+     * thread, read them from one {@link TimeCounter#snapshot()}.
      */
     @NonNull
     public TimeCounter getTimeCounter() {
         return timeCounter;
     }
 
+    /**
+     * Returns the current settings snapshot. Read several settings from one snapshot to get a
+     * consistent view of them. This doesn't lock or allocate.
+     */
+    @NonNull
+    public Settings snapshot() {
+        return settings.get();
+    }
+
+    /**
+     * Atomically applies a change to the current settings snapshot, retrying if another thread
+     * changed them in the meantime.
+     */
+    private void transition(@NonNull UnaryOperator<Settings> function) {
+        while (true) {
+            Settings previous = settings.get();
+            Settings next = function.apply(previous);
+
+            if (next == previous || settings.compareAndSet(previous, next)) {
+                return;
+            }
+        }
+    }
+
     /** Returns a boolean indicating whether periodic reminders are enabled. */
     public boolean isEnableReminders() {
-        return enableReminders;
+        return snapshot().isEnableReminders();
     }
 
     /**
@@ -169,26 +414,30 @@ public class ApplicationState {
      * save it.
      */
     public void setEnableReminders(boolean _enableReminders) {
-        this.enableReminders = _enableReminders;
+        transition(s -> s.withEnableReminders(_enableReminders));
     }
 
     /** Returns the number of seconds between periodic reminder alarms. */
     public int getSecondsPerReminder() {
-        return secondsPerReminder;
+        return snapshot().getSecondsPerReminder();
     }
 
     /** Returns the number of milliseconds between periodic reminder alarms. */
     public long getMillisecondsPerReminder() {
-        return getSecondsPerReminder() * 1000L;
+        return snapshot().getMillisecondsPerReminder();
     }
 
     /** Returns the number of milliseconds until the next periodic reminder (assuming enabled). */
     public long getMillisecondsToNextAlarm() {
-        long period = getMillisecondsPerReminder();
-        TimeCounter timer = getTimeCounter();
-        long elapsedTime = timer.getElapsedTime();
+        return getMillisecondsToNextAlarm(getTimeCounter().getElapsedTime());
+    }
 
-        return Math.max(period - elapsedTime % period + 999, 0);
+    /**
+     * Returns the number of milliseconds until the next periodic reminder (assuming enabled) at
+     * the given timer elapsed time, e.g. from a {@link TimeCounter.Snapshot}.
+     */
+    public long getMillisecondsToNextAlarm(long elapsedTime) {
+        return snapshot().getMillisecondsToNextAlarm(elapsedTime);
     }
 
     /**
@@ -197,13 +446,13 @@ public class ApplicationState {
      * Call {@link #save} to save the updated state.
      */
     public void setSecondsPerReminder(int _secondsPerReminder) {
-        this.secondsPerReminder = boundIntervalTimeSeconds(_secondsPerReminder);
+        transition(s -> s.withSecondsPerReminder(_secondsPerReminder));
     }
 
     /** Formats the reminder interval time like h:mm:ss. */
     @NonNull
     public String formatIntervalTimeHhMmSs() {
-        return TimeCounter.formatHhMmSs(getMillisecondsPerReminder());
+        return snapshot().formatIntervalTimeHhMmSs();
     }
 
     /**
@@ -212,17 +461,99 @@ public class ApplicationState {
      */
     @NonNull
     public String formatIntervalTimeHhMmSsCompact() {
-        return TimeCounter.formatHhMmSsCompact(getMillisecondsPerReminder());
+        return TimeCounter.formatHhMmSsCompact(snapshot().getMillisecondsPerReminder());
     }
 
-    /** Gets the recipe text. */
+    /** Gets the recipe text, reading the recipes file the first time. */
     @NonNull
     public String getRecipes() {
-        return recipes;
+        RecipeBook recipeBook = this.recipeBook;
+
+        return recipeBook != null ? recipeBook.getText() : recipes;
     }
 
-    /** Sets the recipe text. */
+    /**
+     * Returns the {@link RecipeBook} that holds the recipes, for streaming a large recipe book in
+     * or out line by line, or null if this instance wasn't loaded from a Context.
+     */
+    @Nullable
+    public RecipeBook getRecipeBook() {
+        return recipeBook;
+    }
+
+    /**
+     * Sets the recipe text in the {@link RecipeBook}, where all its readers see it right away.
+     * Call {@link #save} to save it, which writes the recipes file only if the text changed.
+     */
     public void setRecipes(@NonNull String text) {
-        recipes = text;
+        RecipeBook recipeBook = this.recipeBook;
+
+        if (recipeBook != null) {
+            recipeBook.setUnsavedText(text);
+        } else {
+            recipes = text;
+        }
+    }
+
+    /** Gets the recipe line the user picked for the reminder interval, or "" if none. */
+    @NonNull
+    public String getRecipeInUse() {
+        return snapshot().getRecipeInUse();
+    }
+
+    /**
+     * Sets the recipe line the user picked for the reminder interval, or "" if the user typed in
+     * the interval time. The session history records it with each cook.
+     */
+    public void setRecipeInUse(@NonNull String recipe) {
+        transition(s -> s.withRecipeInUse(recipe));
+    }
+
+    /**
+     * Returns how many seconds before each reminder to wake up and prepare the reminder
+     * notification, so it can sound from a warm process right at the deadline, or 0 to not warm
+     * up.
+     */
+    public int getWarmUpSeconds() {
+        return snapshot().getWarmUpSeconds();
+    }
+
+    /**
+     * Sets the reminder warm-up time in seconds, within limits, or 0 to disable warming up. Call
+     * {@link #save} to save it.
+     */
+    public void setWarmUpSeconds(int _warmUpSeconds) {
+        transition(s -> s.withWarmUpSeconds(_warmUpSeconds));
+    }
+
+    /**
+     * Returns true if the user opted in to serving the timer state to kitchen display clients on
+     * the local network.
+     */
+    public boolean isKitchenDisplay() {
+        return snapshot().isKitchenDisplay();
+    }
+
+    /**
+     * Sets the kitchen display opt-in. Opting in picks a new pairing code, so displays paired
+     * before have to pair again. Call {@link #save} to save it.
+     */
+    public void setKitchenDisplay(boolean _kitchenDisplay) {
+        transition(s -> s.withKitchenDisplay(_kitchenDisplay));
+    }
+
+    /**
+     * Returns the pairing code that kitchen display clients must send before the server streams
+     * the timer state to them, or "" if the user never opted in.
+     */
+    @NonNull
+    public String getKitchenDisplayCode() {
+        return snapshot().getKitchenDisplayCode();
+    }
+
+    /** Returns a random 6-digit pairing code. */
+    @NonNull
+    private static String newKitchenDisplayCode() {
+        return String.format(Locale.US, "%06d", new SecureRandom().nextInt(1_000_000));
     }
 }
@@ -0,0 +1,656 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+
+package com.onefishtwo.bbqtimer.state;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.onefishtwo.bbqtimer.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Stores the recipe text in its own file, apart from the SharedPreferences that get rewritten on
+ * every timer state change.<p/>
+ *
+ * The file starts with a small index of line offsets, then the UTF-8 text, so {@link #getLine}
+ * can read one line without reading or parsing the rest. Nothing gets read until the first call
+ * that needs it.<p/>
+ *
+ * {@link #setUnsavedText} changes the text in memory right away, so every reader sees it at once,
+ * and leaves it to {@link #flush} to write the file, e.g. in the background, only if the text
+ * changed.<p/>
+ *
+ * Until the user edits the recipes there is no file; this serves the locale-dependent default
+ * text instead.<p/>
+ *
+ * A {@link Writer} streams a whole new recipe text into place, e.g. for a large import.
+ */
+public class RecipeBook {
+    private static final String TAG = "RecipeBook";
+
+    /** PERSISTENT STATE filename, in the app's files directory. */
+    static final String RECIPES_FILE = "recipes.txt";
+
+    /**
+     * PERSISTENT STATE format: MAGIC, VERSION, lineCount, lineCount + 1 line start offsets
+     * relative to the text (the last one is the text length + 1, as if the text ended with a
+     * newline), then the text in UTF-8.
+     */
+    private static final int MAGIC = 0x42425254; // "BBRT"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 3;
+
+    private static volatile RecipeBook sharedInstance;
+
+    @NonNull
+    private final File file;
+    @NonNull
+    private final Supplier<String> defaultText;
+    @NonNull
+    private final Logger logger;
+
+    // The rest is guarded by "this" and loaded on demand.
+    @Nullable
+    private String text;
+    /** The line start offsets into the text's UTF-8 bytes, with an end sentinel. */
+    @Nullable
+    private int[] lineStarts;
+    /** The default text's UTF-8 bytes when there's no file, else null. */
+    @Nullable
+    private byte[] defaultBytes;
+    /** The text's UTF-8 bytes when it's newer than the file, else null. */
+    @Nullable
+    private byte[] unsavedBytes;
+    /** Counts the text changes. */
+    private int version;
+
+    /** Orders the file writes. Take it before "this". */
+    private final Object writeLock = new Object();
+
+    /**
+     * Returns the shared instance, which stores its file in the app's files directory and defaults
+     * to {@link ApplicationState#getDefaultRecipes}.
+     */
+    @NonNull
+    public static RecipeBook sharedInstance(@NonNull Context context) {
+        if (sharedInstance == null) {
+            //noinspection SynchronizeOnThis
+            synchronized (RecipeBook.class) {
+                if (sharedInstance == null) {
+                    Context appContext = context.getApplicationContext();
+                    File file = new File(context.getFilesDir(), RECIPES_FILE);
+
+                    sharedInstance = new RecipeBook(file,
+                            () -> ApplicationState.getDefaultRecipes(appContext), Logger.ANDROID);
+                }
+            }
+        }
+
+        return sharedInstance;
+    }
+
+    /**
+     * @param _file the recipes file; it needn't exist yet
+     * @param _defaultText supplies the text to use while the file doesn't exist
+     * @param _logger logs errors, e.g. {@link Logger#ANDROID}
+     */
+    public RecipeBook(@NonNull File _file, @NonNull Supplier<String> _defaultText,
+            @NonNull Logger _logger) {
+        this.file = _file;
+        this.defaultText = _defaultText;
+        this.logger = _logger;
+    }
+
+    /** Returns a number that changes whenever the text changes, to tell when to refresh views. */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /** Returns true if the recipes file exists, that is, the recipes aren't the defaults. */
+    public synchronized boolean exists() {
+        return defaultBytes == null && (unsavedBytes != null || file.exists());
+    }
+
+    /** Returns true if the text changed since the last write, so {@link #flush} has work to do. */
+    public synchronized boolean hasUnsavedText() {
+        return unsavedBytes != null;
+    }
+
+    /** Returns the text's UTF-8 bytes if they're in memory instead of in the file, else null. */
+    @Nullable
+    private byte[] memoryBytes() {
+        return defaultBytes != null ? defaultBytes : unsavedBytes;
+    }
+
+    /** Returns the whole recipe text, reading it the first time. */
+    @NonNull
+    public synchronized String getText() {
+        if (text == null) {
+            ensureIndex();
+
+            if (defaultBytes != null) {
+                text = new String(defaultBytes, StandardCharsets.UTF_8);
+            } else {
+                text = readText();
+            }
+        }
+
+        return text;
+    }
+
+    /** Returns the number of lines. A text without any newlines has 1 line. */
+    public synchronized int getLineCount() {
+        ensureIndex();
+        return lineStarts.length - 1;
+    }
+
+    /** Returns the length of the text in UTF-8 bytes, which is at least its length in chars. */
+    public synchronized int getByteLength() {
+        ensureIndex();
+        return lineStarts[lineStarts.length - 1] - 1;
+    }
+
+    /**
+     * Returns line number lineNumber, without its newline, reading just that line from the file
+     * if the text isn't in memory.
+     *
+     * @throws IndexOutOfBoundsException if lineNumber isn't in [0 .. getLineCount()).
+     */
+    @NonNull
+    public synchronized String getLine(int lineNumber) {
+        ensureIndex();
+        byte[] bytes = memoryBytes();
+
+        try (RandomAccessFile in = bytes != null ? null : new RandomAccessFile(file, "r")) {
+            return readLine(lineStarts, bytes, in, lineNumber);
+        } catch (IOException e) {
+            logger.e(TAG, "Couldn't read recipe line " + lineNumber, e);
+            return "";
+        }
+    }
+
+    /**
+     * Reads line number lineNumber from the text's bytes if given, else from the recipes file.
+     *
+     * @throws IndexOutOfBoundsException if lineNumber isn't in [0 .. line count).
+     */
+    @NonNull
+    private static String readLine(@NonNull int[] starts, @Nullable byte[] bytes,
+            @Nullable RandomAccessFile in, int lineNumber) throws IOException {
+        int lineCount = starts.length - 1;
+
+        if (lineNumber < 0 || lineNumber >= lineCount) {
+            throw new IndexOutOfBoundsException("line " + lineNumber + " of " + lineCount);
+        }
+
+        int start = starts[lineNumber];
+        int length = starts[lineNumber + 1] - 1 - start;
+
+        if (bytes != null || in == null) {
+            return bytes == null ? "" : new String(bytes, start, length, StandardCharsets.UTF_8);
+        }
+
+        byte[] line = new byte[length];
+        in.seek(headerBytes(lineCount) + start);
+        in.readFully(line);
+        return new String(line, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens a read-only {@link Snapshot} of the current text that doesn't change when the book
+     * does, so e.g. an editor can keep reading the unedited lines of the text it started from.
+     * It holds the recipes file open, which keeps that version readable after a write renames a
+     * new file over it, or copies the text into memory if it can't.
+     */
+    @NonNull
+    public synchronized Snapshot openSnapshot() {
+        ensureIndex();
+        byte[] bytes = memoryBytes();
+
+        if (bytes == null) {
+            try {
+                return new Snapshot(version, lineStarts, null, new RandomAccessFile(file, "r"),
+                        logger);
+            } catch (IOException e) {
+                logger.e(TAG, "Couldn't open the recipes file; copying the text", e);
+            }
+            bytes = getText().getBytes(StandardCharsets.UTF_8);
+        }
+
+        return new Snapshot(version, indexLines(bytes), bytes, null, logger);
+    }
+
+    /** An unchanging version of the recipe text, from {@link #openSnapshot()}. Close it. */
+    public static final class Snapshot implements Closeable {
+        private final int version;
+        @NonNull
+        private final int[] lineStarts;
+        @Nullable
+        private final byte[] bytes;
+        @NonNull
+        private final Logger logger;
+        @Nullable
+        private RandomAccessFile in;
+
+        private Snapshot(int _version, @NonNull int[] _lineStarts, @Nullable byte[] _bytes,
+                @Nullable RandomAccessFile _in, @NonNull Logger _logger) {
+            version = _version;
+            lineStarts = _lineStarts;
+            bytes = _bytes;
+            in = _in;
+            logger = _logger;
+        }
+
+        /** Returns the book's {@link RecipeBook#getVersion()} this is a snapshot of. */
+        public int getVersion() {
+            return version;
+        }
+
+        public int getLineCount() {
+            return lineStarts.length - 1;
+        }
+
+        /**
+         * Returns line number lineNumber, without its newline, or "" after closing.
+         *
+         * @throws IndexOutOfBoundsException if lineNumber isn't in [0 .. getLineCount()).
+         */
+        @NonNull
+        public synchronized String getLine(int lineNumber) {
+            try {
+                return readLine(lineStarts, bytes, in, lineNumber);
+            } catch (IOException e) {
+                logger.e(TAG, "Couldn't read recipe line " + lineNumber, e);
+                return "";
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    logger.w(TAG, "close() failed", e);
+                }
+                in = null;
+            }
+        }
+    }
+
+    /**
+     * Sets the recipe text in memory, where all readers see it right away. Call {@link #flush} to
+     * write it to the file.
+     *
+     * @return true if the text changed.
+     */
+    public synchronized boolean setUnsavedText(@NonNull String _text) {
+        if (_text.equals(getText())) {
+            return false;
+        }
+
+        byte[] bytes = _text.getBytes(StandardCharsets.UTF_8);
+
+        text = _text;
+        lineStarts = indexLines(bytes);
+        defaultBytes = null;
+        unsavedBytes = bytes;
+        ++version;
+        return true;
+    }
+
+    /**
+     * Writes the text set by {@link #setUnsavedText} to the file, if any. Readers needn't wait
+     * for it since they read the unsaved text from memory meanwhile. Call it on a worker thread.
+     *
+     * @throws IOException if it couldn't write the file, leaving the text unsaved to retry.
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            byte[] bytes;
+            int[] starts;
+            int writing;
+
+            synchronized (this) {
+                if (unsavedBytes == null) {
+                    return;
+                }
+                bytes = unsavedBytes;
+                starts = lineStarts;
+                writing = version;
+            }
+
+            write(bytes, starts);
+
+            synchronized (this) {
+                if (version == writing) { // else it changed again meanwhile
+                    unsavedBytes = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a Writer to stream a new recipe text into a temp file. Its {@link Writer#commit}
+     * replaces this book's text.
+     */
+    @NonNull
+    public Writer newWriter() throws IOException {
+        return new Writer();
+    }
+
+    /**
+     * Drops the loaded text and index, e.g. to free memory, unless they're unsaved. The next
+     * access rereads them.
+     */
+    public synchronized void unload() {
+        if (unsavedBytes != null) {
+            return;
+        }
+        text = null;
+        lineStarts = null;
+        defaultBytes = null;
+    }
+
+    private static int headerBytes(int lineCount) {
+        return 4 * (HEADER_INTS + lineCount + 1);
+    }
+
+    /** Finds the line start offsets in the UTF-8 text. */
+    @VisibleForTesting
+    @NonNull
+    static int[] indexLines(@NonNull byte[] bytes) {
+        int count = 1;
+
+        for (byte b : bytes) {
+            if (b == '\n') {
+                ++count;
+            }
+        }
+
+        int[] starts = new int[count + 1];
+        int line = 1;
+
+        for (int i = 0; i < bytes.length; ++i) {
+            if (bytes[i] == '\n') {
+                starts[line++] = i + 1;
+            }
+        }
+        starts[count] = bytes.length + 1;
+        return starts;
+    }
+
+    /** Loads the line index from the file header, or indexes the default text if no file. */
+    private void ensureIndex() {
+        if (lineStarts != null) {
+            return;
+        }
+
+        if (file.exists()) {
+            try {
+                lineStarts = readIndex();
+                return;
+            } catch (IOException e) {
+                logger.e(TAG, "Couldn't read the recipes file; using the defaults", e);
+            }
+        }
+
+        defaultBytes = defaultText.get().getBytes(StandardCharsets.UTF_8);
+        lineStarts = indexLines(defaultBytes);
+    }
+
+    /**
+     * Reads the line index with two readFully() calls, the fixed header then the line starts,
+     * rather than 4 one-byte reads per readInt() on the unbuffered file.
+     */
+    @NonNull
+    private int[] readIndex() throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            ByteBuffer header = readInts(in, HEADER_INTS);
+
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Unknown recipes file format");
+            }
+
+            int lineCount = header.getInt();
+            if (lineCount < 1 || headerBytes(lineCount) > in.length()) {
+                throw new IOException("Bad recipes line count " + lineCount);
+            }
+
+            // Each line takes at least its newline, so the starts must increase from 0.
+            IntBuffer table = readInts(in, lineCount + 1).asIntBuffer();
+            int[] starts = new int[lineCount + 1];
+            table.get(starts);
+            for (int i = 0; i <= lineCount; ++i) {
+                if (i == 0 ? starts[i] != 0 : starts[i] <= starts[i - 1]) {
+                    throw new IOException("Bad recipes line start " + starts[i] + " at " + i);
+                }
+            }
+
+            if (headerBytes(lineCount) + starts[lineCount] - 1 != in.length()) {
+                throw new IOException("Recipes file length mismatch");
+            }
+            return starts;
+        }
+    }
+
+    /** Reads count big-endian ints, as DataOutputStream wrote them, in one readFully(). */
+    @NonNull
+    private static ByteBuffer readInts(@NonNull RandomAccessFile in, int count)
+            throws IOException {
+        byte[] bytes = new byte[4 * count];
+
+        in.readFully(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    @NonNull
+    private String readText() {
+        int lineCount = lineStarts.length - 1;
+        byte[] bytes = new byte[lineStarts[lineCount] - 1];
+
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            in.seek(headerBytes(lineCount));
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.e(TAG, "Couldn't read the recipes", e);
+            return defaultText.get();
+        }
+    }
+
+    @NonNull
+    private File tempFile() {
+        return new File(file.getPath() + ".tmp");
+    }
+
+    /**
+     * Writes the index and text to a temp file, syncs it to storage, then renames it over the old
+     * one. Without the sync, a power loss soon after the rename could leave an empty or short file,
+     * and readIndex() would then fall back to the defaults, losing the user's recipes.
+     */
+    private void write(@NonNull byte[] bytes, @NonNull int[] starts) throws IOException {
+        File temp = tempFile();
+
+        try {
+            FileOutputStream stream = new FileOutputStream(temp);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                writeHeader(out, starts, starts.length);
+                out.write(bytes);
+                out.flush();
+                stream.getFD().sync();
+            }
+
+            renameOver(temp);
+        } catch (IOException e) {
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            throw e;
+        }
+    }
+
+    /** Writes the header given startCount line starts, the last being the end sentinel. */
+    private static void writeHeader(@NonNull DataOutputStream out, @NonNull int[] starts,
+            int startCount) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(startCount - 1);
+        for (int i = 0; i < startCount; ++i) {
+            out.writeInt(starts[i]);
+        }
+    }
+
+    private void renameOver(@NonNull File temp) throws IOException {
+        if (!temp.renameTo(file)) {
+            throw new IOException("Couldn't rename " + temp);
+        }
+    }
+
+    /**
+     * Streams lines of a new recipe text to a temp file, keeping just the line index in memory
+     * (4 bytes per line), then {@link #commit} writes the recipes file from it. Use it on one
+     * thread, and close it when done.
+     */
+    public final class Writer implements Closeable {
+        @NonNull
+        private final File bodyFile = new File(file.getPath() + ".body");
+        @NonNull
+        private final OutputStream body;
+        private int[] starts = new int[256];
+        private int lineCount;
+        private int length = -1; // the byte length so far, -1 for no lines
+        private boolean closed;
+
+        private Writer() throws IOException {
+            body = new BufferedOutputStream(new FileOutputStream(bodyFile));
+        }
+
+        /** Returns the number of lines appended so far. */
+        public int getLineCount() {
+            return lineCount;
+        }
+
+        /** Appends a line. It must not contain a newline. */
+        public void append(@NonNull String line) throws IOException {
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+
+            if (lineCount + 2 > starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+
+            if (length >= 0) {
+                body.write('\n');
+                ++length;
+            } else {
+                length = 0;
+            }
+            starts[lineCount++] = length;
+            body.write(bytes);
+            length += bytes.length;
+        }
+
+        /**
+         * Replaces the book's text with the appended lines, or with one empty line if none were
+         * appended, then closes this Writer. That supersedes any text from
+         * {@link #setUnsavedText} still waiting for {@link #flush}.
+         */
+        public void commit() throws IOException {
+            if (closed) {
+                throw new IOException("Writer closed");
+            }
+
+            if (lineCount == 0) {
+                starts[lineCount++] = 0;
+                length = 0;
+            }
+            starts[lineCount] = length + 1;
+            body.close();
+
+            synchronized (writeLock) {
+                File temp = tempFile();
+                byte[] buffer = new byte[8192];
+
+                try {
+                    FileOutputStream stream = new FileOutputStream(temp);
+
+                    try (DataOutputStream out =
+                                 new DataOutputStream(new BufferedOutputStream(stream));
+                         InputStream in = new FileInputStream(bodyFile)) {
+                        writeHeader(out, starts, lineCount + 1);
+                        for (int n; (n = in.read(buffer)) > 0; ) {
+                            out.write(buffer, 0, n);
+                        }
+                        out.flush();
+                        stream.getFD().sync(); // before the rename; see write()
+                    }
+
+                    synchronized (RecipeBook.this) {
+                        renameOver(temp);
+                        unsavedBytes = null;
+                        unload();
+                        ++version;
+                    }
+                } catch (IOException e) {
+                    //noinspection ResultOfMethodCallIgnored
+                    temp.delete();
+                    throw e;
+                }
+            }
+            close();
+        }
+
+        /** Discards the temp file, and the lines if not committed. */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            try {
+                body.close();
+            } catch (IOException e) {
+                logger.w(TAG, "Couldn't close " + bodyFile, e);
+            }
+            //noinspection ResultOfMethodCallIgnored
+            bodyFile.delete();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+
+package com.onefishtwo.bbqtimer.state;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Imports recipes on a background thread from a text document the user picked via the Storage
+ * Access Framework (e.g. ActivityResultContracts.OpenDocument) into the {@link ApplicationState}'s
+ * {@link RecipeBook}, reporting the outcome on the main thread.
+ */
+public class RecipeImportTask {
+    private static final String TAG = "RecipeImport";
+
+    private static final Executor executor = Executors.newSingleThreadExecutor();
+
+    /** Receives the outcome on the main thread. */
+    public interface Callback {
+        /**
+         * The import finished, got cancelled, or failed.
+         *
+         * @param result what got imported, or null if it failed.
+         * @param error the I/O error if it failed.
+         */
+        @MainThread
+        void onImportFinished(@Nullable RecipeImporter.Result result, @Nullable IOException error);
+    }
+
+    @NonNull
+    private final ContentResolver resolver;
+    @NonNull
+    private final Uri uri;
+    @NonNull
+    private final RecipeBook book;
+    @NonNull
+    private final RecipeImporter.Mode mode;
+    @NonNull
+    private final Callback callback;
+    private final RecipeImporter importer = new RecipeImporter();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** Starts importing the document at uri into the shared ApplicationState's recipes. */
+    @MainThread
+    @NonNull
+    public static RecipeImportTask start(@NonNull Context context, @NonNull Uri uri,
+            @NonNull RecipeImporter.Mode mode, @NonNull Callback callback) {
+        RecipeImportTask task = new RecipeImportTask(context, uri, mode, callback);
+
+        executor.execute(task::run);
+        return task;
+    }
+
+    private RecipeImportTask(@NonNull Context context, @NonNull Uri _uri,
+            @NonNull RecipeImporter.Mode _mode, @NonNull Callback _callback) {
+        resolver = context.getContentResolver();
+        uri = _uri;
+        // Through the loaded ApplicationState, so any legacy recipes got moved into the book first.
+        RecipeBook recipeBook = ApplicationState.sharedInstance(context).getRecipeBook();
+        book = recipeBook != null ? recipeBook : RecipeBook.sharedInstance(context);
+        mode = _mode;
+        callback = _callback;
+    }
+
+    /** Requests cancellation. The callback will still get onImportFinished(). */
+    public void cancel() {
+        importer.cancel();
+    }
+
+    @WorkerThread
+    private void run() {
+        RecipeImporter.Result result = null;
+        IOException error = null;
+
+        try (InputStream stream = resolver.openInputStream(uri)) {
+            if (stream == null) {
+                throw new IOException("Couldn't open " + uri);
+            }
+
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(stream, StandardCharsets.UTF_8));
+            result = importer.importRecipes(in, book, mode);
+            Log.i(TAG, result.toString());
+        } catch (IOException | SecurityException e) {
+            Log.e(TAG, "Import failed", e);
+            error = e instanceof IOException ? (IOException) e : new IOException(e);
+        }
+
+        RecipeImporter.Result finalResult = result;
+        IOException finalError = error;
+        mainHandler.post(() -> callback.onImportFinished(finalResult, finalError));
+    }
+}
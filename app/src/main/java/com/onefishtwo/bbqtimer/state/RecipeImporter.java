@@ -0,0 +1,322 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2026 Jerry Morrison
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+// associated documentation files (the "Software"), to deal in the Software without restriction,
+// including without limitation the rights to use, copy, modify, merge, publish, distribute,
+// sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or
+// substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+// NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+// NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+
+
+package com.onefishtwo.bbqtimer.state;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import com.onefishtwo.bbqtimer.TimeCounter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streams recipe lines from a Reader into a {@link RecipeBook}, validating each line's leading
+ * interval time per {@link TimeCounter#parseHhMmSs} and collecting errors by line number. It holds
+ * one line at a time plus the first {@link #MAX_REPORTED_ERRORS} errors. To skip duplicates it
+ * keeps a 64-bit hash of each recipe rather than the recipe itself, so memory is O(lines) at
+ * 16 to 32 bytes per line, like the RecipeBook's line index, no matter how long the lines are.<p/>
+ *
+ * Call {@link #importRecipes} on a worker thread. Call {@link #cancel} from any thread to stop it
+ * without changing the recipes.
+ */
+public class RecipeImporter {
+    /** Lines longer than this are errors, so a binary file can't blow up memory. */
+    static final int MAX_LINE_CHARS = 500;
+    /** Report the first few errors; count the rest. */
+    static final int MAX_REPORTED_ERRORS = 50;
+
+    /** How the imported recipes combine with the existing ones. */
+    public enum Mode {
+        /** Append the imported recipes that aren't already in the book. */
+        MERGE,
+        /** Replace the book's recipes with the imported ones. */
+        REPLACE
+    }
+
+    /** What's wrong with an imported line. */
+    public enum Problem {
+        /** The line doesn't start with an interval time. */
+        NO_INTERVAL,
+        /** The interval time doesn't parse or is 0. */
+        BAD_INTERVAL,
+        /** The line exceeds {@link #MAX_LINE_CHARS}. */
+        TOO_LONG
+    }
+
+    /** A skipped input line. */
+    public static final class LineError {
+        /** The 1-based input line number. */
+        public final int lineNumber;
+        @NonNull
+        public final Problem problem;
+
+        LineError(int _lineNumber, @NonNull Problem _problem) {
+            lineNumber = _lineNumber;
+            problem = _problem;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "line " + lineNumber + ": " + problem;
+        }
+    }
+
+    /** The outcome of an import. */
+    public static final class Result {
+        /** The number of recipes added to the book. */
+        public final int imported;
+        /** The number of valid recipes that were already in the book (MERGE mode). */
+        public final int duplicates;
+        /** The number of skipped lines. */
+        public final int errorCount;
+        /** The first {@link #MAX_REPORTED_ERRORS} skipped lines. */
+        @NonNull
+        public final List<LineError> errors;
+        /** True if the recipes changed; false if cancelled or nothing valid to import. */
+        public final boolean committed;
+
+        Result(int _imported, int _duplicates, int _errorCount, @NonNull List<LineError> _errors,
+                boolean _committed) {
+            imported = _imported;
+            duplicates = _duplicates;
+            errorCount = _errorCount;
+            errors = Collections.unmodifiableList(_errors);
+            committed = _committed;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "Imported " + imported + " recipes, " + duplicates + " duplicates, "
+                    + errorCount + " errors" + (committed ? "" : ", not committed");
+        }
+    }
+
+    private final StringBuilder line = new StringBuilder(80);
+    private volatile boolean cancelled;
+
+    /** Requests the import to stop without changing the recipes. Callable from any thread. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns what's wrong with the non-blank recipe line, or null if it's OK. A recipe
+     * starts with an interval time that picking it from the recipe menu would accept, that is, a
+     * positive parseHhMmSs() result, and optional notes follow.
+     */
+    @Nullable
+    public static Problem validate(@NonNull String recipe) {
+        int tokenLength = TimeCounter.lengthOfLeadingIntervalTime(recipe);
+        String token = recipe.substring(0, tokenLength).trim();
+
+        if (token.isEmpty() || token.replace(":", "").isEmpty()) {
+            return Problem.NO_INTERVAL;
+        }
+
+        if (TimeCounter.parseHhMmSs(token) <= 0) {
+            return Problem.BAD_INTERVAL;
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads recipe lines from in and, unless cancelled or no line is valid, commits them to book
+     * per mode. Blank lines are ignored, as are recipes already in the book or earlier in in.
+     * MERGE reads the book's current text, including text not yet flushed to its file, and the
+     * commit supersedes that pending write. Doesn't close in.
+     */
+    @WorkerThread
+    @NonNull
+    public Result importRecipes(@NonNull BufferedReader in, @NonNull RecipeBook book,
+            @NonNull Mode mode) throws IOException {
+        List<LineError> errors = new ArrayList<>();
+        LineHashes seen = new LineHashes();
+        int imported = 0;
+        int duplicates = 0;
+        int errorCount = 0;
+        int lineNumber = 0;
+
+        try (RecipeBook.Writer writer = book.newWriter()) {
+            if (mode == Mode.MERGE) {
+                try (RecipeBook.Snapshot existing = book.openSnapshot()) {
+                    int count = existing.getLineCount();
+
+                    // Keep the existing lines verbatim, blank lines and all, unless it's empty.
+                    if (count > 1 || !existing.getLine(0).isEmpty()) {
+                        for (int i = 0; i < count; ++i) {
+                            String recipe = existing.getLine(i);
+
+                            writer.append(recipe);
+                            seen.add(hash(recipe.trim()));
+                        }
+                    }
+                }
+            }
+
+            for (int status; (status = readLine(in)) != EOF; ) {
+                ++lineNumber;
+
+                if (cancelled) {
+                    return new Result(imported, duplicates, errorCount, errors, false);
+                }
+
+                String recipe = status == TOO_LONG ? "" : line.toString().trim();
+                Problem problem = status == TOO_LONG ? Problem.TOO_LONG
+                        : recipe.isEmpty() ? null
+                        : validate(recipe);
+
+                if (problem != null) {
+                    if (errorCount++ < MAX_REPORTED_ERRORS) {
+                        errors.add(new LineError(lineNumber, problem));
+                    }
+                } else if (!recipe.isEmpty()) {
+                    if (seen.add(hash(recipe))) {
+                        writer.append(recipe);
+                        ++imported;
+                    } else {
+                        ++duplicates;
+                    }
+                }
+            }
+
+            boolean commit = imported > 0 && !cancelled;
+            if (commit) {
+                writer.commit();
+            }
+            return new Result(imported, duplicates, errorCount, errors, commit);
+        }
+    }
+
+    /** Returns a 64-bit FNV-1a hash of the recipe. */
+    static long hash(@NonNull String recipe) {
+        long h = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < recipe.length(); ++i) {
+            h ^= recipe.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * An open-addressing set of 64-bit line hashes, kept at most half full. Two different recipes
+     * colliding in 64 bits is too unlikely to matter here; it'd only skip one as a duplicate.
+     */
+    @VisibleForTesting
+    static final class LineHashes {
+        private long[] slots = new long[256]; // 0 marks an empty slot
+        private int size;
+        private boolean hasZero;
+
+        /** Adds hash, returning false if it was already in the set. */
+        boolean add(long hash) {
+            if (hash == 0) {
+                boolean added = !hasZero;
+                hasZero = true;
+                return added;
+            }
+
+            int mask = slots.length - 1;
+            for (int i = slot(hash, mask); ; i = (i + 1) & mask) {
+                if (slots[i] == hash) {
+                    return false;
+                }
+                if (slots[i] == 0) {
+                    slots[i] = hash;
+                    if (++size * 2 > slots.length) {
+                        grow();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        private static int slot(long hash, int mask) {
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private void grow() {
+            long[] old = slots;
+            int mask = old.length * 2 - 1;
+
+            slots = new long[old.length * 2];
+            for (long hash : old) {
+                if (hash != 0) {
+                    int i = slot(hash, mask);
+
+                    while (slots[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = hash;
+                }
+            }
+        }
+    }
+
+    private static final int EOF = -1;
+    private static final int OK = 0;
+    private static final int TOO_LONG = 1;
+
+    /**
+     * Reads a line (ending in \n, \r\n, \r, or EOF) into {@link #line}, up to MAX_LINE_CHARS,
+     * skipping the rest of a longer line. Strips a leading byte order mark.
+     *
+     * @return EOF at the end of input, TOO_LONG for an over-long line, else OK.
+     */
+    private int readLine(@NonNull BufferedReader in) throws IOException {
+        boolean tooLong = false;
+        int c = in.read();
+
+        line.setLength(0);
+        if (c < 0) {
+            return EOF;
+        }
+
+        for (; c >= 0 && c != '\n'; c = in.read()) {
+            if (c == '\r') {
+                in.mark(1);
+                if (in.read() != '\n') {
+                    in.reset();
+                }
+                break;
+            }
+            if (c == '\uFEFF' && line.length() == 0) {
+                continue;
+            }
+            if (line.length() < MAX_LINE_CHARS) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+
+        return tooLong ? TOO_LONG : OK;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An in-memory SharedPreferences for local unit tests, since the unit test version of android.jar
+ * doesn't implement it. Edits take effect on apply() or commit(). Doesn't notify listeners.
+ */
+public class InMemorySharedPreferences implements SharedPreferences {
+    private final Map<String, Object> values = new HashMap<>();
+
+    @NonNull
+    @Override
+    public Map<String, ?> getAll() {
+        return new HashMap<>(values);
+    }
+
+    @Nullable
+    @Override
+    public String getString(String key, @Nullable String defValue) {
+        Object value = values.get(key);
+        return value == null ? defValue : (String) value;
+    }
+
+    @Nullable
+    @Override
+    public Set<String> getStringSet(String key, @Nullable Set<String> defValues) {
+        @SuppressWarnings("unchecked")
+        Set<String> value = (Set<String>) values.get(key);
+        return value == null ? defValues : new HashSet<>(value);
+    }
+
+    @Override
+    public int getInt(String key, int defValue) {
+        Object value = values.get(key);
+        return value == null ? defValue : (Integer) value;
+    }
+
+    @Override
+    public long getLong(String key, long defValue) {
+        Object value = values.get(key);
+        return value == null ? defValue : (Long) value;
+    }
+
+    @Override
+    public float getFloat(String key, float defValue) {
+        Object value = values.get(key);
+        return value == null ? defValue : (Float) value;
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defValue) {
+        Object value = values.get(key);
+        return value == null ? defValue : (Boolean) value;
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    @NonNull
+    @Override
+    public Editor edit() {
+        return new InMemoryEditor();
+    }
+
+    @Override
+    public void registerOnSharedPreferenceChangeListener(
+            OnSharedPreferenceChangeListener listener) {
+    }
+
+    @Override
+    public void unregisterOnSharedPreferenceChangeListener(
+            OnSharedPreferenceChangeListener listener) {
+    }
+
+    private class InMemoryEditor implements Editor {
+        private final Map<String, Object> changes = new HashMap<>();
+        private final Set<String> removals = new HashSet<>();
+        private boolean clear;
+
+        @NonNull
+        private Editor put(String key, @Nullable Object value) {
+            if (value == null) {
+                return remove(key);
+            }
+            changes.put(key, value);
+            removals.remove(key);
+            return this;
+        }
+
+        @NonNull
+        @Override
+        public Editor putString(String key, @Nullable String value) {
+            return put(key, value);
+        }
+
+        @NonNull
+        @Override
+        public Editor putStringSet(String key, @Nullable Set<String> values) {
+            return put(key, values == null ? null : new HashSet<>(values));
+        }
+
+        @NonNull
+        @Override
+        public Editor putInt(String key, int value) {
+            return put(key, value);
+        }
+
+        @NonNull
+        @Override
+        public Editor putLong(String key, long value) {
+            return put(key, value);
+        }
+
+        @NonNull
+        @Override
+        public Editor putFloat(String key, float value) {
+            return put(key, value);
+        }
+
+        @NonNull
+        @Override
+        public Editor putBoolean(String key, boolean value) {
+            return put(key, value);
+        }
+
+        @NonNull
+        @Override
+        public Editor remove(String key) {
+            changes.remove(key);
+            removals.add(key);
+            return this;
+        }
+
+        @NonNull
+        @Override
+        public Editor clear() {
+            clear = true;
+            return this;
+        }
+
+        @Override
+        public boolean commit() {
+            if (clear) {
+                values.clear();
+            }
+            for (String key : removals) {
+                values.remove(key);
+            }
+            values.putAll(changes);
+            return true;
+        }
+
+        @Override
+        public void apply() {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatenessEstimatorTest {
+    @Test
+    public void testMedian() {
+        LatenessEstimator estimator = new LatenessEstimator();
+
+        estimator.add(100);
+        estimator.add(120);
+        assertEquals("too few samples", 0, estimator.getEstimate());
+
+        estimator.add(110);
+        assertEquals(110, estimator.getEstimate());
+
+        estimator.add(9_000); // a one-off delay doesn't drag the median
+        assertEquals(115, estimator.getEstimate());
+        estimator.add(130);
+        assertEquals(120, estimator.getEstimate());
+    }
+
+    @Test
+    public void testOutliersAndClamping() {
+        LatenessEstimator estimator = new LatenessEstimator();
+
+        assertFalse(estimator.add(LatenessEstimator.MAX_SAMPLE_MS + 1));
+        assertEquals(0, estimator.getCount());
+
+        for (int i = 0; i < LatenessEstimator.MIN_SAMPLES; ++i) {
+            assertTrue(estimator.add(-50)); // early deliveries don't compensate negatively
+        }
+        assertEquals(0, estimator.getEstimate());
+
+        for (int i = 0; i < LatenessEstimator.WINDOW; ++i) {
+            estimator.add(5_000);
+        }
+        assertEquals(LatenessEstimator.MAX_COMPENSATION_MS, estimator.getEstimate());
+    }
+
+    @Test
+    public void testRollingWindowAndEncoding() {
+        LatenessEstimator estimator = new LatenessEstimator();
+
+        for (int i = 0; i < LatenessEstimator.WINDOW + 5; ++i) {
+            estimator.add(i);
+        }
+        assertEquals(LatenessEstimator.WINDOW, estimator.getCount());
+
+        String encoded = estimator.encode();
+        assertTrue(encoded, encoded.startsWith("5,6,7,"));
+
+        LatenessEstimator decoded = LatenessEstimator.decode(encoded);
+        assertEquals(encoded, decoded.encode());
+        assertEquals(estimator.getEstimate(), decoded.getEstimate());
+
+        assertEquals(2, LatenessEstimator.decode("10, x,20,").getCount());
+        assertEquals(0, LatenessEstimator.decode(null).getCount());
+    }
+}
@@ -82,4 +82,34 @@ public class LocaleUtilsTest {
         assertEquals("101°C", formatTemperatureFromFahrenheit(212.9)); // 100.5°C
     }
 
+    /** The direct computation that the cached tables must match. */
+    private static String formatDirectly(double fahrenheit) {
+        Locale locale = getDefaultFormatLocale();
+
+        return useFahrenheit(locale)
+                ? String.format(locale, "%.0f°F", fahrenheit)
+                : String.format(locale, "%.0f°C", (fahrenheit - 32.0) * 5 / 9);
+    }
+
+    @Test
+    public void testTemperatureTables() {
+        for (Locale locale : new Locale[] {Locale.US, Locale.GERMANY, SPAIN, BAHAMAS}) {
+            Locale.setDefault(locale);
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+
+            for (int f = LocaleUtils.TABLE_MIN_FAHRENHEIT - 5;
+                 f <= LocaleUtils.TABLE_MAX_FAHRENHEIT + 5; ++f) {
+                assertEquals(formatDirectly(f), formatTemperatureFromFahrenheit(f));
+                assertEquals(Math.round((f - 32.0) * 5 / 9), LocaleUtils.fahrenheitToCelsius(f));
+            }
+        }
+
+        assertEquals("-40°F", formatTemperatureFromFahrenheit(-40));
+        Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+        assertEquals("-40°C", formatTemperatureFromFahrenheit(-40));
+        LocaleUtils.onLocaleChanged();
+        assertEquals("-40°C", formatTemperatureFromFahrenheit(-40));
+        assertEquals("-40°C", formatTemperatureFromFahrenheit(-40.0));
+    }
+
 }
@@ -0,0 +1,46 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class PushCoalescerTest {
+    @Test
+    public void testCoalescing() {
+        PushCoalescer coalescer = new PushCoalescer(250);
+
+        assertEquals("the first push goes now", 0, coalescer.offer(1_000));
+        assertEquals(150, coalescer.offer(1_100));
+        assertEquals(PushCoalescer.PENDING, coalescer.offer(1_200));
+        assertEquals(PushCoalescer.PENDING, coalescer.offer(1_240));
+
+        coalescer.pushPending(1_250);
+        assertEquals(200, coalescer.offer(1_300));
+        coalescer.pushPending(1_500);
+
+        assertEquals("quiet long enough", 0, coalescer.offer(2_000));
+        assertEquals(250, coalescer.offer(2_000));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RecipeLinesTest {
+    private static final String[] SOURCE = {"1 toast", "2 eggs", "3 bacon"};
+
+    private int reads;
+
+    private RecipeLines open() {
+        return new RecipeLines(SOURCE.length, i -> {
+            ++reads;
+            return SOURCE[i];
+        });
+    }
+
+    @Test
+    public void testLazyReads() {
+        RecipeLines lines = open();
+
+        assertEquals(3, lines.size());
+        assertEquals(0, reads);
+        assertEquals("2 eggs", lines.get(1));
+        assertEquals(1, reads);
+        assertFalse(lines.isChanged());
+        assertEquals("1 toast\n2 eggs\n3 bacon", lines.join(SOURCE));
+        assertEquals("didn't read lines it was given", 1, reads);
+    }
+
+    @Test
+    public void testEdits() {
+        RecipeLines lines = open();
+        long toastId = lines.getId(0);
+
+        lines.set(1, "2 eggs");
+        lines.set(1, "4 eggs");
+        lines.insert(3, ":30 coffee");
+        lines.move(0, 2);
+        lines.remove(0);
+
+        assertTrue(lines.isChanged());
+        assertEquals("3 bacon\n1 toast\n:30 coffee", lines.join(null));
+        assertEquals("stable ID", toastId, lines.getId(1));
+        assertNotEquals(lines.getId(1), lines.getId(2));
+
+        lines.move(2, 0);
+        assertEquals(":30 coffee\n3 bacon\n1 toast", lines.join(SOURCE));
+    }
+}
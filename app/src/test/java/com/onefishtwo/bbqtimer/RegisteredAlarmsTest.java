@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.onefishtwo.bbqtimer.ReminderAccuracy.Tier;
+
+import org.junit.Test;
+
+public class RegisteredAlarmsTest {
+    private final InMemorySharedPreferences prefs = new InMemorySharedPreferences();
+
+    @Test
+    public void testRecordAndClear() {
+        RegisteredAlarms registered = new RegisteredAlarms(prefs, 3);
+        RegisteredAlarms.Alarm alarm =
+                new RegisteredAlarms.Alarm(Tier.ALARM_CLOCK, 60_000, 59_880, 1_700_000_059_880L);
+
+        assertTrue(registered.isEmpty());
+        assertNull(registered.getAlarm());
+
+        registered.setAlarm(alarm);
+        registered.setWarmUpTime(55_000);
+        assertFalse(registered.isEmpty());
+        assertEquals(55_000, registered.getWarmUpTime());
+
+        RegisteredAlarms.Alarm reloaded = new RegisteredAlarms(prefs, 3).getAlarm();
+        assertNotNull(reloaded);
+        assertTrue(alarm.matches(reloaded));
+        assertEquals(Tier.ALARM_CLOCK, reloaded.tier);
+
+        registered.setAlarm(null);
+        assertNull(registered.getAlarm());
+        assertEquals("the warm-up stays", 55_000, registered.getWarmUpTime());
+
+        registered.clear();
+        assertTrue(registered.isEmpty());
+    }
+
+    @Test
+    public void testAnotherBootHasNoAlarms() {
+        new RegisteredAlarms(prefs, 3).setAlarm(
+                new RegisteredAlarms.Alarm(Tier.WINDOW, 60_000, 60_000, 0));
+
+        RegisteredAlarms afterReboot = new RegisteredAlarms(prefs, 4);
+        assertTrue(afterReboot.isEmpty());
+
+        afterReboot.setWarmUpTime(10_000);
+        assertNull("an edit forgets the old boot's alarm", afterReboot.getAlarm());
+        assertEquals(10_000, afterReboot.getWarmUpTime());
+        assertTrue(new RegisteredAlarms(prefs, 3).isEmpty());
+    }
+
+    @Test
+    public void testTierLimit() {
+        RegisteredAlarms registered = new RegisteredAlarms(prefs, 3);
+
+        assertNull(registered.getTierLimit());
+        registered.setTierLimit(Tier.EXACT_WHILE_IDLE);
+        registered.setAlarm(new RegisteredAlarms.Alarm(Tier.EXACT_WHILE_IDLE, 60_000, 59_880, 0));
+        assertEquals(Tier.EXACT_WHILE_IDLE, new RegisteredAlarms(prefs, 3).getTierLimit());
+        assertNull("another boot", new RegisteredAlarms(prefs, 4).getTierLimit());
+
+        registered.clear();
+        assertNull("canceling the reminders retries the best tier", registered.getTierLimit());
+    }
+
+    @Test
+    public void testMatches() {
+        RegisteredAlarms.Alarm alarm =
+                new RegisteredAlarms.Alarm(Tier.ALARM_CLOCK, 60_000, 59_880, 1_000_000);
+
+        assertFalse(alarm.matches(null));
+        assertTrue("clock read jitter",
+                alarm.matches(new RegisteredAlarms.Alarm(Tier.ALARM_CLOCK, 60_000, 59_880,
+                        1_000_000 + RegisteredAlarms.WALL_TOLERANCE_MS)));
+        assertFalse("the wall clock got adjusted",
+                alarm.matches(new RegisteredAlarms.Alarm(Tier.ALARM_CLOCK, 60_000, 59_880,
+                        1_000_000 - 5_000)));
+        assertFalse(alarm.matches(
+                new RegisteredAlarms.Alarm(Tier.ALARM_CLOCK, 120_000, 119_880, 1_060_000)));
+        assertFalse(alarm.matches(
+                new RegisteredAlarms.Alarm(Tier.ALARM_CLOCK, 60_000, 59_900, 1_000_020)));
+        assertFalse(alarm.matches(
+                new RegisteredAlarms.Alarm(Tier.EXACT_WHILE_IDLE, 60_000, 59_880, 0)));
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+
+import com.onefishtwo.bbqtimer.history.CookSession;
+import com.onefishtwo.bbqtimer.state.ApplicationState;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * A deterministic soak test that drives a {@link TimeCounter} and its {@link ApplicationState}
+ * through long, randomized sequences of user actions, reminders, saves and loads, reboots, and
+ * wall clock adjustments on a virtual clock, checking it against a simple model after every event.
+ *<p/>
+ * The defaults run quickly enough for every build. For a long soak, e.g. in CI, pass
+ * {@code -Dbbqtimer.soakEvents=300000000} (events per seed), {@code -Dbbqtimer.soakSeed=N}, and
+ * {@code -Dbbqtimer.soakSeeds=N}. A failure message gives the seed and event number to reproduce
+ * it.
+ */
+public class TimeCounterSoakTest {
+    private static final long EVENTS_PER_SEED = Long.getLong("bbqtimer.soakEvents", 250_000L);
+    private static final long FIRST_SEED = Long.getLong("bbqtimer.soakSeed", 0x5eedL);
+    private static final int SEEDS = Integer.getInteger("bbqtimer.soakSeeds", 4);
+
+    private static final long HOUR_MS = 3600_000L;
+
+    /** A manually advanced clock. */
+    static class VirtualClock implements TimeCounter.Clock {
+        long elapsedRealtime = 5 * 60_000L; // a few minutes after boot
+        long currentTimeMillis = 1_790_000_000_000L; // Sept. 2026
+
+        @Override
+        public long elapsedRealtime() {
+            return elapsedRealtime;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return currentTimeMillis;
+        }
+    }
+
+    /** The events, in order of the cumulative weights in {@link #EVENT_WEIGHTS}. */
+    enum Event {
+        ADVANCE, START, PAUSE, RESET, STOP, CYCLE, TOGGLE_RUN_PAUSE, TOGGLE_PAUSE_RUN, REMINDER,
+        SET_INTERVAL, SAVE_LOAD, REBOOT, ADJUST_WALL_CLOCK
+    }
+
+    private static final int[] EVENT_WEIGHTS = {40, 6, 6, 3, 3, 8, 6, 6, 8, 3, 5, 2, 4};
+    private static final Event[] EVENTS = Event.values();
+    private static final int TOTAL_WEIGHT;
+
+    static {
+        int total = 0;
+        for (int weight : EVENT_WEIGHTS) {
+            total += weight;
+        }
+        TOTAL_WEIGHT = total;
+    }
+
+    /** The model's run states. */
+    enum RunState { RUNNING, PAUSED, STOPPED }
+
+    /** One soak run: a TimeCounter under test plus the model of what it should do. */
+    private static class Soak {
+        private final long seed;
+        private final Random random;
+        private final VirtualClock clock = new VirtualClock();
+        private final InMemorySharedPreferences prefs = new InMemorySharedPreferences();
+        private TimeCounter timer = new TimeCounter(clock);
+        private ApplicationState state = new ApplicationState(timer);
+        private long eventNumber;
+        private Event event;
+
+        // The model.
+        private RunState expectedState = RunState.STOPPED;
+        private long expectedElapsed;
+        private int expectedPauses;
+        private int expectedReminders;
+        private long expectedRunWallTime;
+        private long lastElapsed;
+
+        Soak(long _seed) {
+            seed = _seed;
+            random = new Random(seed);
+            state.setSecondsPerReminder(5 * 60);
+        }
+
+        /** Runs the given number of random events, checking the invariants after each one. */
+        void run(long events) {
+            for (eventNumber = 0; eventNumber < events; ++eventNumber) {
+                event = pickEvent();
+                apply(event);
+                checkInvariants();
+            }
+        }
+
+        @NonNull
+        private Event pickEvent() {
+            int r = random.nextInt(TOTAL_WEIGHT);
+
+            for (int i = 0; i < EVENT_WEIGHTS.length; ++i) {
+                r -= EVENT_WEIGHTS[i];
+                if (r < 0) {
+                    return EVENTS[i];
+                }
+            }
+            throw new AssertionError("unreachable");
+        }
+
+        /** Returns a random time step: often sub-second, sometimes 0, sometimes hours. */
+        private long pickTimeStep() {
+            int r = random.nextInt(100);
+
+            if (r < 5) {
+                return 0;
+            } else if (r < 85) {
+                return random.nextInt(2000);
+            } else if (r < 98) {
+                return random.nextInt(10 * 60_000);
+            } else {
+                return (long) (random.nextDouble() * 30 * HOUR_MS);
+            }
+        }
+
+        @NonNull
+        private String where() {
+            return "seed " + seed + ", event #" + eventNumber + " " + event + ": ";
+        }
+
+        private void check(String message, boolean condition) {
+            if (!condition) {
+                throw new AssertionError(where() + message);
+            }
+        }
+
+        private void checkEquals(String message, long expected, long actual) {
+            if (expected != actual) {
+                throw new AssertionError(
+                        where() + message + " expected " + expected + " but was " + actual);
+            }
+        }
+
+        private void apply(@NonNull Event e) {
+            switch (e) {
+                case ADVANCE:
+                    long step = pickTimeStep();
+                    clock.elapsedRealtime += step;
+                    clock.currentTimeMillis += step;
+                    if (expectedState == RunState.RUNNING) {
+                        expectedElapsed += step;
+                    }
+                    break;
+                case START:
+                    timer.start();
+                    modelStart();
+                    break;
+                case PAUSE:
+                    timer.pause();
+                    modelPause();
+                    break;
+                case RESET:
+                    timer.reset();
+                    modelEndRun();
+                    expectedState = RunState.PAUSED;
+                    break;
+                case STOP:
+                    timer.stop();
+                    modelEndRun();
+                    expectedState = RunState.STOPPED;
+                    break;
+                case CYCLE:
+                    timer.cycle();
+                    if (expectedState == RunState.RUNNING) {
+                        modelPause();
+                    } else if (expectedState == RunState.STOPPED || expectedElapsed == 0) {
+                        modelStart();
+                    } else {
+                        modelEndRun();
+                        expectedState = RunState.STOPPED;
+                    }
+                    break;
+                case TOGGLE_RUN_PAUSE:
+                    timer.toggleRunPause();
+                    if (expectedState == RunState.RUNNING) {
+                        modelPause();
+                    } else {
+                        modelStart();
+                    }
+                    break;
+                case TOGGLE_PAUSE_RUN:
+                    timer.togglePauseRun();
+                    if (expectedState == RunState.PAUSED) {
+                        modelStart();
+                    } else {
+                        modelPause();
+                    }
+                    break;
+                case REMINDER:
+                    // AlarmReceiver counts reminders only while the timer runs.
+                    if (expectedState == RunState.RUNNING) {
+                        timer.countReminder();
+                        ++expectedReminders;
+                    }
+                    break;
+                case SET_INTERVAL:
+                    state.setSecondsPerReminder(random.nextInt(2 * 3600));
+                    break;
+                case SAVE_LOAD:
+                    save();
+                    check("load() of a consistent state asked to save", !load());
+                    break;
+                case REBOOT:
+                    reboot();
+                    break;
+                case ADJUST_WALL_CLOCK:
+                    clock.currentTimeMillis += (long) ((random.nextDouble() - 0.5) * 48 * HOUR_MS);
+                    break;
+            }
+
+            CookSession endedRun = timer.takeEndedRun("soak");
+            check("unexpected ended run " + endedRun, endedRun == null);
+        }
+
+        private void modelStart() {
+            if (expectedState != RunState.RUNNING) {
+                if (expectedElapsed == 0) { // a new run from 0:00
+                    expectedPauses = expectedReminders = 0;
+                    expectedRunWallTime = clock.currentTimeMillis;
+                }
+                expectedState = RunState.RUNNING;
+            }
+        }
+
+        private void modelPause() {
+            if (expectedState == RunState.RUNNING) {
+                ++expectedPauses;
+            }
+            expectedState = RunState.PAUSED;
+        }
+
+        /** Checks that stop() or reset() ended the expected run, then clears the model to 0:00. */
+        private void modelEndRun() {
+            CookSession endedRun = timer.takeEndedRun("soak");
+
+            if (expectedState != RunState.STOPPED && expectedElapsed > 0) {
+                CookSession expected = new CookSession(expectedRunWallTime, expectedElapsed,
+                        expectedPauses, expectedReminders, "soak");
+                check("ended run " + endedRun + " != " + expected, expected.equals(endedRun));
+            } else {
+                check("unexpected ended run " + endedRun, endedRun == null);
+            }
+
+            expectedElapsed = 0;
+            expectedPauses = expectedReminders = 0;
+        }
+
+        private void save() {
+            SharedPreferences.Editor editor = prefs.edit();
+
+            timer.save(editor);
+            editor.apply();
+        }
+
+        /** Loads a fresh TimeCounter and ApplicationState from the prefs, like a new process. */
+        private boolean load() {
+            int secondsPerReminder = state.getSecondsPerReminder();
+
+            timer = new TimeCounter(clock);
+            state = new ApplicationState(timer);
+            state.setSecondsPerReminder(secondsPerReminder);
+            return timer.load(prefs);
+        }
+
+        /**
+         * Saves, reboots (resetting the elapsed realtime clock), and reloads. load() can only
+         * detect the reboot if the saved startTime is in the new boot's future. Otherwise a Running
+         * timer's elapsed time jumps, which the app can't detect, so the model follows along.
+         */
+        private void reboot() {
+            save();
+
+            long savedStartTime = timer.getStartTime();
+            long downtime = (long) (random.nextDouble() * 2 * HOUR_MS);
+            clock.elapsedRealtime = random.nextInt(20 * 60_000);
+            clock.currentTimeMillis += downtime;
+
+            boolean detected = expectedState != RunState.STOPPED
+                    && savedStartTime > clock.elapsedRealtime;
+            boolean needToSave = load();
+
+            check("load() returned " + needToSave + " for detected=" + detected,
+                    needToSave == detected);
+
+            if (detected) {
+                expectedState = RunState.STOPPED;
+                expectedElapsed = 0;
+                expectedPauses = expectedReminders = 0;
+            } else if (expectedState == RunState.RUNNING) {
+                expectedElapsed = clock.elapsedRealtime - savedStartTime;
+            }
+            lastElapsed = timer.getElapsedTime();
+        }
+
+        private void checkInvariants() {
+            long elapsed = timer.getElapsedTime();
+            int states = (timer.isRunning() ? 1 : 0) + (timer.isPaused() ? 1 : 0)
+                    + (timer.isStopped() ? 1 : 0);
+
+            checkEquals("number of run states", 1, states);
+            check("run state " + timer.runState() + " != " + expectedState,
+                    timer.isRunning() == (expectedState == RunState.RUNNING)
+                            && timer.isPaused() == (expectedState == RunState.PAUSED));
+            checkEquals("elapsed time", expectedElapsed, elapsed);
+            check("negative elapsed time " + elapsed, elapsed >= 0);
+            check("isPausedAt0", timer.isPausedAt0() == (timer.isPaused() && elapsed == 0));
+
+            if (timer.isStopped()) {
+                checkEquals("Stopped elapsed time", 0, elapsed);
+            }
+
+            if (timer.isRunning()) {
+                check("elapsed time went backwards from " + lastElapsed + " to " + elapsed,
+                        elapsed >= lastElapsed || event != Event.ADVANCE);
+
+                // The next reminder is at the next whole interval after now, plus rounding.
+                long period = state.getMillisecondsPerReminder();
+                long nextReminder = elapsed + state.getMillisecondsToNextAlarm() - 999;
+                check("next reminder " + nextReminder + " isn't after " + elapsed,
+                        nextReminder > elapsed);
+                checkEquals("next reminder phase", 0, nextReminder % period);
+            }
+
+            checkEquals("wall time conversion", clock.currentTimeMillis,
+                    timer.elapsedTimeToWallTime(clock.elapsedRealtime));
+            lastElapsed = elapsed;
+        }
+    }
+
+    @Test
+    public void soak() {
+        long start = System.nanoTime();
+
+        for (int i = 0; i < SEEDS; ++i) {
+            new Soak(FIRST_SEED + i).run(EVENTS_PER_SEED);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long events = EVENTS_PER_SEED * SEEDS;
+        System.out.println(String.format(Locale.US,
+                "TimeCounterSoakTest: %,d events in %.2f s = %,.0f events/s",
+                events, seconds, events / Math.max(seconds, 1e-9)));
+    }
+
+    /** The virtual clock makes a soak run reproducible from its seed. */
+    @Test
+    public void soakIsDeterministic() {
+        Soak a = new Soak(FIRST_SEED);
+        Soak b = new Soak(FIRST_SEED);
+
+        a.run(10_000);
+        b.run(10_000);
+
+        assertEquals(a.timer.runState(), b.timer.runState());
+        assertEquals(a.timer.getElapsedTime(), b.timer.getElapsedTime());
+        assertEquals(a.clock.elapsedRealtime, b.clock.elapsedRealtime);
+        assertEquals(a.clock.currentTimeMillis, b.clock.currentTimeMillis);
+    }
+}
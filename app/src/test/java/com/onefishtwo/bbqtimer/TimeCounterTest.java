@@ -28,8 +28,11 @@ import static android.text.format.DateUtils.SECOND_IN_MILLIS;
 import static com.onefishtwo.bbqtimer.TimeCounter.lengthOfLeadingIntervalTime;
 import static com.onefishtwo.bbqtimer.TimeCounter.parseHhMmSs;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import android.text.Spanned;
 
@@ -38,6 +41,8 @@ import androidx.annotation.Nullable;
 
 import org.junit.Test;
 
+import java.util.Locale;
+
 public class TimeCounterTest {
     static class MockSpanned implements Spanned {
         @Nullable
@@ -111,6 +116,43 @@ public class TimeCounterTest {
         assertSame(hook.mockSpanned, TimeCounter.formatHhMmSsFraction(hook.inputMsec));
     }
 
+    @Test
+    public void testFormatFraction() {
+        Locale savedLocale = Locale.getDefault();
+
+        try {
+            Locale.setDefault(Locale.US);
+            assertEquals(".0", TimeCounter.formatFraction(0));
+            assertEquals(".0", TimeCounter.formatFraction(99));
+            assertEquals(".6", TimeCounter.formatFraction(new MockFormatHook().inputMsec));
+            assertEquals(".9", TimeCounter.formatFraction(59_999));
+
+            Locale.setDefault(Locale.GERMANY);
+            assertEquals(",6", TimeCounter.formatFraction(1_600));
+        } finally {
+            Locale.setDefault(savedLocale);
+        }
+    }
+
+    /** The fraction format must follow the FormatContext's locale, not the FORMAT default. */
+    @Test
+    public void testFormatFractionUsesTheContextLocale() {
+        Locale savedLocale = Locale.getDefault();
+        Locale savedFormatLocale = Locale.getDefault(Locale.Category.FORMAT);
+
+        try {
+            Locale.setDefault(Locale.US);
+            assertEquals(".6", TimeCounter.formatFraction(1_600)); // replace any cached context
+
+            Locale.setDefault(Locale.GERMANY);
+            Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+            assertEquals(",6", TimeCounter.formatFraction(1_600));
+        } finally {
+            Locale.setDefault(savedLocale);
+            Locale.setDefault(Locale.Category.FORMAT, savedFormatLocale);
+        }
+    }
+
     @Test
     public void testParseHhMmSs() {
         // seconds
@@ -202,6 +244,52 @@ public class TimeCounterTest {
         assertEquals("15:00:00", fc(15, 0, 0));
     }
 
+    /**
+     * Formats on several threads at once, across a locale change. Each thread has its own scratch
+     * buffers, so none of them should see another's partial output.
+     */
+    @Test
+    public void testFormatHhMmSsCompactInParallel() throws InterruptedException {
+        final int threadCount = 4;
+        final int iterations = 5000;
+        final String[] failures = new String[threadCount];
+        Thread[] threads = new Thread[threadCount];
+        Locale savedLocale = Locale.getDefault();
+
+        try {
+            for (int t = 0; t < threadCount; ++t) {
+                final int index = t;
+
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < iterations && failures[index] == null; ++i) {
+                        long seconds = (index * iterations + i) % 3600;
+                        String expected = seconds % 60 == 0
+                                ? String.valueOf(seconds / 60)
+                                : String.format(Locale.US, "%d:%02d", seconds / 60, seconds % 60);
+                        String actual = TimeCounter.formatHhMmSsCompact(seconds * 1000L);
+
+                        if (!expected.equals(actual)) {
+                            failures[index] = expected + " != " + actual;
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+
+            Locale.setDefault(Locale.UK);
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            Locale.setDefault(savedLocale);
+        }
+
+        for (String failure : failures) {
+            assertNull(failure);
+        }
+    }
+
     @Test
     public void testLengthOfLeadingIntervalTime() {
         assertEquals(1, lengthOfLeadingIntervalTime("7"));
@@ -219,4 +307,39 @@ public class TimeCounterTest {
         assertEquals( 3, lengthOfLeadingIntervalTime("\r\n7\r\n"));
         assertEquals( 1, lengthOfLeadingIntervalTime("7.5"));
     }
+
+    /** A Snapshot stays put while the TimeCounter moves on to new snapshots. */
+    @Test
+    public void testSnapshot() {
+        long[] now = {1_000};
+        TimeCounter timer = new TimeCounter(new TimeCounter.Clock() {
+            @Override
+            public long elapsedRealtime() { return now[0]; }
+
+            @Override
+            public long currentTimeMillis() { return 50_000 + now[0]; }
+        });
+        TimeCounter.Snapshot stopped = timer.snapshot();
+
+        timer.start();
+        now[0] += 3_000;
+        TimeCounter.Snapshot running = timer.snapshot();
+        timer.pause();
+        now[0] += 5_000;
+        TimeCounter.Snapshot paused = timer.snapshot();
+
+        assertTrue(stopped.isStopped());
+        assertEquals(0, stopped.getElapsedTime(now[0]));
+        assertTrue(running.isRunning());
+        assertEquals(8_000, running.getElapsedTime(now[0]));
+        assertTrue(paused.isPaused());
+        assertFalse(paused.isRunning());
+        assertEquals(3_000, paused.getElapsedTime(now[0]));
+        assertEquals(timer.getElapsedTime(), paused.getElapsedTime(now[0]));
+        assertSame(paused, timer.snapshot());
+
+        timer.stop();
+        assertTrue(timer.snapshot().isStopped());
+        assertTrue(paused.isPaused());
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimerEventPublisherTest {
+    private TimeCounterSoakTest.VirtualClock clock;
+    private TimeCounter timer;
+    private ManualScheduler scheduler;
+    private TimerEventPublisher publisher;
+
+    /** Runs the posted Runnables as the virtual clock advances. */
+    private final class ManualScheduler implements TimerEventPublisher.Scheduler {
+        Runnable runnable;
+        long time;
+
+        @Override
+        public void postDelayed(@NonNull Runnable _runnable, long delayMs) {
+            runnable = _runnable;
+            time = clock.elapsedRealtime + delayMs;
+        }
+
+        @Override
+        public void remove(@NonNull Runnable _runnable) {
+            if (runnable == _runnable) {
+                runnable = null;
+            }
+        }
+
+        void advance(long ms) {
+            long end = clock.elapsedRealtime + ms;
+
+            while (runnable != null && time <= end) {
+                Runnable r = runnable;
+
+                clock.elapsedRealtime = Math.max(clock.elapsedRealtime, time);
+                runnable = null;
+                r.run();
+            }
+            clock.elapsedRealtime = end;
+        }
+    }
+
+    /** Records events, requesting more only when asked. */
+    private static class Recorder implements TimerFlow.Subscriber<TimerEvent> {
+        final List<TimerEvent> events = new ArrayList<>();
+        TimerFlow.Subscription subscription;
+        final boolean autoRequest;
+        Throwable error;
+
+        Recorder(boolean _autoRequest) {
+            autoRequest = _autoRequest;
+        }
+
+        @Override
+        public void onSubscribe(@NonNull TimerFlow.Subscription _subscription) {
+            subscription = _subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(@NonNull TimerEvent item) {
+            events.add(item);
+            if (autoRequest) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(@NonNull Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        TimerEvent last() {
+            return events.get(events.size() - 1);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        clock = new TimeCounterSoakTest.VirtualClock();
+        timer = new TimeCounter(clock);
+        scheduler = new ManualScheduler();
+        publisher = new TimerEventPublisher(timer, scheduler);
+    }
+
+    @Test
+    public void testTransitionsAndAlignedTicks() {
+        Recorder transitions = new Recorder(true);
+        Recorder ticks = new Recorder(true);
+
+        publisher.subscribe(transitions);
+        publisher.subscribe(ticks, 1000);
+        assertEquals(TimerEvent.RunState.STOPPED, transitions.last().getRunState());
+        assertEquals("no ticks while Stopped", null, scheduler.runnable);
+
+        timer.start();
+        publisher.publishTransition();
+        publisher.publishTransition(); // no change, no event
+        assertEquals(2, transitions.events.size());
+        assertEquals(TimerEvent.RunState.RUNNING, transitions.last().getRunState());
+
+        scheduler.advance(3_500);
+        assertEquals(2, transitions.events.size());
+        assertEquals(5, ticks.events.size()); // 2 transitions + 3 ticks
+        assertEquals(TimerEvent.Kind.TICK, ticks.last().getKind());
+        assertEquals(3_000, ticks.last().getElapsedTime());
+
+        timer.pause();
+        publisher.publishTransition();
+        assertEquals(TimerEvent.RunState.PAUSED, transitions.last().getRunState());
+        assertEquals(3_500, transitions.last().getElapsedTime());
+
+        assertEquals("no ticks while Paused", null, scheduler.runnable);
+        int tickCount = ticks.events.size();
+        scheduler.advance(2_000);
+        assertEquals(tickCount, ticks.events.size());
+        assertEquals(TimerEvent.Kind.TRANSITION, ticks.last().getKind());
+        assertEquals(3_500, ticks.last().getElapsedTime());
+
+        timer.start();
+        publisher.publishTransition();
+        scheduler.advance(600); // ticks resume on the elapsed time's boundaries
+        assertEquals(TimerEvent.Kind.TICK, ticks.last().getKind());
+        assertEquals(4_000, ticks.last().getElapsedTime());
+
+        timer.stop();
+        publisher.publishTransition();
+        assertEquals(null, scheduler.runnable);
+
+        transitions.subscription.cancel();
+        ticks.subscription.cancel();
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    public void testSlowSubscriberConflatesTicks() {
+        Recorder slow = new Recorder(false);
+
+        timer.start();
+        publisher.subscribe(slow, 100);
+        assertEquals(1, slow.events.size()); // the subscription's transition
+
+        scheduler.advance(1_000); // 10 ticks, no demand
+        assertEquals(1, slow.events.size());
+
+        slow.subscription.request(5);
+        assertEquals(2, slow.events.size());
+        TimerEvent tick = slow.last();
+        assertEquals(TimerEvent.Kind.TICK, tick.getKind());
+        assertEquals(1_000, tick.getElapsedTime());
+        assertEquals(9, tick.getConflatedTicks());
+
+        scheduler.advance(100); // demand left over delivers the next tick right away
+        assertEquals(3, slow.events.size());
+
+        slow.subscription.cancel();
+        slow.events.clear();
+        scheduler.advance(1_000);
+        assertTrue("no ticks after cancel", slow.events.isEmpty());
+        assertEquals(null, scheduler.runnable);
+    }
+
+    @Test
+    public void testBadRequestSignalsError() {
+        Recorder recorder = new Recorder(false);
+
+        publisher.subscribe(recorder);
+        recorder.subscription.request(0);
+        assertTrue(recorder.error instanceof IllegalArgumentException);
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TokenBucketTest {
+    @Test
+    public void testBurstThenRate() {
+        TokenBucket bucket = new TokenBucket(3, 2.0, 10_000);
+
+        assertTrue(bucket.tryAcquire(10_000));
+        assertTrue(bucket.tryAcquire(10_000));
+        assertTrue(bucket.tryAcquire(10_000));
+        assertFalse("burst used up", bucket.tryAcquire(10_000));
+
+        assertFalse(bucket.tryAcquire(10_400));
+        assertTrue("refilled one token in 500 ms", bucket.tryAcquire(10_500));
+        assertFalse(bucket.tryAcquire(10_500));
+
+        assertTrue(bucket.tryAcquire(60_000));
+        assertTrue(bucket.tryAcquire(60_000));
+        assertTrue(bucket.tryAcquire(60_000));
+        assertFalse("capped at the burst size", bucket.tryAcquire(60_000));
+
+        assertFalse("a clock going backwards doesn't refill", bucket.tryAcquire(50_000));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer;
+
+import static com.onefishtwo.bbqtimer.WidgetSizeTable.SIZE_FULL;
+import static com.onefishtwo.bbqtimer.WidgetSizeTable.SIZE_NO_COUNTDOWN;
+import static com.onefishtwo.bbqtimer.WidgetSizeTable.SIZE_NO_COUNT_UP;
+import static com.onefishtwo.bbqtimer.WidgetSizeTable.SIZE_SMALL_COUNT_UP;
+import static com.onefishtwo.bbqtimer.WidgetSizeTable.sizeClassForMinWidth;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class WidgetSizeTableTest {
+    @Test
+    public void testSizeClassForMinWidth() {
+        assertEquals(SIZE_FULL, sizeClassForMinWidth(400));
+        assertEquals(SIZE_FULL, sizeClassForMinWidth(274));
+        assertEquals(SIZE_NO_COUNTDOWN, sizeClassForMinWidth(273));
+        assertEquals(SIZE_NO_COUNTDOWN, sizeClassForMinWidth(184));
+        assertEquals(SIZE_SMALL_COUNT_UP, sizeClassForMinWidth(183));
+        assertEquals(SIZE_SMALL_COUNT_UP, sizeClassForMinWidth(117));
+        assertEquals(SIZE_NO_COUNT_UP, sizeClassForMinWidth(116));
+        assertEquals(SIZE_NO_COUNT_UP, sizeClassForMinWidth(40));
+    }
+}
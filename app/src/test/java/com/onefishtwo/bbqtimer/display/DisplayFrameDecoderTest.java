@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer.display;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class DisplayFrameDecoderTest {
+    private static final DisplaySnapshot RUNNING =
+            new DisplaySnapshot(7, true, false, 50_000L, 20_000L, 0L, 300_000L);
+    private static final DisplaySnapshot PAUSED =
+            new DisplaySnapshot(8, false, true, 60_000L, 20_000L, 55_000L, 0L);
+
+    @Test
+    public void testSnapshotRoundTrip() {
+        DisplayFrameDecoder decoder = new DisplayFrameDecoder();
+
+        assertNull(decoder.getLatest());
+        assertEquals(1, decoder.feed(RUNNING.encode(), 50_000L));
+
+        DisplaySnapshot decoded = decoder.getLatest();
+        assertNotNull(decoded);
+        assertEquals(7, decoded.getSequence());
+        assertTrue(decoded.isRunning());
+        assertFalse(decoded.isPaused());
+        assertTrue(decoded.sameState(RUNNING));
+        assertEquals(300_000L, decoded.getPeriodMs());
+        assertEquals(30_000L, decoded.getElapsedTime(50_000L));
+
+        decoder.feed(PAUSED.encode(), 60_000L);
+        decoded = decoder.getLatest();
+        assertNotNull(decoded);
+        assertTrue(decoded.isPaused());
+        assertEquals(35_000L, decoded.getElapsedTime(99_000L));
+        assertFalse(decoded.sameState(RUNNING));
+    }
+
+    @Test
+    public void testSplitAndCoalescedFrames() {
+        ByteBuffer stream = ByteBuffer.allocate(
+                2 * DisplaySnapshot.SNAPSHOT_BYTES + DisplaySnapshot.HEARTBEAT_BYTES);
+        stream.put(RUNNING.encode()).put(DisplaySnapshot.encodeHeartbeat(55_000L))
+                .put(PAUSED.encode());
+        stream.flip();
+
+        DisplayFrameDecoder decoder = new DisplayFrameDecoder();
+        int frames = 0;
+
+        // One byte at a time.
+        while (stream.hasRemaining()) {
+            ByteBuffer oneByte = stream.slice();
+            oneByte.limit(1);
+            frames += decoder.feed(oneByte, 70_000L);
+            stream.get();
+        }
+
+        assertEquals(3, frames);
+        assertEquals(1, decoder.getHeartbeatCount());
+        DisplaySnapshot latest = decoder.getLatest();
+        assertNotNull(latest);
+        assertEquals(8, latest.getSequence());
+    }
+
+    @Test
+    public void testRebaseToTheLocalClock() {
+        DisplayFrameDecoder decoder = new DisplayFrameDecoder();
+        long offset = 1_000_000L; // the local clock is way ahead of the server's
+
+        decoder.feed(RUNNING.encode(), 50_000L + offset + 40); // 40 ms in transit
+        decoder.feed(DisplaySnapshot.encodeHeartbeat(51_000L), 51_000L + offset + 3);
+        decoder.feed(DisplaySnapshot.encodeHeartbeat(52_000L), 52_000L + offset + 90);
+        assertEquals(offset + 3, decoder.getClockOffset());
+
+        DisplaySnapshot local = decoder.getRebased();
+        assertNotNull(local);
+        assertEquals(20_000L + offset + 3, local.getStartTime());
+        assertEquals(40_000L - 3, local.getElapsedTime(60_000L + offset));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCorruptStream() {
+        new DisplayFrameDecoder().feed(ByteBuffer.wrap(new byte[] {42}), 0);
+    }
+}
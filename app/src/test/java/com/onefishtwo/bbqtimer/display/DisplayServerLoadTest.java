@@ -0,0 +1,283 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer.display;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.onefishtwo.bbqtimer.StderrLogger;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Runs a {@link DisplayServer} over loopback with a simulated population of display clients and
+ * measures the fan-out latency from publishing a snapshot until each client decodes it.<p/>
+ *
+ * The defaults run quickly enough for every build. Pass e.g.
+ * {@code -Dbbqtimer.displayClients=800} and {@code -Dbbqtimer.displayUpdates=200} for a bigger run.
+ */
+public class DisplayServerLoadTest {
+    private static final int CLIENTS = Integer.getInteger("bbqtimer.displayClients", 200);
+    private static final int UPDATES = Integer.getInteger("bbqtimer.displayUpdates", 30);
+    private static final long TIMEOUT_MS = 20_000L;
+
+    /** A simulated display client. */
+    static final class SimClient {
+        final SocketChannel channel;
+        final DisplayFrameDecoder decoder = new DisplayFrameDecoder();
+
+        SimClient(SocketChannel _channel) {
+            channel = _channel;
+        }
+
+        int sequence() {
+            DisplaySnapshot latest = decoder.getLatest();
+            return latest == null ? 0 : latest.getSequence();
+        }
+    }
+
+    static long nowMs() {
+        return System.nanoTime() / 1_000_000L;
+    }
+
+    static DisplaySnapshot snapshot(int sequence) {
+        long now = nowMs();
+        return new DisplaySnapshot(sequence, sequence % 3 != 0, sequence % 3 == 0, now,
+                now - 60_000L, now - 1_000L, 30_000L);
+    }
+
+    /** Reads from ready clients until all of them have decoded the sequence number. */
+    static void awaitSequence(Selector selector, SimClient[] clients, int sequence,
+            long[] latenciesNs, long publishedNs) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        int done = 0;
+        long deadline = System.nanoTime() + TIMEOUT_MS * 1_000_000L;
+
+        for (SimClient client : clients) {
+            if (client.sequence() == sequence) {
+                ++done;
+            }
+        }
+
+        while (done < clients.length) {
+            assertTrue("Timed out at sequence " + sequence + " with " + done + " clients done",
+                    System.nanoTime() < deadline);
+            selector.select(100);
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+
+                int index = (Integer) key.attachment();
+                SimClient client = clients[index];
+                int before = client.sequence();
+
+                buffer.clear();
+                int n = client.channel.read(buffer);
+                assertTrue("Server hung up on a client", n >= 0);
+                buffer.flip();
+                client.decoder.feed(buffer, nowMs());
+
+                if (before != sequence && client.sequence() == sequence) {
+                    if (latenciesNs != null) {
+                        latenciesNs[done] = System.nanoTime() - publishedNs;
+                    }
+                    ++done;
+                }
+            }
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min((int) (p * sorted.length), sorted.length - 1)];
+    }
+
+    @Test(timeout = 120_000L)
+    public void testFanOut() throws IOException, InterruptedException {
+        SimClient[] clients = new SimClient[CLIENTS];
+        long[] allLatenciesNs = new long[CLIENTS * UPDATES];
+        long[] latenciesNs = new long[CLIENTS];
+
+        try (DisplayServer server =
+                     new DisplayServer(DisplayServerLoadTest::nowMs, 60_000L,
+                             StderrLogger.INSTANCE);
+                Selector selector = Selector.open()) {
+            server.publish(snapshot(1));
+            int port = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            InetSocketAddress address =
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+
+            try {
+                for (int i = 0; i < CLIENTS; ++i) {
+                    SocketChannel channel = SocketChannel.open(address);
+                    channel.configureBlocking(false);
+                    channel.register(selector, SelectionKey.OP_READ, i);
+                    clients[i] = new SimClient(channel);
+                }
+
+                // Every client gets the current snapshot when it connects.
+                awaitSequence(selector, clients, 1, null, 0);
+                assertEquals(CLIENTS, server.getClientCount());
+
+                for (int sequence = 2; sequence <= UPDATES + 1; ++sequence) {
+                    long publishedNs = System.nanoTime();
+
+                    server.publish(snapshot(sequence));
+                    awaitSequence(selector, clients, sequence, latenciesNs, publishedNs);
+                    System.arraycopy(latenciesNs, 0, allLatenciesNs, (sequence - 2) * CLIENTS,
+                            CLIENTS);
+                }
+            } finally {
+                for (SimClient client : clients) {
+                    if (client != null) {
+                        client.channel.close();
+                    }
+                }
+            }
+
+            // The server notices the hang-ups.
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (server.getClientCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, server.getClientCount());
+        }
+
+        Arrays.sort(allLatenciesNs);
+        System.out.println(String.format(Locale.US,
+                "Display fan-out to %d clients x %d updates: p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+                CLIENTS, UPDATES, percentile(allLatenciesNs, 0.5) / 1e6,
+                percentile(allLatenciesNs, 0.99) / 1e6,
+                allLatenciesNs[allLatenciesNs.length - 1] / 1e6));
+    }
+
+    @Test(timeout = 60_000L)
+    public void testHeartbeatsWhenIdle() throws IOException {
+        try (DisplayServer server =
+                     new DisplayServer(DisplayServerLoadTest::nowMs, 20L,
+                             StderrLogger.INSTANCE);
+                Selector selector = Selector.open()) {
+            int port = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketChannel channel = SocketChannel.open(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            SimClient[] clients = {new SimClient(channel)};
+
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, 0);
+
+            server.publish(snapshot(1));
+            awaitSequence(selector, clients, 1, null, 0);
+
+            ByteBuffer buffer = ByteBuffer.allocate(256);
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (clients[0].decoder.getHeartbeatCount() < 3) {
+                assertTrue("No heartbeats", System.currentTimeMillis() < deadline);
+                selector.select(100);
+                selector.selectedKeys().clear();
+                buffer.clear();
+                channel.read(buffer);
+                buffer.flip();
+                clients[0].decoder.feed(buffer, nowMs());
+            }
+
+            // Same clock here, so the offset is just the transit time.
+            DisplaySnapshot rebased = clients[0].decoder.getRebased();
+            assertNotNull(rebased);
+            assertTrue(clients[0].decoder.getClockOffset() >= 0);
+            assertTrue(clients[0].decoder.getClockOffset() < 1_000L);
+            channel.close();
+        }
+    }
+
+    /** A client connecting long after the last state change gets a freshly stamped snapshot. */
+    @Test(timeout = 60_000L)
+    public void testLateClientGetsFreshClock() throws IOException {
+        try (DisplayServer server =
+                     new DisplayServer(DisplayServerLoadTest::nowMs, 60_000L,
+                             StderrLogger.INSTANCE);
+                Selector selector = Selector.open()) {
+            long published = nowMs() - 600_000L; // 10 minutes ago
+            server.publish(new DisplaySnapshot(1, true, false, published, published - 60_000L,
+                    0, 0));
+            int port = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketChannel channel = SocketChannel.open(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            SimClient[] clients = {new SimClient(channel)};
+
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, 0);
+            awaitSequence(selector, clients, 1, null, 0);
+
+            DisplaySnapshot rebased = clients[0].decoder.getRebased();
+            assertNotNull(rebased);
+            assertTrue(clients[0].decoder.getClockOffset() < 1_000L);
+            assertTrue(rebased.getElapsedTime(nowMs()) >= 660_000L);
+            assertTrue(rebased.getElapsedTime(nowMs()) < 661_000L);
+            channel.close();
+        }
+    }
+
+    /** Clients that reset right after connecting don't take the server down for the others. */
+    @Test(timeout = 60_000L)
+    public void testResetClientsDontStopTheServer() throws IOException {
+        try (DisplayServer server =
+                     new DisplayServer(DisplayServerLoadTest::nowMs, 60_000L,
+                             StderrLogger.INSTANCE);
+                Selector selector = Selector.open()) {
+            server.publish(snapshot(1));
+            int port = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            InetSocketAddress address =
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+
+            for (int i = 0; i < 20; ++i) {
+                SocketChannel resetter = SocketChannel.open(address);
+                resetter.socket().setSoLinger(true, 0);
+                resetter.close(); // sends a RST
+            }
+
+            SocketChannel channel = SocketChannel.open(address);
+            SimClient[] clients = {new SimClient(channel)};
+
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, 0);
+            awaitSequence(selector, clients, 1, null, 0);
+
+            server.publish(snapshot(2));
+            awaitSequence(selector, clients, 2, null, 0);
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer.display;
+
+import static com.onefishtwo.bbqtimer.display.DisplayServerLoadTest.awaitSequence;
+import static com.onefishtwo.bbqtimer.display.DisplayServerLoadTest.snapshot;
+import static org.junit.Assert.assertEquals;
+
+import com.onefishtwo.bbqtimer.StderrLogger;
+import com.onefishtwo.bbqtimer.display.DisplayServerLoadTest.SimClient;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/** Tests the {@link DisplayServer}'s pairing over loopback, reusing the load test's clients. */
+public class DisplayServerTest {
+    /** A client gets frames only after sending the pairing code, and a wrong code hangs up. */
+    @Test(timeout = 60_000L)
+    public void testPairingCode() throws IOException {
+        try (DisplayServer server =
+                     new DisplayServer(DisplayServerLoadTest::nowMs, 60_000L, "314159",
+                             StderrLogger.INSTANCE);
+                Selector selector = Selector.open()) {
+            server.publish(snapshot(1));
+            int port = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            InetSocketAddress address =
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+
+            try (SocketChannel wrong = SocketChannel.open(address)) {
+                wrong.write(ByteBuffer.wrap("314000".getBytes(StandardCharsets.US_ASCII)));
+                assertEquals("The server should hang up", -1,
+                        wrong.read(ByteBuffer.allocate(256)));
+            }
+
+            SocketChannel channel = SocketChannel.open(address);
+            SimClient[] clients = {new SimClient(channel)};
+
+            channel.write(ByteBuffer.wrap("314".getBytes(StandardCharsets.US_ASCII)));
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, 0);
+            assertEquals(0, selector.select(200));
+
+            channel.write(ByteBuffer.wrap("159".getBytes(StandardCharsets.US_ASCII)));
+            awaitSequence(selector, clients, 1, null, 0);
+
+            server.publish(snapshot(2));
+            awaitSequence(selector, clients, 2, null, 0);
+            channel.close();
+        }
+    }
+
+    private static void send(SocketChannel channel, String text) throws IOException {
+        channel.write(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Asserts that the server hangs up on the blocking channel without sending anything. Closing
+     * with unread input can reset the connection instead of ending the stream.
+     */
+    private static void assertHungUp(SocketChannel channel) {
+        try {
+            assertEquals("The server should hang up", -1, channel.read(ByteBuffer.allocate(256)));
+        } catch (IOException e) { // connection reset
+        }
+    }
+
+    @Test(timeout = 60_000L)
+    public void testWrongDigitsLookAlike() throws IOException {
+        try (DisplayServer server =
+                     new DisplayServer(DisplayServerLoadTest::nowMs, 60_000L, "314159",
+                             StderrLogger.INSTANCE);
+                Selector selector = Selector.open()) {
+            server.publish(snapshot(1));
+            int port = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            InetSocketAddress address =
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+
+            try (SocketChannel wrongFirst = SocketChannel.open(address);
+                    SocketChannel wrongLast = SocketChannel.open(address)) {
+                send(wrongFirst, "9");
+                send(wrongLast, "31415");
+                wrongFirst.configureBlocking(false);
+                wrongLast.configureBlocking(false);
+                wrongFirst.register(selector, SelectionKey.OP_READ);
+                wrongLast.register(selector, SelectionKey.OP_READ);
+                assertEquals("A partial code, right or wrong, gets no answer",
+                        0, selector.select(300));
+
+                for (SelectionKey key : selector.keys()) {
+                    key.cancel();
+                }
+                selector.selectNow();
+                wrongFirst.configureBlocking(true);
+                wrongLast.configureBlocking(true);
+
+                send(wrongFirst, "14159");
+                send(wrongLast, "8");
+                assertHungUp(wrongFirst);
+                assertHungUp(wrongLast);
+            }
+        }
+    }
+
+    @Test(timeout = 60_000L)
+    public void testPairingLockout() throws IOException {
+        try (DisplayServer server =
+                     new DisplayServer(DisplayServerLoadTest::nowMs, 60_000L, "314159",
+                             StderrLogger.INSTANCE)) {
+            server.publish(snapshot(1));
+            int port = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            InetSocketAddress address =
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+
+            for (int i = 0; i <= DisplayServer.FREE_PAIRING_FAILURES; ++i) {
+                try (SocketChannel wrong = SocketChannel.open(address)) {
+                    send(wrong, String.format(Locale.US, "%06d", i));
+                    assertHungUp(wrong);
+                }
+            }
+
+            try (SocketChannel right = SocketChannel.open(address)) {
+                send(right, "314159"); // locked out even with the right code
+                assertHungUp(right);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.onefishtwo.bbqtimer.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.onefishtwo.bbqtimer.StderrLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.TimeZone;
+
+public class HistoryExporterTest {
+    /** 2026-06-01 00:00 UTC. */
+    private static final long JUNE_1 = 20605 * SessionHistory.DAY_MS;
+
+    private File dir;
+    private SessionHistory history;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("export").toFile();
+        history = new SessionHistory(dir, TimeZone.getTimeZone("UTC"), StderrLogger.INSTANCE);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        dir.delete();
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        history.append(new CookSession(JUNE_1 + 3_723_000, 5_400_500, 2, 18, "5:00 brisket"));
+        history.append(new CookSession(JUNE_1, 60_000, 0, 1, "7 burgers, \"smash\" style"));
+        history.append(new CookSession(JUNE_1, 0, 0, 0, ""));
+
+        StringWriter out = new StringWriter();
+        assertTrue(new HistoryExporter(HistoryExporter.Format.CSV).export(history, out, null));
+        assertEquals("start,elapsed_seconds,pauses,reminders,recipe\n"
+                + "2026-06-01T01:02:03Z,5400,2,18,5:00 brisket\n"
+                + "2026-06-01T00:00:00Z,60,0,1,\"7 burgers, \"\"smash\"\" style\"\n"
+                + "2026-06-01T00:00:00Z,0,0,0,\n",
+                out.toString());
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        StringWriter empty = new StringWriter();
+        assertTrue(new HistoryExporter(HistoryExporter.Format.JSON).export(history, empty, null));
+        assertEquals("[]\n", empty.toString());
+
+        history.append(new CookSession(JUNE_1, 60_000, 1, 2, "ribs \\ \"wet\"\ttab"));
+        history.append(new CookSession(JUNE_1 + 1000, 1000, 0, 0, ""));
+
+        StringWriter out = new StringWriter();
+        assertTrue(new HistoryExporter(HistoryExporter.Format.JSON).export(history, out, null));
+        assertEquals("[\n"
+                + "{\"start\":\"2026-06-01T00:00:00Z\",\"startMillis\":" + JUNE_1
+                + ",\"elapsedSeconds\":60,\"pauses\":1,\"reminders\":2,"
+                + "\"recipe\":\"ribs \\\\ \\\"wet\\\"\\u0009tab\"},\n"
+                + "{\"start\":\"2026-06-01T00:00:01Z\",\"startMillis\":" + (JUNE_1 + 1000)
+                + ",\"elapsedSeconds\":1,\"pauses\":0,\"reminders\":0,\"recipe\":\"\"}\n"
+                + "]\n",
+                out.toString());
+    }
+
+    @Test
+    public void testChunkingProgressAndCancel() throws IOException {
+        int total = HistoryExporter.CHUNK_ROWS * 2 + 10;
+
+        for (int i = 0; i < total; ++i) {
+            history.append(new CookSession(JUNE_1 + i * 1000L, i * 1000L, 0, 0, "r" + (i % 3)));
+        }
+
+        int[] reports = new int[1];
+        StringWriter out = new StringWriter();
+        HistoryExporter exporter = new HistoryExporter(HistoryExporter.Format.CSV);
+
+        assertTrue(exporter.export(history, out, (done, all) -> {
+            ++reports[0];
+            assertEquals(total, all);
+        }));
+        assertEquals(3, reports[0]);
+        assertEquals(total + 1, out.toString().split("\n").length);
+        assertTrue(out.toString().endsWith(",521,0,0,r2\n"));
+
+        HistoryExporter cancelled = new HistoryExporter(HistoryExporter.Format.CSV);
+        StringWriter partial = new StringWriter();
+
+        assertFalse(cancelled.export(history, partial, (done, all) -> cancelled.cancel()));
+        assertEquals(HistoryExporter.CHUNK_ROWS + 1, partial.toString().split("\n").length);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.onefishtwo.bbqtimer.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.onefishtwo.bbqtimer.StderrLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.TimeZone;
+
+public class SessionHistoryTest {
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final long DAY = SessionHistory.DAY_MS;
+    /** 2026-06-01 00:00 UTC, a Monday. */
+    private static final long JUNE_1 = 20605 * DAY;
+    private static final long HOUR = 3600 * 1000L;
+
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("history").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+
+        if (files != null) {
+            for (File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        dir.delete();
+    }
+
+    @NonNull
+    private SessionHistory open() {
+        return new SessionHistory(dir, UTC, StderrLogger.INSTANCE);
+    }
+
+    @Test
+    public void testAppendAndGet() throws IOException {
+        SessionHistory history = open();
+        CookSession brisket = new CookSession(JUNE_1 + HOUR, 10 * HOUR, 3, 40, "5:00 brisket");
+        CookSession plain = new CookSession(JUNE_1 + 2 * HOUR, 90_000, 0, 0, "");
+
+        assertEquals(0, history.size());
+        history.append(brisket);
+        history.append(plain);
+
+        assertEquals(2, history.size());
+        assertEquals(brisket, history.get(0));
+        assertEquals(plain, history.get(1));
+
+        // Reopen from the files.
+        SessionHistory reopened = open();
+        assertEquals(2, reopened.size());
+        assertEquals(brisket, reopened.get(0));
+        assertEquals(plain, reopened.get(1));
+        assertEquals(2, reopened.summarize(null, JUNE_1, JUNE_1 + DAY).getCount());
+    }
+
+    @Test
+    public void testElapsedTimeIsStoredInWholeSeconds() throws IOException {
+        SessionHistory history = open();
+
+        history.append(new CookSession(JUNE_1, 61_999, 0, 0, "ribs"));
+        assertEquals(61_000, history.get(0).getElapsedTime());
+        assertEquals(61_000, history.summarize("ribs", JUNE_1, JUNE_1 + DAY).getTotalElapsedTime());
+    }
+
+    @Test
+    public void testSummarize() throws IOException {
+        SessionHistory history = open();
+
+        // One brisket cook a day for 30 days in June, 8 + (day % 3) hours each; one burger a week.
+        for (int d = 0; d < 30; ++d) {
+            history.append(new CookSession(JUNE_1 + d * DAY + HOUR, (8 + d % 3) * HOUR, 1, 2,
+                    "4:00 brisket"));
+            if (d % 7 == 0) {
+                history.append(new CookSession(JUNE_1 + d * DAY + 2 * HOUR, HOUR / 4, 0, 1,
+                        "2 burgers"));
+            }
+        }
+
+        SessionHistory.Rollup june = history.summarize("4:00 brisket", JUNE_1, JUNE_1 + 30 * DAY);
+        assertEquals(30, june.getCount());
+        assertEquals(9 * HOUR, june.getAverageElapsedTime());
+        assertEquals(30, june.getTotalPauses());
+        assertEquals(60, june.getTotalReminders());
+
+        // A range that isn't week-aligned at either end: days 2 .. 17.
+        SessionHistory.Rollup part = history.summarize("4:00 brisket", JUNE_1 + 2 * DAY + 5,
+                JUNE_1 + 18 * DAY);
+        long expected = 0;
+        for (int d = 2; d < 18; ++d) {
+            expected += (8 + d % 3) * HOUR;
+        }
+        assertEquals(16, part.getCount());
+        assertEquals(expected, part.getTotalElapsedTime());
+
+        assertEquals(5, history.summarize("2 burgers", JUNE_1, JUNE_1 + 30 * DAY).getCount());
+        assertEquals(35, history.summarize(null, JUNE_1, JUNE_1 + 30 * DAY).getCount());
+        assertEquals(0, history.summarize("", JUNE_1, JUNE_1 + 30 * DAY).getCount());
+        assertEquals(0, history.summarize("pizza", JUNE_1, JUNE_1 + 30 * DAY).getCount());
+        assertEquals(0, history.summarize(null, JUNE_1 - 30 * DAY, JUNE_1).getCount());
+    }
+
+    @Test
+    public void testRecoversFromAPartialAppend() throws IOException {
+        SessionHistory history = open();
+
+        history.append(new CookSession(JUNE_1, HOUR, 0, 0, "ribs"));
+        history.append(new CookSession(JUNE_1 + DAY, 2 * HOUR, 0, 0, "ribs"));
+
+        // Simulate the process dying partway through appending a third row.
+        try (RandomAccessFile start = new RandomAccessFile(
+                new File(dir, SessionHistory.START_COLUMN), "rw")) {
+            start.seek(start.length());
+            start.writeLong(JUNE_1 + 2 * DAY);
+        }
+        //noinspection ResultOfMethodCallIgnored
+        new File(dir, SessionHistory.ROLLUPS_FILE).delete();
+
+        SessionHistory reopened = open();
+        assertEquals(2, reopened.size());
+        assertEquals(3 * HOUR, reopened.summarize("ribs", JUNE_1, JUNE_1 + 7 * DAY)
+                .getTotalElapsedTime());
+
+        reopened.append(new CookSession(JUNE_1 + 2 * DAY, 4 * HOUR, 0, 0, "ribs"));
+        assertEquals(JUNE_1 + 2 * DAY, reopened.get(2).getStartWallTime());
+        assertEquals(7 * HOUR, open().summarize("ribs", JUNE_1, JUNE_1 + 7 * DAY)
+                .getTotalElapsedTime());
+    }
+
+    @Test
+    public void testRollupsCatchUpLazily() throws IOException {
+        SessionHistory history = open();
+        File rollups = new File(dir, SessionHistory.ROLLUPS_FILE);
+
+        history.append(new CookSession(JUNE_1, HOUR, 0, 0, "ribs"));
+        history.append(new CookSession(JUNE_1 + DAY, 2 * HOUR, 0, 0, "ribs"));
+        assertFalse("appending doesn't write the rollups", rollups.exists());
+
+        assertEquals(2, history.summarize("ribs", JUNE_1, JUNE_1 + 7 * DAY).getCount());
+        assertTrue(rollups.exists());
+
+        history.append(new CookSession(JUNE_1 + 2 * DAY, 4 * HOUR, 0, 0, "ribs"));
+        assertEquals(7 * HOUR, history.summarize("ribs", JUNE_1, JUNE_1 + 7 * DAY)
+                .getTotalElapsedTime());
+
+        // A reopened store rolls up just the rows appended after the rollups file was saved.
+        SessionHistory reopened = open();
+        reopened.append(new CookSession(JUNE_1 + 3 * DAY, 8 * HOUR, 0, 0, "ribs"));
+        assertEquals(15 * HOUR, reopened.summarize("ribs", JUNE_1, JUNE_1 + 7 * DAY)
+                .getTotalElapsedTime());
+        assertEquals(15 * HOUR, open().summarize("ribs", JUNE_1, JUNE_1 + 7 * DAY)
+                .getTotalElapsedTime());
+    }
+
+    @Test
+    public void testRollupsFollowTheTimeZone() throws IOException {
+        TimeZone savedZone = TimeZone.getDefault();
+
+        try {
+            TimeZone.setDefault(UTC);
+            SessionHistory history = new SessionHistory(dir, null, StderrLogger.INSTANCE);
+
+            // 23:00 UTC on June 1 is 08:00 on June 2 in Tokyo.
+            history.append(new CookSession(JUNE_1 + 23 * HOUR, HOUR, 0, 0, "ribs"));
+            assertEquals(1, history.summarize("ribs", JUNE_1, JUNE_1 + DAY).getCount());
+
+            TimeZone tokyo = TimeZone.getTimeZone("Asia/Tokyo");
+            long tokyoJune1 = JUNE_1 - 9 * HOUR;
+            TimeZone.setDefault(tokyo);
+            assertEquals(0, history.summarize("ribs", tokyoJune1, tokyoJune1 + DAY).getCount());
+            assertEquals(1, history.summarize("ribs", tokyoJune1 + DAY, tokyoJune1 + 2 * DAY)
+                    .getCount());
+
+            // A store reopened in the new time zone doesn't trust rollups saved in the old one.
+            assertEquals(1, new SessionHistory(dir, tokyo, StderrLogger.INSTANCE)
+                    .summarize("ribs", tokyoJune1 + DAY, tokyoJune1 + 2 * DAY).getCount());
+            assertEquals(1, new SessionHistory(dir, UTC, StderrLogger.INSTANCE)
+                    .summarize("ribs", JUNE_1, JUNE_1 + DAY).getCount());
+        } finally {
+            TimeZone.setDefault(savedZone);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer.replication;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * An in-memory, virtual-time network of {@link ReplicationTransport} endpoints with random
+ * latency, FIFO per link, for replication simulations.
+ */
+class LoopbackNetwork {
+    private static final class Delivery implements Comparable<Delivery> {
+        final long time;
+        final long sequence;
+        final Endpoint to;
+        final byte[] batch;
+
+        Delivery(long _time, long _sequence, Endpoint _to, byte[] _batch) {
+            time = _time;
+            sequence = _sequence;
+            to = _to;
+            batch = _batch;
+        }
+
+        @Override
+        public int compareTo(@NonNull Delivery other) {
+            return time != other.time ? Long.compare(time, other.time)
+                    : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /** One node's transport. */
+    final class Endpoint implements ReplicationTransport {
+        final int nodeId;
+        private Receiver receiver;
+        /** The latest scheduled delivery time to each other node, to keep links FIFO. */
+        private final Map<Integer, Long> linkTimes = new HashMap<>();
+
+        Endpoint(int _nodeId) {
+            nodeId = _nodeId;
+        }
+
+        @Override
+        public void setReceiver(@NonNull Receiver _receiver) {
+            receiver = _receiver;
+        }
+
+        @Override
+        public void broadcast(@NonNull byte[] batch) {
+            for (Endpoint to : endpoints) {
+                if (to != this) {
+                    long latency = minLatencyMs + random.nextInt(latencySpreadMs + 1);
+                    long time = Math.max(now + latency, linkTimes.getOrDefault(to.nodeId, 0L));
+
+                    linkTimes.put(to.nodeId, time);
+                    queue.add(new Delivery(time, sequence++, to, batch));
+                    bytesSent += batch.length;
+                }
+            }
+        }
+    }
+
+    private final Random random;
+    private final int minLatencyMs;
+    private final int latencySpreadMs;
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final PriorityQueue<Delivery> queue = new PriorityQueue<>();
+    private long now;
+    private long sequence;
+    long bytesSent;
+
+    LoopbackNetwork(long seed, int _minLatencyMs, int _latencySpreadMs) {
+        random = new Random(seed);
+        minLatencyMs = _minLatencyMs;
+        latencySpreadMs = _latencySpreadMs;
+    }
+
+    @NonNull
+    Endpoint endpoint(int nodeId) {
+        Endpoint endpoint = new Endpoint(nodeId);
+
+        endpoints.add(endpoint);
+        return endpoint;
+    }
+
+    /** Returns the virtual time, in msec. */
+    long now() {
+        return now;
+    }
+
+    /** Advances the virtual time, delivering the batches due by then. */
+    void advanceTo(long time) {
+        while (!queue.isEmpty() && queue.peek().time <= time) {
+            Delivery delivery = queue.poll();
+
+            now = Math.max(now, delivery.time);
+            delivery.to.receiver.onReceive(delivery.batch);
+        }
+        now = Math.max(now, time);
+    }
+
+    boolean isIdle() {
+        return queue.isEmpty();
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer.replication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.onefishtwo.bbqtimer.StderrLogger;
+import com.onefishtwo.bbqtimer.replication.HybridLogicalClock.Timestamp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Tests {@link ReplicationNode} convergence, including a multi-node simulation over a
+ * {@link LoopbackNetwork} with bursty input that measures convergence time and bytes per op.
+ */
+public class ReplicationNodeTest {
+    private static final ReplicaState INITIAL = ReplicaState.initial(300, true, "1\n2\n3", "");
+    private static final long HEARTBEAT_MS = 1_000L;
+
+    /** A simulated group of nodes whose wall clocks are skewed from the network's time. */
+    private static final class Group {
+        final LoopbackNetwork network;
+        final ReplicationNode[] nodes;
+        final List<TimerOp> allOps = new ArrayList<>();
+
+        Group(int size, long seed) {
+            network = new LoopbackNetwork(seed, 5, 60);
+            nodes = new ReplicationNode[size];
+
+            for (int i = 0; i < size; ++i) {
+                int[] peers = new int[size - 1];
+                for (int j = 0, k = 0; j < size; ++j) {
+                    if (j != i) {
+                        peers[k++] = j + 1;
+                    }
+                }
+
+                long skew = (i - size / 2) * 40L;
+                nodes[i] = new ReplicationNode(i + 1, peers, () -> network.now() + skew,
+                        network.endpoint(i + 1), INITIAL, StderrLogger.INSTANCE);
+            }
+        }
+
+        boolean converged() {
+            for (ReplicationNode node : nodes) {
+                if (!node.getState().equals(nodes[0].getState())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Returns the state from folding every op in timestamp order. */
+        ReplicaState expected() {
+            List<TimerOp> ops = new ArrayList<>(allOps);
+            ReplicaState state = INITIAL;
+
+            Collections.sort(ops);
+            for (TimerOp op : ops) {
+                state = state.apply(op);
+            }
+            return state;
+        }
+    }
+
+    private static void randomOp(ReplicationNode node, Random random, List<TimerOp> allOps) {
+        TimerOp.Type type = TimerOp.Type.values()[random.nextInt(TimerOp.Type.values().length)];
+        String text = type == TimerOp.Type.SET_RECIPES ? "1\n2\n" + random.nextInt(60)
+                : type == TimerOp.Type.SET_RECIPE_IN_USE ? "Brisket " + random.nextInt(9) : "";
+
+        allOps.add(node.submit(type, 5 + random.nextInt(600), text));
+    }
+
+    @Test
+    public void testHybridLogicalClock() {
+        long[] wall = {1_000L};
+        HybridLogicalClock clock = new HybridLogicalClock(1, () -> wall[0]);
+
+        Timestamp t1 = clock.tick();
+        Timestamp t2 = clock.tick();
+        assertEquals(1_000L, t2.wallTime);
+        assertTrue(t2.compareTo(t1) > 0);
+
+        // A message from a node whose clock runs ahead.
+        clock.receive(new Timestamp(5_000L, 3, 2));
+        Timestamp t3 = clock.tick();
+        assertEquals(5_000L, t3.wallTime);
+        assertEquals(5, t3.logical);
+
+        wall[0] = 6_000L;
+        assertEquals(new Timestamp(6_000L, 0, 1), clock.tick());
+    }
+
+    @Test
+    public void testBatchCodecRoundTrip() {
+        List<TimerOp> ops = Arrays.asList(
+                new TimerOp(TimerOp.Type.START, new Timestamp(1_790_000_000_000L, 0, 7), 0, ""),
+                new TimerOp(TimerOp.Type.SET_SECONDS_PER_REMINDER,
+                        new Timestamp(1_790_000_000_000L, 1, 7), 90, ""),
+                new TimerOp(TimerOp.Type.SET_RECIPE_IN_USE,
+                        new Timestamp(1_790_000_000_450L, 0, 7), 0, "Rippchen 6 Std. ü"));
+        Timestamp clock = new Timestamp(1_790_000_000_451L, 0, 7);
+
+        byte[] bytes = OpBatchCodec.encode(clock, ops);
+        OpBatchCodec.Batch batch = OpBatchCodec.decode(bytes);
+
+        assertEquals(clock, batch.senderClock);
+        assertEquals(ops.size(), batch.ops.size());
+        for (int i = 0; i < ops.size(); ++i) {
+            assertEquals(ops.get(i).toString(), batch.ops.get(i).toString());
+        }
+        assertTrue("bytes " + bytes.length, bytes.length < 50);
+    }
+
+    @Test
+    public void testConcurrentCommandsConverge() {
+        Group group = new Group(2, 1);
+        ReplicationNode a = group.nodes[0];
+        ReplicationNode b = group.nodes[1];
+
+        a.start();
+        group.network.advanceTo(1_000L);
+        a.flush(false);
+        group.network.advanceTo(2_000L);
+
+        // Both cooks tap at once: one pauses and the other resets.
+        a.pause();
+        b.reset();
+        assertNotEquals(a.getState(), b.getState());
+        a.flush(false);
+        b.flush(false);
+        group.network.advanceTo(3_000L);
+
+        assertTrue(group.converged());
+        // b's clock runs 40 ms ahead, so its reset came last.
+        assertEquals(ReplicaState.RunState.PAUSED, a.getState().getRunState());
+        assertEquals(0, a.getState().getElapsedTime(3_000L));
+
+        // Heartbeats let both compact their logs.
+        a.flush(true);
+        b.flush(true);
+        group.network.advanceTo(4_000L);
+        a.flush(true);
+        b.flush(true);
+        group.network.advanceTo(5_000L);
+        assertEquals(0, a.getLogSize());
+        assertEquals(0, b.getLogSize());
+        assertEquals(a.getState(), b.getState());
+    }
+
+    /** Runs bursts of ops, flushing per burst or per op, and returns {bytes/op x 100, ms}. */
+    private static long[] simulate(int size, long seed, boolean batchBursts) {
+        Group group = new Group(size, seed);
+        Random random = new Random(seed);
+        long time = 0;
+        long nextHeartbeat = HEARTBEAT_MS;
+
+        for (int burst = 0; burst < 300; ++burst) {
+            time += 200 + random.nextInt(3_000);
+            while (nextHeartbeat <= time) {
+                group.network.advanceTo(nextHeartbeat);
+                for (ReplicationNode node : group.nodes) {
+                    node.flush(true);
+                }
+                nextHeartbeat += HEARTBEAT_MS;
+            }
+            group.network.advanceTo(time);
+
+            ReplicationNode node = group.nodes[random.nextInt(size)];
+            int burstOps = 1 + random.nextInt(8);
+
+            for (int i = 0; i < burstOps; ++i) {
+                group.network.advanceTo(group.network.now() + random.nextInt(30));
+                randomOp(node, random, group.allOps);
+                if (!batchBursts) {
+                    node.flush(false);
+                }
+            }
+            node.flush(false);
+        }
+
+        long lastOpTime = group.network.now();
+        while (!group.converged() || !group.network.isIdle()) {
+            group.network.advanceTo(group.network.now() + 1);
+            assertTrue("No convergence", group.network.now() - lastOpTime < 60_000L);
+        }
+        long convergenceMs = group.network.now() - lastOpTime;
+
+        assertEquals(group.expected(), group.nodes[0].getState());
+        for (ReplicationNode node : group.nodes) {
+            assertTrue("Log not compacted: " + node.getLogSize(), node.getLogSize() < 200);
+        }
+
+        long opsSent = 0;
+        long bytesSent = 0;
+        for (ReplicationNode node : group.nodes) {
+            opsSent += node.getOpsSent();
+            bytesSent += node.getBytesSent();
+        }
+        return new long[] {100 * bytesSent / opsSent, convergenceMs};
+    }
+
+    @Test
+    public void testSimulatedConvergence() {
+        for (int size = 2; size <= 5; ++size) {
+            for (long seed = 1; seed <= 3; ++seed) {
+                long[] batched = simulate(size, seed, true);
+                long[] unbatched = simulate(size, seed, false);
+
+                System.out.println(String.format(Locale.US,
+                        "%d nodes, seed %d: converged in %d ms; %.2f bytes/op batched, %.2f"
+                                + " unbatched (incl. heartbeats)",
+                        size, seed, batched[1], batched[0] / 100.0, unbatched[0] / 100.0));
+                assertTrue(batched[0] < unbatched[0]);
+            }
+        }
+    }
+}
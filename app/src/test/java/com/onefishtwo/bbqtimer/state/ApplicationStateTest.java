@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.onefishtwo.bbqtimer.TimeCounter;
+
+import org.junit.Test;
+
+public class ApplicationStateTest {
+    @Test
+    public void testSnapshotIsImmutable() {
+        ApplicationState state = new ApplicationState(new TimeCounter());
+        ApplicationState.Settings before = state.snapshot();
+
+        state.setEnableReminders(false);
+        state.setSecondsPerReminder(90);
+        state.setWarmUpSeconds(99);
+
+        ApplicationState.Settings after = state.snapshot();
+        assertTrue(before.isEnableReminders());
+        assertEquals(300, before.getSecondsPerReminder());
+        assertFalse(after.isEnableReminders());
+        assertEquals(90_000L, after.getMillisecondsPerReminder());
+        assertEquals(ApplicationState.MAXIMUM_WARM_UP_SECONDS, after.getWarmUpSeconds());
+
+        state.setSecondsPerReminder(90);
+        assertEquals(after.getSecondsPerReminder(), state.snapshot().getSecondsPerReminder());
+    }
+
+    @Test
+    public void testKitchenDisplayCode() {
+        ApplicationState state = new ApplicationState(new TimeCounter());
+
+        assertEquals("", state.getKitchenDisplayCode());
+        state.setKitchenDisplay(true);
+        String code = state.getKitchenDisplayCode();
+        assertEquals(6, code.length());
+
+        ApplicationState.Settings settings = state.snapshot();
+        state.setKitchenDisplay(true);
+        assertSame("no change", settings, state.snapshot());
+
+        state.setKitchenDisplay(false);
+        assertEquals("keeps the code while opted out", code, state.getKitchenDisplayCode());
+        for (int i = 0; i < 5 && code.equals(state.getKitchenDisplayCode()); ++i) {
+            state.setKitchenDisplay(true); // opting in again picks a new code
+            state.setKitchenDisplay(false);
+        }
+        assertNotEquals(code, state.getKitchenDisplayCode());
+    }
+
+    /** Concurrent setters of different settings must not lose each other's updates. */
+    @Test(timeout = 60_000L)
+    public void testConcurrentSetters() throws InterruptedException {
+        ApplicationState state = new ApplicationState(new TimeCounter());
+        final int n = 100_000;
+        Thread intervals = new Thread(() -> {
+            for (int i = 0; i <= n; ++i) {
+                state.setSecondsPerReminder(ApplicationState.MINIMUM_ALARM_SECONDS + i % 1000);
+            }
+        });
+        Thread recipes = new Thread(() -> {
+            for (int i = 0; i <= n; ++i) {
+                state.setRecipeInUse(Integer.toString(i));
+            }
+        });
+
+        intervals.start();
+        recipes.start();
+        for (int i = 0; i <= n; ++i) {
+            state.setWarmUpSeconds(i % 2);
+        }
+        intervals.join();
+        recipes.join();
+
+        ApplicationState.Settings settings = state.snapshot();
+        assertEquals(ApplicationState.MINIMUM_ALARM_SECONDS + n % 1000,
+                settings.getSecondsPerReminder());
+        assertEquals(Integer.toString(n), settings.getRecipeInUse());
+        assertEquals(n % 2, settings.getWarmUpSeconds());
+    }
+}
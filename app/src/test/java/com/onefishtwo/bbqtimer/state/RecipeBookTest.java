@@ -0,0 +1,256 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer.state;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.annotation.NonNull;
+
+import com.onefishtwo.bbqtimer.StderrLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class RecipeBookTest {
+    private static final String DEFAULTS = ":30\n1\n1:30";
+
+    private File dir;
+    private File file;
+    private int defaultsCalls;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("recipes").toFile();
+        file = new File(dir, RecipeBook.RECIPES_FILE);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+
+        if (files != null) {
+            for (File f : files) {
+                //noinspection ResultOfMethodCallIgnored
+                f.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        dir.delete();
+    }
+
+    @NonNull
+    private RecipeBook open() {
+        return new RecipeBook(file, () -> {
+            ++defaultsCalls;
+            return DEFAULTS;
+        }, StderrLogger.INSTANCE);
+    }
+
+    /** Sets and writes the recipe text. Returns true if it changed. */
+    private static boolean save(@NonNull RecipeBook book, @NonNull String text)
+            throws IOException {
+        boolean changed = book.setUnsavedText(text);
+        book.flush();
+        return changed;
+    }
+
+    @Test
+    public void testIndexLines() {
+        assertArrayEquals(new int[] {0, 1}, RecipeBook.indexLines(new byte[0]));
+        assertArrayEquals(new int[] {0, 2, 4},
+                RecipeBook.indexLines("a\nb".getBytes(StandardCharsets.UTF_8)));
+        assertArrayEquals(new int[] {0, 2, 3},
+                RecipeBook.indexLines("a\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testDefaultsUntilSet() throws IOException {
+        RecipeBook book = open();
+
+        assertEquals("lazy", 0, defaultsCalls);
+        assertFalse(book.exists());
+        assertEquals(3, book.getLineCount());
+        assertEquals("1:30", book.getLine(2));
+        assertEquals(DEFAULTS, book.getText());
+
+        assertFalse("unchanged", save(book, DEFAULTS));
+        assertFalse("no write when unchanged", file.exists());
+    }
+
+    @Test
+    public void testRandomAccessAfterReopen() throws IOException {
+        String text = "6 dünnen Fisch, bis 63 °C\n7 Burgers\n\n1:30:00 brisket";
+
+        assertTrue(save(open(), text));
+        assertTrue(file.exists());
+        defaultsCalls = 0;
+
+        RecipeBook book = open();
+        assertEquals(4, book.getLineCount());
+        assertEquals("6 dünnen Fisch, bis 63 °C", book.getLine(0));
+        assertEquals("", book.getLine(2));
+        assertEquals("1:30:00 brisket", book.getLine(3));
+        assertEquals(text, book.getText());
+        assertEquals("didn't need the defaults", 0, defaultsCalls);
+
+        assertFalse(save(book, text));
+        assertTrue(save(book, "5"));
+        assertEquals(1, open().getLineCount());
+        assertEquals("5", open().getText());
+    }
+
+    @Test
+    public void testSnapshotKeepsItsVersion() throws IOException {
+        RecipeBook book = open();
+
+        try (RecipeBook.Snapshot defaults = book.openSnapshot()) {
+            save(book, "1\n2");
+            assertEquals(3, defaults.getLineCount());
+            assertEquals("1:30", defaults.getLine(2));
+        }
+
+        try (RecipeBook.Snapshot snapshot = book.openSnapshot()) {
+            assertEquals(book.getVersion(), snapshot.getVersion());
+            save(book, "0\n1\n2");
+            try (RecipeBook.Writer writer = book.newWriter()) {
+                writer.append("9");
+                writer.commit();
+            }
+
+            assertEquals("9", book.getLine(0));
+            assertEquals(2, snapshot.getLineCount());
+            assertEquals("2", snapshot.getLine(1));
+            assertNotEquals(book.getVersion(), snapshot.getVersion());
+        }
+    }
+
+    @Test
+    public void testUnsavedTextReadsFromMemoryUntilFlushed() throws IOException {
+        RecipeBook book = open();
+        int version = book.getVersion();
+
+        assertTrue(book.setUnsavedText("1\n2\n3 fish"));
+        assertNotEquals(version, book.getVersion());
+        assertTrue(book.exists());
+        assertTrue(book.hasUnsavedText());
+        assertFalse("not written yet", file.exists());
+        assertEquals(3, book.getLineCount());
+        assertEquals("3 fish", book.getLine(2));
+        try (RecipeBook.Snapshot snapshot = book.openSnapshot()) {
+            assertEquals("2", snapshot.getLine(1));
+        }
+
+        book.unload();
+        assertEquals("kept while unsaved", "1\n2\n3 fish", book.getText());
+
+        book.flush();
+        assertFalse(book.hasUnsavedText());
+        assertEquals("3 fish", open().getLine(2));
+    }
+
+    @Test
+    public void testCommitSupersedesUnsavedText() throws IOException {
+        RecipeBook book = open();
+        book.setUnsavedText("1\n2");
+
+        try (RecipeBook.Writer writer = book.newWriter()) {
+            writer.append("9");
+            writer.commit();
+        }
+
+        assertFalse(book.hasUnsavedText());
+        book.flush();
+        assertEquals("9", open().getText());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testLineOutOfRange() {
+        open().getLine(3);
+    }
+
+    @Test
+    public void testCorruptFileFallsBackToDefaults() throws IOException {
+        save(open(), "1\n2\n3\n4");
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1); // truncated
+        }
+
+        RecipeBook book = open();
+        assertEquals(DEFAULTS, book.getText());
+        assertFalse(book.exists());
+
+        assertTrue(save(book, "1\n2"));
+        assertEquals("2", open().getLine(1));
+    }
+
+    @Test
+    public void testCorruptIndexFallsBackToDefaults() throws IOException {
+        save(open(), "12\n34\n56");
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(4 * 5); // the 3rd line start, making them 0, 3, 2, 9
+            raf.writeInt(2);
+        }
+
+        RecipeBook book = open();
+        assertEquals(DEFAULTS.split("\n")[1], book.getLine(1));
+        assertEquals(DEFAULTS, book.getText());
+    }
+
+    @Test
+    public void testFailedWriteKeepsTheTextUnsaved() throws IOException {
+        RecipeBook book = open();
+        assertTrue(save(book, "1\n2"));
+        assertTrue(file.delete());
+        assertTrue(file.mkdir()); // a directory in the way makes the rename fail
+
+        assertTrue(book.setUnsavedText("5\n6"));
+        try {
+            book.flush();
+            fail("Expected an IOException");
+        } catch (IOException e) {
+            // Expected
+        }
+        assertTrue("kept to retry", book.hasUnsavedText());
+        assertEquals("6", book.getLine(1));
+        assertFalse("no temp file left", new File(file.getPath() + ".tmp").exists());
+
+        assertTrue(file.delete());
+        book.flush();
+        assertFalse(book.hasUnsavedText());
+        assertEquals("5\n6", open().getText());
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2026 Jerry Morrison
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+
+package com.onefishtwo.bbqtimer.state;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import com.onefishtwo.bbqtimer.StderrLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+
+public class RecipeImporterTest {
+    private static final String EXISTING = ":30\n5 burgers";
+
+    private File dir;
+    private RecipeBook book;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("recipes").toFile();
+        book = new RecipeBook(new File(dir, RecipeBook.RECIPES_FILE), () -> EXISTING,
+                StderrLogger.INSTANCE);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+
+        if (files != null) {
+            for (File f : files) {
+                //noinspection ResultOfMethodCallIgnored
+                f.delete();
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        dir.delete();
+    }
+
+    @NonNull
+    private RecipeImporter.Result importText(@NonNull String text,
+            @NonNull RecipeImporter.Mode mode) throws IOException {
+        return new RecipeImporter().importRecipes(
+                new BufferedReader(new StringReader(text)), book, mode);
+    }
+
+    @Test
+    public void testValidate() {
+        assertNull(RecipeImporter.validate("5"));
+        assertNull(RecipeImporter.validate(":30 fish"));
+        assertNull(RecipeImporter.validate("1:30:00 brisket, 93 °C"));
+        assertNull(RecipeImporter.validate("7 Burgers, bis 74 °C"));
+        assertEquals(RecipeImporter.Problem.NO_INTERVAL, RecipeImporter.validate("brisket"));
+        assertEquals(RecipeImporter.Problem.NO_INTERVAL, RecipeImporter.validate(": fish"));
+        assertEquals(RecipeImporter.Problem.BAD_INTERVAL, RecipeImporter.validate("0 fish"));
+        assertEquals(RecipeImporter.Problem.BAD_INTERVAL, RecipeImporter.validate("::00"));
+    }
+
+    @Test
+    public void testReplaceReportsLineNumbers() throws IOException {
+        RecipeImporter.Result result = importText(
+                "\uFEFF1 toast\r\nbrisket\r\n\r\n2:00 eggs\r0 nothing\n3",
+                RecipeImporter.Mode.REPLACE);
+
+        assertTrue(result.committed);
+        assertEquals(3, result.imported);
+        assertEquals(2, result.errorCount);
+        assertEquals(2, result.errors.get(0).lineNumber);
+        assertEquals(RecipeImporter.Problem.NO_INTERVAL, result.errors.get(0).problem);
+        assertEquals(5, result.errors.get(1).lineNumber);
+        assertEquals(RecipeImporter.Problem.BAD_INTERVAL, result.errors.get(1).problem);
+        assertEquals("1 toast\n2:00 eggs\n3", book.getText());
+    }
+
+    @Test
+    public void testMergeSkipsExistingRecipes() throws IOException {
+        RecipeImporter.Result result =
+                importText("5 burgers\n6 fish\n:30\n", RecipeImporter.Mode.MERGE);
+
+        assertTrue(result.committed);
+        assertEquals(1, result.imported);
+        assertEquals(2, result.duplicates);
+        assertEquals(EXISTING + "\n6 fish", book.getText());
+
+        result = importText("5 burgers", RecipeImporter.Mode.MERGE);
+        assertFalse("nothing new", result.committed);
+        assertEquals(EXISTING + "\n6 fish", book.getText());
+    }
+
+    @Test
+    public void testMergeKeepsExistingLinesVerbatim() throws IOException {
+        String text = "  :30 eggs\n\n5 burgers  \n";
+        assertTrue(book.setUnsavedText(text));
+        book.flush();
+
+        RecipeImporter.Result result =
+                importText("6 fish\n5 burgers\n6 fish\n7 corn\n 7 corn", RecipeImporter.Mode.MERGE);
+
+        assertTrue(result.committed);
+        assertEquals(2, result.imported);
+        assertEquals(3, result.duplicates);
+        assertEquals(text + "\n6 fish\n7 corn", book.getText());
+    }
+
+    @Test
+    public void testMergeSeesUnsavedRecipes() throws IOException {
+        assertTrue(book.setUnsavedText("6 fish"));
+
+        RecipeImporter.Result result = importText("6 fish\n7 corn", RecipeImporter.Mode.MERGE);
+
+        assertEquals(1, result.imported);
+        assertEquals(1, result.duplicates);
+        assertFalse("the import superseded the pending write", book.hasUnsavedText());
+        book.flush();
+        assertEquals("6 fish\n7 corn", book.getText());
+    }
+
+    @Test
+    public void testLineHashes() {
+        RecipeImporter.LineHashes hashes = new RecipeImporter.LineHashes();
+
+        assertTrue(hashes.add(0));
+        assertFalse(hashes.add(0));
+        for (long i = 1; i <= 10_000; ++i) {
+            assertTrue(hashes.add(i << 40));
+        }
+        for (long i = 1; i <= 10_000; ++i) {
+            assertFalse(hashes.add(i << 40));
+        }
+        assertEquals(RecipeImporter.hash("5 burgers"), RecipeImporter.hash("5 burgers"));
+        assertNotEquals(RecipeImporter.hash("5 burgers"), RecipeImporter.hash("5 burger"));
+    }
+
+    @Test
+    public void testNothingValidLeavesRecipesAlone() throws IOException {
+        RecipeImporter.Result result = importText("no\ntimes\nhere", RecipeImporter.Mode.REPLACE);
+
+        assertFalse(result.committed);
+        assertEquals(3, result.errorCount);
+        assertEquals(EXISTING, book.getText());
+        assertEquals("no temp files", 0, dir.list().length);
+    }
+
+    @Test
+    public void testLongLinesAndManyErrors() throws IOException {
+        StringBuilder text = new StringBuilder();
+
+        for (int i = 0; i < RecipeImporter.MAX_REPORTED_ERRORS + 10; ++i) {
+            text.append("bad\n");
+        }
+        for (int i = 0; i < RecipeImporter.MAX_LINE_CHARS + 1; ++i) {
+            text.append('9');
+        }
+        text.append("\n1 last");
+
+        RecipeImporter.Result result = importText(text.toString(), RecipeImporter.Mode.REPLACE);
+        assertEquals(RecipeImporter.MAX_REPORTED_ERRORS + 11, result.errorCount);
+        assertEquals(RecipeImporter.MAX_REPORTED_ERRORS, result.errors.size());
+        assertEquals("1 last", book.getText());
+    }
+
+    /** Generates "n:00 recipe n" lines without holding the text in memory. */
+    private static class RecipeSource extends Reader {
+        private final int lines;
+        private int line;
+        private String pending = "";
+        private int pos;
+
+        RecipeSource(int _lines) {
+            lines = _lines;
+        }
+
+        @Override
+        public int read(@NonNull char[] buffer, int offset, int length) {
+            int n = 0;
+
+            while (n < length) {
+                if (pos == pending.length()) {
+                    if (line == lines) {
+                        break;
+                    }
+                    ++line;
+                    pending = line + ":00 recipe " + line + "\n";
+                    pos = 0;
+                }
+                buffer[offset + n++] = pending.charAt(pos++);
+            }
+            return n == 0 && length > 0 ? -1 : n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    public void testLargeImport() throws IOException {
+        int lines = 20_000;
+        RecipeImporter.Result result = new RecipeImporter().importRecipes(
+                new BufferedReader(new RecipeSource(lines)), book, RecipeImporter.Mode.REPLACE);
+
+        assertTrue(result.committed);
+        assertEquals(lines, result.imported);
+        assertEquals(lines, book.getLineCount());
+        assertEquals("12345:00 recipe 12345", book.getLine(12344));
+    }
+
+    @Test
+    public void testCancel() throws IOException {
+        RecipeImporter importer = new RecipeImporter();
+
+        importer.cancel();
+        RecipeImporter.Result result = importer.importRecipes(
+                new BufferedReader(new StringReader("1\n2")), book, RecipeImporter.Mode.REPLACE);
+        assertFalse(result.committed);
+        assertEquals(EXISTING, book.getText());
+    }
+}